@@ -1,21 +1,23 @@
 package com.astesbas.z80.hacker;
 
-import static java.nio.file.StandardOpenOption.APPEND;
-import static java.nio.file.StandardOpenOption.CREATE;
-
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Optional;
 
+import com.astesbas.z80.hacker.domain.BankedRom;
 import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.engine.BankedDisassembler;
+import com.astesbas.z80.hacker.engine.BatchDisassembler;
 import com.astesbas.z80.hacker.engine.CmdLineArgumentsInterpreter;
 import com.astesbas.z80.hacker.engine.Z80Disassembler;
+import com.astesbas.z80.hacker.util.AtomicFileWriter;
 import com.astesbas.z80.hacker.util.ConfigFileProperties;
+import com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey;
 import com.astesbas.z80.hacker.util.FileDateUtil;
 import com.astesbas.z80.hacker.util.SystemOut;
 
@@ -53,18 +55,49 @@ public class Executer {
             executer.showErrorMessageAndExit(iaException.getMessage());
         }   
         
+        try {
+            
+            // Batch mode: the projects of a directory or manifest are disassembled concurrently
+            Optional<java.io.File> batchFile = cmdLineInterpreter.getBatchFile();
+            if(batchFile.isPresent()) {
+                executer.runBatch(batchFile.get(), cmdLineInterpreter);
+                return;
+            }   
+            
+            executer.runProject(cmdLineInterpreter);
+        
+        } catch(IllegalArgumentException | IllegalStateException | UncheckedIOException exception) {
+            System.err.printf("%n%s%n", exception.getMessage());
+            System.exit(-1);
+        }   
+    }   
+    
+    /**
+     * Disassembles the project of the configuration file given in the command line.
+     * @param cmdLineInterpreter the command line arguments interpreter
+     */
+    private void runProject(CmdLineArgumentsInterpreter cmdLineInterpreter) {
+        
         Optional<java.io.File> configFile = cmdLineInterpreter.getProjectConfigFile();
         if(!configFile.isPresent()) {
-            executer.showErrorMessageAndExit("Project configuration file not found!");
+            this.showErrorMessageAndExit("Project configuration file not found!");
         } else if(!configFile.get().exists()) {
-            executer.generateDefaultConfigFile(configFile.get().getName());
+            this.generateDefaultConfigFile(configFile.get().getName());
             System.exit(0);
         }   
         
         SystemOut.vprintf("Project configuration file \"%s\"%n", configFile.get().getPath());
         
         // Read the project configuration file
-        ConfigFileProperties properties = executer.loadConfigile(configFile.get());
+        ConfigFileProperties properties = this.loadConfigile(configFile.get());
+        
+        // Bank-switched ROMs (megaROMs): the banks are disassembled independently
+        if(properties.getCount(ConfigKey.MAPPER) > 0) {
+            BankedDisassembler bankedDisassembler = new BankedDisassembler(BankedRom.fromProperties(properties));
+            bankedDisassembler.setProperties(properties);
+            bankedDisassembler.run();
+            return;
+        }   
         
         // The binary data to be disassembled (in general a game ROM or a memory dump)
         BinaryData binaryData = BinaryData.fromProperties(properties);
@@ -77,6 +110,44 @@ public class Executer {
         z80Disassembler.run();
     }   
     
+    /**
+     * Disassembles the projects of a batch (a directory or a manifest file) and writes the batch report.
+     * The process exits with error status if any project failed.
+     * 
+     * @param batchFile the projects directory or manifest file
+     * @param cmdLineInterpreter the command line arguments interpreter (threads and report file options)
+     */
+    private void runBatch(java.io.File batchFile, CmdLineArgumentsInterpreter cmdLineInterpreter) {
+        
+        java.io.File reportFile = cmdLineInterpreter.getReportFile()
+            .orElse(new java.io.File(BatchDisassembler.DEFAULT_REPORT_FILE));
+        
+        try {
+            
+            List<Path> projectFiles = BatchDisassembler.findProjectFiles(batchFile.toPath());
+            System.out.printf("Batch: %d project(s) found in %s%n", projectFiles.size(), batchFile.getPath());
+            
+            BatchDisassembler batchDisassembler = new BatchDisassembler(projectFiles);
+            if(cmdLineInterpreter.getThreadsCount() > 0) {
+                batchDisassembler.setThreadsCount(cmdLineInterpreter.getThreadsCount());
+            }   
+            
+            List<BatchDisassembler.Result> results = batchDisassembler.run();
+            BatchDisassembler.writeReport(reportFile.toPath(), results);
+            
+            System.out.println(BatchDisassembler.getSummary(results));
+            System.out.printf("Batch report written to %s%n", reportFile.getPath());
+            if(results.stream().anyMatch(result -> result.getStatus() == BatchDisassembler.Status.FAILED)) {
+                System.exit(-1);
+            }   
+        
+        } catch (java.io.IOException ioException) {
+            throw new UncheckedIOException(
+                String.format("Error running batch %s: %s", batchFile.getPath(), ioException.getMessage()), ioException
+            );  
+        }   
+    }   
+    
     /**
      * Load the project configuration from file.
      * @param configFile the configuration file name
@@ -112,7 +183,7 @@ public class Executer {
             System.out.printf("Creating default project config file \"%s\"...", fileName);
             Path outputPath = Paths.get(fileName);
             
-            try (BufferedWriter writer = Files.newBufferedWriter(outputPath, CREATE, APPEND)) {
+            try (AtomicFileWriter writer = new AtomicFileWriter(outputPath)) {
                 String line;
                 while ((line = bufferedReader.readLine()) != null) {
                     if(line.contains("shrubbles")) {
@@ -122,8 +193,9 @@ public class Executer {
                     } else {
                         writer.write(line);
                     }   
-                    writer.newLine();
+                    writer.write(System.lineSeparator());
                 }   
+                writer.commit();
             }   
             
             System.out.println("Ok");
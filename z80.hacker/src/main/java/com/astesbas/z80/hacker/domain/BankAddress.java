@@ -0,0 +1,100 @@
+package com.astesbas.z80.hacker.domain;
+
+/**
+ * Bank-qualified addresses.
+ * A bank-qualified address is a pair (bank, address), written as "bank:address" in configuration
+ * files (e.g. "3:0x8000") and packed in a single int value (bank in the upper bits).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public final class BankAddress {
+    
+    /** The separator of bank and address in bank-qualified address strings */
+    public static final String SEPARATOR = ":";
+    
+    /** The shift of the bank bits in packed bank-qualified addresses */
+    private static final int BANK_SHIFT = 16;
+    
+    /**
+     * Private constructor (static methods only).
+     */
+    private BankAddress() {
+    }   
+    
+    /**
+     * Return the packed bank-qualified address.
+     * @param bank the bank number
+     * @param address the 16-bit address
+     * @return the packed bank-qualified address
+     */
+    public static int of(int bank, int address) {
+        return (bank << BANK_SHIFT) | (address & BinaryData.ADDRESS_MASK);
+    }   
+    
+    /**
+     * Return the bank of the packed bank-qualified address.
+     * @param bankAddress the packed bank-qualified address
+     * @return the bank number
+     */
+    public static int getBank(int bankAddress) {
+        return bankAddress >>> BANK_SHIFT;
+    }   
+    
+    /**
+     * Return the 16-bit address of the packed bank-qualified address.
+     * @param bankAddress the packed bank-qualified address
+     * @return the 16-bit address
+     */
+    public static int getAddress(int bankAddress) {
+        return bankAddress & BinaryData.ADDRESS_MASK;
+    }   
+    
+    /**
+     * Verify if the given string is a bank-qualified address (in the form "bank:address").
+     * @param text the address string
+     * @return true if the string has a bank number
+     */
+    public static boolean isQualified(String text) {
+        return text.contains(SEPARATOR);
+    }   
+    
+    /**
+     * Parse a bank-qualified address string (e.g. "3:0x8000"). For unqualified addresses (e.g. "0x8000")
+     * the default bank is used.
+     * 
+     * @param text the address string
+     * @param defaultBank the bank for unqualified addresses
+     * @return the packed bank-qualified address
+     * @throws NumberFormatException if the bank or the address are not valid numbers
+     */
+    public static int parse(String text, int defaultBank) throws NumberFormatException {
+        
+        int bank = defaultBank;
+        String address = text.trim();
+        
+        if(BankAddress.isQualified(address)) {
+            int index = address.indexOf(SEPARATOR);
+            bank = Integer.decode(address.substring(0, index).trim());
+            address = address.substring(index + 1).trim();
+        }   
+        
+        int value = Integer.decode(address);
+        if(bank < 0 || value < BinaryData.START_ADDRESS || value > BinaryData.END_ADDRESS) {
+            throw new NumberFormatException(String.format("Invalid bank-qualified address: %s", text));
+        }   
+        
+        return BankAddress.of(bank, value);
+    }   
+    
+    /**
+     * Return the string representation of the packed bank-qualified address (e.g. "3:0x8000").
+     * @param bankAddress the packed bank-qualified address
+     * @return the bank-qualified address string
+     */
+    public static String toString(int bankAddress) {
+        return String.format("%d%s0x%04X", getBank(bankAddress), SEPARATOR, getAddress(bankAddress));
+    }   
+}
@@ -0,0 +1,244 @@
+package com.astesbas.z80.hacker.domain;
+
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_FILE;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_OFFSET;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.MAPPER;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+import com.astesbas.z80.hacker.util.SystemOut;
+
+/**
+ * Bank-switched ROM (MSX megaROM).
+ * The ROM is split in banks according to the mapper type, and every bank is placed in a page
+ * of the Z80 address space (the mapper layout). Each bank is exposed as an independent 64Kb
+ * binary data object, holding only the bank bytes at the page address.
+ * The ROM bytes are never copied: the banks are read-only windows of the ROM buffer.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class BankedRom {
+    
+    /** The ROM data (read-only buffer) */
+    private final ByteBuffer rom;
+    
+    /** The mapper type */
+    private final MapperType mapper;
+    
+    /** The page address of every bank (the mapper layout) */
+    private final int[] pages;
+    
+    /** The ROM file name (set when the ROM is read from a file) */
+    private Optional<String> romFileName = Optional.empty();
+    
+    /**
+     * Creates a banked ROM from the given buffer (the buffer is not copied).
+     * The last bank may be smaller than the bank size (the missing bytes hold the default byte value).
+     * 
+     * @param rom the ROM data
+     * @param mapper the mapper type
+     */
+    public BankedRom(ByteBuffer rom, MapperType mapper) {
+        
+        this.rom = rom.asReadOnlyBuffer();
+        this.mapper = Objects.requireNonNull(mapper);
+        
+        int bankSize = mapper.getBankSize();
+        this.pages = new int[(this.rom.capacity() + bankSize - 1) / bankSize];
+        for(int bank = 0; bank < this.pages.length; bank++) {
+            this.pages[bank] = mapper.getDefaultPageAddress(bank);
+        }   
+    }   
+    
+    /**
+     * Return the mapper type.
+     * @return the mapper type
+     */
+    public MapperType getMapper() {
+        return this.mapper;
+    }   
+    
+    /**
+     * Return the number of banks of the ROM.
+     * @return the number of banks
+     */
+    public int getBanksCount() {
+        return this.pages.length;
+    }   
+    
+    /**
+     * Return the ROM size in bytes.
+     * @return the ROM size
+     */
+    public int getSize() {
+        return this.rom.capacity();
+    }   
+    
+    /**
+     * Return the page address where the given bank is disassembled.
+     * @param bank the bank number
+     * @return the page address
+     */
+    public int getPageAddress(int bank) {
+        return this.pages[this.validateBank(bank)];
+    }   
+    
+    /**
+     * Set the page address where the given bank is disassembled.
+     * 
+     * @param bank the bank number
+     * @param pageAddress the page address (must be a page of the mapper)
+     * @throws IllegalArgumentException if the bank or the page address are not valid
+     */
+    public void setPageAddress(int bank, int pageAddress) throws IllegalArgumentException {
+        if(!this.mapper.isPageAddress(pageAddress)) {
+            throw new IllegalArgumentException(
+                String.format("Invalid page address for %s mapper: 0x%04X", this.mapper, pageAddress)
+            );  
+        }   
+        this.pages[this.validateBank(bank)] = pageAddress;
+    }   
+    
+    /**
+     * Return the last address of the page where the given bank is disassembled.
+     * @param bank the bank number
+     * @return the last page address
+     */
+    public int getPageEndAddress(int bank) {
+        return this.getPageAddress(bank) + this.mapper.getBankSize() - 1;
+    }   
+    
+    /**
+     * Return the binary data of the given bank: the bank bytes placed at the bank page address.
+     * @param bank the bank number
+     * @return the binary data of the bank
+     */
+    public BinaryData getBankData(int bank) {
+        
+        int bankSize = this.mapper.getBankSize();
+        int offset = this.validateBank(bank) * bankSize;
+        
+        ByteBuffer window = this.rom.duplicate();
+        window.position(offset);
+        window.limit(Math.min(offset + bankSize, this.rom.capacity()));
+        
+        return BinaryData.fromBuffer(window.slice(), this.pages[bank], this.romFileName.orElse(null));
+    }   
+    
+    /**
+     * Return the ROM file name.
+     * @return the optional ROM file name
+     */
+    public Optional<String> getRomFileName() {
+        return this.romFileName;
+    }   
+    
+    /**
+     * Validate the bank number.
+     * @param bank the bank number
+     * @return the bank number
+     * @throws IllegalArgumentException if the bank does not exist
+     */
+    private int validateBank(int bank) throws IllegalArgumentException {
+        if(bank < 0 || bank >= this.pages.length) {
+            throw new IllegalArgumentException(
+                String.format("Bank %d out of range [0, %d]", bank, this.pages.length - 1)
+            );  
+        }   
+        return bank;
+    }   
+    
+    /**
+     * Creates a new banked ROM with parameters from given properties.
+     * @param properties the configuration properties read from file
+     * @throws IllegalArgumentException if some parameter is missing or invalid
+     * @throws UncheckedIOException if the ROM file cannot be read
+     */
+    public static BankedRom fromProperties(ConfigFileProperties properties) {
+        
+        Optional<String> romFileName = Optional.empty();
+        BankedRom bankedRom = null;
+        
+        try {
+            
+            // Get the ROM file name, file offset and mapper type
+            romFileName = properties.getString(BINARY_FILE);
+            int offset = properties.getAddress(BINARY_OFFSET).orElse(0);
+            MapperType mapper = MapperType.valueOf(properties.getString(MAPPER).get().trim().toUpperCase());
+            
+            if(romFileName.isPresent()) {
+                File romFile = new File(romFileName.get());
+                SystemOut.printf("Reading ROM file: %s...", romFile.getName());
+                try {
+                    bankedRom = BankedRom.fromFile(romFile, offset, mapper);
+                    SystemOut.printf("Ok%n");
+                } catch(IOException ioException) {
+                    SystemOut.printf("Error!%n");
+                    throw ioException;
+                }   
+            } else {
+                throw new IllegalArgumentException(
+                    String.format("Error: property %s not found in config file!", BINARY_FILE)
+                );  
+            }   
+        
+        } catch (IllegalArgumentException | IllegalAccessException exeception) {
+            throw new IllegalArgumentException(
+                String.format("Error reading ROM offset/mapper parameter: %s", exeception.getMessage()), exeception
+            );  
+        } catch(IOException ioException) {
+            throw new UncheckedIOException(
+                String.format("Error reading ROM file %s:%n\t%s", romFileName.get(), ioException.getMessage()), ioException
+            );  
+        }   
+        
+        return bankedRom;
+    }   
+    
+    /**
+     * Load a banked ROM from file. The file is mapped (read-only) from the given offset to the end of file.
+     * 
+     * @param romFile the ROM file
+     * @param offset the file position of the first ROM byte
+     * @param mapper the mapper type
+     * 
+     * @return the BankedRom object
+     * 
+     * @throws FileNotFoundException if the file cannot be found
+     * @throws IOException if occurs any error reading the file
+     */
+    public static BankedRom fromFile(File romFile, long offset, MapperType mapper)
+            throws FileNotFoundException, IOException {
+        
+        if(!romFile.isFile()) {
+            throw new FileNotFoundException(String.format("ROM file not found: %s", romFile.getPath()));
+        }   
+        
+        try (FileChannel channel = FileChannel.open(romFile.toPath(), StandardOpenOption.READ)) {
+            
+            long fileSize = channel.size();
+            if(offset < 0 || offset > fileSize || fileSize - offset > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                    String.format("Offset of ROM file out of range: 0x%X (file size: %d)", offset, fileSize)
+                );  
+            }   
+            
+            BankedRom bankedRom = new BankedRom(channel.map(MapMode.READ_ONLY, offset, fileSize - offset), mapper);
+            bankedRom.romFileName = Optional.of(romFile.getName());
+            return bankedRom;
+        }   
+    }   
+}
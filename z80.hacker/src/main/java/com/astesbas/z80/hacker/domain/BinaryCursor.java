@@ -0,0 +1,102 @@
+package com.astesbas.z80.hacker.domain;
+
+/**
+ * Lightweight cursor for sequential reads of a binary data view.
+ * The cursor keeps only the current address; the view is shared. Each thread must use its own
+ * cursor, so many threads can read the same binary data concurrently.
+ * This implementation is not thread safe.
+ * Note: the cursor address wraps around at the end of binary data (16-bit addresses).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class BinaryCursor {
+    
+    /** The binary data view */
+    private final BinaryView view;
+    
+    /** The current address */
+    private int address;
+    
+    /**
+     * Creates a cursor for the given view.
+     * @param view the binary data view
+     * @param address the initial cursor address
+     */
+    public BinaryCursor(BinaryView view, int address) {
+        this.view = view;
+        this.setAddress(address);
+    }   
+    
+    /**
+     * Return the binary data view of this cursor.
+     * @return the binary data view
+     */
+    public BinaryView getView() {
+        return this.view;
+    }   
+    
+    /**
+     * Return the current cursor address.
+     * @return the current address
+     */
+    public int getAddress() {
+        return this.address;
+    }   
+    
+    /**
+     * Set the cursor to the given address.
+     * @param address the new address
+     */
+    public void setAddress(int address) {
+        this.address = address & BinaryData.ADDRESS_MASK;
+    }   
+    
+    /**
+     * Move the cursor by the given number of bytes.
+     * @param count the number of bytes (may be negative)
+     */
+    public void skip(int count) {
+        this.setAddress(this.address + count);
+    }   
+    
+    /**
+     * Return the unsigned 8-bit value at the current address (the cursor is not moved).
+     * @return the byte value in the range [0, 255]
+     */
+    public int peekU8() {
+        return this.view.readU8(this.address);
+    }   
+    
+    /**
+     * Read the unsigned 8-bit value at the current address and move the cursor to the next byte.
+     * @return the byte value in the range [0, 255]
+     */
+    public int readU8() {
+        int value = this.view.readU8(this.address);
+        this.skip(1);
+        return value;
+    }   
+    
+    /**
+     * Read the unsigned 16-bit value (little endian) at the current address and move the cursor two bytes.
+     * @return the word value in the range [0, 65535]
+     */
+    public int readU16LE() {
+        int value = this.view.readU16LE(this.address);
+        this.skip(2);
+        return value;
+    }   
+    
+    /**
+     * Read the signed 8-bit displacement at the current address and move the cursor to the next byte.
+     * @return the displacement value in the range [-128, 127]
+     */
+    public int readDisplacement() {
+        int value = this.view.readDisplacement(this.address);
+        this.skip(1);
+        return value;
+    }   
+}
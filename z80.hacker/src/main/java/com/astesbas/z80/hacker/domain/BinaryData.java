@@ -2,20 +2,29 @@ package com.astesbas.z80.hacker.domain;
 
 import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_END;
 import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_FILE;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_OFFSET;
 import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_START;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Optional;
 
 import com.astesbas.z80.hacker.util.ConfigFileProperties;
+import com.astesbas.z80.hacker.util.SystemOut;
 
 /**
  * 8-bit/64Kb binary data manager. This is a very simplified manager for binary data.
  * It supplies methods for get byte(s), load binary data from file and a pointer to
  * facilitate getting bytes in sequence. 
+ * The binary data is never changed after the object creation: the immutable view returned by
+ * {@link #getView()} can be shared by many threads, each one reading with its own cursor.
  * 
  * @author Luciano M. Christofoletti
  *         luciano@christofoletti.com.br
@@ -39,8 +48,8 @@ public class BinaryData {
     /** The default byte value to initialize the binary data */
     public static final byte DEFAULT_BYTE_VALUE = 0x00;
     
-    /** Byte array (the binary data) */
-    private final byte[] data = new byte[MAX_SIZE];
+    /** The immutable view of the binary data (shared by all readers) */
+    private final BinaryView view;
     
     /** The current position for getting a byte from byte array */
     private int pointer = 0;
@@ -53,19 +62,29 @@ public class BinaryData {
      * @param data the binary data array
      */
     public BinaryData(byte[] data) {
-        Arrays.fill(this.data, DEFAULT_BYTE_VALUE);
-        System.arraycopy(data, 0, this.data, 0, MAX_SIZE);
+        this(data, START_ADDRESS, MAX_SIZE);
     }   
     
     /**
+     * Creates a binary data object from the first "lenght" bytes of the given byte array.
+     * The bytes are copied to the binary data starting at the given address.
      * 
-     * @param data
-     * @param start
-     * @param lenght
+     * @param data the binary data array
+     * @param start the address of the first byte
+     * @param lenght the number of bytes
      */
     public BinaryData(byte[] data, int start, int lenght) {
-        Arrays.fill(this.data, DEFAULT_BYTE_VALUE);
-        System.arraycopy(data, 0, this.data, start, lenght);
+        this(ByteBuffer.wrap(Arrays.copyOf(data, lenght)).asReadOnlyBuffer(), start);
+    }   
+    
+    /**
+     * Creates a binary data object from the given buffer window (the buffer is not copied).
+     * 
+     * @param window the read-only buffer window (index 0 is the byte at start address)
+     * @param start the address of the first byte of the window
+     */
+    private BinaryData(ByteBuffer window, int start) {
+        this.view = new BinaryView(window, start);
     }   
     
     /**
@@ -76,6 +95,27 @@ public class BinaryData {
         return BinaryData.MAX_SIZE;
     }
     
+    /**
+     * Return the immutable view of the binary data.
+     * The view may be shared by threads (it has absolute-address reads only).
+     * 
+     * @return the binary data view
+     */
+    public BinaryView getView() {
+        return this.view;
+    }   
+    
+    /**
+     * Creates a new cursor for sequential reads, positioned at the given address.
+     * Each thread must use its own cursor.
+     * 
+     * @param address the initial cursor address
+     * @return the cursor
+     */
+    public BinaryCursor cursor(int address) {
+        return this.view.cursor(address);
+    }   
+    
     /**
      * Return byte from given address of binary data.
      * Note: the address parameter is trunked to a 16-bit address before getting the byte from binary data.
@@ -84,7 +124,7 @@ public class BinaryData {
      * @return the byte in the given address
      */
     public byte get(int address) {
-        return this.data[address & ADDRESS_MASK];
+        return this.view.get(address);
     }   
     
     /**
@@ -92,34 +132,46 @@ public class BinaryData {
      * Note: the resulting address may be trunked at 0xFFFF before getting the byte from binary data.
      * @param displacement
      * @return
+     * @deprecated the pointer is shared by all readers, use a {@link BinaryCursor} instead
      */
+    @Deprecated
     public byte get(byte displacement) {
-        return this.data[(this.pointer + displacement) & ADDRESS_MASK];
+        return this.view.get(this.pointer + displacement);
     }   
     
     /**
      * Get the byte at the current pointer position.
      * @return
+     * @deprecated the pointer is shared by all readers, use a {@link BinaryCursor} instead
      */
+    @Deprecated
     public byte get() {
-        return this.data[this.pointer];
+        return this.view.get(this.pointer);
     }   
     
     /**
      * Return an array of bytes of size "count", starting from given address.
+     * The positions beyond the end of binary data are filled with the default byte value.
+     * 
      * @param address the start address in binary data
      * @param count the number of bytes to be fetched
      * @return the array of bytes
      */
     public byte[] getBytes(int address, int count) {
-        return Arrays.copyOfRange(this.data, address, address+count);
+        byte[] bytes = new byte[count];
+        for(int index = 0; index < count && address + index < MAX_SIZE; index++) {
+            bytes[index] = this.view.get(address + index);
+        }   
+        return bytes;
     }   
     
     /**
      * Return an array of bytes of size "count", starting from current address pointer position.
      * @param count the number of bytes to be fetched
      * @return the array of bytes
+     * @deprecated the pointer is shared by all readers, use a {@link BinaryCursor} instead
      */
+    @Deprecated
     public byte[] getBytes(int count) {
         return this.getBytes(this.pointer, count);
     }   
@@ -127,16 +179,20 @@ public class BinaryData {
     /**
      * Increment the address pointer and return the byte at the new pointer position.
      * @return the next byte in memory
+     * @deprecated the pointer is shared by all readers, use a {@link BinaryCursor} instead
      */
+    @Deprecated
     public byte next() {
         this.incrementPointer(1);
-        return this.data[this.pointer];
+        return this.view.get(this.pointer);
     }   
     
     /**
      * Get the current pointer address.
      * @return the pointer address
+     * @deprecated the pointer is shared by all readers, use a {@link BinaryCursor} instead
      */
+    @Deprecated
     public int getPointer() {
         return this.pointer;
     }   
@@ -144,7 +200,9 @@ public class BinaryData {
     /**
      * Set the pointer to the given address.
      * @param address
+     * @deprecated the pointer is shared by all readers, use a {@link BinaryCursor} instead
      */
+    @Deprecated
     public void setPointer(int address) {
         this.pointer = (address & 0xFFFF);
     }   
@@ -152,14 +210,18 @@ public class BinaryData {
     /**
      * Increment the current pointer address by a given amount.
      * @param increment the increment count
+     * @deprecated the pointer is shared by all readers, use a {@link BinaryCursor} instead
      */
+    @Deprecated
     public void incrementPointer(int amount) {
         this.setPointer(this.pointer + amount);
     }   
     
     /**
      * Increment the current pointer address by one position.
+     * @deprecated the pointer is shared by all readers, use a {@link BinaryCursor} instead
      */
+    @Deprecated
     public void incrementPointer() {
         this.setPointer(this.pointer + 1);
     }   
@@ -179,9 +241,30 @@ public class BinaryData {
         this.binaryFileName = Optional.of(binaryFileName);
     }   
     
+    /**
+     * Creates a binary data object from the given read-only buffer window (the buffer is not copied).
+     * The window is placed at the start address and must fit in the 64Kb address space.
+     * 
+     * @param window the buffer window (index 0 is the byte at start address)
+     * @param start the address of the first byte of the window
+     * @param binaryFileName the name of the binary file (may be null)
+     * @return the BinaryData object
+     * @throws IllegalArgumentException if the window does not fit in the address space
+     */
+    public static BinaryData fromBuffer(ByteBuffer window, int start, String binaryFileName)
+            throws IllegalArgumentException {
+        BinaryData binaryData = new BinaryData(window.asReadOnlyBuffer(), start);
+        if(binaryFileName != null) {
+            binaryData.setBinaryFileName(binaryFileName);
+        }   
+        return binaryData;
+    }   
+    
     /**
      * Creates a new binary data object with parameters from given properties.
      * @param properties the configuration properties read from file
+     * @throws IllegalArgumentException if some parameter is missing or invalid
+     * @throws UncheckedIOException if the binary file cannot be read
      */
     public static BinaryData fromProperties(ConfigFileProperties properties) {
         
@@ -190,27 +273,36 @@ public class BinaryData {
         
         try {
             
-            // Get the binary file name, start and end addresses
+            // Get the binary file name, file offset, start and end addresses
             binaryFileName = properties.getString(BINARY_FILE);
+            int offset = properties.getAddress(BINARY_OFFSET).orElse(0);
             int startAddress = properties.getAddress(BINARY_START).orElse(BinaryData.START_ADDRESS);
             int endAddress = properties.getAddress(BINARY_END).orElse(BinaryData.END_ADDRESS);
             
             if(binaryFileName.isPresent()) {
                 File binaryFile = new File(binaryFileName.get());
-                binaryData = BinaryData.fromFile(binaryFile, startAddress, endAddress);
+                SystemOut.printf("Reading binary file: %s...", binaryFile.getName());
+                try {
+                    binaryData = BinaryData.fromFile(binaryFile, offset, startAddress, endAddress);
+                    SystemOut.printf("Ok%n");
+                } catch(IOException ioException) {
+                    SystemOut.printf("Error!%n");
+                    throw ioException;
+                }   
             } else {
-                System.err.printf("%nError: property %s not found in config file!%n", BINARY_FILE);
-                System.exit(-1);
+                throw new IllegalArgumentException(
+                    String.format("Error: property %s not found in config file!", BINARY_FILE)
+                );  
             }   
             
         } catch (NumberFormatException | IllegalAccessException exeception) {
-            System.err.printf(
-                String.format("%nError reading binary start/end address parameter: %s", exeception.getMessage())
+            throw new IllegalArgumentException(
+                String.format("Error reading binary start/end address parameter: %s", exeception.getMessage()), exeception
             );  
-            System.exit(-1);
         } catch(IOException ioException) {
-            System.err.printf("%nError reading binary file: %n\t%s%n", binaryFileName.get(), ioException.getMessage());
-            System.exit(-1);
+            throw new UncheckedIOException(
+                String.format("Error reading binary file %s:%n\t%s", binaryFileName.get(), ioException.getMessage()), ioException
+            );  
         }   
         
         return binaryData;
@@ -218,14 +310,18 @@ public class BinaryData {
     
     /**
      * Load data from a binary file. The start address is the address where the
-     * first byte of the binary file will be placed. The end address is the last
+     * byte at the given file offset will be placed. The end address is the last
      * position in the binary data object to be filled with the binary data.<br />
      * If the binary file is greater than (end-start) bytes, then the file is truncated.
      * If the file is smaller than (end-start) bytes, the memory is filled from
-     * start to start+file_size.
+     * start to start+file_size.<br />
+     * The file is not read into memory: only the slice [offset, offset+length) is mapped
+     * (read-only) and used as the binary data window, so the loading time does not depend on
+     * the file size (e.g. an image inside a large archive of concatenated images).
      * 
      * @param binaryFile the binary file
-     * @param start address where the first byte of the binary file will be placed
+     * @param offset the file position of the first byte to be loaded
+     * @param start address where the byte at file offset will be placed
      * @param end address of the last position in memory to be filled with the binary data
      * 
      * @return the BinaryData object
@@ -233,12 +329,9 @@ public class BinaryData {
      * @throws FileNotFoundException if the file cannot be found
      * @throws IOException if occurs any error reading the file
      */
-    public static BinaryData fromFile(java.io.File binaryFile, int start, int end) 
+    public static BinaryData fromFile(java.io.File binaryFile, long offset, int start, int end)
             throws FileNotFoundException, IOException {
         
-        int fileSize = (int) binaryFile.length();
-        byte[] data = new byte[fileSize];
-        
         // Validate the start address parameter
         if(start < 0 || start > END_ADDRESS) {
             throw new IllegalArgumentException(
@@ -253,30 +346,52 @@ public class BinaryData {
             );  
         }   
         
-        // Evaluate the length of data to be stored in memory
-        int lenght = Math.min(end, END_ADDRESS) - start + 1;
-        if(start + fileSize < lenght) {
-            lenght = start + fileSize;
+        if(!binaryFile.isFile()) {
+            throw new FileNotFoundException(String.format("Binary file not found: %s", binaryFile.getPath()));
         }   
         
-        System.out.printf("Reading binary file: %s...", binaryFile.getName());
-        
-        try (java.io.DataInputStream dis = new java.io.DataInputStream(new java.io.FileInputStream(binaryFile))) {
+        try (FileChannel channel = FileChannel.open(binaryFile.toPath(), StandardOpenOption.READ)) {
             
-            dis.readFully(data);
-            BinaryData binaryData = new BinaryData(data, start, lenght);
-            binaryData.setBinaryFileName(binaryFile.getName());
+            // Validate the file offset parameter
+            long fileSize = channel.size();
+            if(offset < 0 || offset > fileSize) {
+                throw new IllegalArgumentException(
+                    String.format("Offset of binary file out of range: 0x%X (file size: %d)", offset, fileSize)
+                );  
+            }   
             
-            System.out.printf("Ok%n");
+            // Evaluate the length of data to be stored in memory (the mapping is valid after the channel is closed)
+            int lenght = (int) Math.min(Math.min(end, END_ADDRESS) - start + 1, fileSize - offset);
+            ByteBuffer window = channel.map(MapMode.READ_ONLY, offset, lenght);
             
+            BinaryData binaryData = new BinaryData(window, start);
+            binaryData.setBinaryFileName(binaryFile.getName());
             return binaryData;
-            
-        } catch (IOException ioException) {
-            System.out.printf("Error!%n");
-            throw ioException;
         }   
     }   
     
+    /**
+     * Load data from a binary file. The start address is the address where the
+     * first byte of the binary file will be placed. The end address is the last
+     * position in the binary data object to be filled with the binary data.<br />
+     * If the binary file is greater than (end-start) bytes, then the file is truncated.
+     * If the file is smaller than (end-start) bytes, the memory is filled from
+     * start to start+file_size.
+     * 
+     * @param binaryFile the binary file
+     * @param start address where the first byte of the binary file will be placed
+     * @param end address of the last position in memory to be filled with the binary data
+     * 
+     * @return the BinaryData object
+     * 
+     * @throws FileNotFoundException if the file cannot be found
+     * @throws IOException if occurs any error reading the file
+     */
+    public static BinaryData fromFile(java.io.File binaryFile, int start, int end) 
+            throws FileNotFoundException, IOException {
+        return BinaryData.fromFile(binaryFile, 0L, start, end);
+    }   
+    
     /**
      * Load data from binary file. The start address is the address where the
      * first byte of the binary file will be placed in binary data.
@@ -292,8 +407,7 @@ public class BinaryData {
      * @throws IOException if occurs any error reading the file
      */
     public static BinaryData fromFile(java.io.File binaryFile, int start) throws FileNotFoundException, IOException {
-        int end = Math.min(start + (int) binaryFile.length(), END_ADDRESS);
-        return BinaryData.fromFile(binaryFile, start, end);
+        return BinaryData.fromFile(binaryFile, start, END_ADDRESS);
     }   
     
     /**
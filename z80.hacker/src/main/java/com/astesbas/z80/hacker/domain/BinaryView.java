@@ -0,0 +1,119 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Immutable view of the 64Kb binary data.
+ * The view has no pointer: every read is done at an absolute address, so a single view may be
+ * shared by any number of threads (decoding, label analysis and output rendering). The reads
+ * never allocate objects. Sequential reads are done by cursors (see {@link BinaryCursor}),
+ * one cursor for each thread.
+ * The bytes are read from a read-only buffer window (heap or memory-mapped file) placed at a base address:
+ * the addresses outside the window hold the default byte value, so the binary data is never copied.
+ * Note: the addresses are trunked to 16-bit addresses before reading the binary data.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public final class BinaryView {
+    
+    /** The binary data window (read-only, never changed after the view creation) */
+    private final ByteBuffer window;
+    
+    /** The address of the first byte of the window */
+    private final int base;
+    
+    /** The number of bytes in the window */
+    private final int length;
+    
+    /**
+     * Creates a view for the given buffer window (the buffer is not copied).
+     * The window is placed at the base address and must fit in the 64Kb address space.
+     * 
+     * @param window the binary data window (index 0 is the byte at base address)
+     * @param base the address of the first byte of the window
+     * @throws IllegalArgumentException if the window does not fit in the address space
+     */
+    BinaryView(ByteBuffer window, int base) throws IllegalArgumentException {
+        if(base < BinaryData.START_ADDRESS || base + window.capacity() > BinaryData.MAX_SIZE) {
+            throw new IllegalArgumentException(
+                String.format("Binary data window out of range: 0x%X (%d bytes)", base, window.capacity())
+            );  
+        }   
+        this.window = window;
+        this.base = base;
+        this.length = window.capacity();
+    }   
+    
+    /**
+     * Return the size of the binary data in bytes.
+     * @return number of bytes available in the binary data
+     */
+    public int getSize() {
+        return BinaryData.MAX_SIZE;
+    }   
+    
+    /**
+     * Return the address of the first byte read from the binary data source.
+     * @return the base address of the window
+     */
+    public int getBaseAddress() {
+        return this.base;
+    }   
+    
+    /**
+     * Return the number of bytes read from the binary data source.
+     * @return the number of bytes in the window
+     */
+    public int getLength() {
+        return this.length;
+    }   
+    
+    /**
+     * Return the byte at the given address.
+     * @param address the address of memory
+     * @return the byte in the given address
+     */
+    public byte get(int address) {
+        int index = (address & BinaryData.ADDRESS_MASK) - this.base;
+        return (index >= 0 && index < this.length) ? this.window.get(index):BinaryData.DEFAULT_BYTE_VALUE;
+    }   
+    
+    /**
+     * Return the unsigned 8-bit value at the given address.
+     * @param address the address of memory
+     * @return the byte value in the range [0, 255]
+     */
+    public int readU8(int address) {
+        return this.get(address) & 0xFF;
+    }   
+    
+    /**
+     * Return the unsigned 16-bit value (little endian) at the given address.
+     * @param address the address of the low order byte
+     * @return the word value in the range [0, 65535]
+     */
+    public int readU16LE(int address) {
+        return this.readU8(address) | (this.readU8(address + 1) << 8);
+    }   
+    
+    /**
+     * Return the signed 8-bit displacement at the given address (relative jumps and indexed instructions).
+     * @param address the address of memory
+     * @return the displacement value in the range [-128, 127]
+     */
+    public int readDisplacement(int address) {
+        return this.get(address);
+    }   
+    
+    /**
+     * Creates a new cursor positioned at the given address.
+     * @param address the initial cursor address
+     * @return the cursor
+     */
+    public BinaryCursor cursor(int address) {
+        return new BinaryCursor(this, address);
+    }   
+}
@@ -0,0 +1,171 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compiled (binary) Z80 instructions tables.
+ * The instructions files are compiled at build time (see the process-classes phase of the pom.xml), so the
+ * built-in instruction sets are loaded without parsing the masks of the instructions. The text instructions
+ * file is still the source of truth: the compiled table keeps the checksum of its instructions file and it
+ * is not used if the instructions file was changed after the compilation.
+ * 
+ * Table format: magic number, format version, checksum (CRC32) of the instructions file, number of
+ * instructions and the instructions (see {@link Instruction#writeTo(java.io.DataOutput)}).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public final class CompiledInstructions {
+    
+    /** The extension of the compiled tables (the table of "z80-instructions.dat" is "z80-instructions.tbl") */
+    public static final String TABLE_EXTENSION = ".tbl";
+    
+    /** The magic number of the compiled tables ("Z80T") */
+    private static final int MAGIC = 0x5A383054;
+    
+    /** The format version of the compiled tables */
+    private static final int VERSION = 1;
+    
+    /** Avoid instantiation of this class */
+    private CompiledInstructions() {
+    }   
+    
+    /**
+     * Compiles the given instructions files into the output directory (used by the build).
+     * Usage: CompiledInstructions &lt;output directory&gt; &lt;instructions file&gt;...
+     * 
+     * @param args the output directory and the instructions files
+     * @throws IOException if some reading/writing error occurs
+     * @throws IllegalArgumentException if some instructions file has invalid data
+     */
+    public static void main(String[] args) throws IOException, IllegalArgumentException {
+        
+        if(args.length < 2) {
+            throw new IllegalArgumentException("Usage: CompiledInstructions <output directory> <instructions file>...");
+        }   
+        
+        Path directory = Paths.get(args[0]);
+        Files.createDirectories(directory);
+        for(int index = 1; index < args.length; index++) {
+            Path source = Paths.get(args[index]);
+            Path table = directory.resolve(CompiledInstructions.getTableName(source.getFileName().toString()));
+            int count = CompiledInstructions.compile(source, table);
+            System.out.printf("Compiled %d Z80 instructions from %s to %s%n", count, source, table);
+        }   
+    }   
+    
+    /**
+     * Compiles an instructions file.
+     * 
+     * @param source the instructions file
+     * @param table the compiled table file
+     * @return the number of compiled instructions
+     * @throws IOException if some reading/writing error occurs
+     * @throws IllegalArgumentException if the instructions file has invalid data
+     */
+    public static int compile(Path source, Path table) throws IOException, IllegalArgumentException {
+        
+        long checksum = CompiledInstructions.checksum(Files.newInputStream(source));
+        List<Instruction> instructions = InstructionSet.parse(source.toString(), Files.newInputStream(source));
+        try (OutputStream outputStream = Files.newOutputStream(table)) {
+            CompiledInstructions.write(instructions, checksum, outputStream);
+        }   
+        
+        return instructions.size();
+    }   
+    
+    /**
+     * Writes a compiled table.
+     * 
+     * @param instructions the instructions (in instructions file order)
+     * @param checksum the checksum of the instructions file (see {@link #checksum(InputStream)})
+     * @param outputStream the output stream (not closed by this method)
+     * @throws IOException if some writing error occurs
+     */
+    public static void write(List<Instruction> instructions, long checksum, OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeLong(checksum);
+        output.writeInt(instructions.size());
+        for(Instruction instruction:instructions) {
+            instruction.writeTo(output);
+        }   
+        output.flush();
+    }   
+    
+    /**
+     * Reads a compiled table.
+     * 
+     * @param inputStream the input stream of the compiled table (closed by this method)
+     * @param checksum the checksum of the current instructions file (see {@link #checksum(InputStream)})
+     * @return the instructions (in instructions file order)
+     * @throws IOException if the table cannot be read, has other format or was compiled from other instructions file
+     */
+    public static List<Instruction> read(InputStream inputStream, long checksum) throws IOException {
+        
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream))) {
+            
+            if(input.readInt() != MAGIC || input.readUnsignedShort() != VERSION) {
+                throw new IOException("Invalid compiled instructions table format");
+            } else if(input.readLong() != checksum) {
+                throw new IOException("Compiled instructions table is out of date");
+            }   
+            
+            int count = input.readInt();
+            List<Instruction> instructions = new ArrayList<>(count);
+            try {
+                for(int index = 0; index < count; index++) {
+                    instructions.add(Instruction.readFrom(input));
+                }   
+            } catch (ArrayIndexOutOfBoundsException exception) {
+                throw new IOException("Invalid compiled instructions table data", exception);
+            }   
+            
+            return instructions;
+        }   
+    }   
+    
+    /**
+     * Computes the checksum (CRC32) of an instructions file.
+     * 
+     * @param inputStream the input stream of the instructions file (closed by this method)
+     * @return the checksum
+     * @throws IOException if some reading error occurs
+     */
+    public static long checksum(InputStream inputStream) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream input = inputStream) {
+            byte[] buffer = new byte[8192];
+            for(int count = input.read(buffer); count >= 0; count = input.read(buffer)) {
+                crc.update(buffer, 0, count);
+            }   
+        }   
+        return crc.getValue();
+    }   
+    
+    /**
+     * Return the name of the compiled table of an instructions file (e.g. "/z80-instructions-extended.tbl").
+     * 
+     * @param source the instructions file name
+     * @return the compiled table name
+     */
+    public static String getTableName(String source) {
+        int extension = source.lastIndexOf('.');
+        return ((extension > source.lastIndexOf('/')) ? source.substring(0, extension):source) + TABLE_EXTENSION;
+    }   
+}
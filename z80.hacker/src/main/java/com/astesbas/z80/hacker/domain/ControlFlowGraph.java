@@ -0,0 +1,300 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.util.Arrays;
+
+import com.astesbas.z80.hacker.util.AddressBitSet;
+
+/**
+ * Basic block control flow graph of the decoded code.
+ * A basic block is a sequence of contiguous decoded instructions with a single entry (the first instruction)
+ * and a single exit (the last instruction). A new block starts at the first instruction of a code region,
+ * at the targets of jumps and calls and after jumps and returns (calls do not end blocks).
+ * 
+ * The blocks are numbered in address order, and the block bounds and the successor/predecessor edges are
+ * kept in primitive arrays (the edges in compressed sparse row format), so the graph of a 64Kb image is built
+ * in a few milliseconds and the building time is linear on the number of decoded instructions.
+ * The edges are the intra-procedural flow: jump targets and fall-through to the next block (the call targets
+ * are block starts, but not successors of the calling block). The graph is immutable.
+ * 
+ * Iteration example:
+ * <code><br/>
+ *    for(int block = 0; block < graph.getBlocksCount(); block++) {<br/>
+ *        for(int edge = graph.getSuccessorsStart(block); edge < graph.getSuccessorsEnd(block); edge++) {<br/>
+ *            int successor = graph.getEdgeTarget(edge);<br/>
+ *        }<br/>
+ *    }<br/>
+ * </code>
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class ControlFlowGraph {
+    
+    /** The start address of each block */
+    private final int[] starts;
+    
+    /** The end address of each block (exclusive: the address after the last instruction) */
+    private final int[] ends;
+    
+    /** The address of the last instruction of each block */
+    private final int[] lasts;
+    
+    /** The index of the first successor edge of each block (plus the total number of edges at the end) */
+    private final int[] successorOffsets;
+    
+    /** The successor blocks (indexed by edge) */
+    private final int[] successors;
+    
+    /** The index of the first predecessor edge of each block (plus the total number of edges at the end) */
+    private final int[] predecessorOffsets;
+    
+    /** The predecessor blocks (indexed by edge) */
+    private final int[] predecessors;
+    
+    /**
+     * Creates the graph with the given arrays.
+     */
+    private ControlFlowGraph(int[] starts, int[] ends, int[] lasts, int[] successorOffsets, int[] successors,
+            int[] predecessorOffsets, int[] predecessors) {
+        this.starts = starts;
+        this.ends = ends;
+        this.lasts = lasts;
+        this.successorOffsets = successorOffsets;
+        this.successors = successors;
+        this.predecessorOffsets = predecessorOffsets;
+        this.predecessors = predecessors;
+    }   
+    
+    /**
+     * Builds the control flow graph of the instructions decoded in the valid address range of the decoder.
+     * @param decoder the binary data decoder
+     * @return the control flow graph
+     */
+    public static ControlFlowGraph build(Decoder decoder) {
+        
+        CoverageMap coverageMap = decoder.getCoverageMap();
+        BinaryView view = decoder.getBinaryData().getView();
+        int startAddress = decoder.getStartAddress();
+        int endAddress = decoder.getEndAddress();
+        
+        // First pass: mark the block leaders (region starts, jump/call targets and instructions after jumps)
+        AddressBitSet leaders = new AddressBitSet(coverageMap.size());
+        int fallThrough = -1;
+        int blocksCount = 0;
+        for(int address = coverageMap.nextCodeStart(startAddress);
+                address >= 0 && address <= endAddress; address = coverageMap.nextCodeStart(address + 1)) {
+            
+            Instruction instruction = decoder.getInstruction(address);
+            if(address != fallThrough) {
+                leaders.set(address);
+            }   
+            
+            if(instruction.hasTarget()) {
+                int target = instruction.getTargetAddress(view, address);
+                if(decoder.isValidAddress(target) && coverageMap.isCodeStart(target)) {
+                    leaders.set(target);
+                }   
+            }   
+            
+            FlowType flowType = instruction.getFlowType();
+            fallThrough = (flowType == FlowType.NONE || flowType == FlowType.CALL) ? address + instruction.getSize():-1;
+        }   
+        
+        for(int address = leaders.nextSetBit(startAddress); address >= 0 && address <= endAddress;
+                address = leaders.nextSetBit(address + 1)) {
+            blocksCount++;
+        }   
+        
+        // Second pass: set the block bounds (a block ends before the next leader or after a jump/return)
+        int[] starts = new int[blocksCount];
+        int[] ends = new int[blocksCount];
+        int[] lasts = new int[blocksCount];
+        int block = -1;
+        for(int address = coverageMap.nextCodeStart(startAddress);
+                address >= 0 && address <= endAddress; address = coverageMap.nextCodeStart(address + 1)) {
+            if(leaders.get(address)) {
+                starts[++block] = address;
+            }   
+            lasts[block] = address;
+            ends[block] = address + decoder.getInstruction(address).getSize();
+        }   
+        
+        // Third pass: evaluate the successors of every block (at most two: jump target and fall-through)
+        int[] successorOffsets = new int[blocksCount + 1];
+        int[] edges = new int[blocksCount << 1];
+        int edgesCount = 0;
+        for(block = 0; block < blocksCount; block++) {
+            
+            successorOffsets[block] = edgesCount;
+            Instruction instruction = decoder.getInstruction(lasts[block]);
+            FlowType flowType = instruction.getFlowType();
+            
+            if(flowType == FlowType.JUMP) {
+                int target = Arrays.binarySearch(starts, instruction.getTargetAddress(view, lasts[block]));
+                if(target >= 0) {
+                    edges[edgesCount++] = target;
+                }   
+            }   
+            
+            boolean fallsThrough = (flowType == FlowType.NONE || flowType == FlowType.CALL || instruction.isConditional())
+                && flowType != FlowType.INDIRECT_JUMP;
+            if(fallsThrough && block + 1 < blocksCount && starts[block + 1] == ends[block]) {
+                if(edgesCount == successorOffsets[block] || edges[edgesCount - 1] != block + 1) {
+                    edges[edgesCount++] = block + 1;
+                }   
+            }   
+        }   
+        successorOffsets[blocksCount] = edgesCount;
+        int[] successors = Arrays.copyOf(edges, edgesCount);
+        
+        // Build the predecessors by counting the incoming edges of every block
+        int[] predecessorOffsets = new int[blocksCount + 1];
+        for(int edge = 0; edge < edgesCount; edge++) {
+            predecessorOffsets[successors[edge] + 1]++;
+        }   
+        for(block = 0; block < blocksCount; block++) {
+            predecessorOffsets[block + 1] += predecessorOffsets[block];
+        }   
+        
+        int[] predecessors = new int[edgesCount];
+        int[] positions = Arrays.copyOf(predecessorOffsets, blocksCount);
+        for(block = 0; block < blocksCount; block++) {
+            for(int edge = successorOffsets[block]; edge < successorOffsets[block + 1]; edge++) {
+                predecessors[positions[successors[edge]]++] = block;
+            }   
+        }   
+        
+        return new ControlFlowGraph(starts, ends, lasts, successorOffsets, successors, predecessorOffsets, predecessors);
+    }   
+    
+    /**
+     * Return the number of blocks.
+     * @return the number of blocks
+     */
+    public int getBlocksCount() {
+        return this.starts.length;
+    }   
+    
+    /**
+     * Return the number of edges.
+     * @return the number of edges
+     */
+    public int getEdgesCount() {
+        return this.successors.length;
+    }   
+    
+    /**
+     * Return the start address of a block.
+     * @param block the block index
+     * @return the address of the first instruction of the block
+     */
+    public int getStart(int block) {
+        return this.starts[block];
+    }   
+    
+    /**
+     * Return the end address of a block.
+     * @param block the block index
+     * @return the address after the last instruction of the block
+     */
+    public int getEnd(int block) {
+        return this.ends[block];
+    }   
+    
+    /**
+     * Return the address of the last instruction of a block.
+     * @param block the block index
+     * @return the address of the last instruction of the block
+     */
+    public int getLastInstruction(int block) {
+        return this.lasts[block];
+    }   
+    
+    /**
+     * Return the index of the block that contains the given address.
+     * @param address the address
+     * @return the block index, or -1 if the address is not inside a block
+     */
+    public int findBlock(int address) {
+        int index = Arrays.binarySearch(this.starts, address);
+        if(index >= 0) {
+            return index;
+        }   
+        int block = -index - 2;
+        return (block >= 0 && address < this.ends[block]) ? block:-1;
+    }   
+    
+    /**
+     * Return the index of the first successor edge of a block (see {@link #getEdgeTarget(int)}).
+     * @param block the block index
+     * @return the first successor edge
+     */
+    public int getSuccessorsStart(int block) {
+        return this.successorOffsets[block];
+    }   
+    
+    /**
+     * Return the index after the last successor edge of a block.
+     * @param block the block index
+     * @return the end of the successor edges
+     */
+    public int getSuccessorsEnd(int block) {
+        return this.successorOffsets[block + 1];
+    }   
+    
+    /**
+     * Return the successor block of an edge.
+     * @param edge the successor edge index
+     * @return the successor block index
+     */
+    public int getEdgeTarget(int edge) {
+        return this.successors[edge];
+    }   
+    
+    /**
+     * Return the index of the first predecessor edge of a block (see {@link #getEdgeSource(int)}).
+     * @param block the block index
+     * @return the first predecessor edge
+     */
+    public int getPredecessorsStart(int block) {
+        return this.predecessorOffsets[block];
+    }   
+    
+    /**
+     * Return the index after the last predecessor edge of a block.
+     * @param block the block index
+     * @return the end of the predecessor edges
+     */
+    public int getPredecessorsEnd(int block) {
+        return this.predecessorOffsets[block + 1];
+    }   
+    
+    /**
+     * Return the predecessor block of an edge.
+     * @param edge the predecessor edge index
+     * @return the predecessor block index
+     */
+    public int getEdgeSource(int edge) {
+        return this.predecessors[edge];
+    }   
+    
+    /**
+     * Return the number of successors of a block.
+     * @param block the block index
+     * @return the number of successors
+     */
+    public int getSuccessorsCount(int block) {
+        return this.successorOffsets[block + 1] - this.successorOffsets[block];
+    }   
+    
+    /**
+     * Return the number of predecessors of a block.
+     * @param block the block index
+     * @return the number of predecessors
+     */
+    public int getPredecessorsCount(int block) {
+        return this.predecessorOffsets[block + 1] - this.predecessorOffsets[block];
+    }   
+}
@@ -0,0 +1,239 @@
+package com.astesbas.z80.hacker.domain;
+
+import com.astesbas.z80.hacker.util.AddressBitSet;
+
+/**
+ * Binary data coverage index.
+ * Keeps bit sets for the code-start bytes (first byte of decoded instructions), the decoded bytes
+ * (all bytes of decoded instructions) and the data bytes (bytes referenced as data by instructions).
+ * The bit sets allow range verification a word at a time and fast iteration over the boundaries of
+ * code and data regions, so the processing loops may jump from one region to the next one instead
+ * of visiting every address.
+ * 
+ * The coverage map is the decode state of the {@link Decoder} (the byte states are derived from it), so
+ * it is changed only by the decoder: the map is read-only outside of the domain package. The snapshots
+ * of a map are detached copies (e.g. the coverage of a previous pass or of other banks) and may be
+ * merged with other maps.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class CoverageMap {
+    
+    /** The first byte of decoded instructions */
+    private final AddressBitSet codeStarts;
+    
+    /** The bytes referenced as data by decoded instructions */
+    private final AddressBitSet data;
+    
+    /** All bytes of decoded instructions (union of code-start and operand bytes) */
+    private final AddressBitSet decoded;
+    
+    /** The snapshot flag (the snapshots are not the decode state of a decoder) */
+    private final boolean isSnapshot;
+    
+    /**
+     * Creates an empty coverage map for the given number of addresses.
+     * @param size the number of addresses
+     */
+    CoverageMap(int size) {
+        this(new AddressBitSet(size), new AddressBitSet(size), new AddressBitSet(size), false);
+    }   
+    
+    /**
+     * Creates a coverage map with the given bit sets.
+     */
+    private CoverageMap(AddressBitSet codeStarts, AddressBitSet data, AddressBitSet decoded, boolean isSnapshot) {
+        this.codeStarts = codeStarts;
+        this.data = data;
+        this.decoded = decoded;
+        this.isSnapshot = isSnapshot;
+    }   
+    
+    /**
+     * Return the number of addresses covered by this map.
+     * @return the number of addresses
+     */
+    public int size() {
+        return this.decoded.size();
+    }   
+    
+    /**
+     * Mark the bytes of a decoded instruction.
+     * @param address the address of the first byte of the instruction
+     * @param length the instruction size
+     */
+    void markInstruction(int address, int length) {
+        this.codeStarts.set(address);
+        this.decoded.set(address, address + length);
+    }   
+    
+    /**
+     * Mark a byte referenced as data.
+     * @param address the address of the data byte
+     */
+    void markData(int address) {
+        this.data.set(address);
+    }   
+    
+    /**
+     * Verify if the byte at the given address is the first byte of a decoded instruction.
+     * @param address the address
+     * @return true for code-start bytes
+     */
+    public boolean isCodeStart(int address) {
+        return this.codeStarts.get(address);
+    }   
+    
+    /**
+     * Verify if the byte at the given address is an operand byte of a decoded instruction.
+     * @param address the address
+     * @return true for operand bytes
+     */
+    public boolean isOperand(int address) {
+        return this.decoded.get(address) && !this.codeStarts.get(address);
+    }   
+    
+    /**
+     * Verify if the byte at the given address is referenced as data.
+     * @param address the address
+     * @return true for data bytes
+     */
+    public boolean isData(int address) {
+        return this.data.get(address);
+    }   
+    
+    /**
+     * Verify if the byte at the given address is part of a decoded instruction.
+     * @param address the address
+     * @return true for code-start and operand bytes
+     */
+    public boolean isDecoded(int address) {
+        return this.decoded.get(address);
+    }   
+    
+    /**
+     * Verify if there is no decoded byte in the range [address, address+length).
+     * @param address the first address of the range
+     * @param length the number of bytes
+     * @return true if none of the bytes in the range belongs to a decoded instruction
+     */
+    public boolean isUndecoded(int address, int length) {
+        return this.decoded.isClear(address, address + length);
+    }   
+    
+    /**
+     * Return the address of the next code-start byte at or after the given address.
+     * @param from the address to start the search
+     * @return the address of the next code-start byte or -1 if there is no such byte
+     */
+    public int nextCodeStart(int from) {
+        return this.codeStarts.nextSetBit(from);
+    }   
+    
+    /**
+     * Return the address of the next data byte at or after the given address.
+     * @param from the address to start the search
+     * @return the address of the next data byte or -1 if there is no such byte
+     */
+    public int nextData(int from) {
+        return this.data.nextSetBit(from);
+    }   
+    
+    /**
+     * Return the start of the next code region (first decoded byte) at or after the given address.
+     * @param from the address to start the search
+     * @return the address of the next decoded byte or -1 if there is no such byte
+     */
+    public int nextDecoded(int from) {
+        return this.decoded.nextSetBit(from);
+    }   
+    
+    /**
+     * Return the start of the next db region (first not decoded byte) at or after the given address.
+     * @param from the address to start the search
+     * @return the address of the next not decoded byte or size() if there is no such byte
+     */
+    public int nextUndecoded(int from) {
+        return this.decoded.nextClearBit(from);
+    }   
+    
+    /**
+     * Return the number of decoded instructions.
+     * @return the number of code-start bytes
+     */
+    public int getInstructionsCount() {
+        return this.codeStarts.cardinality();
+    }   
+    
+    /**
+     * Return the number of decoded bytes.
+     * @return the number of code-start and operand bytes
+     */
+    public int getDecodedCount() {
+        return this.decoded.cardinality();
+    }   
+    
+    /**
+     * Return a snapshot (copy) of this coverage map.
+     * The snapshot is not changed by the decoder of this map.
+     * 
+     * @return the coverage map copy
+     */
+    public CoverageMap snapshot() {
+        return new CoverageMap(this.codeStarts.copy(), this.data.copy(), this.decoded.copy(), true);
+    }   
+    
+    /**
+     * Merge the given coverage map into this snapshot (bitwise or of the bit sets).
+     * 
+     * @param other the coverage map to be merged
+     * @throws IllegalStateException if this map is the decode state of a decoder (not a snapshot)
+     * @throws IllegalArgumentException if the maps have different sizes or overlapping instructions
+     */
+    public void merge(CoverageMap other) throws IllegalStateException, IllegalArgumentException {
+        
+        if(!this.isSnapshot) {
+            throw new IllegalStateException("The coverage map of a decoder cannot be merged!");
+        } else if(other.size() != this.size()) {
+            throw new IllegalArgumentException(
+                String.format("Coverage map sizes does not match: %d, %d", this.size(), other.size())
+            );  
+        }   
+        
+        // The decoded bytes of both maps must be bytes of the same instructions (and not data bytes)
+        int address = Math.max(CoverageMap.getConflictAddress(this, other), CoverageMap.getConflictAddress(other, this));
+        if(address >= 0) {
+            throw new IllegalArgumentException(
+                String.format("Overlapping instructions at address 0x%04X", address)
+            );  
+        }   
+        
+        this.codeStarts.or(other.codeStarts);
+        this.data.or(other.data);
+        this.decoded.or(other.decoded);
+    }   
+    
+    /**
+     * Return the first decoded byte of a map that is not a byte of the same instruction in the other map:
+     * a byte referenced as data, a byte with other code-start state or a byte after the end of the instruction
+     * in the other map (instructions with the same code-start byte and different sizes).
+     * 
+     * @param map the coverage map
+     * @param other the other coverage map
+     * @return the address of the conflicting byte or -1 if there is no such byte
+     */
+    private static int getConflictAddress(CoverageMap map, CoverageMap other) {
+        for(int address = map.decoded.nextSetBit(0); address >= 0; address = map.decoded.nextSetBit(address + 1)) {
+            boolean isCodeStart = map.codeStarts.get(address);
+            if(other.data.get(address)
+                    || (other.decoded.get(address) && isCodeStart != other.codeStarts.get(address))
+                    || (!other.decoded.get(address) && !isCodeStart && other.decoded.get(address - 1))) {
+                return address;
+            }   
+        }   
+        return -1;
+    }   
+}
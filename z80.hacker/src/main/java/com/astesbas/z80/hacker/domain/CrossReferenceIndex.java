@@ -0,0 +1,167 @@
+package com.astesbas.z80.hacker.domain;
+
+/**
+ * Cross-reference index of the decoded code: for each 16-bit address, the addresses of the instructions
+ * that reference it (calls, jumps, relative jumps, memory reads and writes and immediate pointers).
+ * 
+ * The references are kept in compressed sparse row format: the references of a target address are stored
+ * contiguously in the referrers/kinds arrays (in referrer address order), and the offsets array holds the
+ * index of the first reference of each target address. So the references of any address are found in
+ * constant time, with no boxing:
+ * <code><br/>
+ *    for(int index = xrefs.getReferencesStart(target); index < xrefs.getReferencesEnd(target); index++) {<br/>
+ *        int referrer = xrefs.getReferrer(index);<br/>
+ *        ReferenceKind kind = xrefs.getKind(index);<br/>
+ *    }<br/>
+ * </code>
+ * The index is built in two linear passes over the decoded instructions (count and fill) and is immutable.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class CrossReferenceIndex {
+    
+    /** The number of target addresses in the index */
+    public static final int SIZE = 0x10000;
+    
+    /** The reference kinds (indexed by ordinal) */
+    private static final ReferenceKind[] KINDS = ReferenceKind.values();
+    
+    /** The index of the first reference of each target address (plus the total number of references at the end) */
+    private final int[] offsets;
+    
+    /** The referrer instruction addresses */
+    private final int[] referrers;
+    
+    /** The reference kinds (ordinal of the ReferenceKind) */
+    private final byte[] kinds;
+    
+    /**
+     * Creates the index with the given arrays.
+     */
+    private CrossReferenceIndex(int[] offsets, int[] referrers, byte[] kinds) {
+        this.offsets = offsets;
+        this.referrers = referrers;
+        this.kinds = kinds;
+    }   
+    
+    /**
+     * Builds the cross-reference index of the instructions decoded in the valid address range of the decoder.
+     * The target addresses may be outside the decoder range (e.g. calls to BIOS routines).
+     * 
+     * @param decoder the binary data decoder
+     * @return the cross-reference index
+     */
+    public static CrossReferenceIndex build(Decoder decoder) {
+        
+        CoverageMap coverageMap = decoder.getCoverageMap();
+        BinaryView view = decoder.getBinaryData().getView();
+        int startAddress = decoder.getStartAddress();
+        int endAddress = decoder.getEndAddress();
+        
+        // First pass: count the references of each target address (shifted by one for the prefix sum)
+        int[] offsets = new int[SIZE + 1];
+        for(int address = coverageMap.nextCodeStart(startAddress);
+                address >= 0 && address <= endAddress; address = coverageMap.nextCodeStart(address + 1)) {
+            int target = CrossReferenceIndex.getTarget(decoder.getInstruction(address), view, address);
+            if(target >= 0) {
+                offsets[target + 1]++;
+            }   
+        }   
+        
+        for(int target = 0; target < SIZE; target++) {
+            offsets[target + 1] += offsets[target];
+        }   
+        
+        // Second pass: fill the references (the referrers of each target are in address order)
+        int[] referrers = new int[offsets[SIZE]];
+        byte[] kinds = new byte[offsets[SIZE]];
+        int[] positions = new int[SIZE];
+        System.arraycopy(offsets, 0, positions, 0, SIZE);
+        for(int address = coverageMap.nextCodeStart(startAddress);
+                address >= 0 && address <= endAddress; address = coverageMap.nextCodeStart(address + 1)) {
+            Instruction instruction = decoder.getInstruction(address);
+            int target = CrossReferenceIndex.getTarget(instruction, view, address);
+            if(target >= 0) {
+                int index = positions[target]++;
+                referrers[index] = address;
+                kinds[index] = (byte) ReferenceKind.of(instruction).ordinal();
+            }   
+        }   
+        
+        return new CrossReferenceIndex(offsets, referrers, kinds);
+    }   
+    
+    /**
+     * Return the address referenced by the instruction at the given address.
+     * 
+     * @param instruction the instruction
+     * @param view the binary data view
+     * @param address the address of the instruction
+     * @return the referenced address, or -1 if the instruction does not reference an address
+     */
+    private static int getTarget(Instruction instruction, BinaryView view, int address) {
+        ReferenceKind kind = ReferenceKind.of(instruction);
+        if(kind == null) {
+            return -1;
+        }   
+        int target = instruction.hasTarget() ?
+            instruction.getTargetAddress(view, address):instruction.getWordOperand(view, address);
+        return (target >= 0 && target < SIZE) ? target:-1;
+    }   
+    
+    /**
+     * Return the total number of references.
+     * @return the number of references
+     */
+    public int getReferencesCount() {
+        return this.referrers.length;
+    }   
+    
+    /**
+     * Return the number of references to the given address.
+     * @param target the target address
+     * @return the number of references (zero for addresses outside the 16-bit range)
+     */
+    public int getReferencesCount(int target) {
+        return this.getReferencesEnd(target) - this.getReferencesStart(target);
+    }   
+    
+    /**
+     * Return the index of the first reference to the given address (see {@link #getReferrer(int)}).
+     * @param target the target address
+     * @return the first reference index
+     */
+    public int getReferencesStart(int target) {
+        return ((target & ~(SIZE - 1)) == 0) ? this.offsets[target]:0;
+    }   
+    
+    /**
+     * Return the index after the last reference to the given address.
+     * @param target the target address
+     * @return the end of the references
+     */
+    public int getReferencesEnd(int target) {
+        return ((target & ~(SIZE - 1)) == 0) ? this.offsets[target + 1]:0;
+    }   
+    
+    /**
+     * Return the address of the referrer instruction of a reference.
+     * @param index the reference index
+     * @return the referrer instruction address
+     */
+    public int getReferrer(int index) {
+        return this.referrers[index];
+    }   
+    
+    /**
+     * Return the kind of a reference.
+     * @param index the reference index
+     * @return the reference kind
+     */
+    public ReferenceKind getKind(int index) {
+        return KINDS[this.kinds[index]];
+    }   
+}
@@ -1,13 +1,14 @@
 package com.astesbas.z80.hacker.domain;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Objects;
 
 /**
  * 8-bit/64Kb binary data decoder.
  * This class manages the binary data and decode instructions.
+ * The state of every byte (data, opcode or parameter) is kept by the coverage map, which is changed only
+ * by this class. The other decode data is kept in primitive arrays (one entry per address): the id of the
+ * decoded instruction and the offset of the byte from the first byte of the instruction. The decoded
+ * instructions are kept by their ids in the instruction set (see {@link InstructionSet#getId(Instruction)}).
  * 
  * @author Luciano M. Christofoletti
  *         luciano@christofoletti.com.br
@@ -16,11 +17,26 @@ import java.util.Objects;
  */
 public class Decoder {
     
+    /** Bank number for binary data that is not a bank of a banked ROM */
+    public static final int NO_BANK = -1;
+    
     /** The binary data to be disassembled (code and data) */
     private final BinaryData binaryData;
     
-    /** The list of disassembled instructions (decoded instructions) */
-    private final List<Instruction> instructionsList;
+    /** The bank number of the binary data (each bank of a banked ROM has its own decoder state) */
+    private final int bank;
+    
+    /** The id of the decoded instruction for every byte of the instruction */
+    private final short[] instructionIds = new short[BinaryData.MAX_SIZE];
+    
+    /** The offset of every byte of a decoded instruction from its first byte */
+    private final byte[] offsets = new byte[BinaryData.MAX_SIZE];
+    
+    /** The instruction set of the decoded instructions (shared, the ids are assigned by the set) */
+    private InstructionSet instructionSet = InstructionSet.EMPTY;
+    
+    /** The decode state: code-start, decoded and data bytes (the state of every byte is derived from it) */
+    private final CoverageMap coverageMap = new CoverageMap(BinaryData.MAX_SIZE);
     
     /** The lower bound address to be disassembled - addresses smaller than this will not be processed */
     private int startAddress = BinaryData.START_ADDRESS;
@@ -34,17 +50,22 @@ public class Decoder {
      * @param binaryData
      */
     public Decoder(BinaryData binaryData) {
+        this(binaryData, NO_BANK);
+    }   
+    
+    /**
+     * The binary data decoder for a bank of a banked ROM.
+     * @param binaryData the binary data of the bank
+     * @param bank the bank number (or NO_BANK)
+     */
+    public Decoder(BinaryData binaryData, int bank) {
         
-        this.binaryData = Objects.requireNonNull(binaryData);
-        this.instructionsList = new  ArrayList<>(BinaryData.MAX_SIZE);
-        
-        // Initializes the instruction's list with bytes from memory (from low to high addresses)
+        // Every byte starts in the DB_BYTE state (the coverage map is empty).
         // For disassembling purposes, a byte is output to the source file as a "db ##".
-        // During the disassembling process, a "db instruction" may be replaced by a reference to 
+        // During the disassembling process, a "db byte" may be replaced by a reference to
         // Z80 instruction or a data byte (the "parameter" part of an instruction)
-        for(int i = BinaryData.START_ADDRESS; i <= BinaryData.END_ADDRESS; i++) {
-            this.instructionsList.add(i, Instruction.DB_BYTE);
-        }   
+        this.binaryData = Objects.requireNonNull(binaryData);
+        this.bank = bank;
     }   
     
     /**
@@ -55,10 +76,67 @@ public class Decoder {
     }   
     
     /**
-     * @return the instructions list
+     * Return the bank number of the binary data.
+     * @return the bank number or NO_BANK
+     */
+    public int getBank() {
+        return this.bank;
+    }   
+    
+    /**
+     * Verify if the binary data is a bank of a banked ROM.
+     * @return true if this decoder has a bank number
+     */
+    public boolean isBanked() {
+        return this.bank != NO_BANK;
+    }   
+    
+    /**
+     * Return the instruction set of the decoded instructions.
+     * @return the instruction set
+     */
+    public InstructionSet getInstructionSet() {
+        return this.instructionSet;
+    }   
+    
+    /**
+     * Sets the instruction set of the decoded instructions.
+     * The instruction set cannot be changed after the first instruction was decoded.
+     * 
+     * @param instructionSet the instruction set
+     * @throws IllegalStateException if some instruction was already decoded
+     */
+    public void setInstructionSet(InstructionSet instructionSet) throws IllegalStateException {
+        if(instructionSet != this.instructionSet && this.coverageMap.getInstructionsCount() > 0) {
+            throw new IllegalStateException("The instruction set cannot be changed after decoding!");
+        }   
+        this.instructionSet = Objects.requireNonNull(instructionSet);
+    }   
+    
+    /**
+     * Return the coverage map of decoded bytes (read-only, see {@link #setInstruction(int, Instruction)}
+     * and {@link #markData(int)}).
+     * @return the coverage map of decoded bytes
+     */
+    public CoverageMap getCoverageMap() {
+        return this.coverageMap;
+    }   
+    
+    /**
+     * Return the instruction at the given address.
+     * For data bytes, the Instruction.DB_BYTE is returned, and for parameter bytes (bytes that are
+     * part of an instruction but not the first one) the Instruction.PARAMTER is returned.
+     * 
+     * @param address the address
+     * @return the instruction at the given address
      */
-    public List<Instruction> getInstructionsList() {
-        return Collections.unmodifiableList(this.instructionsList);
+    public Instruction getInstruction(int address) {
+        if(this.coverageMap.isCodeStart(address)) {
+            return this.instructionSet.getInstruction(this.instructionIds[address]);
+        } else if(this.coverageMap.isDecoded(address)) {
+            return Instruction.PARAMTER;
+        }   
+        return Instruction.DB_BYTE;
     }   
     
     /**
@@ -105,7 +183,16 @@ public class Decoder {
      * @return true if the byte at the given address is a data byte
      */
     public boolean isDbByte(int address) {
-        return this.instructionsList.get(address).isDbByte();
+        return !this.coverageMap.isDecoded(address);
+    }   
+    
+    /**
+     * Verify if the byte at the given address is the first byte of a decoded instruction.
+     * @param address
+     * @return true if the byte at the given address is the first byte of an instruction
+     */
+    public boolean isOpcodeByte(int address) {
+        return this.coverageMap.isCodeStart(address);
     }   
     
     /**
@@ -114,34 +201,54 @@ public class Decoder {
      * @return true if the byte at the given address is part of an instruction
      */
     public boolean isParameterByte(int address) {
-        return this.instructionsList.get(address).isParameter();
+        return this.coverageMap.isOperand(address);
     }   
     
     /**
      * Set the instruction for the given address.
      * @param address
-     * @param instruction
+     * @param instruction the instruction (of the decoder instruction set)
      */
     public void setInstruction(int address, Instruction instruction) {
         
         int instructionSize = instruction.getSize();
-        byte[] bytes = this.binaryData.getBytes(address, instructionSize);
+        short instructionId = this.instructionSet.getId(instruction);
         
-        if(instruction.matches(bytes) && this.isAvailable(address, instructionSize)) {
+        if(instructionId < 0) {
+            throw new IllegalArgumentException(
+                String.format("Instruction %s is not part of the instruction set!", instruction.getMnemonicMask())
+            );  
+        } else if(instruction.matches(this.binaryData, address) && this.isAvailable(address, instructionSize)) {
             
-            // Set the first position equals to the instruction
-            this.instructionsList.set(address, instruction);
+            // Set the first position as the instruction opcode
+            this.instructionIds[address] = instructionId;
+            this.offsets[address] = 0;
             
             // Set the other bytes of the instruction as parameters (if applicable)
             for(int k = 1; k < instructionSize; k++) {
-                this.instructionsList.set(address+k, Instruction.PARAMTER);
+                this.instructionIds[address+k] = instructionId;
+                this.offsets[address+k] = (byte) k;
             }   
             
+            this.coverageMap.markInstruction(address, instructionSize);
+        
         } else {
             throw new IllegalArgumentException(
-                String.format("Could not set instruction %s at 0x%04X!" + instruction.getMnemonicMask(), address)
+                String.format("Could not set instruction %s at 0x%04X!", instruction.getMnemonicMask(), address)
             );  
         }   
+    }   
+    
+    /**
+     * Mark the data byte at the given address as referenced as data by some instruction.
+     * @param address the address of the data byte
+     * @throws IllegalArgumentException if the byte is part of a decoded instruction
+     */
+    public void markData(int address) throws IllegalArgumentException {
+        if(!this.isDbByte(address)) {
+            throw new IllegalArgumentException(String.format("Could not mark data at 0x%04X!", address));
+        }   
+        this.coverageMap.markData(address);
     }      
     
     /**
@@ -153,12 +260,12 @@ public class Decoder {
      * @return true if there is no byte "allocated" in the range
      */
     public boolean isAvailable(int address, int length) {
-        for(int position = address; position < address+length; position++) {
-            if(!this.isDbByte(position)) {
-                return false;
-            }   
+        
+        if(address < BinaryData.START_ADDRESS || address+length > BinaryData.MAX_SIZE) {
+            return false;
         }   
-        return true;
+        
+        return this.coverageMap.isUndecoded(address, length);
     }   
     
     /**
@@ -175,13 +282,8 @@ public class Decoder {
         
         if(!this.isDbByte(address)) {
             
-            // Find the first byte of the processed instruction
-            int startAddress = address;
-            while(this.isParameterByte(startAddress) && this.isValidAddress(startAddress)) {
-                startAddress--;
-            }   
-            
-            return startAddress;
+            // The first byte of the processed instruction is given by the byte offset
+            return address - this.offsets[address];
             
         } else {
             throw new IllegalArgumentException(String.format("There is no instruction at address 0x%04X" + address));
@@ -0,0 +1,27 @@
+package com.astesbas.z80.hacker.domain;
+
+/**
+ * Control flow type of a Z80 instruction.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public enum FlowType {
+    
+    /** Sequential instruction (the execution goes to the next instruction) */
+    NONE,
+    
+    /** Jump to the target address (JP, JR and DJNZ) */
+    JUMP,
+    
+    /** Call to the target address (CALL and RST), the execution returns to the next instruction */
+    CALL,
+    
+    /** Return from subroutine or interrupt (RET, RETI and RETN) */
+    RETURN,
+    
+    /** Jump to the address held by a register (JP (HL), JP (IX) and JP (IY)), the target is unknown */
+    INDIRECT_JUMP;
+}
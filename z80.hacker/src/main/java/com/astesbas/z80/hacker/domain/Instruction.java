@@ -1,7 +1,12 @@
 package com.astesbas.z80.hacker.domain;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
+import com.astesbas.z80.hacker.util.HexTable;
 import com.astesbas.z80.hacker.util.StringUtil;
 
 /**
@@ -18,8 +23,6 @@ import com.astesbas.z80.hacker.util.StringUtil;
  * </code><br/>
  * <br/>
  * <b>Useful documentation:</b><br/>
- *     https://docs.oracle.com/javase/8/docs/api/java/util/regex/Pattern.html<br/>
- *     https://regexone.com/<br/>
  *     http://www.z80.info/decoding.htm#upfx
  *     http://z80-heaven.wikidot.com/opcode-reference-chart
  *     s.replaceFirst("^0+(?!$)", "")
@@ -55,8 +58,48 @@ public class Instruction implements java.io.Serializable {
     /** Flag that indicates that this is an undocumented z80 instruction */
     private final boolean isUndocumented;
     
-    /** The opcode pattern validator */
-    private final java.util.regex.Pattern pattern;
+    /** Flag that indicates that this instruction has a word parameter */
+    private final boolean hasWordParameter;
+    
+    /** The byte values of the instruction (operand bytes are zero) */
+    private final byte[] values;
+    
+    /** The byte masks of the instruction (0xFF for opcode bytes and 0x00 for operand bytes) */
+    private final byte[] masks;
+    
+    /**
+     * The literal segments of the mnemonic mask. The operands are placed between the segments
+     * (e.g. "LD (IX+%s),%s" is split into "LD (IX+", "),", ""), so the number of operands is the
+     * number of segments minus one.
+     */
+    private final String[] segments;
+    
+    /** The literal segments without plus signs (used for negative displacement values) */
+    private final String[] negativeSegments;
+    
+    /** The control flow type of the instruction */
+    private final FlowType flowType;
+    
+    /** Flag that indicates a conditional flow (e.g. JP NZ,####, RET C and DJNZ) */
+    private final boolean isConditional;
+    
+    /** Flag that indicates that the word operand is a memory address (e.g. LD A,(####)) */
+    private final boolean isMemoryReference;
+    
+    /** The instruction definition (the line of the instructions file, see {@link #getDefinition()}) */
+    private final String definition;
+    
+    /** Flag that indicates that the memory address operand is written (e.g. LD (####),A) */
+    private final boolean isMemoryWrite;
+    
+    /** The index of the target operand of jumps and calls (-1 for restarts and other instructions) */
+    private final int targetIndex;
+    
+    /** Flag that indicates that the target operand is a relative displacement (JR and DJNZ) */
+    private final boolean hasRelativeTarget;
+    
+    /** The target address of restart instructions (RST n), -1 for other instructions */
+    private final int restartAddress;
     
     /** Mask for byte parameter */
     private static final String BYTE_PARAM = "##";
@@ -67,6 +110,12 @@ public class Instruction implements java.io.Serializable {
     /** Mask for byte parameter (relative jump/index displacement - same as byte parameter) */
     private static final String DISPLACEMENT_PARAM = "%%";
     
+    /** Flow attribute of conditional instructions */
+    private static final String CONDITIONAL_ATTRIBUTE = "CONDITIONAL";
+    
+    /** Flow attribute of instructions with memory address operand */
+    private static final String MEMORY_ATTRIBUTE = "MEMORY";
+    
     /** This is a placeholder for data bytes (to be output as db ##) */
     public static final Instruction DB_BYTE = new Instruction("##", "db ##");
     
@@ -75,10 +124,28 @@ public class Instruction implements java.io.Serializable {
     
     /**
      * OpCode class constructor. Must provide byte and mnemonic mask strings. 
+     * The flow attributes are inferred from the mnemonic (see {@link #inferFlowAttributes(String)}).
+     * 
      * @param byteMask
      * @param mnemonicMask
      */
-    public Instruction(String byteMask, String mnemonicMask) {
+    public Instruction(String byteMask, String mnemonicMask) throws IllegalArgumentException {
+        this(byteMask, mnemonicMask, null);
+    }   
+    
+    /**
+     * OpCode class constructor with flow attributes (the optional third column of the instructions file).
+     * The flow attributes are separated by spaces: the flow type (JUMP, CALL, RETURN or INDIRECT_JUMP) and
+     * the CONDITIONAL and MEMORY flags (e.g. "JUMP CONDITIONAL" for JP NZ,####, "MEMORY" for LD A,(####)).
+     * The target operand of jumps and calls is the word or displacement operand, and the target of
+     * restarts (calls without operands) is given by the opcode.
+     * 
+     * @param byteMask the byte mask
+     * @param mnemonicMask the mnemonic mask
+     * @param flowAttributes the flow attributes (null or empty to infer them from the mnemonic)
+     * @throws IllegalArgumentException if some mask or attribute is not valid
+     */
+    public Instruction(String byteMask, String mnemonicMask, String flowAttributes) throws IllegalArgumentException {
         
         // Set the indexes of displacement and data parameters
         this.displacementIndex = byteMask.indexOf(DISPLACEMENT_PARAM) >> 1;
@@ -88,14 +155,241 @@ public class Instruction implements java.io.Serializable {
         this.byteMask = byteMask.toUpperCase().trim();
         this.mnemonicMask = mnemonicMask.replaceAll("####|##|%%", "%s").replace("*", "").trim();
         
-        // Set the pattern validator using regular expression
-        String opCodeRegexMatcher = this.byteMask.replaceAll("##|%%", "[A-F0-9]{2}");
-        this.pattern = java.util.regex.Pattern.compile(opCodeRegexMatcher);
-        
         // Set the general properties of the instruction
         this.prefixClass = PrefixClass.of(this.byteMask.substring(0, 2));
         this.size = (this.byteMask.length() >> 1);
         this.isUndocumented = mnemonicMask.contains("*");
+        this.hasWordParameter = this.byteMask.contains(WORD_PARAM);
+        
+        // Compile the byte mask into value/mask arrays. Operand bytes (##/%%) have a zero mask,
+        // so any byte value matches them
+        this.values = new byte[this.size];
+        this.masks = new byte[this.size];
+        for(int index = 0; index < this.size; index++) {
+            String byteString = this.byteMask.substring(index << 1, (index << 1) + 2);
+            if(!byteString.equals(BYTE_PARAM) && !byteString.equals(DISPLACEMENT_PARAM)) {
+                try {
+                    this.values[index] = (byte) Integer.parseInt(byteString, 16);
+                    this.masks[index] = (byte) 0xFF;
+                } catch(NumberFormatException exception) {
+                    throw new IllegalArgumentException(
+                        String.format("Invalid byte %s in instruction mask %s", byteString, this.byteMask)
+                    );  
+                }   
+            }   
+        }   
+        
+        // Split the mnemonic mask into literal segments. The displacement instructions have up to two
+        // operands (displacement and data), the other instructions have only one operand (word or data)
+        this.segments = this.mnemonicMask.split("%s", -1);
+        this.negativeSegments = new String[this.segments.length];
+        for(int index = 0; index < this.segments.length; index++) {
+            this.negativeSegments[index] = this.segments[index].replace("+", "");
+        }   
+        
+        if(this.segments.length - 1 > ((this.displacementIndex < 0 || this.hasWordParameter) ? 1:2)) {
+            throw new IllegalArgumentException(
+                String.format("Invalid number of operands in mnemonic %s", this.mnemonicMask)
+            );  
+        }   
+        
+        // Set the control flow metadata from the flow attributes
+        FlowType flow = FlowType.NONE;
+        boolean conditional = false;
+        boolean memoryReference = false;
+        boolean isInferred = (flowAttributes == null || flowAttributes.trim().isEmpty());
+        String attributes = isInferred ? Instruction.inferFlowAttributes(mnemonicMask):flowAttributes;
+        for(String attribute:attributes.trim().toUpperCase().split("\\s+")) {
+            if(attribute.isEmpty()) {
+                continue;
+            } else if(attribute.equals(CONDITIONAL_ATTRIBUTE)) {
+                conditional = true;
+            } else if(attribute.equals(MEMORY_ATTRIBUTE)) {
+                memoryReference = true;
+            } else {
+                try {
+                    flow = FlowType.valueOf(attribute);
+                } catch(IllegalArgumentException exception) {
+                    throw new IllegalArgumentException(
+                        String.format("Invalid flow attribute %s in instruction %s", attribute, this.mnemonicMask)
+                    );  
+                }   
+            }   
+        }   
+        
+        this.flowType = flow;
+        this.definition = String.join(":", this.byteMask, mnemonicMask.trim(), attributes.trim());
+        this.isConditional = conditional;
+        this.isMemoryReference = memoryReference;
+        this.isMemoryWrite = memoryReference && this.mnemonicMask.matches("\\S+\\s+\\(%s\\),.*");
+        
+        // Set the target operand of jumps and calls
+        boolean hasTarget = (flow == FlowType.JUMP || flow == FlowType.CALL);
+        if(hasTarget && this.hasWordParameter) {
+            this.targetIndex = this.dataIndex;
+            this.hasRelativeTarget = false;
+            this.restartAddress = -1;
+        } else if(hasTarget && this.displacementIndex >= 0) {
+            this.targetIndex = this.displacementIndex;
+            this.hasRelativeTarget = true;
+            this.restartAddress = -1;
+        } else if(flow == FlowType.CALL && this.size == 1) {
+            this.targetIndex = -1;
+            this.hasRelativeTarget = false;
+            this.restartAddress = this.values[0] & 0x38;
+        } else if(!hasTarget) {
+            this.targetIndex = -1;
+            this.hasRelativeTarget = false;
+            this.restartAddress = -1;
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Missing target operand in instruction %s", this.mnemonicMask)
+            );  
+        }   
+    }   
+    
+    /**
+     * Reads an instruction written by {@link #writeTo(DataOutput)} (see {@link CompiledInstructions}).
+     * The masks are not parsed again, all the properties of the instruction are read as written
+     * (the prefix class and the flow type are written as ordinals, so the tables are compiled again
+     * when these enumerations change, see the build).
+     * 
+     * @param input the data input
+     * @throws IOException if some reading error occurs
+     * @throws ArrayIndexOutOfBoundsException if the prefix class or the flow type is not valid
+     */
+    private Instruction(DataInput input) throws IOException {
+        this.byteMask = input.readUTF();
+        this.mnemonicMask = input.readUTF();
+        this.definition = input.readUTF();
+        this.prefixClass = PrefixClass.values()[input.readUnsignedByte()];
+        this.flowType = FlowType.values()[input.readUnsignedByte()];
+        this.size = input.readUnsignedByte();
+        this.values = new byte[this.size];
+        this.masks = new byte[this.size];
+        input.readFully(this.values);
+        input.readFully(this.masks);
+        this.segments = new String[input.readUnsignedByte()];
+        for(int index = 0; index < this.segments.length; index++) {
+            this.segments[index] = input.readUTF();
+        }   
+        
+        // The negative segments are written only if the mnemonic has some plus sign
+        if(input.readBoolean()) {
+            this.negativeSegments = new String[this.segments.length];
+            for(int index = 0; index < this.segments.length; index++) {
+                this.negativeSegments[index] = input.readUTF();
+            }   
+        } else {
+            this.negativeSegments = this.segments;
+        }   
+        this.displacementIndex = input.readByte();
+        this.dataIndex = input.readByte();
+        this.targetIndex = input.readByte();
+        this.restartAddress = input.readShort();
+        int flags = input.readUnsignedByte();
+        this.isUndocumented = (flags & 0x01) != 0;
+        this.hasWordParameter = (flags & 0x02) != 0;
+        this.isConditional = (flags & 0x04) != 0;
+        this.isMemoryReference = (flags & 0x08) != 0;
+        this.isMemoryWrite = (flags & 0x10) != 0;
+        this.hasRelativeTarget = (flags & 0x20) != 0;
+    }   
+    
+    /**
+     * Reads an instruction written by {@link #writeTo(DataOutput)}.
+     * 
+     * @param input the data input
+     * @return the instruction
+     * @throws IOException if some reading error occurs
+     * @throws ArrayIndexOutOfBoundsException if the prefix class or the flow type is not valid
+     */
+    static Instruction readFrom(DataInput input) throws IOException {
+        return new Instruction(input);
+    }   
+    
+    /**
+     * Writes all the properties of this instruction (the instruction is read back by {@link #readFrom(DataInput)}).
+     * 
+     * @param output the data output
+     * @throws IOException if some writing error occurs
+     */
+    void writeTo(DataOutput output) throws IOException {
+        output.writeUTF(this.byteMask);
+        output.writeUTF(this.mnemonicMask);
+        output.writeUTF(this.definition);
+        output.writeByte(this.prefixClass.ordinal());
+        output.writeByte(this.flowType.ordinal());
+        output.writeByte(this.size);
+        output.write(this.values);
+        output.write(this.masks);
+        output.writeByte(this.segments.length);
+        for(String segment:this.segments) {
+            output.writeUTF(segment);
+        }   
+        
+        boolean hasNegativeSegments = this.mnemonicMask.contains("+");
+        output.writeBoolean(hasNegativeSegments);
+        if(hasNegativeSegments) {
+            for(String segment:this.negativeSegments) {
+                output.writeUTF(segment);
+            }   
+        }   
+        output.writeByte(this.displacementIndex);
+        output.writeByte(this.dataIndex);
+        output.writeByte(this.targetIndex);
+        output.writeShort(this.restartAddress);
+        output.writeByte((this.isUndocumented ? 0x01:0) | (this.hasWordParameter ? 0x02:0) |
+            (this.isConditional ? 0x04:0) | (this.isMemoryReference ? 0x08:0) |
+            (this.isMemoryWrite ? 0x10:0) | (this.hasRelativeTarget ? 0x20:0));
+    }   
+    
+    /**
+     * Infers the flow attributes of an instruction from its mnemonic (used when the instructions file
+     * does not define the flow attributes).
+     * 
+     * @param mnemonicMask the mnemonic mask (e.g. "JP NZ,####")
+     * @return the flow attributes (e.g. "JUMP CONDITIONAL")
+     */
+    static String inferFlowAttributes(String mnemonicMask) {
+        
+        String[] split = mnemonicMask.replace("*", "").trim().toUpperCase().split("\\s+", 2);
+        String operation = split[0];
+        String operands = (split.length > 1) ? split[1]:"";
+        
+        StringBuilder attributes = new StringBuilder();
+        switch(operation) {
+            case "JP":
+                attributes.append(operands.startsWith("(") ? FlowType.INDIRECT_JUMP:FlowType.JUMP);
+                break;
+            case "JR":
+            case "DJNZ":
+                attributes.append(FlowType.JUMP);
+                break;
+            case "CALL":
+            case "RST":
+                attributes.append(FlowType.CALL);
+                break;
+            case "RET":
+            case "RETI":
+            case "RETN":
+                attributes.append(FlowType.RETURN);
+                break;
+            default:
+                break;
+        }   
+        
+        // Conditional jumps and calls have the condition before the target operand
+        boolean isFlow = (attributes.length() > 0);
+        if(operation.equals("DJNZ") || (isFlow && operands.contains(",")) || (operation.equals("RET") && !operands.isEmpty())) {
+            attributes.append(' ').append(CONDITIONAL_ATTRIBUTE);
+        }   
+        
+        if(mnemonicMask.contains("(" + WORD_PARAM + ")")) {
+            attributes.append(' ').append(MEMORY_ATTRIBUTE);
+        }   
+        
+        return attributes.toString();
     }   
     
     /**
@@ -117,6 +411,29 @@ public class Instruction implements java.io.Serializable {
         return this.byteMask;
     }   
     
+    /**
+     * Return the instruction definition in the instructions file format ("byteMask:mnemonicMask:attributes",
+     * e.g. "C2####:JP NZ,####:JUMP CONDITIONAL"). The same instruction is created by {@link #parse(String)}.
+     * @return the instruction definition
+     */
+    public String getDefinition() {
+        return this.definition;
+    }   
+    
+    /**
+     * Creates an instruction from its definition (see {@link #getDefinition()}).
+     * @param definition the instruction definition (the attributes are optional)
+     * @return the instruction
+     * @throws IllegalArgumentException if the definition is not valid
+     */
+    public static Instruction parse(String definition) throws IllegalArgumentException {
+        String[] split = definition.split(":");
+        if(split.length < 2) {
+            throw new IllegalArgumentException(String.format("Invalid instruction definition \"%s\"", definition));
+        }   
+        return new Instruction(split[0].trim(), split[1].trim(), (split.length > 2) ? split[2].trim():null);
+    }   
+    
     /**
      * Return the mnemonic mask as string.
      * @return the mnemonic mask
@@ -138,7 +455,7 @@ public class Instruction implements java.io.Serializable {
      * @return true for instructions with word parameter
      */
     public boolean hasWordParameter() {
-        return this.byteMask.contains(WORD_PARAM);
+        return this.hasWordParameter;
     }   
     
     /**
@@ -149,6 +466,84 @@ public class Instruction implements java.io.Serializable {
         return (this.displacementIndex > 0);
     }   
     
+    /**
+     * Return the control flow type of the instruction.
+     * @return the flow type
+     */
+    public FlowType getFlowType() {
+        return this.flowType;
+    }   
+    
+    /**
+     * Return true if the flow of the instruction is conditional (e.g. JP NZ,####, RET C and DJNZ).
+     * @return true for conditional flow instructions
+     */
+    public boolean isConditional() {
+        return this.isConditional;
+    }   
+    
+    /**
+     * Return true if the word operand of the instruction is a memory address (e.g. LD A,(####)).
+     * @return true for memory reference instructions
+     */
+    public boolean isMemoryReference() {
+        return this.isMemoryReference;
+    }   
+    
+    /**
+     * Return true if the memory address operand of the instruction is written (e.g. LD (####),A).
+     * @return true for memory write instructions
+     */
+    public boolean isMemoryWrite() {
+        return this.isMemoryWrite;
+    }   
+    
+    /**
+     * Return true if the instruction has a target address (jumps, calls and restarts).
+     * @return true for instructions with target address
+     */
+    public boolean hasTarget() {
+        return (this.targetIndex >= 0 || this.restartAddress >= 0);
+    }   
+    
+    /**
+     * Return true if the target address is a relative displacement (JR and DJNZ).
+     * @return true for relative jumps
+     */
+    public boolean hasRelativeTarget() {
+        return this.hasRelativeTarget;
+    }   
+    
+    /**
+     * Evaluates the target address of the jump/call instruction at the given address.
+     * 
+     * @param view the binary data view
+     * @param address the address of the instruction
+     * @return the absolute target address (may be outside the 16-bit range for relative jumps), or -1 if
+     * the instruction has no target
+     */
+    public int getTargetAddress(BinaryView view, int address) {
+        if(this.restartAddress >= 0) {
+            return this.restartAddress;
+        } else if(this.targetIndex < 0) {
+            return -1;
+        } else if(this.hasRelativeTarget) {
+            return address + view.readDisplacement(address + this.targetIndex) + this.size;
+        }   
+        return view.readU16LE(address + this.targetIndex);
+    }   
+    
+    /**
+     * Return the value of the word operand of the instruction at the given address.
+     * 
+     * @param view the binary data view
+     * @param address the address of the instruction
+     * @return the word operand value, or -1 if the instruction has no word operand
+     */
+    public int getWordOperand(BinaryView view, int address) {
+        return this.hasWordParameter ? view.readU16LE(address + this.dataIndex):-1;
+    }   
+    
     /**
      * Get the status that indicates if this instruction is officially documented.
      * @return true if the instruction is not officially documented
@@ -177,59 +572,108 @@ public class Instruction implements java.io.Serializable {
             );  
         }   
         
-        String mnemonic = this.mnemonicMask;
+        BinaryView view = new BinaryView(ByteBuffer.wrap(bytes), BinaryData.START_ADDRESS);
+        return this.appendTo(new StringBuilder(), view, BinaryData.START_ADDRESS, label).toString();
+    }   
         
-        // Format the mnemonic using the word parameter index (if available)
-        if (this.hasWordParameter()) {
+    /**
+     * Appends the mnemonic representation of the instruction at the given address to the string builder.
+     * If a non-empty label is provided, then it will replace the word or displacement byte in the mnemonic.
+     * The mnemonic is rendered from the pre-split mnemonic segments, and the operands are read directly
+     * from the binary data view, so no object is allocated (other than by the string builder growth).
+     * Note: the bytes at the given address are not verified (the instruction must match them).
+     * 
+     * @param builder the string builder
+     * @param view the binary data view
+     * @param address the address of the instruction
+     * @param label the label to be used in the mnemonic (empty for the numeric representation)
+     * @return the given string builder
+     */
+    public StringBuilder appendTo(StringBuilder builder, BinaryView view, int address, CharSequence label) {
+        return this.appendTo(builder, view, address, label, StringUtil.getHexTable());
+    }   
+    
+    /**
+     * Appends the mnemonic representation of the instruction at the given address to the string builder,
+     * with the numeric operands in the format of the given hexadecimal table
+     * (see {@link #appendTo(StringBuilder, BinaryView, int, CharSequence)}).
+     * 
+     * @param builder the string builder
+     * @param view the binary data view
+     * @param address the address of the instruction
+     * @param label the label to be used in the mnemonic (empty for the numeric representation)
+     * @param hexTable the hexadecimal table of the output format
+     * @return the given string builder
+     */
+    public StringBuilder appendTo(StringBuilder builder, BinaryView view, int address, CharSequence label,
+            HexTable hexTable) {
+            
+        boolean hasLabel = label.length() > 0;
+            
+        // For displacement values lower than 0, remove the plus sign from mnemonic
+        String[] literals = this.segments;
+        if(this.displacementIndex >= 0 && !this.hasWordParameter && !hasLabel
+                && view.readDisplacement(address + this.displacementIndex) < 0) {
+            literals = this.negativeSegments;
+        }   
+            
+        builder.append(literals[0]);
+        for(int operand = 1; operand < literals.length; operand++) {
+            this.appendOperand(builder, operand - 1, view, address, label, hasLabel, hexTable);
+            builder.append(literals[operand]);
+        }   
+            
+        // For extended instructions, the resulting output is a sequence of
+        // bytes with a code commentary about the instruction that is being executed
+        if(this.isUndocumented && this.displacementIndex >= 0 && !this.hasWordParameter) {
+            builder.append(" ; byte sequence: ");
+            for(int index = 0; index < this.size; index++) {
+                StringUtil.appendHexByte(builder, view.readU8(address + index)).append(", ");
+            }   
+        }   
+        
+        return builder;
+    }   
+    
+    /**
+     * Appends an operand of the mnemonic to the string builder.
+     * The word instructions have only the word operand, the displacement instructions have the displacement
+     * and data operands (in this order), and the other instructions have only the data operand.
+     * 
+     * @param builder the string builder
+     * @param operand the operand index
+     * @param view the binary data view
+     * @param address the address of the instruction
+     * @param label the label to be used in the mnemonic
+     * @param hasLabel flag to indicate that the label is not empty
+     * @param hexTable the hexadecimal table of the output format
+     */
+    private void appendOperand(StringBuilder builder, int operand, BinaryView view, int address,
+            CharSequence label, boolean hasLabel, HexTable hexTable) {
+        
+        if(this.hasWordParameter) {
             
             // The word parameter must by translated using a little endian format
-            if(label.isEmpty()) {
-                String wordValue = StringUtil.wordToHexString(bytes[this.dataIndex], bytes[this.dataIndex+1]);
-                mnemonic = String.format(this.mnemonicMask, wordValue);
+            if(hasLabel) {
+                builder.append(label);
             } else {
-                mnemonic = String.format(this.mnemonicMask, label);
+                builder.append(hexTable.format(view.readU16LE(address + this.dataIndex)));
             }   
+        
+        } else if(this.displacementIndex >= 0 && operand == 0) {
             
-        } else {
+            if(hasLabel) {
+                builder.append(label);
+            } else {
+                builder.append(view.readDisplacement(address + this.displacementIndex));
+            }   
+        
+        } else if(this.dataIndex >= 0) {
             
-            // Get the data parameter (if available).
             // NOTE: the dataIndex in general is greater than zero.
             // (exception for db xx, which is not an instruction)
-            String data = (this.dataIndex >= 0) ? StringUtil.byteToHexString(bytes[this.dataIndex]):"";
-            
-            // Set the mnemonic according to the parameters available.
-            // Note that the data string may be empty.
-            if (this.displacementIndex < 0) {
-                
-                // For instructions without displacement, the mnemonic may contain only
-                // the data parameter.
-                mnemonic = String.format(this.mnemonicMask, data);
-                
-            } else {
-                
-                if(label.isEmpty()) {
-                    
-                    byte byteValue = bytes[this.displacementIndex];
-                    mnemonic = String.format(this.mnemonicMask, Byte.toString(byteValue), data);
-                    
-                    // For byte values lower than 0, remove the plus sign from mnemonic
-                    if(byteValue < 0) {
-                        mnemonic = mnemonic.replace("+", "");
-                    }   
-                    
-                } else {
-                    mnemonic = String.format(this.mnemonicMask, label, data);
-                }   
-                
-                // For extended instructions, the resulting output is a sequence of
-                // bytes with a code commentary about the instruction that is being executed
-                if(this.isUndocumented) {
-                    mnemonic = mnemonic + " ; byte sequence: " + StringUtil.bytesToHex(bytes, ", ");
-                }
-            }   
+            builder.append(hexTable.format(view.readU8(address + this.dataIndex)));
         }   
-        
-        return mnemonic;
     }   
     
     /**
@@ -249,7 +693,35 @@ public class Instruction implements java.io.Serializable {
 	 * @return true if the given byte array is a valid instruction for this op-code.
 	 */
 	public boolean matches(byte[] bytes) {
-        return this.matches(StringUtil.bytesToHex(bytes));
+        
+        if(bytes.length != this.size) {
+            return false;
+        }   
+        
+        for(int index = 0; index < this.size; index++) {
+            if(((bytes[index] ^ this.values[index]) & this.masks[index]) != 0) {
+                return false;
+            }   
+        }   
+        
+        return true;
+    }   
+    
+    /**
+     * Verify if the bytes at the given address of binary data matches this op-code.
+     * The bytes are read directly from binary data (no copy is done).
+     * 
+     * @param binaryData the binary data
+     * @param address the address of the first byte of the instruction
+     * @return true if the bytes at the given address are a valid instruction for this op-code.
+     */
+    public boolean matches(BinaryData binaryData, int address) {
+        for(int index = 0; index < this.size; index++) {
+            if(((binaryData.get(address+index) ^ this.values[index]) & this.masks[index]) != 0) {
+                return false;
+            }   
+        }   
+        return true;
     }   
     
     /**
@@ -259,7 +731,20 @@ public class Instruction implements java.io.Serializable {
      * @return true if the given byte array is a valid instruction for this instruction.
      */
     public boolean matches(String bytesString) {
-        return this.pattern.matcher(bytesString.toUpperCase()).matches();
+        
+        if(bytesString.length() != (this.size << 1)) {
+            return false;
+        }   
+        
+        for(int index = 0; index < this.size; index++) {
+            int high = Character.digit(bytesString.charAt(index << 1), 16);
+            int low = Character.digit(bytesString.charAt((index << 1) + 1), 16);
+            if(high < 0 || low < 0 || ((((byte) ((high << 4) | low)) ^ this.values[index]) & this.masks[index]) != 0) {
+                return false;
+            }   
+        }   
+        
+        return true;
     }   
     
     /**
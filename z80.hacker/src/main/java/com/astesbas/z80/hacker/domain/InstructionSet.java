@@ -0,0 +1,289 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.astesbas.z80.hacker.util.StringUtil;
+
+/**
+ * Immutable set of Z80 instructions (in instructions file order) and its dispatch table.
+ * The instruction set is not changed after loaded, so it may be shared by any number of disassemblers
+ * running concurrently (e.g. the banks of a megaROM or the projects of a batch).
+ * The checksum identifies the contents of the set (e.g. in the result cache keys) without reading its source again.
+ * Every instruction has a dense id (its position in the set), assigned once when the set is created, so the
+ * decoders keep the ids of the decoded instructions instead of references.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public final class InstructionSet {
+    
+    /** The empty instruction set (no instruction is decoded) */
+    public static final InstructionSet EMPTY = new InstructionSet("", Collections.emptyList(), false);
+    
+    /** The source of the instructions (see {@link InstructionSetRegistry}) */
+    private final String source;
+    
+    /** The instructions (in instructions file order) */
+    private final List<Instruction> instructions;
+    
+    /** The ids of the instructions (the id of an instruction is its position in the set) */
+    private final Map<Instruction, Short> ids;
+    
+    /** The dispatch table of the instructions */
+    private final InstructionTable table;
+    
+    /** Flag that indicates that the undocumented instructions were loaded */
+    private final boolean undocumented;
+    
+    /** The checksum (CRC32) of the instructions source */
+    private final long checksum;
+    
+    /**
+     * Creates an instruction set with the given instructions.
+     * The checksum of the set is computed from the definitions of the instructions.
+     * 
+     * @param source the source of the instructions (e.g. the instructions file name)
+     * @param instructions the instructions
+     * @param undocumented flag that indicates that the undocumented instructions are part of the set
+     * @throws IllegalArgumentException if the dispatch table cannot be built (e.g. duplicated instructions)
+     */
+    public InstructionSet(String source, Collection<Instruction> instructions, boolean undocumented)
+            throws IllegalArgumentException {
+        this(source, instructions, undocumented, InstructionSet.checksum(instructions));
+    }   
+    
+    /**
+     * Creates an instruction set with the given instructions and checksum.
+     * 
+     * @param source the source of the instructions (e.g. the instructions file name)
+     * @param instructions the instructions
+     * @param undocumented flag that indicates that the undocumented instructions are part of the set
+     * @param checksum the checksum (CRC32) of the instructions file
+     * @throws IllegalArgumentException if the dispatch table cannot be built (e.g. duplicated instructions)
+     */
+    private InstructionSet(String source, Collection<Instruction> instructions, boolean undocumented, long checksum)
+            throws IllegalArgumentException {
+        this.source = source;
+        this.instructions = Collections.unmodifiableList(new ArrayList<>(instructions));
+        if(this.instructions.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Too many instructions in %s: %d", source, this.instructions.size()));
+        }   
+        
+        Map<Instruction, Short> ids = new IdentityHashMap<>(this.instructions.size());
+        for(int id = 0; id < this.instructions.size(); id++) {
+            ids.putIfAbsent(this.instructions.get(id), (short) id);
+        }   
+        this.ids = Collections.unmodifiableMap(ids);
+        this.table = new InstructionTable(this.instructions);
+        this.undocumented = undocumented;
+        this.checksum = checksum;
+    }   
+    
+    /**
+     * Loads the Z80 instructions data from input stream (patterns and attributes).
+     * The shared instruction sets are loaded by the {@link InstructionSetRegistry}.
+     * 
+     * @param source the source of the instructions (e.g. the instructions file name)
+     * @param inputStream the input stream (closed by this method)
+     * @param loadUndocumented flag to indicate the loading of undocumented Z80 instructions
+     * @return the instruction set
+     * @throws IOException if some reading error occurs
+     * @throws IllegalArgumentException if the input file has some invalid data
+     */
+    public static InstructionSet load(String source, InputStream inputStream, boolean loadUndocumented)
+            throws IOException, IllegalArgumentException {
+        
+        if(inputStream == null) {
+            throw new IOException(String.format("System could not find the Z80 instructions file %s!", source));
+        }   
+        
+        // The instructions file is read once for the checksum and the parsing
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream input = inputStream) {
+            byte[] buffer = new byte[8192];
+            for(int count = input.read(buffer); count >= 0; count = input.read(buffer)) {
+                bytes.write(buffer, 0, count);
+            }   
+        }   
+        
+        long checksum = CompiledInstructions.checksum(new ByteArrayInputStream(bytes.toByteArray()));
+        List<Instruction> instructions = InstructionSet.parse(source, new ByteArrayInputStream(bytes.toByteArray()));
+        return InstructionSet.of(source, instructions, loadUndocumented, checksum);
+    }   
+    
+    /**
+     * Creates an instruction set with the given instructions (the undocumented instructions are discarded
+     * if not requested).
+     * 
+     * @param source the source of the instructions (e.g. the instructions file name)
+     * @param instructions all the instructions of the source (in instructions file order)
+     * @param loadUndocumented flag to indicate the loading of undocumented Z80 instructions
+     * @param checksum the checksum (CRC32) of the instructions file (see {@link CompiledInstructions#checksum(InputStream)})
+     * @return the instruction set
+     * @throws IllegalArgumentException if the dispatch table cannot be built
+     */
+    public static InstructionSet of(String source, Collection<Instruction> instructions, boolean loadUndocumented,
+            long checksum) throws IllegalArgumentException {
+        List<Instruction> selected = new ArrayList<>(instructions.size());
+        for(Instruction instruction:instructions) {
+            if(!(instruction.isUndocumented() && !loadUndocumented)) {
+                selected.add(instruction);
+            }   
+        }   
+        return new InstructionSet(source, selected, loadUndocumented, checksum);
+    }   
+    
+    /**
+     * Computes the checksum (CRC32) of the definitions of the given instructions.
+     * @param instructions the instructions
+     * @return the checksum
+     */
+    private static long checksum(Collection<Instruction> instructions) {
+        CRC32 crc = new CRC32();
+        for(Instruction instruction:instructions) {
+            crc.update((instruction.getDefinition() + '\n').getBytes(StandardCharsets.UTF_8));
+        }   
+        return crc.getValue();
+    }   
+    
+    /**
+     * Parses all the Z80 instructions of the input stream (patterns and attributes), including the
+     * undocumented instructions.
+     * 
+     * @param source the source of the instructions (e.g. the instructions file name)
+     * @param inputStream the input stream (closed by this method)
+     * @return the instructions (in instructions file order)
+     * @throws IOException if some reading error occurs
+     * @throws IllegalArgumentException if the input file has some invalid data
+     */
+    static List<Instruction> parse(String source, InputStream inputStream) throws IOException, IllegalArgumentException {
+        
+        if(inputStream == null) {
+            // The stream of a resource is null if the instructions file cannot be found in the classpath
+            throw new IOException(String.format("System could not find the Z80 instructions file %s!", source));
+        }   
+        
+        String line;
+        int lineNumber = 0;
+        List<Instruction> instructions = new ArrayList<>();
+        
+        // InputStreamReader reads bytes and decodes them into characters using a specified charset
+        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream))) {
+            
+            while ((line = bufferedReader.readLine()) != null) {
+                
+                lineNumber++;
+                
+                // Discard comment lines and empty lines
+                line = StringUtil.clean(line, '\'');
+                if (line.isEmpty()) {
+                    continue;
+                }   
+                
+                // Get the instruction's binary matcher and the mnemonic string
+                String lineSplit[] = line.split(":");
+                if (lineSplit.length > 1) {
+                    
+                    // get the byte/mnemonic masks
+                    String byteMask = lineSplit[0].trim();
+                    String mnemonicMask = lineSplit[1].trim();
+                    String flowAttributes = (lineSplit.length > 2) ? lineSplit[2].trim():null;
+                    
+                    // Create the instruction
+                    instructions.add(new Instruction(byteMask, mnemonicMask, flowAttributes));
+                
+                } else {
+                    throw new IllegalArgumentException(
+                        String.format("Error processing instruction \"%s\" at line %d%n", line, lineNumber)
+                    );  
+                }   
+            }   
+        }   
+        
+        return instructions;
+    }   
+    
+    /**
+     * Return the source of the instructions.
+     * @return the source (empty for the empty instruction set)
+     */
+    public String getSource() {
+        return this.source;
+    }   
+    
+    /**
+     * Return the instructions (in instructions file order).
+     * @return the unmodifiable list of instructions
+     */
+    public List<Instruction> getInstructions() {
+        return this.instructions;
+    }   
+    
+    /**
+     * Return the instruction with the given id.
+     * @param id the instruction id (see {@link #getId(Instruction)})
+     * @return the instruction
+     * @throws IndexOutOfBoundsException if the id is not valid
+     */
+    public Instruction getInstruction(int id) {
+        return this.instructions.get(id);
+    }   
+    
+    /**
+     * Return the id of the given instruction.
+     * @param instruction the instruction
+     * @return the instruction id or -1 if the instruction is not part of the set
+     */
+    public short getId(Instruction instruction) {
+        Short id = this.ids.get(instruction);
+        return (id != null) ? id:-1;
+    }   
+    
+    /**
+     * Return the dispatch table of the instructions.
+     * @return the dispatch table
+     */
+    public InstructionTable getTable() {
+        return this.table;
+    }   
+    
+    /**
+     * Return the number of instructions.
+     * @return the number of instructions
+     */
+    public int size() {
+        return this.instructions.size();
+    }   
+    
+    /**
+     * Return true if the undocumented instructions were loaded.
+     * @return the undocumented instructions flag
+     */
+    public boolean isUndocumented() {
+        return this.undocumented;
+    }   
+    
+    /**
+     * Return the checksum of the instruction set: the CRC32 of the instructions file (the same checksum
+     * kept by the compiled tables) or of the instruction definitions if the set was not loaded from a file.
+     * @return the checksum
+     */
+    public long getChecksum() {
+        return this.checksum;
+    }   
+}
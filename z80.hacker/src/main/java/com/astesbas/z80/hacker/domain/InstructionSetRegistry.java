@@ -0,0 +1,163 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Process-wide registry of the Z80 instruction sets.
+ * The instruction sets are keyed by source (the built-in instructions resource file or a custom instructions
+ * file) and undocumented instructions flag. Every instruction set is loaded once, at the first request, and
+ * shared by all disassemblers, sessions and threads (the instruction sets are immutable). The threads that
+ * request an instruction set being loaded wait for it, so the instructions file is never parsed twice.
+ * 
+ * The custom instructions files are keyed by their last modified time too, so a changed file is loaded again.
+ * The built-in instruction sets are read from the tables compiled at build time (see {@link CompiledInstructions}).
+ * A failed load is not kept in the registry (the next request tries again).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public final class InstructionSetRegistry {
+    
+    /** The built-in Z80 instructions resource file (the default source) */
+    public static final String DEFAULT_SOURCE = "/z80-instructions-extended.dat";
+    
+    /** The instruction sets (being loaded or loaded) by key */
+    private static final ConcurrentMap<String, FutureTask<InstructionSet>> INSTRUCTION_SETS = new ConcurrentHashMap<>();
+    
+    /** Avoid instantiation of this class */
+    private InstructionSetRegistry() {
+    }   
+    
+    /**
+     * Return the instruction set of the built-in instructions resource file.
+     * 
+     * @param undocumented flag to indicate the loading of undocumented Z80 instructions
+     * @return the shared instruction set
+     * @throws IOException if the instructions file cannot be read
+     * @throws IllegalArgumentException if the instructions file has some invalid data
+     */
+    public static InstructionSet getDefault(boolean undocumented) throws IOException, IllegalArgumentException {
+        return InstructionSetRegistry.get(DEFAULT_SOURCE, undocumented);
+    }   
+    
+    /**
+     * Return the instruction set of the given source (loaded at the first request).
+     * 
+     * @param source the built-in resource file ({@link #DEFAULT_SOURCE}, null or empty) or an instructions file
+     * @param undocumented flag to indicate the loading of undocumented Z80 instructions
+     * @return the shared instruction set
+     * @throws IOException if the instructions file cannot be read
+     * @throws IllegalArgumentException if the instructions file has some invalid data
+     */
+    public static InstructionSet get(String source, boolean undocumented) throws IOException, IllegalArgumentException {
+        
+        String sourceName = InstructionSetRegistry.getSourceName(source);
+        String key = String.format("%s|%b", sourceName, undocumented);
+        if(!DEFAULT_SOURCE.equals(sourceName)) {
+            key += "|" + Files.getLastModifiedTime(Paths.get(sourceName)).toMillis();
+        }   
+        
+        FutureTask<InstructionSet> task = INSTRUCTION_SETS.get(key);
+        if(task == null) {
+            FutureTask<InstructionSet> loadTask = new FutureTask<>(
+                () -> InstructionSetRegistry.load(sourceName, undocumented)
+            );  
+            task = INSTRUCTION_SETS.putIfAbsent(key, loadTask);
+            if(task == null) {
+                task = loadTask;
+                task.run();
+            }   
+        }   
+        
+        try {
+            return task.get();
+        } catch (ExecutionException exception) {
+            INSTRUCTION_SETS.remove(key, task);
+            Throwable cause = exception.getCause();
+            if(cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if(cause instanceof Error) {
+                throw (Error) cause;
+            }   
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Loading of %s interrupted", sourceName));
+        }   
+    }   
+    
+    /**
+     * Loads the instruction set of the given source. The built-in instruction sets are read from the
+     * compiled table of the resource file (see {@link CompiledInstructions}), if it is up to date.
+     * 
+     * @param sourceName the source name (see {@link #getSourceName(String)})
+     * @param undocumented flag to indicate the loading of undocumented Z80 instructions
+     * @return the instruction set
+     * @throws IOException if the instructions file cannot be read
+     * @throws IllegalArgumentException if the instructions file has some invalid data
+     */
+    private static InstructionSet load(String sourceName, boolean undocumented) throws IOException, IllegalArgumentException {
+        
+        InputStream table = DEFAULT_SOURCE.equals(sourceName) ?
+            InstructionSetRegistry.class.getResourceAsStream(CompiledInstructions.getTableName(sourceName)):null;
+        if(table != null) {
+            try {
+                long checksum = CompiledInstructions.checksum(InstructionSetRegistry.open(sourceName));
+                return InstructionSet.of(sourceName, CompiledInstructions.read(table, checksum), undocumented, checksum);
+            } catch (IOException exception) {
+                // The compiled table is out of date or invalid, so the instructions file is parsed
+                table.close();
+            }   
+        }   
+        
+        return InstructionSet.load(sourceName, InstructionSetRegistry.open(sourceName), undocumented);
+    }   
+    
+    /**
+     * Return the name of the given source: the built-in resource file name or the absolute path of
+     * the instructions file.
+     * 
+     * @param source the built-in resource file ({@link #DEFAULT_SOURCE}, null or empty) or an instructions file
+     * @return the source name
+     * @throws java.nio.file.InvalidPathException if the source is not a valid path
+     */
+    public static String getSourceName(String source) {
+        if(source == null || source.trim().isEmpty() || DEFAULT_SOURCE.equals(source.trim())) {
+            return DEFAULT_SOURCE;
+        }   
+        return Paths.get(source.trim()).toAbsolutePath().normalize().toString();
+    }   
+    
+    /**
+     * Opens the instructions file of the given source.
+     * 
+     * @param source the built-in resource file ({@link #DEFAULT_SOURCE}, null or empty) or an instructions file
+     * @return the instructions file stream
+     * @throws IOException if the instructions file cannot be found or opened
+     */
+    public static InputStream open(String source) throws IOException {
+        
+        String sourceName = InstructionSetRegistry.getSourceName(source);
+        if(DEFAULT_SOURCE.equals(sourceName)) {
+            InputStream stream = InstructionSetRegistry.class.getResourceAsStream(DEFAULT_SOURCE);
+            if(stream == null) {
+                throw new IOException("System could not find the Z80 instructions resource file in the classpath!");
+            }   
+            return stream;
+        }   
+        
+        return Files.newInputStream(Paths.get(sourceName));
+    }   
+}
@@ -0,0 +1,151 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.util.Collection;
+
+/**
+ * Z80 instructions dispatch table.
+ * The instructions are indexed by opcode in 256-entry tables, one table for each prefix group:
+ * unprefixed, CB, ED, DD, FD, DDCB and FDCB. Any instruction can then be resolved from the
+ * binary data with at most three array lookups (prefix, opcode and table entry).<br/>
+ * For the DDCB/FDCB groups the opcode is the fourth byte of the instruction (the third one is
+ * the index displacement), e.g.: <code>DD CB %% 06 - RLC (IX+%%)</code>
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class InstructionTable {
+    
+    /** The number of entries in each dispatch table (one entry for each opcode value) */
+    public static final int TABLE_SIZE = 256;
+    
+    /** The prefix byte values */
+    private static final int CB = 0xCB, DD = 0xDD, ED = 0xED, FD = 0xFD;
+    
+    /** Dispatch table for unprefixed instructions */
+    private final Instruction[] unprefixed = new Instruction[TABLE_SIZE];
+    
+    /** Dispatch table for CB prefixed instructions (bit and rotation ops) */
+    private final Instruction[] cbTable = new Instruction[TABLE_SIZE];
+    
+    /** Dispatch table for ED prefixed instructions (extended ops) */
+    private final Instruction[] edTable = new Instruction[TABLE_SIZE];
+    
+    /** Dispatch table for DD prefixed instructions (IX reg related ops) */
+    private final Instruction[] ddTable = new Instruction[TABLE_SIZE];
+    
+    /** Dispatch table for FD prefixed instructions (IY reg related ops) */
+    private final Instruction[] fdTable = new Instruction[TABLE_SIZE];
+    
+    /** Dispatch table for DDCB prefixed instructions (IX reg bit and rotation ops) */
+    private final Instruction[] ddcbTable = new Instruction[TABLE_SIZE];
+    
+    /** Dispatch table for FDCB prefixed instructions (IY reg bit and rotation ops) */
+    private final Instruction[] fdcbTable = new Instruction[TABLE_SIZE];
+    
+    /** The number of instructions mapped in the dispatch tables */
+    private int size = 0;
+    
+    /**
+     * Builds the dispatch tables for the given instructions.
+     * If two instructions share the same opcode, the first one (in iteration order) is kept.
+     * 
+     * @param instructions the instructions to be mapped in the dispatch tables
+     * @throws IllegalArgumentException if the opcode of some instruction is not a fixed byte
+     */
+    public InstructionTable(Collection<Instruction> instructions) throws IllegalArgumentException {
+        for(Instruction instruction:instructions) {
+            this.map(instruction);
+        }   
+    }   
+    
+    /**
+     * Maps the instruction in the dispatch table of its prefix group.
+     * @param instruction the instruction to be mapped
+     */
+    private void map(Instruction instruction) {
+        
+        String byteMask = instruction.getByteMask();
+        int prefix = parseByte(byteMask, 0);
+        
+        Instruction[] table;
+        int opcode;
+        
+        if(prefix == CB || prefix == ED) {
+            table = (prefix == CB) ? this.cbTable:this.edTable;
+            opcode = parseByte(byteMask, 1);
+        } else if(prefix == DD || prefix == FD) {
+            if(parseByte(byteMask, 1) == CB) {
+                table = (prefix == DD) ? this.ddcbTable:this.fdcbTable;
+                opcode = parseByte(byteMask, 3);
+            } else {
+                table = (prefix == DD) ? this.ddTable:this.fdTable;
+                opcode = parseByte(byteMask, 1);
+            }   
+        } else {
+            table = this.unprefixed;
+            opcode = prefix;
+        }   
+        
+        if(table[opcode] == null) {
+            table[opcode] = instruction;
+            this.size++;
+        }   
+    }   
+    
+    /**
+     * Return the number of instructions mapped in the dispatch tables.
+     * @return the number of instructions
+     */
+    public int size() {
+        return this.size;
+    }   
+    
+    /**
+     * Find the instruction defined by the bytes at the given address of binary data.
+     * This method does not verify the operands of the instruction (they are wild cards).
+     * 
+     * @param binaryData the binary data
+     * @param address the address of the first byte of the instruction
+     * @return the matching instruction or null if the bytes does not define a valid instruction
+     */
+    public Instruction find(BinaryData binaryData, int address) {
+        
+        int prefix = binaryData.get(address) & 0xFF;
+        switch(prefix) {
+            case CB:
+                return this.cbTable[binaryData.get(address+1) & 0xFF];
+            case ED:
+                return this.edTable[binaryData.get(address+1) & 0xFF];
+            case DD:
+            case FD:
+                int opcode = binaryData.get(address+1) & 0xFF;
+                if(opcode == CB) {
+                    Instruction[] table = (prefix == DD) ? this.ddcbTable:this.fdcbTable;
+                    return table[binaryData.get(address+3) & 0xFF];
+                }   
+                return ((prefix == DD) ? this.ddTable:this.fdTable)[opcode];
+            default:
+                return this.unprefixed[prefix];
+        }   
+    }   
+    
+    /**
+     * Parse the byte at the given index of an instruction byte mask.
+     * 
+     * @param byteMask the instruction byte mask (e.g. DDCB%%06)
+     * @param index the index of the byte in the mask
+     * @return the byte value
+     * @throws IllegalArgumentException if the byte at given index is not a fixed byte value
+     */
+    private static int parseByte(String byteMask, int index) throws IllegalArgumentException {
+        try {
+            return Integer.parseInt(byteMask.substring(index << 1, (index << 1) + 2), 16);
+        } catch(NumberFormatException | IndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException(
+                String.format("Invalid opcode at byte %d of instruction mask %s", index, byteMask)
+            );  
+        }   
+    }   
+}
@@ -0,0 +1,121 @@
+package com.astesbas.z80.hacker.domain;
+
+/**
+ * MSX megaROM mapper types.
+ * Every mapper splits the ROM in banks of fixed size, and maps the banks into pages of the Z80
+ * address space. The mapper type defines the bank size, the page addresses and the number of
+ * fixed pages (pages that always hold the same bank, e.g. the first page of Konami mapper).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public enum MapperType {
+    
+    /** ASCII 8Kb mapper: 8Kb banks, four switchable pages */
+    ASCII8(0x2000, 0, 0x4000, 0x6000, 0x8000, 0xA000),
+    
+    /** ASCII 16Kb mapper: 16Kb banks, two switchable pages */
+    ASCII16(0x4000, 0, 0x4000, 0x8000),
+    
+    /** Konami mapper (without SCC): 8Kb banks, the first page is fixed to bank 0 */
+    KONAMI(0x2000, 1, 0x4000, 0x6000, 0x8000, 0xA000),
+    
+    /** Konami mapper with SCC sound chip: 8Kb banks, four switchable pages */
+    KONAMI_SCC(0x2000, 0, 0x4000, 0x6000, 0x8000, 0xA000);
+    
+    /** The bank size in bytes */
+    private final int bankSize;
+    
+    /** The number of fixed pages (the first pages hold the first banks) */
+    private final int fixedPages;
+    
+    /** The address of the pages */
+    private final int[] pages;
+    
+    /**
+     * Mapper type constructor.
+     * @param bankSize the bank size in bytes
+     * @param fixedPages the number of fixed pages
+     * @param pages the address of the pages
+     */
+    private MapperType(int bankSize, int fixedPages, int... pages) {
+        this.bankSize = bankSize;
+        this.fixedPages = fixedPages;
+        this.pages = pages;
+    }   
+    
+    /**
+     * Return the bank size in bytes.
+     * @return the bank size
+     */
+    public int getBankSize() {
+        return this.bankSize;
+    }   
+    
+    /**
+     * Return the number of pages of the mapper.
+     * @return the number of pages
+     */
+    public int getPagesCount() {
+        return this.pages.length;
+    }   
+    
+    /**
+     * Return the address of the given page.
+     * @param page the page index
+     * @return the page address
+     */
+    public int getPageAddress(int page) {
+        return this.pages[page];
+    }   
+    
+    /**
+     * Verify if the given address is the address of a page of this mapper.
+     * @param address the address
+     * @return true if a page starts at the given address
+     */
+    public boolean isPageAddress(int address) {
+        for(int page:this.pages) {
+            if(page == address) {
+                return true;
+            }   
+        }   
+        return false;
+    }   
+    
+    /**
+     * Verify if the given address is inside the pages of this mapper (the ROM area of the address space).
+     * @param address the address
+     * @return true if the address is inside some page
+     */
+    public boolean isRomAddress(int address) {
+        return address >= this.pages[0] && address < this.pages[this.pages.length - 1] + this.bankSize;
+    }   
+    
+    /**
+     * Verify if the given bank is always mapped in a fixed page.
+     * @param bank the bank number
+     * @return true for banks of fixed pages
+     */
+    public boolean isFixedBank(int bank) {
+        return bank < this.fixedPages;
+    }   
+    
+    /**
+     * Return the default page address for the given bank.
+     * The fixed banks are mapped in their fixed pages, and the other banks are distributed over the
+     * switchable pages (the page of the bank at the mapper initialization for the first banks).
+     * 
+     * @param bank the bank number
+     * @return the page address
+     */
+    public int getDefaultPageAddress(int bank) {
+        if(this.isFixedBank(bank)) {
+            return this.pages[bank];
+        }   
+        int switchablePages = this.pages.length - this.fixedPages;
+        return this.pages[this.fixedPages + (bank - this.fixedPages) % switchablePages];
+    }   
+}
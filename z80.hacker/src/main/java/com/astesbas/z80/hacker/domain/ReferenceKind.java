@@ -0,0 +1,51 @@
+package com.astesbas.z80.hacker.domain;
+
+/**
+ * Kind of the reference of an instruction to an address (see {@link CrossReferenceIndex}).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public enum ReferenceKind {
+    
+    /** Call to the address (CALL and RST) */
+    CALL,
+    
+    /** Absolute jump to the address (JP) */
+    JUMP,
+    
+    /** Relative jump to the address (JR and DJNZ) */
+    RELATIVE_JUMP,
+    
+    /** Memory read from the address (e.g. LD A,(####)) */
+    READ,
+    
+    /** Memory write to the address (e.g. LD (####),A) */
+    WRITE,
+    
+    /** Address loaded as an immediate value (e.g. LD HL,####), usually a pointer to a data table */
+    POINTER;
+    
+    /**
+     * Return the kind of the reference of the given instruction.
+     * @param instruction the instruction
+     * @return the reference kind, or null if the instruction does not reference an address
+     */
+    public static ReferenceKind of(Instruction instruction) {
+        switch(instruction.getFlowType()) {
+            case CALL:
+                return CALL;
+            case JUMP:
+                return instruction.hasRelativeTarget() ? RELATIVE_JUMP:JUMP;
+            case NONE:
+                if(instruction.isMemoryReference()) {
+                    return instruction.isMemoryWrite() ? WRITE:READ;
+                }   
+                return instruction.hasWordParameter() ? POINTER:null;
+            default:
+                return null;
+        }   
+    }   
+}
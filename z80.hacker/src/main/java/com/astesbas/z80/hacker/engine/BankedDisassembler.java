@@ -0,0 +1,445 @@
+package com.astesbas.z80.hacker.engine;
+
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BANK_PAGE;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.LABEL;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.START_OFF;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.astesbas.z80.hacker.domain.BankAddress;
+import com.astesbas.z80.hacker.domain.BankedRom;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.domain.MapperType;
+import com.astesbas.z80.hacker.util.AddressBitSet;
+import com.astesbas.z80.hacker.util.AtomicFileWriter;
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+import com.astesbas.z80.hacker.util.FileDateUtil;
+import com.astesbas.z80.hacker.util.StringUtil;
+import com.astesbas.z80.hacker.util.SystemOut;
+
+/**
+ * Banked ROM disassembler engine (MSX megaROMs).
+ * Every bank of the ROM is disassembled independently, at the page address defined by the mapper
+ * layout, by its own Z80 disassembler (with its own decoder state and bank-qualified labels).
+ * The banks are disassembled and rendered in parallel, and the output files are written in
+ * bank order, so the output does not depend on the execution order of the banks.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class BankedDisassembler implements Runnable {
+    
+    /** The banked ROM to be disassembled */
+    private final BankedRom bankedRom;
+    
+    /** The disassembler with the properties shared by all banks (instructions, formatting, global labels) */
+    private final Z80Disassembler template;
+    
+    /** The bank-qualified start-off addresses (packed bank addresses) */
+    private final List<Integer> startOffAddresses = new ArrayList<>();
+    
+    /** The bank-qualified labels (packed bank address, label) */
+    private final Map<Integer, String> bankLabels = new LinkedHashMap<>();
+    
+    /** The number of warnings (of all bank disassemblers) */
+    private int warningsCount = 0;
+    
+    /** The number of threads used to disassemble the banks */
+    private int threadsCount = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * Banked disassembler constructor.
+     * @param bankedRom the banked ROM to be disassembled
+     */
+    public BankedDisassembler(BankedRom bankedRom) {
+        this.bankedRom = bankedRom;
+        this.template = new Z80Disassembler(bankedRom.getBankData(0));
+    }   
+    
+    /**
+     * Sets the number of threads used to disassemble the banks.
+     * @param threadsCount the number of threads (at least one)
+     */
+    public void setThreadsCount(int threadsCount) {
+        this.threadsCount = Math.max(1, threadsCount);
+    }   
+    
+    /**
+     * Sets the Z80 instruction set shared by all banks (see {@link Z80Disassembler#setInstructionSet(InstructionSet)}).
+     * @param instructionSet the instruction set
+     */
+    public void setInstructionSet(InstructionSet instructionSet) {
+        this.template.setInstructionSet(instructionSet);
+    }   
+    
+    /**
+     * Return the warning status of disassembler process.
+     * @return true if there are warnings in any bank
+     */
+    public boolean hasWarnings() {
+        return this.warningsCount > 0;
+    }   
+    
+    /**
+     * Return the number of warnings of the banked ROM disassembler process.
+     * @return the number of warnings of all banks
+     */
+    public int getWarningsCount() {
+        return this.warningsCount;
+    }   
+    
+    /**
+     * Return the log file path.
+     * @return the log file path
+     */
+    public Path getLogPath() {
+        return this.template.getLogPath();
+    }   
+    
+    /**
+     * Pushes a bank-qualified start-off address.
+     * @param bank the bank number
+     * @param address the start address for disassembling
+     */
+    public void pushStartAddress(int bank, int address) {
+        this.startOffAddresses.add(BankAddress.of(bank, address));
+    }   
+    
+    /**
+     * Maps a label at a bank-qualified address.
+     * @param bank the bank number
+     * @param address the address of the label
+     * @param label the label
+     */
+    public void mapLabel(int bank, int address, String label) {
+        this.bankLabels.putIfAbsent(BankAddress.of(bank, address), label);
+    }   
+    
+    /**
+     * Set properties for disassembler read from configuration file.
+     * The unqualified start-off addresses belong to bank 0, and the unqualified labels are global (used by
+     * every bank, but the labels inside the page of other banks belong to bank 0 only). The BANK_PAGE entries ("bank 0xHHHH") set the mapper layout.
+     * 
+     * @param properties the configuration properties
+     * @throws IllegalArgumentException if some parameter is missing or invalid
+     */
+    public void setProperties(ConfigFileProperties properties) throws IllegalArgumentException {
+        
+        // Set the shared properties (instructions, output files, formatting, global labels and EQUs)
+        this.template.setProperties(properties);
+        
+        try {
+            
+            // Set the page address of the banks
+            for (String entry : properties.getListOf(BANK_PAGE)) {
+                String[] split = StringUtil.splitInTwo(entry.replaceAll("\t", " "), " ");
+                if(split.length > 1) {
+                    this.bankedRom.setPageAddress(Integer.decode(split[0].trim()), Integer.decode(split[1].trim()));
+                } else {
+                    throw new IllegalArgumentException(String.format("Invalid bank page entry: [%s]%n", entry));
+                }   
+            }   
+            
+            // Set the bank-qualified labels
+            for (String entry : properties.getListOf(LABEL)) {
+                String[] split = StringUtil.splitInTwo(entry.replaceAll("\t", " "), " ");
+                if(split.length > 1 && BankAddress.isQualified(split[1])) {
+                    int bankAddress = BankAddress.parse(split[1], 0);
+                    this.mapLabel(BankAddress.getBank(bankAddress), BankAddress.getAddress(bankAddress), split[0].trim());
+                }   
+            }   
+            
+            // Set the starting point addresses (unqualified addresses belong to bank 0)
+            for (String address : properties.getListOf(START_OFF)) {
+                int bankAddress = BankAddress.parse(address, 0);
+                this.pushStartAddress(BankAddress.getBank(bankAddress), BankAddress.getAddress(bankAddress));
+            }   
+        
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException(
+                String.format("Error reading banked ROM parameter:%n\t%s", exception.getMessage()), exception
+            );  
+        }   
+    }   
+    
+    @Override
+    public void run() {
+        
+        MapperType mapper = this.bankedRom.getMapper();
+        int banksCount = this.bankedRom.getBanksCount();
+        
+        this.template.systemOutAndLog("Starting disassembler process at %s%n", FileDateUtil.getCurrentTime());
+        this.template.log("Mapper: %s (%d banks of %d Kb)%n", mapper, banksCount, mapper.getBankSize() >> 10);
+        
+        // Create the disassembler of every bank. The global labels inside the bank page belong to bank 0,
+        // so they are removed from the other banks
+        List<Z80Disassembler> disassemblers = new ArrayList<>(banksCount);
+        for(int bank = 0; bank < banksCount; bank++) {
+            int pageAddress = this.bankedRom.getPageAddress(bank);
+            int pageEndAddress = this.bankedRom.getPageEndAddress(bank);
+            Z80Disassembler disassembler = this.template.newBankDisassembler(
+                this.bankedRom.getBankData(bank), bank, pageAddress, pageEndAddress);
+            if(bank > 0) {
+                disassembler.getOutputProcessor().unmapLabels(pageAddress, pageEndAddress);
+            }   
+            disassemblers.add(disassembler);
+        }   
+        
+        for(Entry<Integer, String> entry:this.bankLabels.entrySet()) {
+            int bank = BankAddress.getBank(entry.getKey());
+            if(bank < banksCount) {
+                disassemblers.get(bank).getOutputProcessor().mapLabel(BankAddress.getAddress(entry.getKey()), entry.getValue());
+            }   
+        }   
+        
+        for(int bankAddress:this.startOffAddresses) {
+            int bank = BankAddress.getBank(bankAddress);
+            if(bank < banksCount && disassemblers.get(bank).getDecoder().isValidAddress(BankAddress.getAddress(bankAddress))) {
+                disassemblers.get(bank).pushStartAddress(BankAddress.getAddress(bankAddress));
+            } else {
+                this.template.log("Warning: Start-off address %s is outside its bank page!%n", BankAddress.toString(bankAddress));
+            }   
+        }   
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(this.threadsCount, banksCount)));
+        
+        try {
+            
+            // Disassemble the banks in parallel. The call/jump targets in the page of a fixed bank are start-off
+            // addresses of that bank, so the fixed banks reached from other banks are disassembled again.
+            // The bank threads output to the output buffer of this thread (e.g. the buffer of a batch project)
+            StringBuilder outputBuffer = SystemOut.getBuffer();
+            this.warningsCount = 0;
+            List<Integer> banks = new ArrayList<>(banksCount);
+            for(int bank = 0; bank < banksCount; bank++) {
+                banks.add(bank);
+            }   
+            
+            for(int round = 1; !banks.isEmpty(); round++) {
+                List<String> logs = this.disassembleBanks(executor, disassemblers, banks, outputBuffer);
+                for(int index = 0; index < banks.size(); index++) {
+                    int bank = banks.get(index);
+                    if(round == 1) {
+                        this.template.log("Bank %d (page 0x%04X):%n%s", bank, this.bankedRom.getPageAddress(bank), logs.get(index));
+                    } else {
+                        this.template.log("Bank %d (page 0x%04X, round %d):%n%s", bank, this.bankedRom.getPageAddress(bank), round, logs.get(index));
+                    }   
+                    this.warningsCount += disassemblers.get(bank).getWarningsCount();
+                }   
+                banks = this.pushOutOfPageTargets(disassemblers, banks);
+            }   
+            
+            // The fixed banks labels are visible from all banks (the fixed banks are always mapped)
+            for(int fixedBank = 0; fixedBank < banksCount && mapper.isFixedBank(fixedBank); fixedBank++) {
+                OutputProcessor fixedProcessor = disassemblers.get(fixedBank).getOutputProcessor();
+                for(Z80Disassembler disassembler:disassemblers) {
+                    disassembler.getOutputProcessor().importLabels(fixedProcessor,
+                        this.bankedRom.getPageAddress(fixedBank), this.bankedRom.getPageEndAddress(fixedBank));
+                }   
+            }   
+            
+            this.template.systemOutAndLog("Disassembler process finished at %s%n", FileDateUtil.getCurrentTime());
+            if(this.hasWarnings()) {
+                SystemOut.println("There are warnings. See log file for more information!");
+            }   
+            
+            // Render the source and list of the banks in parallel
+            List<Callable<String[]>> renderTasks = new ArrayList<>(banksCount);
+            for(Z80Disassembler disassembler:disassemblers) {
+                renderTasks.add(BankedDisassembler.withOutputBuffer(outputBuffer, () -> BankedDisassembler.render(disassembler)));
+            }   
+            
+            List<Future<String[]>> outputs = executor.invokeAll(renderTasks);
+            this.writeOutputFiles(outputs);
+        
+        } catch (InterruptedException | ExecutionException exception) {
+            if(exception instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }   
+            throw new IllegalStateException(
+                String.format("Error disassembling banked ROM: %s", exception.getMessage()), exception
+            );  
+        } finally {
+            executor.shutdown();
+            this.template.closeLog();
+        }   
+    }   
+    
+    /**
+     * Disassembles the given banks in parallel.
+     * @param executor the executor service
+     * @param disassemblers the disassemblers of all banks
+     * @param banks the banks to be disassembled
+     * @param outputBuffer the output buffer of the bank threads (null for the system output)
+     * @return the log messages of every disassembled bank (in the order of the given banks)
+     * @throws InterruptedException if the disassembling is interrupted
+     * @throws ExecutionException if the disassembling of some bank fails
+     */
+    private List<String> disassembleBanks(ExecutorService executor, List<Z80Disassembler> disassemblers,
+            List<Integer> banks, StringBuilder outputBuffer) throws InterruptedException, ExecutionException {
+        
+        // The log buffer keeps the messages of the previous rounds
+        List<Callable<String>> disassembleTasks = new ArrayList<>(banks.size());
+        for(int bank:banks) {
+            Z80Disassembler disassembler = disassemblers.get(bank);
+            disassembleTasks.add(BankedDisassembler.withOutputBuffer(outputBuffer, () -> {
+                int offset = disassembler.getLogBuffer().length();
+                disassembler.disassemble();
+                return disassembler.getLogBuffer().substring(offset);
+            }));
+        }   
+        
+        List<String> logs = new ArrayList<>(banks.size());
+        for(Future<String> log:executor.invokeAll(disassembleTasks)) {
+            logs.add(log.get());
+        }   
+        return logs;
+    }   
+    
+    /**
+     * Return a task that runs the given task with the given output buffer (see {@link SystemOut#setBuffer}).
+     * @param outputBuffer the output buffer (null for the system output)
+     * @param task the task
+     * @return the task with output buffer
+     */
+    private static <T> Callable<T> withOutputBuffer(StringBuilder outputBuffer, Callable<T> task) {
+        return () -> {
+            SystemOut.setBuffer(outputBuffer);
+            try {
+                return task.call();
+            } finally {
+                SystemOut.setBuffer(null);
+            }   
+        };
+    }   
+    
+    /**
+     * Pushes the call/jump targets outside the page of the disassembled banks as start-off addresses of the
+     * fixed banks. The targets in the pages of switched banks are logged as warnings, and the targets outside
+     * the mapper pages (e.g. BIOS calls, RST vectors and RAM hooks) are not part of the ROM and are ignored.
+     * 
+     * @param disassemblers the disassemblers of all banks
+     * @param banks the disassembled banks
+     * @return the fixed banks with new start-off addresses (in bank order)
+     */
+    private List<Integer> pushOutOfPageTargets(List<Z80Disassembler> disassemblers, List<Integer> banks) {
+        
+        int banksCount = this.bankedRom.getBanksCount();
+        boolean[] pushed = new boolean[banksCount];
+        
+        for(int bank:banks) {
+            AddressBitSet targets = disassemblers.get(bank).getOutOfRangeTargets();
+            for(int target = targets.nextSetBit(0); target >= 0; target = targets.nextSetBit(target + 1)) {
+                if(!this.bankedRom.getMapper().isRomAddress(target)) {
+                    continue;
+                }   
+                int fixedBank = this.getFixedBankAt(target);
+                if(fixedBank >= 0) {
+                    pushed[fixedBank] |= disassemblers.get(fixedBank).pushStartAddress(target);
+                } else {
+                    this.template.log("Warning: Call/jump target 0x%04X of bank %d is outside the fixed banks pages!%n", target, bank);
+                    this.warningsCount++;
+                }   
+            }   
+        }   
+        
+        List<Integer> fixedBanks = new ArrayList<>();
+        for(int bank = 0; bank < banksCount; bank++) {
+            if(pushed[bank]) {
+                fixedBanks.add(bank);
+            }   
+        }   
+        return fixedBanks;
+    }   
+    
+    /**
+     * Return the fixed bank whose page holds the given address.
+     * @param address the address
+     * @return the fixed bank number or -1 if the address is not in the page of a fixed bank
+     */
+    private int getFixedBankAt(int address) {
+        MapperType mapper = this.bankedRom.getMapper();
+        for(int bank = 0; bank < this.bankedRom.getBanksCount() && mapper.isFixedBank(bank); bank++) {
+            if(address >= this.bankedRom.getPageAddress(bank) && address <= this.bankedRom.getPageEndAddress(bank)) {
+                return bank;
+            }   
+        }   
+        return -1;
+    }   
+    
+    /**
+     * Renders the source and list text of a bank.
+     * @param disassembler the bank disassembler
+     * @return the source and list text of the bank
+     * @throws IOException if some writing error occurs
+     */
+    private static String[] render(Z80Disassembler disassembler) throws IOException {
+        
+        Decoder decoder = disassembler.getDecoder();
+        OutputProcessor outputProcessor = disassembler.getOutputProcessor();
+        StringWriter source = new StringWriter();
+        StringWriter list = new StringWriter();
+        
+        outputProcessor.writeOutput(source, list, decoder, disassembler.getOutputCrossReferences());
+        
+        return new String[] {source.toString(), list.toString()};
+    }   
+    
+    /**
+     * Writes the output files: the file headers followed by the rendered banks (in bank order).
+     * @param outputs the rendered source and list text of every bank
+     * @throws InterruptedException if the rendering is interrupted
+     * @throws ExecutionException if the rendering of some bank fails
+     */
+    private void writeOutputFiles(List<Future<String[]>> outputs) throws InterruptedException, ExecutionException {
+        
+        OutputProcessor outputProcessor = this.template.getOutputProcessor();
+        Path outputPath = this.template.getOutputPath();
+        Path listPath = this.template.getListPath();
+        
+        // The input file description holds the mapper type
+        Optional<String> inputFile = this.bankedRom.getRomFileName()
+            .map(name -> String.format("%s (%s mapper)", name, this.bankedRom.getMapper()));
+        
+        try (AtomicFileWriter writer = new AtomicFileWriter(outputPath)) {
+            outputProcessor.writeSourceHeader(writer, inputFile);
+            for(Future<String[]> output:outputs) {
+                writer.write(output.get()[0]);
+            }   
+            writer.commit();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(
+                String.format("Error writing output source file: %s", ioException.getMessage()), ioException
+            );  
+        }   
+        
+        try (AtomicFileWriter writer = new AtomicFileWriter(listPath)) {
+            outputProcessor.writeListHeader(writer, inputFile);
+            for(Future<String[]> output:outputs) {
+                writer.write(output.get()[1]);
+            }   
+            writer.commit();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(
+                String.format("Error writing output list file: %s", ioException.getMessage()), ioException
+            );  
+        }   
+    }   
+}
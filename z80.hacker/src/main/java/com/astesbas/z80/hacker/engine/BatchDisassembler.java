@@ -0,0 +1,453 @@
+package com.astesbas.z80.hacker.engine;
+
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.INSTRUCTIONS_FILE;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.MAPPER;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.UNDOCUMENTED_INSTRUCTIONS;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.astesbas.z80.hacker.domain.BankedRom;
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.domain.InstructionSetRegistry;
+import com.astesbas.z80.hacker.util.AtomicFileWriter;
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+import com.astesbas.z80.hacker.util.FileDateUtil;
+import com.astesbas.z80.hacker.util.StringUtil;
+import com.astesbas.z80.hacker.util.SystemOut;
+
+/**
+ * Batch disassembler engine.
+ * Disassembles many projects concurrently in one JVM: the projects are processed by a bounded pool of
+ * worker threads, and the Z80 instruction set is loaded once and shared by all projects (the instruction
+ * set is immutable). The failure of a project (missing files, invalid parameters, writing errors) is
+ * recorded in its result and does not stop the other projects.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class BatchDisassembler {
+    
+    /** The default batch report file name */
+    public static final String DEFAULT_REPORT_FILE = "batch-report.txt";
+    
+    /** The project configuration file extension */
+    private static final String CONFIG_FILE_EXTENSION = ".cfg";
+    
+    /** The batch project status */
+    public static enum Status {
+        
+        /** The project was disassembled without warnings */
+        OK,
+        
+        /** The project was disassembled with warnings (see the project log file) */
+        WARNINGS,
+        
+        /** The project was not disassembled (see the result message) */
+        FAILED;
+    }   
+    
+    /**
+     * The result of a batch project: status, elapsed time, error message, number of warnings and log file.
+     */
+    public static final class Result {
+        
+        /** The project configuration file */
+        private final Path projectFile;
+        
+        /** The project status */
+        private final Status status;
+        
+        /** The elapsed time in milliseconds */
+        private final long elapsedTime;
+        
+        /** The error message (empty if the project did not fail) */
+        private final String message;
+        
+        /** The number of warnings */
+        private final int warningsCount;
+        
+        /** The project log file (null if the project failed before the disassembling) */
+        private final Path logPath;
+        
+        /**
+         * Creates a project result without warnings.
+         * @param projectFile the project configuration file
+         * @param status the project status
+         * @param elapsedTime the elapsed time in milliseconds
+         * @param message the error message
+         */
+        Result(Path projectFile, Status status, long elapsedTime, String message) {
+            this(projectFile, status, elapsedTime, message, 0, null);
+        }   
+        
+        /**
+         * Creates a project result.
+         * @param projectFile the project configuration file
+         * @param status the project status
+         * @param elapsedTime the elapsed time in milliseconds
+         * @param message the error message
+         * @param warningsCount the number of warnings
+         * @param logPath the project log file
+         */
+        Result(Path projectFile, Status status, long elapsedTime, String message, int warningsCount, Path logPath) {
+            this.projectFile = projectFile;
+            this.status = status;
+            this.elapsedTime = elapsedTime;
+            this.message = (message != null) ? message:"";
+            this.warningsCount = warningsCount;
+            this.logPath = logPath;
+        }   
+        
+        /**
+         * Return the project configuration file.
+         * @return the project file path
+         */
+        public Path getProjectFile() {
+            return this.projectFile;
+        }   
+        
+        /**
+         * Return the project status.
+         * @return the status
+         */
+        public Status getStatus() {
+            return this.status;
+        }   
+        
+        /**
+         * Return the elapsed time of the project.
+         * @return the elapsed time in milliseconds
+         */
+        public long getElapsedTime() {
+            return this.elapsedTime;
+        }   
+        
+        /**
+         * Return the error message of the project.
+         * @return the error message (empty if the project did not fail)
+         */
+        public String getMessage() {
+            return this.message;
+        }   
+        
+        /**
+         * Return the number of warnings of the project (see the project log file).
+         * @return the number of warnings
+         */
+        public int getWarningsCount() {
+            return this.warningsCount;
+        }   
+        
+        /**
+         * Return the log file of the project.
+         * @return the log file path or empty if the project failed before the disassembling
+         */
+        public Optional<Path> getLogPath() {
+            return Optional.ofNullable(this.logPath);
+        }   
+    }   
+    
+    /** The project configuration files (in batch order) */
+    private final List<Path> projectFiles;
+    
+    /** The number of projects disassembled at the same time */
+    private int threadsCount = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * Batch disassembler constructor.
+     * @param projectFiles the project configuration files
+     */
+    public BatchDisassembler(List<Path> projectFiles) {
+        this.projectFiles = new ArrayList<>(projectFiles);
+    }   
+    
+    /**
+     * Sets the number of projects disassembled at the same time.
+     * @param threadsCount the number of threads (at least one)
+     */
+    public void setThreadsCount(int threadsCount) {
+        this.threadsCount = Math.max(1, threadsCount);
+    }   
+    
+    /**
+     * Return the project configuration files of a batch.
+     * The batch is a directory (all .cfg files in the directory tree, sorted by path) or a manifest
+     * file with one project file per line (empty lines and comments starting with '#' are discarded).
+     * The relative project files of a manifest are resolved against the manifest directory.
+     * 
+     * @param batchPath the projects directory or the manifest file
+     * @return the project configuration files
+     * @throws IOException if the directory or the manifest cannot be read
+     */
+    public static List<Path> findProjectFiles(Path batchPath) throws IOException {
+        
+        if(Files.isDirectory(batchPath)) {
+            try (Stream<Path> paths = Files.walk(batchPath)) {
+                return paths
+                    .filter(path -> path.getFileName().toString().endsWith(CONFIG_FILE_EXTENSION))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+            }   
+        }   
+        
+        Path directory = batchPath.toAbsolutePath().getParent();
+        List<Path> projectFiles = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(batchPath)) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                line = StringUtil.clean(line, '#');
+                if(!line.isEmpty()) {
+                    projectFiles.add(directory.resolve(line).normalize());
+                }   
+            }   
+        }   
+        
+        return projectFiles;
+    }   
+    
+    /**
+     * Disassembles the projects of the batch.
+     * 
+     * The projects of an instruction set that cannot be loaded (e.g. missing INSTRUCTIONS_FILE) fail.
+     * 
+     * @return the results of the projects (in batch order)
+     */
+    public List<Result> run() {
+        
+        Result[] results = new Result[this.projectFiles.size()];
+        ConfigFileProperties[] properties = new ConfigFileProperties[results.length];
+        String[] instructionSetKeys = new String[results.length];
+        
+        // Read the projects configuration (each project keeps its own hexadecimal format)
+        List<Integer> indexes = new ArrayList<>(results.length);
+        Map<String, InstructionSet> instructionSets = new HashMap<>();
+        for(int index = 0; index < results.length; index++) {
+            Path projectFile = this.projectFiles.get(index);
+            try {
+                properties[index] = BatchDisassembler.loadProperties(projectFile);
+                instructionSetKeys[index] = BatchDisassembler.getInstructionSetKey(properties[index]);
+                instructionSets.put(instructionSetKeys[index], null);
+                indexes.add(index);
+            } catch (IOException | IllegalAccessException | RuntimeException exception) {
+                results[index] = new Result(projectFile, Status.FAILED, 0,
+                    String.format("Error reading configuration file: %s", exception.getMessage()));
+            }   
+        }   
+        
+        // The instruction sets are loaded once (see InstructionSetRegistry) and shared by all projects
+        // (a failed instruction set is reported by the projects that use it)
+        Map<String, String> instructionSetErrors = new HashMap<>();
+        for(String key:new ArrayList<>(instructionSets.keySet())) {
+            String[] source = StringUtil.splitInTwo(key, "|");
+            try {
+                instructionSets.put(key, Z80Disassembler.loadInstructionSet(source[1], Boolean.parseBoolean(source[0])));
+            } catch (IOException | RuntimeException exception) {
+                instructionSetErrors.put(key, exception.getMessage());
+            }   
+        }   
+        
+        ExecutorService executor = Executors.newFixedThreadPool(this.threadsCount);
+        
+        try {
+            
+            List<Callable<Result>> tasks = new ArrayList<>(indexes.size());
+            List<Integer> taskIndexes = new ArrayList<>(indexes.size());
+            for(int index:indexes) {
+                Path projectFile = this.projectFiles.get(index);
+                ConfigFileProperties projectProperties = properties[index];
+                String instructionSetKey = instructionSetKeys[index];
+                if(instructionSetErrors.containsKey(instructionSetKey)) {
+                    results[index] = new Result(projectFile, Status.FAILED, 0,
+                        instructionSetErrors.get(instructionSetKey));
+                    continue;
+                }   
+                InstructionSet instructionSet = instructionSets.get(instructionSetKey);
+                tasks.add(() -> BatchDisassembler.process(projectFile, projectProperties, instructionSet));
+                taskIndexes.add(index);
+            }   
+                
+            List<Future<Result>> futures = executor.invokeAll(tasks);
+            for(int task = 0; task < futures.size(); task++) {
+                int index = taskIndexes.get(task);
+                try {
+                    results[index] = futures.get(task).get();
+                } catch (ExecutionException exception) {
+                    // Errors (e.g. out of memory) are reported as project failures too
+                    results[index] = new Result(this.projectFiles.get(index), Status.FAILED, 0,
+                        String.valueOf(exception.getCause()));
+                }   
+            }   
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                String.format("Error running batch: %s", exception.getMessage()), exception
+            );  
+        } finally {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }   
+        }   
+        
+        List<Result> resultsList = new ArrayList<>(results.length);
+        Collections.addAll(resultsList, results);
+        return resultsList;
+    }   
+    
+    /**
+     * Return the key of the instruction set of a project (undocumented instructions flag and source).
+     * 
+     * @param properties the project properties
+     * @return the instruction set key
+     * @throws IllegalAccessException if some option is duplicated
+     */
+    private static String getInstructionSetKey(ConfigFileProperties properties) throws IllegalAccessException {
+        return String.format("%b|%s", properties.getBoolean(UNDOCUMENTED_INSTRUCTIONS).orElse(false),
+            InstructionSetRegistry.getSourceName(properties.getString(INSTRUCTIONS_FILE).orElse(null)));
+    }   
+    
+    /**
+     * Reads the configuration file of a project.
+     * The relative file parameters are resolved against the configuration file directory.
+     * 
+     * @param projectFile the project configuration file
+     * @return the project properties
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file has some invalid data
+     */
+    private static ConfigFileProperties loadProperties(Path projectFile) throws IOException, IllegalArgumentException {
+        ConfigFileProperties properties = new ConfigFileProperties();
+        properties.load(projectFile.toFile());
+        properties.resolvePaths(projectFile.toAbsolutePath().getParent());
+        return properties;
+    }   
+    
+    /**
+     * Disassembles a project (banked ROMs are disassembled by the banked disassembler).
+     * The output messages of the project are kept in a buffer and printed at once when the project is
+     * finished, so the messages of the projects processed at the same time are not mixed.
+     * 
+     * @param projectFile the project configuration file
+     * @param properties the project properties
+     * @param instructionSet the shared instruction set
+     * @return the project result
+     */
+    private static Result process(Path projectFile, ConfigFileProperties properties, InstructionSet instructionSet) {
+        
+        long startTime = System.nanoTime();
+        StringBuilder output = new StringBuilder();
+        SystemOut.setBuffer(output);
+        
+        try {
+            
+            int warningsCount;
+            Path logPath;
+            if(properties.getCount(MAPPER) > 0) {
+                BankedDisassembler bankedDisassembler = new BankedDisassembler(BankedRom.fromProperties(properties));
+                bankedDisassembler.setInstructionSet(instructionSet);
+                // The banks are disassembled by the project worker thread (the batch pool bounds the threads)
+                bankedDisassembler.setThreadsCount(1);
+                bankedDisassembler.setProperties(properties);
+                bankedDisassembler.run();
+                warningsCount = bankedDisassembler.getWarningsCount();
+                logPath = bankedDisassembler.getLogPath();
+            } else {
+                Z80Disassembler z80Disassembler = new Z80Disassembler(BinaryData.fromProperties(properties));
+                z80Disassembler.setInstructionSet(instructionSet);
+                z80Disassembler.setProperties(properties);
+                z80Disassembler.run();
+                warningsCount = z80Disassembler.getWarningsCount();
+                logPath = z80Disassembler.getLogPath();
+            }   
+            
+            return new Result(projectFile, (warningsCount > 0) ? Status.WARNINGS:Status.OK,
+                BatchDisassembler.elapsedSince(startTime), "", warningsCount, logPath);
+        
+        } catch (RuntimeException exception) {
+            return new Result(projectFile, Status.FAILED,
+                BatchDisassembler.elapsedSince(startTime), exception.getMessage());
+        } finally {
+            SystemOut.setBuffer(null);
+            System.out.print(String.format("Project %s:%n%s", projectFile, output));
+        }   
+    }   
+    
+    /**
+     * Return the elapsed time since the given start time.
+     * @param startTime the start time (see {@link System#nanoTime()})
+     * @return the elapsed time in milliseconds
+     */
+    private static long elapsedSince(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }   
+    
+    /**
+     * Return the summary of the batch results (number of projects by status and total project time).
+     * @param results the batch results
+     * @return the summary line
+     */
+    public static String getSummary(List<Result> results) {
+        
+        int[] counters = new int[Status.values().length];
+        long totalTime = 0;
+        for(Result result:results) {
+            counters[result.getStatus().ordinal()]++;
+            totalTime += result.getElapsedTime();
+        }   
+        
+        return String.format("Projects: %d (ok: %d, warnings: %d, failed: %d), total project time: %d ms",
+            results.size(), counters[Status.OK.ordinal()], counters[Status.WARNINGS.ordinal()],
+            counters[Status.FAILED.ordinal()], totalTime);
+    }   
+    
+    /**
+     * Writes the batch report: the summary line followed by the status, elapsed time, error message and
+     * number of warnings (with the log file) of every project (in batch order).
+     * 
+     * @param reportPath the report file path
+     * @param results the batch results
+     * @throws IOException if the report cannot be written
+     */
+    public static void writeReport(Path reportPath, List<Result> results) throws IOException {
+        try (AtomicFileWriter writer = new AtomicFileWriter(reportPath)) {
+            writer.write(String.format("; Z80 Hacker batch report - %s%n", FileDateUtil.getCurrentTime()));
+            writer.write(String.format("; %s%n%n", BatchDisassembler.getSummary(results)));
+            writer.write(String.format("%-9s %10s  %s%n", "STATUS", "TIME (ms)", "PROJECT"));
+            for(Result result:results) {
+                writer.write(String.format("%-9s %10d  %s%n",
+                    result.getStatus(), result.getElapsedTime(), result.getProjectFile()));
+                if(!result.getMessage().isEmpty()) {
+                    writer.write(String.format("%22s%s%n", "", result.getMessage().replaceAll("\\s+", " ").trim()));
+                }   
+                if(result.getWarningsCount() > 0) {
+                    writer.write(String.format("%22s%d warning(s), see log file %s%n", "",
+                        result.getWarningsCount(), result.getLogPath().map(Path::toString).orElse("")));
+                }   
+            }   
+            writer.commit();
+        }   
+    }   
+}
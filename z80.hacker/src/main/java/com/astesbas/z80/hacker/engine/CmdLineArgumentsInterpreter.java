@@ -28,6 +28,13 @@ public class CmdLineArgumentsInterpreter {
         "                              configuration file (see default.cfg)",
         " -i, --init [filename.cfg]    Creates a default disassembler project",
         "                              configuration file (the filename is optional)",
+        " -b, --batch {dir|manifest}   Disassembles many projects concurrently: every",
+        "                              .cfg file in the directory tree or every project",
+        "                              file listed in the manifest (one per line)",
+        " -t, --threads n              Number of projects disassembled at the same time",
+        "                              in batch mode (default: number of processors)",
+        "     --report filename        Batch mode summary report file (default:",
+        "                              batch-report.txt)",
         " -v, --verbose                Outputs process information while disassembling",
         "                              the binary file",
         " -h, --help                   Show this text message"
@@ -36,6 +43,15 @@ public class CmdLineArgumentsInterpreter {
     /** The disassembler project configuration file */
     private Optional<java.io.File> configFile = Optional.empty();
     
+    /** The batch mode projects directory or manifest file */
+    private Optional<java.io.File> batchFile = Optional.empty();
+    
+    /** The batch mode report file */
+    private Optional<java.io.File> reportFile = Optional.empty();
+    
+    /** The number of projects disassembled at the same time in batch mode (zero for the default) */
+    private int threadsCount = 0;
+    
     /**
      * This cmd line arguments interpreter stores only one parameter - the configuration file name.
      * Note: This implementation is specific to the Z80 hAcker tool!
@@ -46,6 +62,30 @@ public class CmdLineArgumentsInterpreter {
         return this.configFile;
     }   
     
+    /**
+     * Return the batch mode projects directory or manifest file.
+     * @return the batch file (empty if not in batch mode)
+     */
+    public Optional<java.io.File> getBatchFile() {
+        return this.batchFile;
+    }   
+    
+    /**
+     * Return the batch mode report file.
+     * @return the report file (empty for the default report file)
+     */
+    public Optional<java.io.File> getReportFile() {
+        return this.reportFile;
+    }   
+    
+    /**
+     * Return the number of projects disassembled at the same time in batch mode.
+     * @return the number of threads (zero for the default)
+     */
+    public int getThreadsCount() {
+        return this.threadsCount;
+    }   
+    
     /**
      * Interpret the command line parameters.
      * @param arguments list of cmd arguments
@@ -95,6 +135,41 @@ public class CmdLineArgumentsInterpreter {
                     
                     break;
                     
+                case "-b":
+                case "--batch":
+                    try {
+                        java.io.File batchProjectsFile = new java.io.File(arguments[++index]);
+                        if(!batchProjectsFile.exists()) {
+                            throw new IllegalArgumentException(
+                                String.format("Error: batch directory or manifest \"%s\" not found.", batchProjectsFile)
+                            );  
+                        }   
+                        this.batchFile = Optional.of(batchProjectsFile);
+                    } catch (IndexOutOfBoundsException indexException) {
+                        throw new IllegalArgumentException("Error: missing batch directory or manifest file name.");
+                    }   
+                    break;
+                
+                case "-t":
+                case "--threads":
+                    try {
+                        this.threadsCount = Integer.parseInt(arguments[++index]);
+                    } catch (IndexOutOfBoundsException | NumberFormatException exception) {
+                        throw new IllegalArgumentException("Error: missing or invalid number of threads.");
+                    }   
+                    if(this.threadsCount < 1) {
+                        throw new IllegalArgumentException("Error: the number of threads must be at least 1.");
+                    }   
+                    break;
+                
+                case "--report":
+                    try {
+                        this.reportFile = Optional.of(new java.io.File(arguments[++index]));
+                    } catch (IndexOutOfBoundsException indexException) {
+                        throw new IllegalArgumentException("Error: missing batch report file name.");
+                    }   
+                    break;
+                
                 case "-i":
                 case "--init":
                     try {
@@ -118,7 +193,8 @@ public class CmdLineArgumentsInterpreter {
         }   
         
         // If the user does not specifies the configuration file, tries to use the default configuration file
-        if (!this.configFile.isPresent()) {
+        // (the batch mode does not use the project configuration file)
+        if (!this.configFile.isPresent() && !this.batchFile.isPresent()) {
             if (defaultConfigFile.exists()) {
                 this.configFile = Optional.of(defaultConfigFile);
                 System.out.printf("Using default project configuration file \"%s\"%n", DEFAULT_CONFIG_FILE);
@@ -0,0 +1,62 @@
+package com.astesbas.z80.hacker.engine;
+
+/**
+ * Base exception of the disassembler session API (see {@link DisassemblerSession}).
+ * The disassembler engine does not exit the process on errors, so the applications that embed the
+ * disassembler can handle the errors of a binary and keep running.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class DisassemblerException extends Exception {
+    
+    /** Serial UID version */
+    private static final long serialVersionUID = 3617263011523826134L;
+    
+    /**
+     * Creates a disassembler exception.
+     * @param message the error message
+     * @param cause the cause of the error
+     */
+    public DisassemblerException(String message, Throwable cause) {
+        super(message, cause);
+    }   
+    
+    /**
+     * Invalid disassembler options or instructions file data.
+     */
+    public static class ConfigurationException extends DisassemblerException {
+        
+        /** Serial UID version */
+        private static final long serialVersionUID = -2085531370374118861L;
+        
+        /**
+         * Creates a configuration exception.
+         * @param message the error message
+         * @param cause the cause of the error
+         */
+        public ConfigurationException(String message, Throwable cause) {
+            super(message, cause);
+        }   
+    }   
+    
+    /**
+     * Error reading the binary data or the instructions file, or writing the output files.
+     */
+    public static class InputOutputException extends DisassemblerException {
+        
+        /** Serial UID version */
+        private static final long serialVersionUID = 7425139868403515370L;
+        
+        /**
+         * Creates an input/output exception.
+         * @param message the error message
+         * @param cause the cause of the error
+         */
+        public InputOutputException(String message, Throwable cause) {
+            super(message, cause);
+        }   
+    }   
+}
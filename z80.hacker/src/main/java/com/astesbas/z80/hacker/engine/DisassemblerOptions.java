@@ -0,0 +1,371 @@
+package com.astesbas.z80.hacker.engine;
+
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.*;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.astesbas.z80.hacker.domain.InstructionSetRegistry;
+import com.astesbas.z80.hacker.util.AddressWorklist;
+import com.astesbas.z80.hacker.util.AsyncLogger;
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+import com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey;
+
+/**
+ * Immutable options of a disassembler session (see {@link DisassemblerSession}).
+ * The options are the parameters of the project configuration file, except for the file names: the
+ * binary data is given to the session and the results are returned as objects.
+ * 
+ * Usage:<br/>
+ * <code>
+ *     DisassemblerOptions options = DisassemblerOptions.builder().startOff(0x0000).label("MAIN", 0x0100).build();
+ * </code>
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public final class DisassemblerOptions {
+    
+    /** The file parameters of the configuration file (not used by the sessions) */
+    private static final ConfigKey[] FILE_KEYS = {BINARY_FILE, OUTPUT_FILE, LIST_FILE, LOG_FILE, CACHE_DIR};
+    
+    /** The options (the same keys and values of the configuration file) */
+    private final ConfigFileProperties properties;
+    
+    /**
+     * Creates the options from the builder properties.
+     * @param properties the builder properties (copied)
+     */
+    private DisassemblerOptions(ConfigFileProperties properties) {
+        this.properties = DisassemblerOptions.copy(properties);
+    }   
+    
+    /**
+     * Creates a new options builder (with the default options).
+     * @return the options builder
+     */
+    public static Builder builder() {
+        return new Builder(new ConfigFileProperties());
+    }   
+    
+    /**
+     * Creates a new options builder with the parameters of a project configuration file.
+     * The file parameters (binary, output, list and log files and cache directory) are discarded.
+     * 
+     * @param properties the configuration properties
+     * @return the options builder
+     */
+    public static Builder builder(ConfigFileProperties properties) {
+        return new Builder(properties);
+    }   
+    
+    /**
+     * Return a new builder with the options of this object.
+     * @return the options builder
+     */
+    public Builder toBuilder() {
+        return DisassemblerOptions.builder(this.properties);
+    }   
+    
+    /**
+     * Return the undocumented instructions flag.
+     * @return true if the undocumented Z80 instructions are decoded
+     * @throws IllegalArgumentException if the option is duplicated
+     */
+    public boolean isUndocumentedInstructions() throws IllegalArgumentException {
+        try {
+            return this.properties.getBoolean(UNDOCUMENTED_INSTRUCTIONS).orElse(false);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException(exception.getMessage(), exception);
+        }   
+    }   
+    
+    /**
+     * Return the Z80 instructions file.
+     * @return the instructions file (the built-in instructions file by default)
+     * @throws IllegalArgumentException if the option is duplicated
+     */
+    public String getInstructionsFile() throws IllegalArgumentException {
+        try {
+            return this.properties.getString(INSTRUCTIONS_FILE).orElse(InstructionSetRegistry.DEFAULT_SOURCE);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException(exception.getMessage(), exception);
+        }   
+    }   
+    
+    /**
+     * Return the hexadecimal format of the output.
+     * @return the hexadecimal format
+     * @throws IllegalArgumentException if the option is duplicated
+     */
+    public String getHexFormat() throws IllegalArgumentException {
+        try {
+            return this.properties.getString(HEX_FORMAT).orElse(Z80Disassembler.DEFAULT_HEX_FORMAT);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException(exception.getMessage(), exception);
+        }   
+    }   
+    
+    /**
+     * Return the options as configuration properties (the properties must not be changed).
+     * @return the properties
+     */
+    ConfigFileProperties getProperties() {
+        return this.properties;
+    }   
+    
+    /**
+     * Return a copy of the given properties.
+     */
+    private static ConfigFileProperties copy(ConfigFileProperties properties) {
+        ConfigFileProperties copy = new ConfigFileProperties();
+        for(Entry<String, List<String>> entry:properties.entrySet()) {
+            for(String value:entry.getValue()) {
+                copy.map(entry.getKey(), value);
+            }   
+        }   
+        return copy;
+    }   
+    
+    /**
+     * Builder of disassembler options.
+     * The single value options replace the previous value, and the start-off addresses, labels and
+     * EQUs are added to the options.
+     */
+    public static final class Builder {
+        
+        /** The options being built */
+        private final ConfigFileProperties properties;
+        
+        /**
+         * Use {@link DisassemblerOptions#builder()}.
+         * @param properties the initial options (copied)
+         */
+        private Builder(ConfigFileProperties properties) {
+            this.properties = DisassemblerOptions.copy(properties);
+            for(ConfigKey key:FILE_KEYS) {
+                this.properties.remove(key.toString());
+            }   
+        }   
+        
+        /**
+         * Sets the value of a single value option.
+         */
+        private Builder set(ConfigKey key, Object value) {
+            this.properties.remove(key.toString());
+            this.properties.map(key.toString(), String.valueOf(value));
+            return this;
+        }   
+        
+        /**
+         * Adds a start-off address (a starting point of the disassembling paths).
+         * @param address the start-off address
+         * @return this builder
+         */
+        public Builder startOff(int address) {
+            this.properties.map(START_OFF.toString(), DisassemblerOptions.toHex(address));
+            return this;
+        }   
+        
+        /**
+         * Adds a user defined label.
+         * @param label the label
+         * @param address the label address
+         * @return this builder
+         */
+        public Builder label(String label, int address) {
+            this.properties.map(LABEL.toString(), label + " " + DisassemblerOptions.toHex(address));
+            return this;
+        }   
+        
+        /**
+         * Adds a user defined EQU.
+         * @param label the EQU label
+         * @param value the EQU value (e.g. 0FD9FH)
+         * @return this builder
+         */
+        public Builder equ(String label, String value) {
+            this.properties.map(EQU.toString(), label + " " + value);
+            return this;
+        }   
+        
+        /**
+         * Sets the file position of the first byte read from a binary file (default 0).
+         * @param offset the file offset
+         * @return this builder
+         */
+        public Builder binaryOffset(int offset) {
+            return this.set(BINARY_OFFSET, DisassemblerOptions.toHex(offset));
+        }   
+        
+        /**
+         * Sets the address where the first byte of a binary file is placed (default 0x0000).
+         * @param address the binary start address
+         * @return this builder
+         */
+        public Builder binaryStart(int address) {
+            return this.set(BINARY_START, DisassemblerOptions.toHex(address));
+        }   
+        
+        /**
+         * Sets the last address filled with the bytes of a binary file (default 0xFFFF).
+         * @param address the binary end address
+         * @return this builder
+         */
+        public Builder binaryEnd(int address) {
+            return this.set(BINARY_END, DisassemblerOptions.toHex(address));
+        }   
+        
+        /**
+         * Sets the first address to be disassembled (default 0x0000).
+         * @param address the start address
+         * @return this builder
+         */
+        public Builder startAddress(int address) {
+            return this.set(START_ADDRESS, DisassemblerOptions.toHex(address));
+        }   
+        
+        /**
+         * Sets the last address to be disassembled (default 0xFFFF).
+         * @param address the end address
+         * @return this builder
+         */
+        public Builder endAddress(int address) {
+            return this.set(END_ADDRESS, DisassemblerOptions.toHex(address));
+        }   
+        
+        /**
+         * Sets the undocumented instructions flag (default false).
+         * @param undocumented true to decode the undocumented Z80 instructions
+         * @return this builder
+         */
+        public Builder undocumentedInstructions(boolean undocumented) {
+            return this.set(UNDOCUMENTED_INSTRUCTIONS, undocumented);
+        }   
+        
+        /**
+         * Sets the Z80 instructions file (default: the built-in instructions file).
+         * @param instructionsFile the instructions file
+         * @return this builder
+         */
+        public Builder instructionsFile(String instructionsFile) {
+            return this.set(INSTRUCTIONS_FILE, instructionsFile);
+        }   
+        
+        /**
+         * Sets the hexadecimal format of the output (default 0%sH).
+         * @param hexFormat the hexadecimal format
+         * @return this builder
+         */
+        public Builder hexFormat(String hexFormat) {
+            return this.set(HEX_FORMAT, hexFormat);
+        }   
+        
+        /**
+         * Sets the number of bytes of the db lines (default 16).
+         * @param dbAlign the number of bytes
+         * @return this builder
+         */
+        public Builder dbAlign(int dbAlign) {
+            return this.set(DB_ALIGN, dbAlign);
+        }   
+        
+        /**
+         * Sets the tab size of the output (default 4).
+         * @param tabSize the tab size
+         * @return this builder
+         */
+        public Builder tabSize(int tabSize) {
+            return this.set(TAB_SIZE, tabSize);
+        }   
+        
+        /**
+         * Sets the prefix of the generated code labels.
+         * @param prefix the code label prefix
+         * @return this builder
+         */
+        public Builder codeLabelPrefix(String prefix) {
+            return this.set(CODE_LABEL_PREFIX, prefix);
+        }   
+        
+        /**
+         * Sets the prefix of the generated data labels.
+         * @param prefix the data label prefix
+         * @return this builder
+         */
+        public Builder dataLabelPrefix(String prefix) {
+            return this.set(DATA_LABEL_PREFIX, prefix);
+        }   
+        
+        /**
+         * Sets the exploration order of the start-off addresses (default FIFO).
+         * @param order the exploration order
+         * @return this builder
+         */
+        public Builder explorationOrder(AddressWorklist.Order order) {
+            return this.set(EXPLORATION_ORDER, order);
+        }   
+        
+        /**
+         * Sets the disassembly mode (default RECURSIVE).
+         * @param mode the disassembly mode
+         * @return this builder
+         */
+        public Builder disassemblyMode(Z80Disassembler.Mode mode) {
+            return this.set(DISASSEMBLY_MODE, mode);
+        }   
+        
+        /**
+         * Sets the parallel traversal flag (default false, the linear sweep is parallel too).
+         * @param parallelTraversal the parallel traversal flag
+         * @return this builder
+         */
+        public Builder parallelTraversal(boolean parallelTraversal) {
+            return this.set(PARALLEL_TRAVERSAL, parallelTraversal);
+        }   
+        
+        /**
+         * Sets the parallel rendering flag (default false).
+         * @param parallelRendering the parallel rendering flag
+         * @return this builder
+         */
+        public Builder parallelRendering(boolean parallelRendering) {
+            return this.set(PARALLEL_RENDERING, parallelRendering);
+        }   
+        
+        /**
+         * Sets the cross-reference comments flag (default false).
+         * @param crossReferenceComments the cross-reference comments flag
+         * @return this builder
+         */
+        public Builder crossReferenceComments(boolean crossReferenceComments) {
+            return this.set(XREF_COMMENTS, crossReferenceComments);
+        }   
+        
+        /**
+         * Sets the level of the log messages (default TRACE).
+         * @param logLevel the log level
+         * @return this builder
+         */
+        public Builder logLevel(AsyncLogger.Level logLevel) {
+            return this.set(LOG_LEVEL, logLevel);
+        }   
+        
+        /**
+         * Builds the options.
+         * @return the immutable options
+         */
+        public DisassemblerOptions build() {
+            return new DisassemblerOptions(this.properties);
+        }   
+    }   
+    
+    /**
+     * Return the hexadecimal representation of an address or offset (as in the configuration file).
+     */
+    private static String toHex(int value) {
+        return String.format("0x%04X", value);
+    }   
+}
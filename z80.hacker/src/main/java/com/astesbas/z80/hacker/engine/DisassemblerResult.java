@@ -0,0 +1,155 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.astesbas.z80.hacker.domain.ControlFlowGraph;
+import com.astesbas.z80.hacker.domain.CoverageMap;
+import com.astesbas.z80.hacker.domain.CrossReferenceIndex;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.engine.DisassemblerException.InputOutputException;
+import com.astesbas.z80.hacker.util.AtomicFileWriter;
+
+/**
+ * The result of a disassembler session (see {@link DisassemblerSession}): the source, list and log texts,
+ * the warnings flag and the decoded code (decoder state, control flow graph and cross-references).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class DisassemblerResult {
+    
+    /** The engine that disassembled the binary */
+    private final Z80Disassembler disassembler;
+    
+    /** The assembly source text */
+    private final String source;
+    
+    /** The list text */
+    private final String list;
+    
+    /**
+     * Creates the result of a disassembled binary.
+     * @param disassembler the engine that disassembled the binary
+     * @param source the source text
+     * @param list the list text
+     */
+    DisassemblerResult(Z80Disassembler disassembler, String source, String list) {
+        this.disassembler = disassembler;
+        this.source = source;
+        this.list = list;
+    }   
+    
+    /**
+     * Return the assembly source text (the same text of the output file).
+     * @return the source text
+     */
+    public String getSource() {
+        return this.source;
+    }   
+    
+    /**
+     * Return the lines of the assembly source text.
+     * @return the stream of source lines
+     */
+    public Stream<String> sourceLines() {
+        return new BufferedReader(new StringReader(this.source)).lines();
+    }   
+    
+    /**
+     * Return the list text (the same text of the list file).
+     * @return the list text
+     */
+    public String getList() {
+        return this.list;
+    }   
+    
+    /**
+     * Return the lines of the list text.
+     * @return the stream of list lines
+     */
+    public Stream<String> listLines() {
+        return new BufferedReader(new StringReader(this.list)).lines();
+    }   
+    
+    /**
+     * Return the log messages (the same messages of the log file).
+     * @return the log text
+     */
+    public String getLog() {
+        return this.disassembler.getLogBuffer();
+    }   
+    
+    /**
+     * Return the warning status of the disassembler process.
+     * @return true if there are any warnings (see the log messages)
+     */
+    public boolean hasWarnings() {
+        return this.disassembler.hasWarnings();
+    }   
+    
+    /**
+     * Return the decoder (decoded instructions and coverage map).
+     * @return the decoder
+     */
+    public Decoder getDecoder() {
+        return this.disassembler.getDecoder();
+    }   
+    
+    /**
+     * Return the addresses of the decoded instructions (in address order).
+     * @return the stream of instruction addresses
+     */
+    public IntStream instructionAddresses() {
+        CoverageMap coverageMap = this.getDecoder().getCoverageMap();
+        return IntStream.iterate(coverageMap.nextCodeStart(0), address -> coverageMap.nextCodeStart(address + 1))
+            .limit(coverageMap.getInstructionsCount());
+    }   
+    
+    /**
+     * Return the basic block control flow graph of the decoded code (built at the first call).
+     * @return the control flow graph
+     */
+    public ControlFlowGraph getControlFlowGraph() {
+        synchronized(this.disassembler) {
+            return this.disassembler.getControlFlowGraph();
+        }   
+    }   
+    
+    /**
+     * Return the cross-reference index of the decoded code (built at the first call).
+     * @return the cross-reference index
+     */
+    public CrossReferenceIndex getCrossReferenceIndex() {
+        synchronized(this.disassembler) {
+            return this.disassembler.getCrossReferenceIndex();
+        }   
+    }   
+    
+    /**
+     * Writes the source and list texts to files (the files are replaced only if both texts are written).
+     * 
+     * @param outputPath the source file path
+     * @param listPath the list file path
+     * @throws InputOutputException if the files cannot be written
+     */
+    public void writeFiles(Path outputPath, Path listPath) throws InputOutputException {
+        try (AtomicFileWriter sourceWriter = new AtomicFileWriter(outputPath);
+                AtomicFileWriter listWriter = new AtomicFileWriter(listPath)) {
+            sourceWriter.write(this.source);
+            listWriter.write(this.list);
+            sourceWriter.commit();
+            listWriter.commit();
+        } catch (IOException ioException) {
+            throw new InputOutputException(
+                String.format("Error writing output files: %s", ioException.getMessage()), ioException
+            );  
+        }   
+    }   
+}
@@ -0,0 +1,228 @@
+package com.astesbas.z80.hacker.engine;
+
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_END;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_OFFSET;
+import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.BINARY_START;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.domain.InstructionSetRegistry;
+import com.astesbas.z80.hacker.engine.DisassemblerException.ConfigurationException;
+import com.astesbas.z80.hacker.engine.DisassemblerException.InputOutputException;
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+
+/**
+ * Disassembler session: the in-process API of the disassembler engine.
+ * A session disassembles any number of binaries with the same options. The disassembler never exits
+ * the process, writes to the standard output or writes files: the errors are thrown as typed exceptions
+ * (see {@link DisassemblerException}) and the source, list and log texts are returned in the result object.
+ * 
+ * The session is thread-safe: every binary is disassembled by its own engine, and the instruction set is
+ * shared by all of them (and by the other sessions, see {@link InstructionSetRegistry}). The hexadecimal
+ * format is kept by the output processor of each engine, so the sessions with different formats run at
+ * the same time.
+ * 
+ * Usage:<br/>
+ * <code>
+ *     DisassemblerSession session = new DisassemblerSession(DisassemblerOptions.builder().startOff(0).build());<br/>
+ *     DisassemblerResult result = session.disassemble(bytes);
+ * </code>
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class DisassemblerSession {
+    
+    /** The session options */
+    private final DisassemblerOptions options;
+    
+    /** The instruction set shared by the session engines */
+    private final InstructionSet instructionSet;
+    
+    /**
+     * Creates a session (the instruction set of the INSTRUCTIONS_FILE option is read from the registry).
+     * 
+     * @param options the session options
+     * @throws ConfigurationException if some option or the instructions file data is invalid
+     * @throws InputOutputException if the instructions file cannot be read
+     */
+    public DisassemblerSession(DisassemblerOptions options) throws ConfigurationException, InputOutputException {
+        this(options, DisassemblerSession.loadInstructionSet(options));
+    }   
+    
+    /**
+     * Creates a session with the given instruction set (shared by many sessions). The INSTRUCTIONS_FILE and
+     * UNDOCUMENTED_INSTRUCTIONS options are not used: the engines always use the given instruction set.
+     * 
+     * @param options the session options
+     * @param instructionSet the instruction set
+     * @throws ConfigurationException if some option is invalid
+     */
+    public DisassemblerSession(DisassemblerOptions options, InstructionSet instructionSet)
+            throws ConfigurationException {
+        
+        this.options = Objects.requireNonNull(options);
+        this.instructionSet = Objects.requireNonNull(instructionSet);
+        
+        // Verify the options with an empty binary (the options are verified again by every engine)
+        this.newDisassembler(new BinaryData(new byte[0], BinaryData.START_ADDRESS, 0));
+    }   
+    
+    /**
+     * Return the session options.
+     * @return the options
+     */
+    public DisassemblerOptions getOptions() {
+        return this.options;
+    }   
+    
+    /**
+     * Return the instruction set of the session.
+     * @return the instruction set
+     */
+    public InstructionSet getInstructionSet() {
+        return this.instructionSet;
+    }   
+    
+    /**
+     * Disassembles a binary (the bytes are placed at the BINARY_START option address).
+     * 
+     * @param bytes the binary bytes
+     * @return the disassembler result
+     * @throws ConfigurationException if some option is invalid
+     */
+    public DisassemblerResult disassemble(byte[] bytes) throws ConfigurationException {
+        
+        int start;
+        try {
+            start = this.options.getProperties().getAddress(BINARY_START).orElse(BinaryData.START_ADDRESS);
+        } catch (IllegalAccessException | NumberFormatException exception) {
+            throw new ConfigurationException(
+                String.format("Invalid binary start address: %s", exception.getMessage()), exception
+            );  
+        }   
+        
+        if(start < BinaryData.START_ADDRESS || start > BinaryData.END_ADDRESS) {
+            throw new ConfigurationException(
+                String.format("Binary start address out of range: 0x%X", start), null
+            );  
+        }   
+        
+        return this.disassemble(new BinaryData(bytes, start, Math.min(bytes.length, BinaryData.MAX_SIZE - start)));
+    }   
+    
+    /**
+     * Disassembles a binary file (see the BINARY_OFFSET, BINARY_START and BINARY_END options).
+     * 
+     * @param binaryFile the binary file
+     * @return the disassembler result
+     * @throws ConfigurationException if some option is invalid
+     * @throws InputOutputException if the binary file cannot be read
+     */
+    public DisassemblerResult disassemble(Path binaryFile) throws ConfigurationException, InputOutputException {
+        
+        BinaryData binaryData;
+        try {
+            ConfigFileProperties properties = this.options.getProperties();
+            binaryData = BinaryData.fromFile(binaryFile.toFile(),
+                properties.getAddress(BINARY_OFFSET).orElse(0),
+                properties.getAddress(BINARY_START).orElse(BinaryData.START_ADDRESS),
+                properties.getAddress(BINARY_END).orElse(BinaryData.END_ADDRESS));
+        } catch (IllegalAccessException | IllegalArgumentException exception) {
+            throw new ConfigurationException(
+                String.format("Error reading binary file parameter: %s", exception.getMessage()), exception
+            );  
+        } catch (IOException ioException) {
+            throw new InputOutputException(
+                String.format("Error reading binary file %s: %s", binaryFile, ioException.getMessage()), ioException
+            );  
+        }   
+        
+        return this.disassemble(binaryData);
+    }   
+    
+    /**
+     * Disassembles the binary data.
+     * 
+     * @param binaryData the binary data
+     * @return the disassembler result
+     * @throws ConfigurationException if some option is invalid
+     */
+    public DisassemblerResult disassemble(BinaryData binaryData) throws ConfigurationException {
+        
+        try {
+            
+            Z80Disassembler disassembler = this.newDisassembler(binaryData);
+            disassembler.disassemble();
+            
+            // Render the source and list texts
+            OutputProcessor outputProcessor = disassembler.getOutputProcessor();
+            StringWriter source = new StringWriter();
+            StringWriter list = new StringWriter();
+            outputProcessor.writeSourceHeader(source, binaryData.getBinaryFileName());
+            outputProcessor.writeListHeader(list, binaryData.getBinaryFileName());
+            outputProcessor.writeOutput(source, list, disassembler.getDecoder(), disassembler.getOutputCrossReferences());
+            
+            return new DisassemblerResult(disassembler, source.toString(), list.toString());
+        
+        } catch (IOException ioException) {
+            // The string writers do not throw exceptions
+            throw new UncheckedIOException(ioException);
+        }   
+    }   
+    
+    /**
+     * Creates the engine of a binary (with the session options and instruction set).
+     * The log messages of the engine are kept in memory.
+     * 
+     * @param binaryData the binary data
+     * @return the disassembler engine
+     * @throws ConfigurationException if some option or the instructions file is invalid
+     */
+    private Z80Disassembler newDisassembler(BinaryData binaryData) throws ConfigurationException {
+        
+        Z80Disassembler disassembler = new Z80Disassembler(binaryData);
+        disassembler.setInstructionSet(this.instructionSet);
+        disassembler.setLogBuffer();
+        
+        try {
+            disassembler.setOptions(this.options.getProperties());
+        } catch (IllegalArgumentException | UncheckedIOException exception) {
+            // The instructions file is read only for the empty instruction set (see setInstructionSet)
+            throw new ConfigurationException(exception.getMessage(), exception);
+        }   
+        
+        return disassembler;
+    }   
+    
+    /**
+     * Return the instruction set of the options (see {@link InstructionSetRegistry}).
+     * 
+     * @param options the session options
+     * @return the instruction set
+     * @throws ConfigurationException if the instructions file data is invalid
+     * @throws InputOutputException if the instructions file cannot be read
+     */
+    private static InstructionSet loadInstructionSet(DisassemblerOptions options)
+            throws ConfigurationException, InputOutputException {
+        
+        String source = options.getInstructionsFile();
+        try {
+            return InstructionSetRegistry.get(source, options.isUndocumentedInstructions());
+        } catch (IllegalArgumentException exception) {
+            throw new ConfigurationException(String.format("Error reading data from %s file: %s",
+                source, exception.getMessage()), exception);
+        } catch (IOException ioException) {
+            throw new InputOutputException(String.format("Error reading data from %s file: %s",
+                source, ioException.getMessage()), ioException);
+        }   
+    }   
+}
@@ -0,0 +1,248 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.Instruction;
+import com.astesbas.z80.hacker.domain.InstructionTable;
+
+/**
+ * Linear sweep of the disassembling range.
+ * Every address from the start address to the end address of the decoder is decoded in a single pass:
+ * the sweep decodes the instruction at the current address and goes to the next instruction, or goes to the
+ * next byte if the bytes do not define a valid instruction. The bytes already decoded (e.g. by the recursive
+ * traversal) are skipped, so the sweep decodes only the gaps between them.
+ * 
+ * The parallel sweep splits the range in chunks swept by the fork/join common pool. A chunk is swept from
+ * its first address, but the last instruction of the previous chunk may end after this address. In this case
+ * the chunk is swept again from the end of that instruction until it reaches an address of the chunk sweep
+ * (from there on both sweeps decode the same instructions). So the result is the same of the sequential sweep.
+ * 
+ * The sweep does not change the decoder. The decoded instructions are returned indexed by address.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class LinearSweep {
+    
+    /** The minimum number of addresses of the chunks swept in parallel */
+    private static final int SWEEP_CHUNK_SIZE = 0x1000;
+    
+    /** The maximum size of the Z80 instructions (in bytes) */
+    private static final int MAX_INSTRUCTION_SIZE = 4;
+    
+    /** The binary data decoder (the decoded bytes are not swept) */
+    private final Decoder decoder;
+    
+    /** The binary data */
+    private final BinaryData binaryData;
+    
+    /** The dispatch table of Z80 instructions */
+    private final InstructionTable instructionTable;
+    
+    /** The decoded instructions indexed by address */
+    private final Instruction[] instructions = new Instruction[BinaryData.MAX_SIZE];
+    
+    /** The number of decoded instructions */
+    private int decodedCount = 0;
+    
+    /** The number of chunks swept again to align them with the previous chunk */
+    private int realignedCount = 0;
+    
+    /**
+     * Creates a linear sweep.
+     * @param decoder the binary data decoder
+     * @param instructionTable the dispatch table of Z80 instructions
+     */
+    public LinearSweep(Decoder decoder, InstructionTable instructionTable) {
+        this.decoder = decoder;
+        this.binaryData = decoder.getBinaryData();
+        this.instructionTable = instructionTable;
+    }   
+    
+    /**
+     * Sweeps the disassembling range of the decoder.
+     * 
+     * @param parallel flag to sweep the range in parallel chunks
+     * @return the decoded instructions indexed by address (null for the addresses not decoded)
+     */
+    public Instruction[] sweep(boolean parallel) {
+        
+        int startAddress = this.decoder.getStartAddress();
+        int endAddress = this.decoder.getEndAddress();
+        int chunksCount = parallel ? Math.max(1, (endAddress - startAddress + 1) / SWEEP_CHUNK_SIZE):1;
+        if(chunksCount == 1) {
+            this.sweep(startAddress, endAddress);
+        } else {
+            this.sweepInParallel(startAddress, endAddress, chunksCount);
+        }   
+        
+        for(int address = startAddress; address <= endAddress; address++) {
+            if(this.instructions[address] != null) {
+                this.decodedCount++;
+            }   
+        }   
+        
+        return this.instructions;
+    }   
+    
+    /**
+     * Return the number of instructions decoded by the sweep.
+     * @return the number of decoded instructions
+     */
+    public int getDecodedCount() {
+        return this.decodedCount;
+    }   
+    
+    /**
+     * Return the number of parallel chunks swept again to align them with the previous chunk.
+     * @return the number of realigned chunks
+     */
+    public int getRealignedCount() {
+        return this.realignedCount;
+    }   
+    
+    /**
+     * Sweeps the given range in parallel chunks and aligns each chunk with the previous one.
+     * 
+     * @param startAddress the first address of the range
+     * @param endAddress the last address of the range
+     * @param chunksCount the number of chunks
+     */
+    private void sweepInParallel(int startAddress, int endAddress, int chunksCount) {
+        
+        int chunkSize = (endAddress - startAddress + 1) / chunksCount;
+        int[] boundaries = new int[chunksCount + 1];
+        for(int chunk = 0; chunk < chunksCount; chunk++) {
+            boundaries[chunk] = startAddress + chunk * chunkSize;
+        }   
+        boundaries[chunksCount] = endAddress + 1;
+        
+        // Sweep the chunks (each chunk writes only the instructions starting inside it)
+        List<Future<Integer>> chunks = new ArrayList<>(chunksCount);
+        for(int chunk = 0; chunk < chunksCount; chunk++) {
+            int from = boundaries[chunk];
+            int to = boundaries[chunk + 1] - 1;
+            chunks.add(ForkJoinPool.commonPool().submit(() -> this.sweep(from, to)));
+        }   
+        
+        try {
+            
+            int position = chunks.get(0).get();
+            for(int chunk = 1; chunk < chunksCount; chunk++) {
+                int chunkEnd = chunks.get(chunk).get();
+                if(position != boundaries[chunk]) {
+                    chunkEnd = this.realign(boundaries[chunk], boundaries[chunk + 1] - 1, position, chunkEnd);
+                    this.realignedCount++;
+                }   
+                position = chunkEnd;
+            }   
+        
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Linear sweep interrupted!", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(String.format("Error sweeping binary data: %s", exception.getCause()), exception.getCause());
+        } finally {
+            chunks.forEach(chunk -> chunk.cancel(true));
+        }   
+    }   
+    
+    /**
+     * Sweeps a chunk again from the end of the last instruction of the previous chunk, until it reaches an
+     * address of the (misaligned) chunk sweep.
+     * 
+     * @param from the first address of the chunk
+     * @param to the last address of the chunk
+     * @param position the address after the last instruction of the previous chunk
+     * @param chunkEnd the address after the last instruction of the chunk sweep
+     * @return the address after the last instruction of the aligned chunk
+     */
+    private int realign(int from, int to, int position, int chunkEnd) {
+        
+        // The sweeps are aligned at the first address not covered by an instruction of the chunk sweep
+        int alignment = position;
+        while(alignment <= to && this.isCovered(alignment)) {
+            Instruction instruction = this.decode(alignment);
+            alignment += (instruction != null) ? instruction.getSize():1;
+        }   
+        
+        // Replace the instructions of the chunk sweep before the alignment address (the instructions of
+        // the next chunk are kept if the chunk is not aligned before its end)
+        for(int address = from; address < Math.min(alignment, to + 1); address++) {
+            this.instructions[address] = null;
+        }   
+        for(int address = position; address < alignment;) {
+            address = this.step(address);
+        }   
+        
+        return (alignment <= to) ? chunkEnd:alignment;
+    }   
+    
+    /**
+     * Verify if the given address is a parameter byte of a swept instruction.
+     * @param address the address
+     * @return true if some instruction before the address covers it
+     */
+    private boolean isCovered(int address) {
+        for(int start = Math.max(0, address - MAX_INSTRUCTION_SIZE + 1); start < address; start++) {
+            Instruction instruction = this.instructions[start];
+            if(instruction != null && start + instruction.getSize() > address) {
+                return true;
+            }   
+        }   
+        return false;
+    }   
+    
+    /**
+     * Sweeps the given range from its first address.
+     * 
+     * @param from the first address of the range
+     * @param to the last address of the range
+     * @return the address after the last instruction or byte of the range
+     */
+    private int sweep(int from, int to) {
+        int position = from;
+        while(position <= to) {
+            position = this.step(position);
+        }   
+        return position;
+    }   
+    
+    /**
+     * Decodes the instruction at the given address (see {@link #decode(int)}).
+     * 
+     * @param address the address
+     * @return the address of the next instruction, or the next address if no instruction was decoded
+     */
+    private int step(int address) {
+        Instruction instruction = this.decode(address);
+        if(instruction != null) {
+            this.instructions[address] = instruction;
+            return address + instruction.getSize();
+        }   
+        return address + 1;
+    }   
+    
+    /**
+     * Return the instruction at the given address, if it fits in the undecoded bytes of the disassembling range.
+     * 
+     * @param address the address
+     * @return the instruction or null if the bytes do not define a valid instruction
+     */
+    private Instruction decode(int address) {
+        Instruction instruction = this.decoder.isDbByte(address) ? this.instructionTable.find(this.binaryData, address):null;
+        if(instruction != null && this.decoder.isValidAddress(address + instruction.getSize() - 1)
+                && this.decoder.isAvailable(address, instruction.getSize())) {
+            return instruction;
+        }   
+        return null;
+    }   
+}
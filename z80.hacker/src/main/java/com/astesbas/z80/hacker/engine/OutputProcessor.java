@@ -1,24 +1,32 @@
 package com.astesbas.z80.hacker.engine;
 
-import static java.nio.file.StandardOpenOption.APPEND;
-import static java.nio.file.StandardOpenOption.CREATE;
-
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.BinaryView;
+import com.astesbas.z80.hacker.domain.CoverageMap;
+import com.astesbas.z80.hacker.domain.CrossReferenceIndex;
 import com.astesbas.z80.hacker.domain.Decoder;
 import com.astesbas.z80.hacker.domain.Instruction;
 import com.astesbas.z80.hacker.domain.PrefixClass;
+import com.astesbas.z80.hacker.util.AddressStringTable;
+import com.astesbas.z80.hacker.util.AtomicFileWriter;
 import com.astesbas.z80.hacker.util.FileDateUtil;
+import com.astesbas.z80.hacker.util.HexTable;
 import com.astesbas.z80.hacker.util.StringUtil;
 
 /**
@@ -32,10 +40,22 @@ import com.astesbas.z80.hacker.util.StringUtil;
  */
 public class OutputProcessor {
     
-    /** Mapping for labels entries at given addresses */
-    private final Map<Integer, String> labelsMap = new HashMap<>();
+    /** Label types: no label, named label (user defined or imported) and generated code/data labels */
+    private static final byte NO_LABEL = 0, NAMED_LABEL = 1, CODE_LABEL = 2, DATA_LABEL = 3;
+    
+    /** Offset code labels type: the type value is the displacement offset plus this base */
+    private static final byte OFFSET_LABEL = 4;
+    
+    /** The type of the label at each address (the generated labels are built only when rendered) */
+    private final byte[] labelTypes = new byte[AddressStringTable.SIZE];
+    
+    /** The named labels (user defined or imported labels) */
+    private final AddressStringTable namedLabels;
+    
+    /** The EQU labels indexed by their numeric value */
+    private final AddressStringTable equLabels;
     
-    /** Mapping of EQU entries (key, value) */
+    /** Mapping of EQU entries (value, label) written in the source header */
     private final Map<String, String> equsMap = new HashMap<>();
     
     /** Number of byte per line for "db" directives */
@@ -50,16 +70,163 @@ public class OutputProcessor {
     /** Data label prefix: used as prefix for data byte (db) sections */
     private String dataLabelPrefix = "";
     
+    /** The suffix of the generated labels (labels of banked ROMs are qualified with the bank number) */
+    private String bankSuffix = "";
+    
+    /** The hexadecimal table of the output format (each processor keeps its own format) */
+    private HexTable hexTable = StringUtil.getHexTable();
+    
+    /** The initial size of the line buffers used to render the output files */
+    private static final int LINE_BUFFER_SIZE = 256;
+    
+    /** The size of the text buffers written to the output files at once */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    
+    /** The minimum number of addresses of the chunks rendered in parallel */
+    private static final int RENDER_CHUNK_SIZE = 0x1000;
+    
+    /** Flag to render the output chunks in parallel (the output is the same of the sequential rendering) */
+    private boolean parallelRendering = false;
+    
+    /** Flag to render the cross-reference comments (referrers of each label) in the source code */
+    private boolean crossReferenceComments = false;
+    
+    /** The maximum number of referrers in a cross-reference comment line */
+    private static final int XREFS_PER_LINE = 8;
+    
+    /** The padding of the (empty) instruction bytes column of db lines in list file */
+    private static final String LIST_DB_BYTES_PADDING = StringUtil.spaces(12);
+    
+    /**
+     * Creates an output processor without labels.
+     */
+    public OutputProcessor() {
+        this.namedLabels = new AddressStringTable();
+        this.equLabels = new AddressStringTable();
+    }   
+    
+    /**
+     * Copy constructor (the labels and EQUs are copied).
+     * @param other the output processor to be copied
+     */
+    private OutputProcessor(OutputProcessor other) {
+        this.namedLabels = other.namedLabels.copy();
+        this.equLabels = other.equLabels.copy();
+        this.equsMap.putAll(other.equsMap);
+        System.arraycopy(other.labelTypes, 0, this.labelTypes, 0, this.labelTypes.length);
+    }   
+    
+    /**
+     * Creates a copy of this output processor for the given bank of a banked ROM.
+     * The formatting properties, the labels and the EQUs already mapped (global labels) are copied.
+     * The labels mapped in the copy are qualified with the bank number.
+     * 
+     * @param bank the bank number
+     * @return the output processor for the bank
+     */
+    public OutputProcessor copyForBank(int bank) {
+        
+        // The generated labels are built with the suffix of this processor
+        OutputProcessor copy = new OutputProcessor(this);
+        for(int address = 0; address < copy.labelTypes.length; address++) {
+            if(copy.labelTypes[address] > NAMED_LABEL) {
+                copy.namedLabels.put(address, this.getLabel(address));
+                copy.labelTypes[address] = NAMED_LABEL;
+            }   
+        }   
+        
+        copy.dbAlign = this.dbAlign;
+        copy.tabSize = this.tabSize;
+        copy.codeLabelPrefix = this.codeLabelPrefix;
+        copy.dataLabelPrefix = this.dataLabelPrefix;
+        copy.hexTable = this.hexTable;
+        copy.parallelRendering = this.parallelRendering;
+        copy.crossReferenceComments = this.crossReferenceComments;
+        copy.bankSuffix = String.format("_B%d", bank);
+        return copy;
+    }   
+    
+    /**
+     * Removes the labels mapped in the address range [from, to].
+     * @param from the first address of the range
+     * @param to the last address of the range
+     */
+    public void unmapLabels(int from, int to) {
+        for(int address = Math.max(0, from); address <= to && address < this.labelTypes.length; address++) {
+            this.labelTypes[address] = NO_LABEL;
+            this.namedLabels.put(address, null);
+        }   
+    }   
+    
+    /**
+     * Imports the labels mapped by other output processor in the address range [from, to].
+     * The labels already mapped in this processor are kept (e.g. labels of a fixed bank imported
+     * by the other banks of a banked ROM).
+     * 
+     * @param other the other output processor
+     * @param from the first address of the range
+     * @param to the last address of the range
+     */
+    public void importLabels(OutputProcessor other, int from, int to) {
+        for(int address = Math.max(0, from); address <= to && address < this.labelTypes.length; address++) {
+            if(other.hasLabel(address)) {
+                this.mapLabel(address, other.getLabel(address));
+            }   
+        }   
+    }   
+    
+    /**
+     * Verify if there is a label mapped at the given address.
+     * @param address the address
+     * @return true if there is a label at the address
+     */
+    public boolean hasLabel(int address) {
+        return (address & ~(AddressStringTable.SIZE - 1)) == 0 && this.labelTypes[address] != NO_LABEL;
+    }   
+    
+    /**
+     * Return the label mapped at the given address (the generated labels are built from the prefix and address).
+     * @param address the address
+     * @return the label, or null if there is no label at the address
+     */
+    public String getLabel(int address) {
+        return this.hasLabel(address) ? this.appendLabel(new StringBuilder(), address).toString():null;
+    }   
+    
+    /**
+     * Appends the label mapped at the given address to the string builder.
+     * The generated labels are built from the label prefix, the address and the bank suffix.
+     * 
+     * @param builder the string builder
+     * @param address the address (must have a label)
+     * @return the given string builder
+     */
+    private StringBuilder appendLabel(StringBuilder builder, int address) {
+        int type = this.labelTypes[address];
+        if(type == NAMED_LABEL) {
+            return builder.append(this.namedLabels.get(address));
+        } else if(type == CODE_LABEL) {
+            return builder.append(this.codeLabelPrefix).append(this.hexTable.format(address)).append(this.bankSuffix);
+        } else if(type == DATA_LABEL) {
+            return builder.append(this.dataLabelPrefix).append(this.hexTable.format(address)).append(this.bankSuffix);
+        }   
+        int offset = type - OFFSET_LABEL;
+        return builder.append(this.codeLabelPrefix).append(this.hexTable.format(address - offset))
+            .append(this.bankSuffix).append(" + ").append(offset);
+    }   
+    
     /**
      * Maps a label to be used as reference in the disassembled code.
      * If the address is already maps a label, then the new mapping is discarded.
      * 
      * @param address the address to be mapped to the given label
      * @param label the key label
+     * @throws IllegalArgumentException if the address is outside the 16-bit range
      */
-    public void mapLabel(Integer address, String label) {
-        if(!this.labelsMap.containsKey(address)) {
-            this.labelsMap.put(address, label);
+    public void mapLabel(int address, String label) throws IllegalArgumentException {
+        if(!this.hasLabel(address)) {
+            this.namedLabels.put(address, Objects.requireNonNull(label));
+            this.labelTypes[address] = NAMED_LABEL;
         }   
     }   
     
@@ -69,10 +236,8 @@ public class OutputProcessor {
      * 
      * @param address the address to be mapped to the given label
      */
-    public void mapCodeLabel(Integer address) {
-        if(!this.labelsMap.containsKey(address)) {
-            this.mapAddressLabel(address, this.codeLabelPrefix);
-        }   
+    public void mapCodeLabel(int address) {
+        this.mapGeneratedLabel(address, CODE_LABEL);
     }   
     
     /**
@@ -81,22 +246,33 @@ public class OutputProcessor {
      * 
      * @param address the address to be mapped to the given label
      */
-    public void mapDataLabel(Integer address) {
-        if(!this.labelsMap.containsKey(address)) {
-            this.mapAddressLabel(address, this.dataLabelPrefix);
-        }   
+    public void mapDataLabel(int address) {
+        this.mapGeneratedLabel(address, DATA_LABEL);
+    }   
+    
+    /**
+     * Return the type of the generated label mapped at the given address (see {@link #mapGeneratedLabel(int, byte)}).
+     * @param address the address
+     * @return the generated label type, or zero if there is no generated label at the address
+     */
+    byte getGeneratedLabelType(int address) {
+        return (this.hasLabel(address) && this.labelTypes[address] > NAMED_LABEL) ? this.labelTypes[address]:NO_LABEL;
     }   
     
     /**
-     * Maps a label to be used as reference in the disassembled code. The label
-     * is defined as the concatenation of the prefeix and start address.
+     * Maps a generated label (the label is defined as the concatenation of the prefix and the address,
+     * and built only when rendered). If the address is already maps a label, then the new mapping is discarded.
      * 
-     * If the address is already maps a label, then the new mapping is discarded.
-     * @param address
-     * @param prefix
+     * @param address the address to be mapped
+     * @param type the generated label type
+     * @throws IllegalArgumentException if the address is outside the 16-bit range
      */
-    public void mapAddressLabel(Integer address, String prefix) {
-        this.mapLabel(address, String.format("%s%s", prefix, StringUtil.intToHexString(address)));  
+    void mapGeneratedLabel(int address, byte type) throws IllegalArgumentException {
+        if((address & ~(AddressStringTable.SIZE - 1)) != 0) {
+            throw new IllegalArgumentException(String.format("Invalid label address: 0x%X", address));
+        } else if(this.labelTypes[address] == NO_LABEL) {
+            this.labelTypes[address] = type;
+        }   
     }   
     
     /**
@@ -120,20 +296,29 @@ public class OutputProcessor {
      * @param address the binary data address
      * @param offset the offset
      */
-    public void mapOffsetCodeLabel(Integer address, Integer offset) {
-        if(!this.labelsMap.containsKey(address)) {
-            String label = String.format("%s%s + %d", this.codeLabelPrefix, StringUtil.intToHexString(address-offset), offset);
-            this.labelsMap.put(address, label);
+    public void mapOffsetCodeLabel(int address, int offset) {
+        if(offset > 0 && offset <= Byte.MAX_VALUE - OFFSET_LABEL) {
+            this.mapGeneratedLabel(address, (byte) (OFFSET_LABEL + offset));
+        } else if(!this.hasLabel(address)) {
+            this.mapLabel(address, new StringBuilder(this.codeLabelPrefix).append(this.hexTable.format(address - offset))
+                .append(this.bankSuffix).append(" + ").append(offset).toString());
         }   
     }   
     
     /**
      * Maps an EQU directive (label, value).
+     * The values written in the hexadecimal output format (e.g. 0FD9AH) are indexed by their numeric value,
+     * so the EQU label replaces the address operands with the same value.
+     * 
      * @param label the key label
      * @param value the value to be mapped to the given equ label
      */
     public void mapEqu(String label, String value) {
         this.equsMap.put(value, label);
+        int address = this.hexTable.parse(value);
+        if(address >= 0) {
+            this.equLabels.put(address, label);
+        }   
     }   
     
     /**
@@ -152,6 +337,58 @@ public class OutputProcessor {
         }
     }
 
+    /**
+     * Sets the parallel rendering flag.
+     * When set, the address range is split in chunks at instruction boundaries, the chunks are rendered
+     * in parallel (fork/join common pool) and the rendered text is written in address order, so the output
+     * files are the same of the sequential rendering.
+     * 
+     * @param parallelRendering the parallel rendering flag
+     */
+    public void setParallelRendering(boolean parallelRendering) {
+        this.parallelRendering = parallelRendering;
+    }   
+    
+    /**
+     * Sets the cross-reference comments flag.
+     * When set, each label of the source code is preceded by comment lines with the addresses and kinds
+     * of the instructions that reference it (e.g. "; XREF: 0105H CALL, 0200H JUMP").
+     * 
+     * @param crossReferenceComments the cross-reference comments flag
+     */
+    public void setCrossReferenceComments(boolean crossReferenceComments) {
+        this.crossReferenceComments = crossReferenceComments;
+    }   
+    
+    /**
+     * Sets the hexadecimal format of the output values (addresses, operands, db bytes and generated labels).
+     * The format must be set before mapping the EQUs (the EQU values are parsed in this format).
+     * 
+     * @param hexFormat the hexadecimal format (e.g. "0%sH", "0x%s" or "$%s")
+     * @throws java.util.IllegalFormatException if the format is not valid
+     */
+    public void setHexFormat(String hexFormat) {
+        if(!this.hexTable.getFormat().equals(Objects.requireNonNull(hexFormat))) {
+            this.hexTable = new HexTable(hexFormat);
+        }   
+    }   
+    
+    /**
+     * Return the hexadecimal table of the output format.
+     * @return the hexadecimal table
+     */
+    public HexTable getHexTable() {
+        return this.hexTable;
+    }   
+    
+    /**
+     * Return the cross-reference comments flag (see {@link #setCrossReferenceComments(boolean)}).
+     * @return true if the labels are preceded by cross-reference comments
+     */
+    public boolean hasCrossReferenceComments() {
+        return this.crossReferenceComments;
+    }   
+    
     /**
      * Set the tabulation size (maximum of 64).
      * 
@@ -169,200 +406,566 @@ public class OutputProcessor {
     }
     
     /**
+     * Writes the output source (.asm) and list (.lst) files in a single pass over the decoded binary data.
+     * The existing files are replaced (not appended) only after the output is completely written.
+     * 
+     * @param outputPath the output source file path
+     * @param listPath the list file path
+     * @param decoder the binary data decoder
+     * @param xrefs the cross-reference index of the decoded code (null if the comments are disabled)
+     * @throws UncheckedIOException if some writing error occurs
+     */
+    public void processOutputFiles(Path outputPath, Path listPath, Decoder decoder, CrossReferenceIndex xrefs) {
+        
+        Optional<String> binaryFileName = decoder.getBinaryData().getBinaryFileName();
+        
+        try (AtomicFileWriter sourceWriter = new AtomicFileWriter(outputPath);
+                AtomicFileWriter listWriter = new AtomicFileWriter(listPath)) {
+            this.writeSourceHeader(sourceWriter, binaryFileName);
+            this.writeListHeader(listWriter, binaryFileName);
+            this.writeOutput(sourceWriter, listWriter, decoder, xrefs);
+            sourceWriter.commit();
+            listWriter.commit();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(
+                String.format("Error writing output files: %s", ioException.getMessage()), ioException
+            );  
+        }   
+    }   
+    
+    /**
+     * Writes the output source file only (see {@link #processOutputFiles(Path, Path, Decoder, CrossReferenceIndex)}).
+     * 
+     * @param outputPath the output source file path
+     * @param decoder the binary data decoder
+     * @param xrefs the cross-reference index of the decoded code (null if the comments are disabled)
+     * @throws UncheckedIOException if some writing error occurs
+     */
+    public void processOutputSourceFile(Path outputPath, Decoder decoder, CrossReferenceIndex xrefs) {
+        try (AtomicFileWriter writer = new AtomicFileWriter(outputPath)) {
+            this.writeSourceHeader(writer, decoder.getBinaryData().getBinaryFileName());
+            this.writeOutput(writer, null, decoder, xrefs);
+            writer.commit();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(
+                String.format("Error writing output source file: %s", ioException.getMessage()), ioException
+            );  
+        }   
+    }   
+        
+    /**
+     * Writes the assembly source header: file header, input file name and EQU directives.
+     * 
+     * @param writer the output writer
+     * @param binaryFileName the input file name
+     * @throws IOException if some writing error occurs
+     */
+    public void writeSourceHeader(Writer writer, Optional<String> binaryFileName) throws IOException {
+        
+        this.printFileHeader(writer);
+        if(binaryFileName.isPresent()) {
+            writer.write(String.format("; Input file: %s%n", binaryFileName.get()));
+        }   
+        
+        // Write out the equ mapping keys/values
+        writer.write(System.lineSeparator());
+        for(Entry<String, String> equMapEntry:this.equsMap.entrySet()) {
+            writer.write(String.format("%-12s EQU %s%n", equMapEntry.getValue()+":", equMapEntry.getKey()));
+        }   
+    }   
+    
+    /**
+     * Writes the list file. The list file contains the processed instructions with addresses and binary data
+     * shown in hexadecimal format (without labels).
+     * This file does not contains compilable code. It is intended for output validation/analysis only.
+     * 
+     * @param listPath the list file path
+     * @param decoder the binary data decoder
+     * @throws UncheckedIOException if some writing error occurs
+     */
+    public void processOutputListFile(Path listPath, Decoder decoder) {
+        try (AtomicFileWriter writer = new AtomicFileWriter(listPath)) {
+            this.writeListHeader(writer, decoder.getBinaryData().getBinaryFileName());
+            this.writeOutput(null, writer, decoder, null);
+            writer.commit();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(
+                String.format("Error writing output list file: %s", ioException.getMessage()), ioException
+            );  
+        }   
+    }   
+    
+    /**
+     * Writes the list file header: file header and input file name.
+     * 
+     * @param writer the output writer
+     * @param binaryFileName the input file name
+     * @throws IOException if some writing error occurs
+     */
+    public void writeListHeader(Writer writer, Optional<String> binaryFileName) throws IOException {
+        this.printFileHeader(writer);
+        if(binaryFileName.isPresent()) {
+            writer.write(String.format("; Input file: %s%n", binaryFileName.get()));
+        }   
+    }   
+    
+    /**
+     * Writes the assembly source code (ORG directive, instructions and data) and the list (addresses, bytes
+     * and instructions) of the decoded binary data in a single pass: each instruction or data region is
+     * visited once, and its source and list lines are rendered from the same decoded bytes.
+     * For banked binary data, the source code is preceded by a bank comment and the list addresses are
+     * qualified with the bank number.
      * 
-     * @param outputPath
-     * @param instructionsList
+     * @param sourceWriter the source code writer (null to skip the source code)
+     * @param listWriter the list writer (null to skip the list)
+     * @param decoder the binary data decoder
+     * @param xrefs the cross-reference index of the decoded code, built by the disassembler (null if the
+     *        comments are disabled)
+     * @throws IOException if some writing error occurs
      */
-    public void processOutputSourceFile(Path outputPath, Decoder decoder) {
+    public void writeOutput(Writer sourceWriter, Writer listWriter, Decoder decoder, CrossReferenceIndex xrefs)
+            throws IOException {
+        
+        if(this.parallelRendering) {
+            this.writeOutputInParallel(sourceWriter, listWriter, decoder, xrefs);
+            return;
+        }   
         
-        String tab = StringUtil.spaces(this.tabSize);
+        Renderer renderer = new Renderer(decoder, this.getCrossReferences(sourceWriter, xrefs));
+        StringBuilder source = (sourceWriter != null) ? new StringBuilder(OUTPUT_BUFFER_SIZE):null;
+        StringBuilder list = (listWriter != null) ? new StringBuilder(OUTPUT_BUFFER_SIZE):null;
+        char[] chars = new char[OUTPUT_BUFFER_SIZE];
+        
+        if(source != null) {
+            renderer.renderOrigin(source);
+        }   
         
-        try (BufferedWriter writer = Files.newBufferedWriter(outputPath, CREATE, APPEND)) {
+        // Render all instructions from disassembled memory, writing the text when the buffers are full
+        for(int address = decoder.getStartAddress(); address <= decoder.getEndAddress();) {
             
-            BinaryData binaryData = decoder.getBinaryData();
-            List<Instruction> instructionsList = decoder.getInstructionsList();
+            address = renderer.render(address, source, list);
             
-            this.printFileHeader(writer);
-            Optional<String> binaryFileName = binaryData.getBinaryFileName();
-            if(binaryFileName.isPresent()) {
-                writer.write(String.format("; Input file: %s%n", binaryFileName.get()));
+            if(source != null && source.length() >= OUTPUT_BUFFER_SIZE) {
+                chars = OutputProcessor.write(sourceWriter, source, chars);
             }   
-            
-            // Write out the equ mapping keys/values
-            writer.newLine();
-            for(Entry<String, String> equMapEntry:this.equsMap.entrySet()) {
-                writer.write(String.format("%-12s EQU %s%n", equMapEntry.getValue()+":", equMapEntry.getKey()));
+            if(list != null && list.length() >= OUTPUT_BUFFER_SIZE) {
+                chars = OutputProcessor.write(listWriter, list, chars);
             }   
+        }   
             
-            // Write the ORG directive
-            int startAddress = decoder.getStartAddress();
-            int endAddress = decoder.getEndAddress();
-            writer.newLine();
-            writer.write(tab);
-            writer.write(String.format("ORG %s%n", StringUtil.intToHexString(startAddress)));
-            
-            // writes all instructions from disassembled memory
-            for(int address = startAddress; address <= endAddress;) {
+        if(source != null) {
+            chars = OutputProcessor.write(sourceWriter, source, chars);
+        }   
+        if(list != null) {
+            OutputProcessor.write(listWriter, list, chars);
+        }   
+    }   
+    
+    /**
+     * Writes the source code and the list of the decoded binary data rendering the address range in
+     * parallel chunks (see {@link #writeOutput(Writer, Writer, Decoder, CrossReferenceIndex)}).
+     * The chunks are rendered in memory and written in address order.
+     * 
+     * @param sourceWriter the source code writer (null to skip the source code)
+     * @param listWriter the list writer (null to skip the list)
+     * @param decoder the binary data decoder
+     * @param xrefs the cross-reference index of the decoded code (null if the comments are disabled)
+     * @throws IOException if some writing or rendering error occurs
+     */
+    private void writeOutputInParallel(Writer sourceWriter, Writer listWriter, Decoder decoder,
+            CrossReferenceIndex xrefs) throws IOException {
+        
+        int[] boundaries = OutputProcessor.getChunkBoundaries(decoder);
+        CrossReferenceIndex comments = this.getCrossReferences(sourceWriter, xrefs);
+        List<Future<StringBuilder[]>> chunks = new ArrayList<>(boundaries.length);
+        for(int chunk = 0; chunk < boundaries.length - 1; chunk++) {
+            int from = boundaries[chunk];
+            int to = boundaries[chunk + 1];
+            boolean isFirst = (chunk == 0);
+            chunks.add(ForkJoinPool.commonPool().submit(() -> {
                 
-                // get the current instruction
-                Instruction instruction = instructionsList.get(address);
-                String mnemonicMask = instruction.getMnemonicMask();
-                byte[] bytes = binaryData.getBytes(address, instruction.getSize());
+                Renderer renderer = new Renderer(decoder, comments);
+                StringBuilder source = (sourceWriter != null) ? new StringBuilder(OUTPUT_BUFFER_SIZE):null;
+                StringBuilder list = (listWriter != null) ? new StringBuilder(OUTPUT_BUFFER_SIZE):null;
                 
-                // write label, if applicable
-                String label = this.labelsMap.get(address);
-                if(label != null) {
-                    writer.write(String.format("%n%s:%n", label));
+                if(isFirst && source != null) {
+                    renderer.renderOrigin(source);
+                }   
+                for(int address = from; address < to;) {
+                    address = renderer.render(address, source, list);
                 }   
                 
-                if(!instruction.isDbByte()) {
-                    
-                    String mnemonicString = instruction.translate(bytes);
-                    
-                    // Process relative jump instructions
-                    if(mnemonicMask.contains("JR") || mnemonicMask.contains("DJNZ")) {
-                        
-                        // Evaluate the near (relative) jump address 
-                        int nearAddress = address + (bytes[1] + 2);
-                        String nearLabel = this.labelsMap.get(nearAddress);
-                        if(nearLabel == null) {
-                            nearLabel = StringUtil.intToHexString(nearAddress);
-                        }   
-                        
-                        mnemonicString = instruction.translate(bytes, nearLabel);
-                        
-                    } else if(instruction.hasWordParameter()) {
-                        
-                        // Evaluate the two bytes address (for prefixed instructions, the address bytes are
-                        // shifted one byte ahead)
-                        int farAddress = instruction.getPrefixClass().equals(PrefixClass.$$) ?
-                                (bytes[1] & 0xFF) | ((bytes[2] << 8) & 0xFFFF):
-                                (bytes[2] & 0xFF) | ((bytes[3] << 8) & 0xFFFF);
-                        
-                        // First, tries to get the label from mapped labels 
-                        String farLabel = this.labelsMap.get(farAddress);
-                        if(farLabel == null) {
-                            farLabel = StringUtil.intToHexString(farAddress);
-                            // verify if there is a equ definition for the "translated" address
-                            if(this.equsMap.containsKey(farLabel)) {
-                                farLabel = this.equsMap.get(farLabel);
-                            }   
-                        }   
-                        
-                        mnemonicString = instruction.translate(bytes, farLabel);
-                    }   
-                    
-                    writer.write(String.format("%s%s%n", tab, mnemonicString));
-                    
-                    // update the current memory address
-                    address += instruction.getSize();
-                    
-                } else {
-                    
-                    // write the start of data line (db directive plus byte data)
-                    byte byteData = binaryData.get(address++);
-                    writer.write(String.format("%sdb %4s", tab, StringUtil.byteToHexString(byteData)));  
-                    
-                    int byteCounter = 0;
-                    while(decoder.isDbByte(address)) {
-                        
-                        // verify if there is a label at the current byte address
-                        // if so, then go to the next line, set the label e restart the db section
-                        if(this.labelsMap.get(address) != null) {
-                            break;
-                        }   
-                        
-                        // get byte from current memory address
-                        byteData = binaryData.get(address);
-                        writer.write(String.format(", %4s", StringUtil.byteToHexString(byteData)));
-                        
-                        // output max of dbAlign bytes per line
-                        if(++address > endAddress || ++byteCounter > this.dbAlign) {
-                            break;
-                        }   
-                    }   
-                    writer.newLine();
+                return new StringBuilder[] {source, list};
+            }));
+        }   
+        
+        try {
+            
+            char[] chars = new char[OUTPUT_BUFFER_SIZE];
+            for(Future<StringBuilder[]> chunk:chunks) {
+                StringBuilder[] text = chunk.get();
+                if(sourceWriter != null) {
+                    chars = OutputProcessor.write(sourceWriter, text[0], chars);
+                }   
+                if(listWriter != null) {
+                    chars = OutputProcessor.write(listWriter, text[1], chars);
                 }   
             }   
-            
-        } catch (IOException ioException) {
-            System.err.format("Error writing output source file: %s%n", ioException.getMessage());
-            System.exit(-1);
-        }   
         
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Output rendering interrupted!");
+        } catch (ExecutionException exception) {
+            throw new IOException(String.format("Error rendering output: %s", exception.getCause()), exception.getCause());
+        } finally {
+            chunks.forEach(chunk -> chunk.cancel(true));
+        }   
     }   
     
     /**
-     * Writes the list file. The list file contains the processed instructions with addresses and binary data
-     * shown in hexadecimal format (without labels).
-     * This file does not contains compilable code. It is intended for output validation/analysis only.
+     * Return the cross-reference index rendered in the source code comments (if enabled).
      * 
-     * @param listPath
-     * @param decoder
+     * @param sourceWriter the source code writer (null to skip the source code)
+     * @param xrefs the cross-reference index of the decoded code
+     * @return the cross-reference index, or null if the comments are disabled or the source code is skipped
      */
-    public void processOutputListFile(Path listPath, Decoder decoder) {
+    private CrossReferenceIndex getCrossReferences(Writer sourceWriter, CrossReferenceIndex xrefs) {
+        return (this.crossReferenceComments && sourceWriter != null) ? xrefs:null;
+    }   
+    
+    /**
+     * Splits the address range of the decoder in chunks to be rendered in parallel.
+     * Each chunk boundary is the first byte of an instruction, so the rendering of a chunk ends exactly
+     * at the start of the next chunk (instructions and data regions never cross the boundaries).
+     * 
+     * @param decoder the binary data decoder
+     * @return the chunk boundaries (the first is the start address and the last is the end address plus one)
+     */
+    static int[] getChunkBoundaries(Decoder decoder) {
+        
+        CoverageMap coverageMap = decoder.getCoverageMap();
+        int endAddress = decoder.getEndAddress();
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(decoder.getStartAddress());
+        
+        int candidate = decoder.getStartAddress() + RENDER_CHUNK_SIZE;
+        while(candidate <= endAddress) {
+            int boundary = coverageMap.nextCodeStart(candidate);
+            if(boundary < 0 || boundary > endAddress) {
+                break;
+            }   
+            boundaries.add(boundary);
+            candidate = boundary + RENDER_CHUNK_SIZE;
+        }   
+        
+        boundaries.add(endAddress + 1);
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }   
+                
+    /**
+     * Writes the text builder contents to the writer (through a reusable char array) and clears the builder.
+     * 
+     * @param writer the output writer
+     * @param text the text builder
+     * @param chars the char array (replaced by a larger one if the text does not fit)
+     * @return the char array to be used for the next writes
+     * @throws IOException if some writing error occurs
+     */
+    private static char[] write(Writer writer, StringBuilder text, char[] chars) throws IOException {
+        char[] buffer = (text.length() > chars.length) ? new char[text.length() << 1]:chars;
+        text.getChars(0, text.length(), buffer, 0);
+        writer.write(buffer, 0, text.length());
+        text.setLength(0);
+        return buffer;
+    }   
+    
+    /**
+     * Renderer of the source and list lines of a decoded binary data.
+     * The renderer keeps the formatting state of one output pass (the text is appended to the given builders,
+     * and the operand builder is reused for all instructions).
+     */
+    private final class Renderer {
+        
+        /** The binary data decoder */
+        private final Decoder decoder;
+        
+        /** The binary data view */
+        private final BinaryView view;
+        
+        /** The tabulation inserted before the source instructions */
+        private final String tab = StringUtil.spaces(OutputProcessor.this.tabSize);
+        
+        /** The line separator */
+        private final String newLine = System.lineSeparator();
+        
+        /** The bank prefix of list addresses (empty for not banked binary data) */
+        private final String bankPrefix;
+        
+        /** The operand builder (label or address of the source instructions) */
+        private final StringBuilder operand = new StringBuilder(LINE_BUFFER_SIZE);
+        
+        /** The cross-reference index of the label comments (null to skip the comments) */
+        private final CrossReferenceIndex xrefs;
         
-        try (BufferedWriter writer = Files.newBufferedWriter(listPath, CREATE, APPEND)) {
+        /** The hexadecimal table of the output format */
+        private final HexTable hexTable = OutputProcessor.this.hexTable;
+        
+        /**
+         * Creates a renderer for the given decoder.
+         * @param decoder the binary data decoder
+         * @param xrefs the cross-reference index of the label comments (null to skip the comments)
+         */
+        private Renderer(Decoder decoder, CrossReferenceIndex xrefs) {
+            this.decoder = decoder;
+            this.xrefs = xrefs;
+            this.view = decoder.getBinaryData().getView();
+            this.bankPrefix = decoder.isBanked() ? String.format("%02X:", decoder.getBank()):"";
+        }   
+        
+        /**
+         * Renders the bank comment (banked binary data only) and the ORG directive of the source code.
+         * @param source the source text builder
+         */
+        private void renderOrigin(StringBuilder source) {
+            if(this.decoder.isBanked()) {
+                source.append(this.newLine).append("; Bank ").append(this.decoder.getBank()).append(this.newLine);
+            }   
+            source.append(this.newLine).append(this.tab).append("ORG ");
+            source.append(this.hexTable.format(this.decoder.getStartAddress())).append(this.newLine);
+        }   
+        
+        /**
+         * Renders the instruction or the data region (consecutive db bytes) at the given address.
+         * 
+         * @param address the address of the instruction or the first byte of the data region
+         * @param source the source text builder (null to skip the source code)
+         * @param list the list text builder (null to skip the list)
+         * @return the address after the rendered instruction or data region
+         */
+        private int render(int address, StringBuilder source, StringBuilder list) {
             
-            BinaryData binaryData = decoder.getBinaryData();
-            List<Instruction> instructionsList = decoder.getInstructionsList();
+            Instruction instruction = this.decoder.getInstruction(address);
+            if(instruction.isDbByte()) {
+                int sourceEnd = (source != null) ? this.renderSourceData(address, source):address;
+                int listEnd = (list != null) ? this.renderListData(address, list):address;
+                return Math.max(sourceEnd, listEnd);
+            }   
             
-            this.printFileHeader(writer);
-            Optional<String> binaryFileName = binaryData.getBinaryFileName();
-            if(binaryFileName.isPresent()) {
-                writer.write(String.format("; Input file: %s%n", binaryFileName.get()));
+            if(source != null) {
+                this.renderSourceInstruction(address, instruction, source);
+            }   
+            if(list != null) {
+                this.renderListInstruction(address, instruction, list);
             }   
             
-            // Writes all instructions from disassembled memory
-            for(int address = decoder.getStartAddress(); address <= decoder.getEndAddress();) {
+            return address + instruction.getSize();
+        }   
+        
+        /**
+         * Renders the source line of an instruction (preceded by its label, if applicable).
+         * 
+         * @param address the instruction address
+         * @param instruction the instruction
+         * @param source the source text builder
+         */
+        private void renderSourceInstruction(int address, Instruction instruction, StringBuilder source) {
+            
+            OutputProcessor processor = OutputProcessor.this;
+            this.renderLabel(address, source);
+            this.operand.setLength(0);
+            
+            // Process relative jump instructions
+            if(instruction.hasRelativeTarget()) {
                 
-                writer.newLine();
-                writer.write(String.format("%s: ", StringUtil.intToHexString(address)));
+                // Evaluate the near (relative) jump address
+                int nearAddress = instruction.getTargetAddress(this.view, address);
+                if(processor.hasLabel(nearAddress)) {
+                    processor.appendLabel(this.operand, nearAddress);
+                } else {
+                    this.operand.append(this.hexTable.format(nearAddress));
+                }   
+            
+            } else if(instruction.hasWordParameter()) {
                 
-                Instruction instruction = instructionsList.get(address);
+                // Evaluate the two bytes address (for prefixed instructions, the address bytes are
+                // shifted one byte ahead)
+                int farAddress = instruction.getPrefixClass().equals(PrefixClass.$$) ?
+                        this.view.readU16LE(address+1):this.view.readU16LE(address+2);
                 
-                // If the current instruction is not a byte value, output the opcode mnemonic 
-                if(!instruction.isDbByte()) {
-                    
-                    // Output byte sequence that defines the current instruction
-                    byte[] bytes = binaryData.getBytes(address, instruction.getSize());
-                    writer.write(String.format("%-12s: ", StringUtil.bytesToHex(bytes, " ")));
-                    
-                    // Output the instruction's mnemonic
-                    String mnemonicMask = instruction.getMnemonicMask();
-                    if(mnemonicMask.contains("JR") || mnemonicMask.contains("DJNZ")) {
-                        String label = StringUtil.intToHexString(address + (bytes[1] + 2));
-                        writer.write(instruction.translate(bytes, label));
-                    } else {
-                        writer.write(String.format("%s", instruction.translate(bytes)));
-                    }   
-                    
-                    address += instruction.getSize();
-                    
+                // First, tries to get the label from mapped labels, then the equ definition for the address
+                String equLabel;
+                if(processor.hasLabel(farAddress)) {
+                    processor.appendLabel(this.operand, farAddress);
+                } else if((equLabel = processor.equLabels.get(farAddress)) != null) {
+                    this.operand.append(equLabel);
                 } else {
+                    this.operand.append(this.hexTable.format(farAddress));
+                }   
+            }   
+                
+            source.append(this.tab);
+            instruction.appendTo(source, this.view, address, this.operand, this.hexTable).append(this.newLine);
+        }   
+        
+        /**
+         * Renders the source lines of a data region (db directives). A new db line is started at each
+         * labeled address and after the maximum number of bytes per line.
+         * 
+         * @param address the first address of the data region
+         * @param source the source text builder
+         * @return the address after the data region
+         */
+        private int renderSourceData(int address, StringBuilder source) {
+            
+            int endAddress = this.decoder.getEndAddress();
+            do {
+                
+                // write the start of data line (db directive plus byte data)
+                this.renderLabel(address, source);
+                source.append(this.tab).append("db ");
+                OutputProcessor.appendDbValue(source, this.hexTable.formatByte(this.view.readU8(address++)));
+                
+                int byteCounter = 0;
+                while(this.decoder.isDbByte(address)) {
                     
-                    writer.write(StringUtil.spaces(12)+": ");
+                    // verify if there is a label at the current byte address
+                    // if so, then go to the next line, set the label e restart the db section
+                    if(OutputProcessor.this.hasLabel(address)) {
+                        break;
+                    }   
                     
-                    int byteCounter = 0;
-                    do {
-                        
-                        byte data = binaryData.get(address);
-                        writer.write(String.format("%02X ", data));
-                        
-                        // Output max of db align bytes per line
-                        if(++address > decoder.getEndAddress() || ++byteCounter > this.dbAlign) {
-                            break;
-                        }   
-                        
-                    } while(decoder.isDbByte(address));
+                    // get byte from current memory address
+                    source.append(", ");
+                    OutputProcessor.appendDbValue(source, this.hexTable.formatByte(this.view.readU8(address)));
                     
+                    // output max of dbAlign bytes per line
+                    if(++address > endAddress || ++byteCounter > OutputProcessor.this.dbAlign) {
+                        break;
+                    }   
+                }   
+                source.append(this.newLine);
+                
+            } while(address <= endAddress && this.decoder.isDbByte(address));
+            
+            return address;
+        }   
+                
+        /**
+         * Renders the label line of the source code at the given address (if applicable).
+         * @param address the address
+         * @param source the source text builder
+         */
+        private void renderLabel(int address, StringBuilder source) {
+            if(OutputProcessor.this.hasLabel(address)) {
+                source.append(this.newLine);
+                if(this.xrefs != null) {
+                    this.renderCrossReferences(address, source);
                 }   
+                OutputProcessor.this.appendLabel(source, address).append(':').append(this.newLine);
             }   
+        }   
+        
+        /**
+         * Renders the cross-reference comment lines of the given address (referrer address and reference kind).
+         * @param address the referenced address
+         * @param source the source text builder
+         */
+        private void renderCrossReferences(int address, StringBuilder source) {
+            int start = this.xrefs.getReferencesStart(address);
+            int end = this.xrefs.getReferencesEnd(address);
+            for(int index = start; index < end; index++) {
+                source.append(((index - start) % XREFS_PER_LINE == 0) ? "; XREF: ":", ");
+                source.append(this.hexTable.format(this.xrefs.getReferrer(index)));
+                source.append(' ').append(this.xrefs.getKind(index));
+                if((index - start) % XREFS_PER_LINE == XREFS_PER_LINE - 1 || index == end - 1) {
+                    source.append(this.newLine);
+                }   
+            }   
+        }   
+        
+        /**
+         * Renders the start of a list line (bank and address).
+         * @param address the address
+         * @param list the list text builder
+         */
+        private void renderListAddress(int address, StringBuilder list) {
+            list.append(this.newLine).append(this.bankPrefix);
+            list.append(this.hexTable.format(address)).append(": ");
+        }   
+        
+        /**
+         * Renders the list line of an instruction (address, bytes and mnemonic without labels).
+         * 
+         * @param address the instruction address
+         * @param instruction the instruction
+         * @param list the list text builder
+         */
+        private void renderListInstruction(int address, Instruction instruction, StringBuilder list) {
             
-        } catch (IOException ioException) {
-            System.err.format("Error writing output list file: %s%n", ioException.getMessage());
-            System.exit(-1);
+            this.renderListAddress(address, list);
+            
+            // Output byte sequence that defines the current instruction (left-aligned in 12 chars)
+            int bytesStart = list.length();
+            for(int index = 0; index < instruction.getSize(); index++) {
+                StringUtil.appendHexByte(list, this.view.readU8(address+index)).append(' ');
+            }   
+            for(int padding = list.length() - bytesStart; padding < 12; padding++) {
+                list.append(' ');
+            }   
+            list.append(": ");
+            
+            // Output the instruction's mnemonic (relative jumps show the absolute address)
+            this.operand.setLength(0);
+            if(instruction.hasRelativeTarget()) {
+                this.operand.append(this.hexTable.format(instruction.getTargetAddress(this.view, address)));
+            }   
+            instruction.appendTo(list, this.view, address, this.operand, this.hexTable);
+        }   
+        
+        /**
+         * Renders the list lines of a data region (up to db align plus one bytes per line).
+         * 
+         * @param address the first address of the data region
+         * @param list the list text builder
+         * @return the address after the data region
+         */
+        private int renderListData(int address, StringBuilder list) {
+            
+            int endAddress = this.decoder.getEndAddress();
+            do {
+                
+                this.renderListAddress(address, list);
+                list.append(LIST_DB_BYTES_PADDING).append(": ");
+                
+                int byteCounter = 0;
+                do {
+                    
+                    StringUtil.appendHexByte(list, this.view.readU8(address)).append(' ');
+                    
+                    // Output max of db align bytes per line
+                    if(++address > endAddress || ++byteCounter > OutputProcessor.this.dbAlign) {
+                        break;
+                    }   
+                
+                } while(this.decoder.isDbByte(address));
+            
+            } while(address <= endAddress && this.decoder.isDbByte(address));
+            
+            return address;
+        }   
+    }   
+    
+    /**
+     * Appends a db byte value to the line, right-aligned in a 4 characters field.
+     * 
+     * @param line the line builder
+     * @param hexValue the formatted byte value
+     */
+    private static void appendDbValue(StringBuilder line, String hexValue) {
+        for(int padding = hexValue.length(); padding < 4; padding++) {
+            line.append(' ');
         }   
+        line.append(hexValue);
     }   
     
     /**
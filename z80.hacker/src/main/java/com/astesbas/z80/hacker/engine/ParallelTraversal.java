@@ -0,0 +1,282 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.BinaryView;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.Instruction;
+import com.astesbas.z80.hacker.domain.InstructionTable;
+
+/**
+ * Parallel (fork/join) traversal of the disassembling paths.
+ * Every start-off address is followed by its own task, and every call/jump target found in a path
+ * is forked as a new task. The visited addresses (instructions and bytes that do not define a valid
+ * instruction) are claimed with lock-free compare-and-set operations, so each address is decoded by a
+ * single task and a path ends when it reaches an address already claimed by other task. The decoded
+ * instructions, their control flows and branch targets are kept indexed by address.
+ * 
+ * The traversal is conflict free if no visited address is a parameter byte of a decoded instruction
+ * (there are no overlapping instructions). In this case the decoded instructions are the same of the
+ * sequential traversal for any exploration order, since the instruction at a given address depends only
+ * on the binary data: the instructions are committed to the decoder and the disassembler only replays the
+ * start-off worklist (labels, warnings and log messages) over the decoded paths. A conflicting traversal
+ * depends on the exploration order, so the decoder is not changed and the paths are decoded sequentially.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class ParallelTraversal {
+    
+    /** The claim value of the addresses not visited */
+    private static final int FREE = 0;
+    
+    /** The claim value of the visited addresses */
+    private static final int VISITED = 1;
+    
+    /** The binary data decoder (used only for the address limits until the commit) */
+    private final Decoder decoder;
+    
+    /** The binary data */
+    private final BinaryData binaryData;
+    
+    /** The binary data view (branch targets) */
+    private final BinaryView view;
+    
+    /** The dispatch table of Z80 instructions */
+    private final InstructionTable instructionTable;
+    
+    /** The address claims (FREE or VISITED) */
+    private final AtomicIntegerArray claims = new AtomicIntegerArray(BinaryData.MAX_SIZE);
+    
+    /** The decoded instructions indexed by address (each slot written only by the claiming task) */
+    private final Instruction[] instructions = new Instruction[BinaryData.MAX_SIZE];
+    
+    /** The control flows of the decoded instructions indexed by address */
+    private final Z80Disassembler.Flow[] flows = new Z80Disassembler.Flow[BinaryData.MAX_SIZE];
+    
+    /** The branch target addresses of the decoded instructions indexed by address */
+    private final int[] targets = new int[BinaryData.MAX_SIZE];
+    
+    /** The number of decoded instructions */
+    private final AtomicInteger decodedCount = new AtomicInteger();
+    
+    /** The number of conflicts (visited addresses inside decoded instructions) */
+    private int conflictsCount = 0;
+    
+    /** The fork/join pool */
+    private final ForkJoinPool pool;
+    
+    /**
+     * Creates a parallel traversal using the common fork/join pool.
+     * @param decoder the binary data decoder (without decoded instructions)
+     * @param instructionTable the dispatch table of Z80 instructions
+     */
+    public ParallelTraversal(Decoder decoder, InstructionTable instructionTable) {
+        this(decoder, instructionTable, ForkJoinPool.commonPool());
+    }   
+    
+    /**
+     * Creates a parallel traversal using the given fork/join pool.
+     * @param decoder the binary data decoder (without decoded instructions)
+     * @param instructionTable the dispatch table of Z80 instructions
+     * @param pool the fork/join pool
+     */
+    public ParallelTraversal(Decoder decoder, InstructionTable instructionTable, ForkJoinPool pool) {
+        this.decoder = decoder;
+        this.binaryData = decoder.getBinaryData();
+        this.view = this.binaryData.getView();
+        this.instructionTable = instructionTable;
+        this.pool = pool;
+    }   
+    
+    /**
+     * Follows the disassembling paths from the given start-off addresses.
+     * This method returns when all paths (and the paths of the call/jump targets) are finished.
+     * 
+     * @param startAddresses the start-off addresses
+     * @return true if the traversal is conflict free (see {@link #commit()})
+     */
+    public boolean traverse(int... startAddresses) {
+        
+        this.pool.invoke(new StartOffTask(startAddresses));
+        
+        // The conflicts are counted after the traversal, so the number does not depend on the tasks order
+        for(int address = 0; address < BinaryData.MAX_SIZE; address++) {
+            Instruction instruction = this.instructions[address];
+            if(instruction != null) {
+                int end = address + instruction.getSize();
+                if(end > BinaryData.MAX_SIZE) {
+                    this.conflictsCount++;
+                    continue;
+                }   
+                for(int index = address + 1; index < end; index++) {
+                    if(this.claims.get(index) != FREE) {
+                        this.conflictsCount++;
+                    }   
+                }   
+            }   
+        }   
+        
+        return this.conflictsCount == 0;
+    }   
+    
+    /**
+     * Sets the decoded instructions in the decoder.
+     * @throws IllegalStateException if the traversal is not conflict free
+     */
+    public void commit() throws IllegalStateException {
+        
+        if(this.conflictsCount > 0) {
+            throw new IllegalStateException("Conflicting traversal cannot be committed!");
+        }   
+        
+        for(int address = 0; address < BinaryData.MAX_SIZE; address++) {
+            if(this.instructions[address] != null) {
+                this.decoder.setInstruction(address, this.instructions[address]);
+            }   
+        }   
+    }   
+    
+    /**
+     * Return the instruction decoded at the given address.
+     * @param address the address
+     * @return the instruction or null if the address was not visited or does not define a valid instruction
+     */
+    public Instruction getInstruction(int address) {
+        return this.instructions[address];
+    }   
+    
+    /**
+     * Return the control flow of the instruction decoded at the given address.
+     * @param address the address of a decoded instruction
+     * @return the control flow
+     */
+    Z80Disassembler.Flow getFlow(int address) {
+        return this.flows[address];
+    }   
+    
+    /**
+     * Return the branch target address of the instruction decoded at the given address.
+     * @param address the address of a decoded instruction with branch target
+     * @return the target address
+     */
+    int getTargetAddress(int address) {
+        return this.targets[address];
+    }   
+    
+    /**
+     * Return the number of instructions decoded by the traversal.
+     * @return the number of decoded instructions
+     */
+    public int getDecodedCount() {
+        return this.decodedCount.get();
+    }   
+    
+    /**
+     * Return the number of conflicts: visited addresses that are parameter bytes of decoded instructions
+     * (overlapping instructions) and instructions beyond the end of the binary data.
+     * 
+     * @return the number of conflicts
+     */
+    public int getConflictsCount() {
+        return this.conflictsCount;
+    }   
+    
+    /**
+     * Root task: forks a path task for each start-off address.
+     */
+    private class StartOffTask extends CountedCompleter<Void> {
+        
+        /** Serial UID version */
+        private static final long serialVersionUID = 4163720381845061930L;
+        
+        /** The start-off addresses */
+        private final int[] startAddresses;
+        
+        private StartOffTask(int[] startAddresses) {
+            this.startAddresses = startAddresses;
+        }   
+        
+        @Override
+        public void compute() {
+            for(int address:this.startAddresses) {
+                if(ParallelTraversal.this.decoder.isValidAddress(address)) {
+                    this.addToPendingCount(1);
+                    new PathTask(this, address).fork();
+                }   
+            }   
+            this.tryComplete();
+        }   
+    }   
+    
+    /**
+     * Path task: follows a disassembling path until a stop condition is satisfied (the same conditions
+     * of the sequential traversal). The call/jump targets are forked as new path tasks (no task waits for
+     * other one).
+     */
+    private class PathTask extends CountedCompleter<Void> {
+        
+        /** Serial UID version */
+        private static final long serialVersionUID = -2903472316520143371L;
+        
+        /** The start address of the path */
+        private final int startAddress;
+        
+        private PathTask(CountedCompleter<?> parent, int startAddress) {
+            super(parent);
+            this.startAddress = startAddress;
+        }   
+        
+        @Override
+        public void compute() {
+            
+            ParallelTraversal traversal = ParallelTraversal.this;
+            int address = this.startAddress;
+            
+            // Stop at the addresses claimed by other task (the rest of the path is followed by that task)
+            while(traversal.claims.compareAndSet(address, FREE, VISITED)) {
+                
+                // Keep the bytes that does not define a valid instruction as "db ##"
+                Instruction instruction = traversal.instructionTable.find(traversal.binaryData, address);
+                if(instruction == null) {
+                    address = (address + 1) & BinaryData.ADDRESS_MASK;
+                    continue;
+                }   
+                
+                traversal.instructions[address] = instruction;
+                traversal.decodedCount.incrementAndGet();
+                
+                // Stop at the end of binary data (a conflict, see the traverse method)
+                int size = instruction.getSize();
+                if(address + size > BinaryData.MAX_SIZE) {
+                    break;
+                }   
+                
+                Z80Disassembler.Flow flow = Z80Disassembler.getFlow(traversal.decoder, address, instruction);
+                traversal.flows[address] = flow;
+                if(flow.hasTarget()) {
+                    int target = instruction.getTargetAddress(traversal.view, address);
+                    traversal.targets[address] = target;
+                    if(traversal.decoder.isValidAddress(target) && traversal.claims.get(target) == FREE) {
+                        this.addToPendingCount(1);
+                        new PathTask(this, target).fork();
+                    }   
+                }   
+                
+                if(flow.endsPath()) {
+                    break;
+                }   
+                
+                address = (address + size) & BinaryData.ADDRESS_MASK;
+            }   
+            
+            this.tryComplete();
+        }   
+    }   
+}
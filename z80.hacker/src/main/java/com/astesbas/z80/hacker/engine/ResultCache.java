@@ -0,0 +1,432 @@
+package com.astesbas.z80.hacker.engine;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.CoverageMap;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.Instruction;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+import com.astesbas.z80.hacker.util.SystemOut;
+
+/**
+ * Persistent cache of disassembler results.
+ * The cache entries are files named by a SHA-256 key of the binary data bytes, the project properties and the
+ * instruction set checksum, so a project whose binary, configuration and instructions did not change reuses the
+ * result of the previous run: the traversal is skipped and the decode state is restored from the entry.
+ * The entry also keeps the digests of the written output files, so the output is skipped too when the files
+ * were not changed since the cached run.
+ * 
+ * The entry is a deflated binary file with the definitions of the decoded instructions (see
+ * {@link Instruction#getDefinition()}), the address and definition index of each decoded instruction,
+ * the data addresses found by the post processing and the generated labels (address and type).
+ * A corrupted or incompatible entry is handled as a cache miss.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+class ResultCache {
+    
+    /** The cache entry magic number ("Z80C") */
+    private static final int MAGIC = 0x5A383043;
+    
+    /** The cache entry format version (part of the key, so a new format never reads old entries) */
+    private static final int FORMAT_VERSION = 2;
+    
+    /** The cache entry file extension */
+    private static final String ENTRY_EXTENSION = ".z80c";
+    
+    /** The digest algorithm of the keys and output files */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    
+    /** The cache directory */
+    private final Path directory;
+    
+    /** The cache key (hexadecimal SHA-256 digest) */
+    private final String key;
+    
+    /** The number of warnings of the restored result */
+    private int warningsCount = 0;
+    
+    /** The digests of the output files of the restored result (empty if unknown) */
+    private byte[][] outputDigests = new byte[0][];
+    
+    /**
+     * Creates the cache of a project.
+     * @param directory the cache directory (created when the first entry is stored)
+     * @param key the cache key (see {@link #computeKey(BinaryData, ConfigFileProperties, InstructionSet)})
+     */
+    ResultCache(Path directory, String key) {
+        this.directory = directory;
+        this.key = key;
+    }   
+    
+    /**
+     * Computes the cache key of a project: the SHA-256 digest of the entry format version, the binary data
+     * bytes (whole address space), the properties (sorted by key) and the instruction set checksum (computed
+     * once, when the instruction set is loaded, so the instructions file is not read again).
+     * 
+     * @param binaryData the binary data
+     * @param properties the project properties
+     * @param instructionSet the instruction set
+     * @return the cache key (hexadecimal)
+     */
+    static String computeKey(BinaryData binaryData, ConfigFileProperties properties, InstructionSet instructionSet) {
+        
+        MessageDigest digest = ResultCache.newDigest();
+        digest.update(Integer.toString(FORMAT_VERSION).getBytes(StandardCharsets.US_ASCII));
+        digest.update(binaryData.getBytes(BinaryData.START_ADDRESS, BinaryData.MAX_SIZE));
+        
+        for(Map.Entry<String, List<String>> entry:new TreeMap<>(properties).entrySet()) {
+            for(String value:entry.getValue()) {
+                digest.update((entry.getKey() + '\0' + value + '\n').getBytes(StandardCharsets.UTF_8));
+            }   
+        }   
+        
+        digest.update(String.format("%016x|%b|%d", instructionSet.getChecksum(), instructionSet.isUndocumented(),
+            instructionSet.size()).getBytes(StandardCharsets.US_ASCII));
+        
+        return ResultCache.toHex(digest.digest());
+    }   
+    
+    /**
+     * Return the cache key.
+     * @return the cache key (hexadecimal)
+     */
+    String getKey() {
+        return this.key;
+    }   
+    
+    /**
+     * Return the cache entry file path.
+     * @return the entry file path
+     */
+    Path getEntryPath() {
+        return this.directory.resolve(this.key + ENTRY_EXTENSION);
+    }   
+    
+    /**
+     * Return the number of warnings of the restored result.
+     * @return the number of warnings of the cached run
+     */
+    int getWarningsCount() {
+        return this.warningsCount;
+    }   
+    
+    /**
+     * Restores the decode state and the generated labels of the cached result (if any).
+     * The decoder and the output processor are changed only if the whole entry is valid.
+     * 
+     * @param decoder the binary data decoder (with the instruction set and without decoded instructions)
+     * @param outputProcessor the output processor (with the labels and EQUs of the properties)
+     * @return true if the result was restored, false for a cache miss or an invalid entry
+     */
+    boolean restore(Decoder decoder, OutputProcessor outputProcessor) {
+        
+        Instruction[] definitions;
+        char[] instructionAddresses, instructionIndexes, dataAddresses, labelAddresses;
+        byte[] labelTypes;
+        byte[][] digests;
+        int warnings;
+        
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(
+                new BufferedInputStream(Files.newInputStream(this.getEntryPath()))))) {
+            
+            if(input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                return false;
+            }   
+            warnings = input.readInt();
+            
+            // The definitions are resolved to the instructions of the decoder instruction set
+            Map<String, Instruction> instructions = new HashMap<>();
+            for(Instruction instruction:decoder.getInstructionSet().getInstructions()) {
+                instructions.putIfAbsent(instruction.getDefinition(), instruction);
+            }   
+            definitions = new Instruction[ResultCache.readCount(input)];
+            for(int index = 0; index < definitions.length; index++) {
+                String definition = input.readUTF();
+                definitions[index] = instructions.get(definition);
+                if(definitions[index] == null) {
+                    throw new IOException(String.format("Unknown instruction: %s", definition));
+                }   
+            }   
+            
+            instructionAddresses = ResultCache.readChars(input);
+            instructionIndexes = ResultCache.readChars(input);
+            dataAddresses = ResultCache.readChars(input);
+            labelAddresses = ResultCache.readChars(input);
+            labelTypes = new byte[labelAddresses.length];
+            input.readFully(labelTypes);
+            
+            digests = new byte[ResultCache.readCount(input)][];
+            for(int index = 0; index < digests.length; index++) {
+                digests[index] = new byte[input.readUnsignedByte()];
+                input.readFully(digests[index]);
+            }   
+        
+        } catch (NoSuchFileException exception) {
+            return false;
+        } catch (IOException | IllegalArgumentException exception) {
+            SystemOut.vprintf("Invalid cache entry %s: %s%n", this.getEntryPath(), exception.getMessage());
+            return false;
+        }   
+        
+        // Verify the entry against the binary data before changing the decoder (the instructions must
+        // not overlap and the data bytes must not be part of the instructions)
+        if(instructionAddresses.length != instructionIndexes.length) {
+            return false;
+        }   
+        BitSet decoded = new BitSet(BinaryData.MAX_SIZE);
+        for(int index = 0; index < instructionAddresses.length; index++) {
+            int address = instructionAddresses[index];
+            int definition = instructionIndexes[index];
+            if(definition >= definitions.length || !decoder.isValidAddress(address)
+                    || !definitions[definition].matches(decoder.getBinaryData(), address)
+                    || !decoder.isAvailable(address, definitions[definition].getSize())) {
+                return false;
+            }   
+            int nextAddress = address + definitions[definition].getSize();
+            if(decoded.nextSetBit(address) >= 0 && decoded.nextSetBit(address) < nextAddress) {
+                return false;
+            }   
+            decoded.set(address, nextAddress);
+        }   
+        for(char address:dataAddresses) {
+            if(decoded.get(address) || !decoder.isDbByte(address)) {
+                return false;
+            }   
+        }   
+        
+        for(int index = 0; index < instructionAddresses.length; index++) {
+            decoder.setInstruction(instructionAddresses[index], definitions[instructionIndexes[index]]);
+        }   
+        for(char address:dataAddresses) {
+            decoder.markData(address);
+        }   
+        for(int index = 0; index < labelAddresses.length; index++) {
+            outputProcessor.mapGeneratedLabel(labelAddresses[index], labelTypes[index]);
+        }   
+        
+        this.warningsCount = warnings;
+        this.outputDigests = digests;
+        return true;
+    }   
+    
+    /**
+     * Verify if the output files are the same of the restored result (the files were not changed or removed).
+     * @param outputPaths the output file paths (in the order given to the store method)
+     * @return true if all output files match the digests of the restored result
+     */
+    boolean isOutputUpToDate(Path... outputPaths) {
+        
+        if(this.outputDigests.length != outputPaths.length) {
+            return false;
+        }   
+        
+        try {
+            for(int index = 0; index < outputPaths.length; index++) {
+                if(!Files.isRegularFile(outputPaths[index])
+                        || !Arrays.equals(this.outputDigests[index], ResultCache.digestFile(outputPaths[index]))) {
+                    return false;
+                }   
+            }   
+        } catch (IOException exception) {
+            return false;
+        }   
+        
+        return true;
+    }   
+    
+    /**
+     * Stores the result of the disassembler (decode state, generated labels and output files digests).
+     * The entry is written to a temporary file and moved to the entry file, so the concurrent runs of the same
+     * project never read a partial entry.
+     * 
+     * @param decoder the binary data decoder
+     * @param outputProcessor the output processor
+     * @param warnings the number of warnings of the disassembler
+     * @param outputPaths the output file paths
+     * @throws IOException if the entry cannot be written
+     */
+    void store(Decoder decoder, OutputProcessor outputProcessor, int warnings, Path... outputPaths)
+            throws IOException {
+        
+        // The decoded instructions are stored by index in the table of distinct definitions
+        Map<String, Integer> definitionIndexes = new HashMap<>();
+        List<String> definitions = new ArrayList<>();
+        CoverageMap coverageMap = decoder.getCoverageMap();
+        char[] instructionAddresses = new char[coverageMap.getInstructionsCount()];
+        char[] instructionIndexes = new char[instructionAddresses.length];
+        int count = 0;
+        for(int address = coverageMap.nextCodeStart(0);
+                address >= 0 && count < instructionAddresses.length; address = coverageMap.nextCodeStart(address + 1)) {
+            String definition = decoder.getInstruction(address).getDefinition();
+            Integer index = definitionIndexes.get(definition);
+            if(index == null) {
+                index = definitions.size();
+                definitionIndexes.put(definition, index);
+                definitions.add(definition);
+            }   
+            instructionAddresses[count] = (char) address;
+            instructionIndexes[count++] = (char) index.intValue();
+        }   
+        
+        char[] dataAddresses = new char[BinaryData.MAX_SIZE];
+        int dataCount = 0;
+        for(int address = coverageMap.nextData(0); address >= 0; address = coverageMap.nextData(address + 1)) {
+            dataAddresses[dataCount++] = (char) address;
+        }   
+        
+        char[] labelAddresses = new char[BinaryData.MAX_SIZE];
+        byte[] labelTypes = new byte[BinaryData.MAX_SIZE];
+        int labelsCount = 0;
+        for(int address = 0; address < BinaryData.MAX_SIZE; address++) {
+            byte type = outputProcessor.getGeneratedLabelType(address);
+            if(type != 0) {
+                labelAddresses[labelsCount] = (char) address;
+                labelTypes[labelsCount++] = type;
+            }   
+        }   
+        
+        Files.createDirectories(this.directory);
+        Path temporaryPath = this.directory.resolve(String.format(".%s.%08x.tmp",
+            this.key, ThreadLocalRandom.current().nextInt()));
+        try {
+            
+            try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryPath))))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(warnings);
+                output.writeInt(definitions.size());
+                for(String definition:definitions) {
+                    output.writeUTF(definition);
+                }   
+                ResultCache.writeChars(output, instructionAddresses, count);
+                ResultCache.writeChars(output, instructionIndexes, count);
+                ResultCache.writeChars(output, dataAddresses, dataCount);
+                ResultCache.writeChars(output, labelAddresses, labelsCount);
+                output.write(labelTypes, 0, labelsCount);
+                output.writeInt(outputPaths.length);
+                for(Path outputPath:outputPaths) {
+                    byte[] digest = ResultCache.digestFile(outputPath);
+                    output.writeByte(digest.length);
+                    output.write(digest);
+                }   
+            }   
+            
+            try {
+                Files.move(temporaryPath, this.getEntryPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temporaryPath, this.getEntryPath(), REPLACE_EXISTING);
+            }   
+        
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }   
+    }   
+    
+    /**
+     * Writes the first values of a char array (preceded by the number of values).
+     */
+    private static void writeChars(DataOutputStream output, char[] values, int count) throws IOException {
+        output.writeInt(count);
+        for(int index = 0; index < count; index++) {
+            output.writeChar(values[index]);
+        }   
+    }   
+    
+    /**
+     * Reads a char array written by {@link #writeChars(DataOutputStream, char[], int)}.
+     */
+    private static char[] readChars(DataInputStream input) throws IOException {
+        int count = ResultCache.readCount(input);
+        char[] values = new char[count];
+        for(int index = 0; index < count; index++) {
+            values[index] = input.readChar();
+        }   
+        return values;
+    }   
+    
+    /**
+     * Reads the number of values of an entry section (at most one value per address).
+     * @throws IOException if the number is not valid
+     */
+    private static int readCount(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        if(count < 0 || count > BinaryData.MAX_SIZE) {
+            throw new IOException(String.format("Invalid number of values: %d", count));
+        }   
+        return count;
+    }   
+    
+    /**
+     * Return the SHA-256 digest of a file.
+     * @param path the file path
+     * @return the file digest
+     * @throws IOException if the file cannot be read
+     */
+    private static byte[] digestFile(Path path) throws IOException {
+        MessageDigest digest = ResultCache.newDigest();
+        try (InputStream stream = Files.newInputStream(path)) {
+            byte[] buffer = new byte[64 * 1024];
+            for(int count; (count = stream.read(buffer)) > 0;) {
+                digest.update(buffer, 0, count);
+            }   
+        }   
+        return digest.digest();
+    }   
+    
+    /**
+     * Creates a SHA-256 message digest (the algorithm is available in every Java platform).
+     * @return the message digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }   
+    }   
+    
+    /**
+     * Return the hexadecimal string of a digest.
+     * @param digest the digest bytes
+     * @return the hexadecimal string (lower case)
+     */
+    private static String toHex(byte[] digest) {
+        StringBuilder builder = new StringBuilder(digest.length << 1);
+        for(byte value:digest) {
+            builder.append(String.format("%02x", value & 0xFF));
+        }   
+        return builder.toString();
+    }   
+}
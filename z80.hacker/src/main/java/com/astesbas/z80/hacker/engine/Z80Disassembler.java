@@ -1,29 +1,31 @@
 package com.astesbas.z80.hacker.engine;
 
 import static com.astesbas.z80.hacker.util.ConfigFileProperties.ConfigKey.*;
-import static java.nio.file.StandardOpenOption.APPEND;
-import static java.nio.file.StandardOpenOption.CREATE;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
+import com.astesbas.z80.hacker.domain.BankAddress;
 import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.BinaryView;
+import com.astesbas.z80.hacker.domain.ControlFlowGraph;
+import com.astesbas.z80.hacker.domain.CoverageMap;
+import com.astesbas.z80.hacker.domain.CrossReferenceIndex;
 import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.FlowType;
 import com.astesbas.z80.hacker.domain.Instruction;
-import com.astesbas.z80.hacker.domain.PrefixClass;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.domain.InstructionSetRegistry;
+import com.astesbas.z80.hacker.util.AddressBitSet;
+import com.astesbas.z80.hacker.util.AddressWorklist;
+import com.astesbas.z80.hacker.util.AsyncLogger;
 import com.astesbas.z80.hacker.util.ConfigFileProperties;
 import com.astesbas.z80.hacker.util.FileDateUtil;
-import com.astesbas.z80.hacker.util.MultiMap;
 import com.astesbas.z80.hacker.util.StringUtil;
 import com.astesbas.z80.hacker.util.SystemOut;
 
@@ -38,16 +40,13 @@ import com.astesbas.z80.hacker.util.SystemOut;
 public class Z80Disassembler implements Runnable {
     
     /**
-     * Using a multi-map to group the Z80 instructions into four main groups:
-     *     1) Opcodes starting with "CB" byte (bit and rotation ops)
-     *     2) Opcodes starting with "DD" byte (almost all IX reg related ops)
-     *     3) Opcodes starting with "FD" byte (almost all IY reg related ops)
-     *     4) All other opcodes that does not fall in the groups above
-    */
-    private final MultiMap<PrefixClass, Instruction> instructionsMap = new MultiMap<>();
+     * The Z80 instruction set (the instructions loaded from the instructions file and their dispatch table).
+     * The instruction set is immutable, so it is shared by the bank disassemblers and the batch projects.
+     */
+    private InstructionSet instructionSet = InstructionSet.EMPTY;
     
-    /** List containing the start points (address) in memory to be disassembled */
-    private final List<Integer> startOffList = new  ArrayList<>();
+    /** Worklist containing the start points (address) in memory to be disassembled */
+    private AddressWorklist startOffList = new AddressWorklist(BinaryData.MAX_SIZE, AddressWorklist.Order.FIFO);
     
     /** The log (.log) file path */
     private Path logPath = Paths.get("./output.log");
@@ -64,22 +63,161 @@ public class Z80Disassembler implements Runnable {
     /** The output processor. Generates assembly source code and list files */
     private final OutputProcessor outputProcessor;
     
-    /** List of prefixes of JP instructions that uses pointers to get the address of the jump (e.g. JP (IX)) */
-    private static final List<String> INDEXED_JP_PREFIX = Arrays.asList("DD", "E9", "FD");
+    /**
+     * The control flow of a decoded instruction in the current disassembling path.
+     */
+    static enum Flow {
+        
+        /** Go to the next instruction */
+        NEXT,
+        
+        /** Push the branch target address and go to the next instruction (CALL, RST, conditional JP/JR, DJNZ) */
+        BRANCH,
+        
+        /** Push the branch target address and end the path (unconditional JP/JR) */
+        JUMP,
+        
+        /** Jump using a register as pointer (the target is unknown), end the path */
+        INDEXED_JUMP,
+        
+        /** End the path (RET, RETI, RETN or end of binary data) */
+        END;
+        
+        /**
+         * Verify if the flow has a branch target address.
+         * @return true for branch and jump flows
+         */
+        boolean hasTarget() {
+            return this == BRANCH || this == JUMP;
+        }   
+        
+        /**
+         * Verify if the flow ends the current disassembling path.
+         * @return true for jump, indexed jump and end flows
+         */
+        boolean endsPath() {
+            return this != NEXT && this != BRANCH;
+        }   
+    }   
+    
+    /**
+     * The disassembly mode.
+     */
+    public static enum Mode {
+        
+        /** Recursive traversal of the disassembling paths from the start-off addresses */
+        RECURSIVE,
+        
+        /** Linear sweep of the whole disassembling range (the start-off addresses are mapped as labels) */
+        LINEAR,
+        
+        /** Recursive traversal followed by the linear sweep of the bytes not decoded by the traversal */
+        HYBRID;
+    }   
+    
+    /** The disassembly mode */
+    private Mode mode = Mode.RECURSIVE;
+    
+    /** Flag to decode the disassembling paths in parallel (see {@link ParallelTraversal}) */
+    private boolean parallelTraversal = false;
     
-    /** The warning flag */
-    private boolean hasWarnings = false;
+    /** The control flow graph of the decoded code (built on demand, after the disassembling) */
+    private ControlFlowGraph controlFlowGraph = null;
     
-    /** The Z80 instructions file */
-    private static final String Z80_INSTRUCTIONS_FILE_NAME = "/z80-instructions-extended.dat";
+    /** The cross-reference index of the decoded code (built on demand, after the disassembling) */
+    private CrossReferenceIndex crossReferenceIndex = null;
+    
+    /** The call/jump targets outside the disassembling range (e.g. the targets in other banks) */
+    private final AddressBitSet outOfRangeTargets = new AddressBitSet(BinaryData.MAX_SIZE);
+    
+    /** The number of warnings */
+    private int warningsCount = 0;
+    
+    /** The log messages buffer (used instead of the log file when set) */
+    private StringBuilder logBuffer = null;
+    
+    /** The log file logger (opened at the first message and kept open until the end of the process) */
+    private AsyncLogger logger = null;
+    
+    /** The log level (TRACE logs every processed start-off address) */
+    private AsyncLogger.Level logLevel = AsyncLogger.Level.TRACE;
+    
+    /** The log file started flag (the log file of the previous run is replaced at the first message) */
+    private boolean isLogStarted = false;
+    
+    /** The result cache (null if the cache is disabled) */
+    private ResultCache resultCache = null;
+    
+    /** Flag that indicates that the disassembler result was restored from the result cache */
+    private boolean isRestored = false;
+    
+    /** The default hexadecimal format of the output files */
+    static final String DEFAULT_HEX_FORMAT = "0%sH";
     
     /**
      * Z80 decoder constructor.
      * The binary data to be disassembled must be provided and cannot be changed.
      */
     public Z80Disassembler(BinaryData binaryData) {
-        this.decoder = new Decoder(binaryData);
-        this.outputProcessor = new OutputProcessor();
+        this(new Decoder(binaryData), new OutputProcessor());
+    }   
+    
+    /**
+     * Z80 decoder constructor with the given decoder and output processor.
+     */
+    private Z80Disassembler(Decoder decoder, OutputProcessor outputProcessor) {
+        this.decoder = decoder;
+        this.outputProcessor = outputProcessor;
+    }   
+    
+    /**
+     * Creates a disassembler for a bank of a banked ROM.
+     * The bank disassembler shares the Z80 instructions of this disassembler and copies its properties
+     * (formatting, global labels and EQUs, exploration order, disassembly mode and parallel traversal flag).
+     * The log messages of the bank disassembler are kept in memory (see {@link #getLogBuffer()}).
+     * 
+     * @param bankData the binary data of the bank
+     * @param bank the bank number
+     * @param startAddress the first address of the bank page
+     * @param endAddress the last address of the bank page
+     * @return the bank disassembler
+     */
+    Z80Disassembler newBankDisassembler(BinaryData bankData, int bank, int startAddress, int endAddress) {
+        
+        Z80Disassembler disassembler = new Z80Disassembler(
+            new Decoder(bankData, bank), this.outputProcessor.copyForBank(bank)
+        );  
+        
+        disassembler.setInstructionSet(this.instructionSet);
+        disassembler.startOffList = new AddressWorklist(BinaryData.MAX_SIZE, this.startOffList.getOrder());
+        disassembler.parallelTraversal = this.parallelTraversal;
+        disassembler.mode = this.mode;
+        disassembler.logLevel = this.logLevel;
+        disassembler.logBuffer = new StringBuilder();
+        disassembler.decoder.setStartAddress(startAddress);
+        disassembler.decoder.setEndAddress(endAddress);
+        
+        return disassembler;
+    }   
+    
+    /**
+     * Sets the Z80 instruction set (shared instruction set loaded once for many disassemblers).
+     * The instruction set is not read from the registry by {@link #setProperties(ConfigFileProperties)} once
+     * an instruction set was given (the INSTRUCTIONS_FILE and UNDOCUMENTED_INSTRUCTIONS options are not used).
+     * 
+     * @param instructionSet the instruction set
+     */
+    public void setInstructionSet(InstructionSet instructionSet) {
+        this.decoder.setInstructionSet(instructionSet);
+        this.instructionSet = instructionSet;
+    }   
+    
+    /**
+     * Return the Z80 instruction set.
+     * @return the instruction set (empty if not loaded)
+     */
+    public InstructionSet getInstructionSet() {
+        return this.instructionSet;
     }   
     
     /**
@@ -87,7 +225,15 @@ public class Z80Disassembler implements Runnable {
      * @param logFileName the logFile name to set
      */
     public void setLogFile(String logFileName) {
-        this.logPath = FileDateUtil.getFilePath(logFileName);
+        this.logPath = FileDateUtil.getPath(logFileName);
+    }   
+    
+    /**
+     * Sets the log level.
+     * @param logLevel the log level (WARNING, INFO or TRACE)
+     */
+    public void setLogLevel(AsyncLogger.Level logLevel) {
+        this.logLevel = logLevel;
     }   
     
     /**
@@ -96,7 +242,7 @@ public class Z80Disassembler implements Runnable {
      *            the output file name
      */
     public void setOutputFile(String outputFileName) {
-        this.outputPath = FileDateUtil.getFilePath(outputFileName);
+        this.outputPath = FileDateUtil.getPath(outputFileName);
     }   
     
     /**
@@ -105,26 +251,87 @@ public class Z80Disassembler implements Runnable {
      *            the listFile name
      */
     public void setListFile(String listFileName) {
-        this.listPath = FileDateUtil.getFilePath(listFileName);
+        this.listPath = FileDateUtil.getPath(listFileName);
+    }   
+    
+    /**
+     * Sets the parallel traversal flag.
+     * When set, the disassembling paths are decoded in parallel (fork/join) and the traversal only replays
+     * the start-off addresses over the decoded paths, unless the parallel traversal finds overlapping
+     * instructions (see {@link ParallelTraversal}). The output is the same of the sequential traversal.
+     * 
+     * @param parallelTraversal the parallel traversal flag
+     */
+    public void setParallelTraversal(boolean parallelTraversal) {
+        this.parallelTraversal = parallelTraversal;
+    }   
+    
+    /**
+     * Sets the disassembly mode (see {@link Mode}).
+     * The linear sweep is split in parallel chunks if the parallel traversal flag is set.
+     * 
+     * @param mode the disassembly mode (RECURSIVE, LINEAR or HYBRID)
+     */
+    public void setMode(Mode mode) {
+        this.mode = Objects.requireNonNull(mode);
+    }   
+    
+    /**
+     * Sets the exploration order of the start-off addresses.
+     * The start-off addresses already pushed are kept in the worklist.
+     * 
+     * @param order the exploration order (FIFO, LIFO or LOWEST_ADDRESS)
+     */
+    public void setExplorationOrder(AddressWorklist.Order order) {
+        AddressWorklist worklist = new AddressWorklist(BinaryData.MAX_SIZE, order);
+        while(!this.startOffList.isEmpty()) {
+            worklist.push(this.startOffList.pop());
+        }   
+        this.startOffList = worklist;
     }   
     
     /**
      * Pushes a starting address point for disassembler process.
+     * Addresses already pushed are discarded (each start-off address is processed only once).
+     * 
      * @param address the start address for disassembling
+     * @return true if the address was accepted in the start-off list
      */
-    public boolean pushStartAddress(Integer address) {
+    public boolean pushStartAddress(int address) {
         if(this.decoder.isValidAddress(address)) {
-            return this.startOffList.add(address);
+            return this.startOffList.push(address);
         }   
         return false;
     }   
     
+    /**
+     * Pushes the call/jump target of a decoded instruction as a start-off address. The targets outside the
+     * disassembling range are kept (see {@link #getOutOfRangeTargets()}).
+     * 
+     * @param address the target address
+     */
+    private void pushTargetAddress(int address) {
+        if(!this.pushStartAddress(address) && !this.decoder.isValidAddress(address)) {
+            this.outOfRangeTargets.set(address & BinaryData.ADDRESS_MASK);
+        }   
+    }   
+    
+    /**
+     * Return the call/jump targets outside the disassembling range found by the last disassembling process.
+     * The banked disassembler resolves these targets in the fixed banks.
+     * 
+     * @return the out of range targets
+     */
+    AddressBitSet getOutOfRangeTargets() {
+        return this.outOfRangeTargets;
+    }   
+    
     /**
      * Return the next start address point for disassembling.
      * @return the start address for disassembling
      */
-    private Integer popStartAddress() {
-        return this.startOffList.isEmpty() ? null:this.startOffList.remove(0);
+    private int popStartAddress() {
+        return this.startOffList.pop();
     }   
     
     /**
@@ -132,7 +339,23 @@ public class Z80Disassembler implements Runnable {
      * @return true if there are any warnings
      */
     public boolean hasWarnings() {
-        return this.hasWarnings;
+        return this.warningsCount > 0;
+    }   
+    
+    /**
+     * Return the number of warnings of disassembler process.
+     * @return the number of warnings
+     */
+    public int getWarningsCount() {
+        return this.warningsCount;
+    }   
+    
+    /**
+     * Return the log file path.
+     * @return the log file path
+     */
+    public Path getLogPath() {
+        return this.logPath;
     }
     
     /**
@@ -140,12 +363,63 @@ public class Z80Disassembler implements Runnable {
      * @param format the string formatter
      * @param args the parameters for the log formatter
      */
-    private void log(String format, Object... args) {
-        try (BufferedWriter writer = Files.newBufferedWriter(this.logPath, CREATE, APPEND)) {
-            writer.write(String.format(format, args));
+    void log(String format, Object... args) {
+        this.log(AsyncLogger.Level.INFO, format, args);
+    }   
+    
+    /**
+     * Output text to log file if the given level is enabled.
+     * The log file is opened at the first message and the messages are written by a background thread.
+     * 
+     * @param level the message level
+     * @param format the string formatter
+     * @param args the parameters for the log formatter
+     */
+    void log(AsyncLogger.Level level, String format, Object... args) {
+        
+        if(level.compareTo(this.logLevel) > 0) {
+            return;
+        }   
+        
+        if(this.logBuffer != null) {
+            this.logBuffer.append(String.format(format, args));
+            return;
+        }   
+        
+        if(this.logger == null) {
+            try {
+                if(!this.isLogStarted) {
+                    Files.deleteIfExists(this.logPath);
+                    this.isLogStarted = true;
+                }   
+                this.logger = new AsyncLogger(this.logPath, this.logLevel);
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(
+                    String.format("Error opening log file %s: %s", this.logPath, ioException.getMessage()), ioException
+                );  
+            }   
+        }   
+        
+        this.logger.log(level, format, args);
+    }   
+    
+    /**
+     * Writes the pending log messages and closes the log file.
+     */
+    void closeLog() {
+        
+        if(this.logger == null) {
+            return;
+        }   
+        
+        try {
+            this.logger.close();
         } catch (IOException ioException) {
-            System.err.format("IOException: %s%n", ioException);
-            System.exit(-1);
+            throw new UncheckedIOException(
+                String.format("Error writing log file %s: %s", this.logPath, ioException.getMessage()), ioException
+            );  
+        } finally {
+            this.logger = null;
         }   
     }   
     
@@ -155,8 +429,8 @@ public class Z80Disassembler implements Runnable {
      * @param args the parameters for the log formatter
      */
     private void warn(String format, Object... args) {
-        this.hasWarnings = true;
-        this.log(format, args);
+        this.warningsCount++;
+        this.log(AsyncLogger.Level.WARNING, format, args);
     }   
     
     /**
@@ -164,24 +438,94 @@ public class Z80Disassembler implements Runnable {
      * @param format the string formatter
      * @param args the parameters for the log formatter
      */
-    private void systemOutAndLog(String format, Object... args) {
+    void systemOutAndLog(String format, Object... args) {
         this.log(format, args);
-        System.out.printf(format, args);
+        SystemOut.printf(format, args);
     }   
     
     @Override
     public void run() {
         
-        this.systemOutAndLog("Starting disassembler process at %s%n", FileDateUtil.getCurrentTime());
-        this.hasWarnings = false;
+        // The restored results are not logged (the log file of the cached run is kept)
+        if(this.isRestored) {
+        
+            SystemOut.printf("Disassembler result restored from cache at %s%n", FileDateUtil.getCurrentTime());
+            this.warningsCount = this.resultCache.getWarningsCount();
+            if(this.hasWarnings()) {
+                SystemOut.println("There are warnings. See log file for more information!");
+            }   
         
-        /** The list of disassembled instructions (output) */
-        BinaryData binaryData = this.decoder.getBinaryData();
+            if(this.resultCache.isOutputUpToDate(this.outputPath, this.listPath)) {
+                SystemOut.println("The output files are up to date!");
+                return;
+            }   
+        
+        } else {
+            
+            try {
+                
+                this.systemOutAndLog("Starting disassembler process at %s%n", FileDateUtil.getCurrentTime());
+                
+                this.disassemble();
+                
+                this.systemOutAndLog("Disassembler process finished at %s%n", FileDateUtil.getCurrentTime());
+                if(this.hasWarnings()) {
+                    SystemOut.println("There are warnings. See log file for more information!");
+                }   
+            
+            } finally {
+                this.closeLog();
+            }   
+        }   
+        
+        // Process output files
+        this.outputProcessor.processOutputFiles(this.outputPath, this.listPath, this.decoder,
+            this.getOutputCrossReferences());
+        
+        // Store the result (decode state, labels and output files digests) for the next runs
+        if(this.resultCache != null) {
+            try {
+                this.resultCache.store(this.decoder, this.outputProcessor, this.warningsCount, this.outputPath, this.listPath);
+            } catch (IOException exception) {
+                SystemOut.printf("Warning: the result cache entry was not written: %s%n", exception.getMessage());
+            }   
+        }   
+    }   
+    
+    /**
+     * Disassembles the binary data from the start-off addresses and/or by linear sweep, according to
+     * the disassembly mode (the output files are not written). The process may be repeated after pushing
+     * new start-off addresses: the decoded instructions are kept and only the new paths are decoded.
+     */
+    void disassemble() {
+        
+        this.warningsCount = 0;
+        this.controlFlowGraph = null;
+        this.crossReferenceIndex = null;
+        this.outOfRangeTargets.clear(0, BinaryData.MAX_SIZE);
+        
+        // The linear sweep decodes the whole range, so the start-off addresses are only mapped as labels
+        if(this.mode == Mode.LINEAR) {
+            this.sweep();
+        }   
+        
+        // Decode the disassembling paths in parallel. The overlapping instructions depend on the exploration
+        // order, so the paths are decoded again by the sequential traversal if the parallel traversal has conflicts
+        if(this.parallelTraversal && this.mode != Mode.LINEAR
+                && this.decoder.getCoverageMap().getInstructionsCount() == 0) {
+            ParallelTraversal traversal = new ParallelTraversal(this.decoder, this.instructionSet.getTable());
+            boolean isConflictFree = traversal.traverse(this.startOffList.getPendingAddresses());
+            SystemOut.vprintf("Parallel traversal: %d instructions decoded, %d conflicts%n",
+                traversal.getDecodedCount(), traversal.getConflictsCount());
+            if(isConflictFree) {
+                traversal.commit();
+                this.replay(traversal);
+            }   
+        }   
         
         while(!this.startOffList.isEmpty()) {
             
             int startAddress = this.popStartAddress();
-            binaryData.setPointer(startAddress);
             
             // Verify if the current start-off address was already processed
             if(!this.decoder.isDbByte(startAddress)) {
@@ -191,27 +535,20 @@ public class Z80Disassembler implements Runnable {
                 if(this.decoder.isParameterByte(startAddress)) {
                     
                     this.warn("Warning: The start-off address 0x%X conflicts with instruction's data!%n", startAddress);
-                    
-                    int instructionAddress = this.decoder.getStartAddressOfInstructionAt(startAddress);
-                    this.outputProcessor.mapCodeLabel(instructionAddress);
-                    this.outputProcessor.mapOffsetCodeLabel(startAddress, startAddress-instructionAddress);
-                    
-                } else {
-                    this.outputProcessor.mapCodeLabel(startAddress);
                 }   
+                    
+                this.mapDecodedCodeLabel(startAddress);
                 
                 continue;
             }   
             
-            this.log("Processing start-off address: 0x%X%n", startAddress);
+            this.log(AsyncLogger.Level.TRACE, "Processing start-off address: 0x%X%n", startAddress);
             this.outputProcessor.mapCodeLabel(startAddress);
             
             // Keep disassembling the binary data until at least one of the stop conditions is satisfied 
+            int instructionAddress = startAddress;
             do {
                 
-                // Store the current instruction pointer (this pointer is updated for every instruction processed)
-                int instructionAddress = binaryData.getPointer();
-                
                 // If the current instruction is not a db value, then it is a processed instruction.
                 // In this case, process the next start-off address
                 if(!this.decoder.isDbByte(instructionAddress)) {
@@ -224,12 +561,11 @@ public class Z80Disassembler implements Runnable {
                 if(!match.isPresent()) {
                     // The next sequence of bytes does not defines a valid instruction.
                     // Keep the current byte as a "db ##" and go to the next address
-                    binaryData.incrementPointer();
+                    instructionAddress = (instructionAddress + 1) & BinaryData.ADDRESS_MASK;
                     continue;
                 }   
                 
                 Instruction instruction = match.get();
-                byte[] bytes = binaryData.getBytes(instruction.getSize());
                 
                 // Verify if the current instruction "overlaps" an existing (processed) one.
                 // If so, then stop the process, log a warning message and go to the next start-off address
@@ -238,124 +574,308 @@ public class Z80Disassembler implements Runnable {
                     break;
                 }   
                 
-                // Set the instruction and update the binary data pointer 
+                // Set the instruction and go to the next address
                 this.decoder.setInstruction(instructionAddress, instruction);
                 
-                String mnemonicMask = instruction.getMnemonicMask();
-                String opCode = String.format("%02X", binaryData.get());
-                binaryData.incrementPointer(bytes.length);
-                
                 // Process "special" instructions that may generate a new start-off address
-                // or end the current disassembling thread
-                if(mnemonicMask.equals("RET") || !this.decoder.isValidAddress(binaryData.getPointer())) {
-                    
-                    // A RET instruction was found or the end of binary data was reached
+                // or end the current disassembling path
+                Flow flow = Z80Disassembler.getFlow(this.decoder, instructionAddress, instruction);
+                if(flow == Flow.INDEXED_JUMP) {
+                    // The resulting address of the jump is unavailable
+                    this.warn("Warning: Found indexed jump instruction at address 0x%X%n", instructionAddress);
+                } else if(flow.hasTarget()) {
+                    // Evaluate the call/jump address and push it to start-off list
+                    this.pushTargetAddress(
+                        instruction.getTargetAddress(this.decoder.getBinaryData().getView(), instructionAddress)
+                    );  
+                }   
+                
+                if(flow.endsPath()) {
                     break;
-                    
-                } else if(mnemonicMask.contains("CALL") || (mnemonicMask.contains("JP"))) {
-                    
-                    // Verify if the JP instruction is indexed by a register.
-                    // If this is the case, the resulting address of the jump is unavailable
-                    if (INDEXED_JP_PREFIX.contains(opCode)) {
-                        this.warn("Warning: Found indexed jump instruction at address 0x%X%n", instructionAddress);
-                        break;
-                    }   
-                    
-                    // Evaluate the call/jp address and push to start-off list
-                    int address = (bytes[1] & 0xFF) | ((bytes[2] << 8) & 0xFFFF);
-                    this.pushStartAddress(address);
-                    
-                    // For unconditional jump, the current disassembling thread must be ended
-                    if (opCode.equals("C3")) {
-                        break;
-                    }   
-                    
-                } else if (mnemonicMask.contains("JR") || mnemonicMask.contains("DJNZ")) {
-                    
-                    // Evaluate the absolute address from relative jump and push it to start-off list
-                    int address = instructionAddress + (bytes[1] + 2);
-                    this.pushStartAddress(address);
-                    
-                    // For unconditional relative jump, the current disassembling thread must be ended
-                    if (opCode.equals("18")) {
-                        break;
-                    }   
                 }   
+                    
+                instructionAddress = (instructionAddress + instruction.getSize()) & BinaryData.ADDRESS_MASK;
                 
             } while(true);
         }   
         
+        this.log("Start-off addresses processed: %d (%d duplicated addresses discarded)%n",
+            this.startOffList.getPushedCount(), this.startOffList.getDeduplicatedCount());
+        
+        // Decode the gaps left by the recursive traversal
+        if(this.mode == Mode.HYBRID) {
+            this.sweep();
+        }   
+        
         // Post processing: add the data labels references
         this.processDataLabels();
+    }   
+    
+    /**
+     * Processes the start-off addresses over the paths decoded by a conflict free parallel traversal.
+     * The start-off addresses are processed in the same order of the sequential traversal, so the labels,
+     * warnings and log messages are the same, but the instructions are not decoded again: the paths are
+     * followed in the instructions, control flows and targets of the parallel traversal.
+     * 
+     * @param traversal the parallel traversal (committed to the decoder)
+     */
+    private void replay(ParallelTraversal traversal) {
         
-        this.systemOutAndLog("Disassembler process finished at %s%n", FileDateUtil.getCurrentTime());
-        if(this.hasWarnings) {
-            System.out.println("There are warnings. See log file for more information!");
+        // The instruction addresses reached by the sequential traversal so far
+        AddressBitSet reached = new AddressBitSet(BinaryData.MAX_SIZE);
+        while(!this.startOffList.isEmpty()) {
+            
+            // Without conflicts, a start-off address already reached is the address of an instruction
+            int startAddress = this.popStartAddress();
+            if(reached.get(startAddress)) {
+                this.outputProcessor.mapCodeLabel(startAddress);
+                continue;
+            }   
+            
+            this.log(AsyncLogger.Level.TRACE, "Processing start-off address: 0x%X%n", startAddress);
+            this.outputProcessor.mapCodeLabel(startAddress);
+            
+            int instructionAddress = startAddress;
+            while(!reached.get(instructionAddress)) {
+                
+                Instruction instruction = traversal.getInstruction(instructionAddress);
+                if(instruction == null) {
+                    instructionAddress = (instructionAddress + 1) & BinaryData.ADDRESS_MASK;
+                    continue;
+                }   
+                
+                reached.set(instructionAddress);
+                Flow flow = traversal.getFlow(instructionAddress);
+                if(flow == Flow.INDEXED_JUMP) {
+                    this.warn("Warning: Found indexed jump instruction at address 0x%X%n", instructionAddress);
+                } else if(flow.hasTarget()) {
+                    this.pushTargetAddress(traversal.getTargetAddress(instructionAddress));
+                }   
+                
+                if(flow.endsPath()) {
+                    break;
+                }   
+                
+                instructionAddress = (instructionAddress + instruction.getSize()) & BinaryData.ADDRESS_MASK;
+            }   
         }   
+    }   
+    
+    /**
+     * Decodes the bytes not decoded yet by linear sweep (see {@link LinearSweep}).
+     * The targets of the calls and jumps of the swept instructions are mapped as code labels.
+     */
+    private void sweep() {
         
-        // Process output files
-        this.outputProcessor.processOutputSourceFile(this.outputPath, this.decoder);
-        this.outputProcessor.processOutputListFile(this.listPath, this.decoder);
+        LinearSweep sweep = new LinearSweep(this.decoder, this.instructionSet.getTable());
+        Instruction[] instructions = sweep.sweep(this.parallelTraversal);
+        int startAddress = this.decoder.getStartAddress();
+        int endAddress = this.decoder.getEndAddress();
+        for(int address = startAddress; address <= endAddress; address++) {
+            if(instructions[address] != null) {
+                this.decoder.setInstruction(address, instructions[address]);
+            }   
+        }   
+        
+        BinaryView view = this.decoder.getBinaryData().getView();
+        for(int address = startAddress; address <= endAddress; address++) {
+            Instruction instruction = instructions[address];
+            if(instruction != null && instruction.hasTarget()) {
+                int targetAddress = instruction.getTargetAddress(view, address);
+                if(this.decoder.isValidAddress(targetAddress)) {
+                    this.mapDecodedCodeLabel(targetAddress);
+                }   
+            }   
+        }   
+        
+        this.log("Linear sweep: %d instructions decoded%n", sweep.getDecodedCount());
+        SystemOut.vprintf("Linear sweep: %d instructions decoded, %d chunks realigned%n",
+            sweep.getDecodedCount(), sweep.getRealignedCount());
     }   
     
     /**
-     * Post processing: add the data labels
+     * Maps the code label of an address. If the address holds a parameter byte of an instruction, then
+     * the instruction address is labeled and the address is mapped as an offset label.
+     * 
+     * @param address the address
+     */
+    private void mapDecodedCodeLabel(int address) {
+        if(this.decoder.isParameterByte(address)) {
+            int instructionAddress = this.decoder.getStartAddressOfInstructionAt(address);
+            this.outputProcessor.mapCodeLabel(instructionAddress);
+            this.outputProcessor.mapOffsetCodeLabel(address, address-instructionAddress);
+        } else {
+            this.outputProcessor.mapCodeLabel(address);
+        }   
+    }   
+        
+    /**
+     * Return the binary data decoder.
+     * @return the decoder
+     */
+    Decoder getDecoder() {
+        return this.decoder;
+    }   
+    
+    /**
+     * Return the basic block control flow graph of the decoded code (built at the first call).
+     * @return the control flow graph
+     */
+    ControlFlowGraph getControlFlowGraph() {
+        if(this.controlFlowGraph == null) {
+            this.controlFlowGraph = ControlFlowGraph.build(this.decoder);
+        }   
+        return this.controlFlowGraph;
+    }   
+    
+    /**
+     * Return the cross-reference index of the decoded code (built at the first call).
+     * @return the cross-reference index
+     */
+    CrossReferenceIndex getCrossReferenceIndex() {
+        if(this.crossReferenceIndex == null) {
+            this.crossReferenceIndex = CrossReferenceIndex.build(this.decoder);
+        }   
+        return this.crossReferenceIndex;
+    }   
+    
+    /**
+     * Return the cross-reference index rendered in the source code comments (see {@link #getCrossReferenceIndex()}).
+     * @return the cross-reference index, or null if the comments are disabled
+     */
+    CrossReferenceIndex getOutputCrossReferences() {
+        return this.outputProcessor.hasCrossReferenceComments() ? this.getCrossReferenceIndex():null;
+    }   
+        
+    /**
+     * Return the output processor.
+     * @return the output processor
+     */
+    OutputProcessor getOutputProcessor() {
+        return this.outputProcessor;
+    }   
+    
+    /**
+     * Keeps the log messages in memory instead of writing the log file (see {@link #getLogBuffer()}).
+     */
+    void setLogBuffer() {
+        this.logBuffer = new StringBuilder();
+    }   
+    
+    /**
+     * Return the log messages kept in memory (bank disassemblers and sessions only).
+     * @return the log messages or an empty string
+     */
+    String getLogBuffer() {
+        return (this.logBuffer != null) ? this.logBuffer.toString():"";
+    }   
+    
+    /**
+     * Return the output (.asm) file path.
+     * @return the output file path
+     */
+    Path getOutputPath() {
+        return this.outputPath;
+    }   
+    
+    /**
+     * Return the list (.lst) file path.
+     * @return the list file path
+     */
+    Path getListPath() {
+        return this.listPath;
+    }   
+    
+    /**
+     * Post processing: add the data labels.
+     * The code regions are visited using the decoder coverage map, jumping from one region to the next.
      */
     private void processDataLabels() {
         
         // Post processing: add the data labels references
-        List<Instruction> instructionsList = this.decoder.getInstructionsList();
-        BinaryData binaryData = this.decoder.getBinaryData();
+        BinaryView view = this.decoder.getBinaryData().getView();
+        CoverageMap coverageMap = this.decoder.getCoverageMap();
+        int endAddress = this.decoder.getEndAddress();
         
-        int address = this.decoder.getStartAddress();
-        Instruction instruction = instructionsList.get(address);
+        int regionStart = coverageMap.nextDecoded(this.decoder.getStartAddress());
+        while(regionStart >= 0 && regionStart < endAddress) {
         
-        while(address < this.decoder.getEndAddress()) {
+            // The code region ends at the first db byte, which starts a data region
+            int regionEnd = coverageMap.nextUndecoded(regionStart);
+            if(regionEnd <= endAddress) {
+                this.outputProcessor.mapDataLabel(regionEnd);
+            }   
             
-            Instruction nextInstruction = instructionsList.get(address+1);
+            // Map the data labels referenced by the word operands (LD instructions) in the code region
+            int limit = Math.min(regionEnd, endAddress);
+            for(int address = coverageMap.nextCodeStart(regionStart);
+                    address >= 0 && address < limit; address = coverageMap.nextCodeStart(address+1)) {
             
-            if(!instruction.isDbByte() && nextInstruction.isDbByte()) {
-                this.outputProcessor.mapDataLabel(address+1);
-            } else if (instruction.getMnemonicMask().contains("LD") && instruction.hasWordParameter()) {
-                
-                byte[] bytes = binaryData.getBytes(address, instruction.getSize());
-                int labelAddress = (bytes[1] & 0xFF) | ((bytes[2] << 8) & 0xFFFF);
-                Instruction targetInstruction = instructionsList.get(labelAddress);
-                
-                if(this.decoder.isValidAddress(labelAddress) && targetInstruction.isDbByte()) {
-                    this.outputProcessor.mapDataLabel(labelAddress);
+                Instruction instruction = this.decoder.getInstruction(address);
+                if(instruction.getFlowType() == FlowType.NONE && instruction.hasWordParameter()) {
+            
+                    int labelAddress = instruction.getWordOperand(view, address);
+                    if(this.decoder.isValidAddress(labelAddress) && this.decoder.isDbByte(labelAddress)) {
+                        this.outputProcessor.mapDataLabel(labelAddress);
+                        this.decoder.markData(labelAddress);
+                    }   
                 }   
             }   
             
-            instruction = nextInstruction;
-            address++;
+            regionStart = coverageMap.nextDecoded(regionEnd);
+        }   
+    }   
+    
+    /**
+     * Evaluates the control flow of the instruction at the given address.
+     * 
+     * @param decoder the binary data decoder
+     * @param address the address of the instruction
+     * @param instruction the instruction
+     * @return the control flow of the instruction
+     */
+    static Flow getFlow(Decoder decoder, int address, Instruction instruction) {
+        
+        // The end of binary data was reached
+        int nextAddress = (address + instruction.getSize()) & BinaryData.ADDRESS_MASK;
+        if(!decoder.isValidAddress(nextAddress)) {
+            return Flow.END;
+        }   
+        
+        switch(instruction.getFlowType()) {
+            case JUMP:
+                // For unconditional jumps, the current disassembling path must be ended
+                return instruction.isConditional() ? Flow.BRANCH:Flow.JUMP;
+            case CALL:
+                return Flow.BRANCH;
+            case RETURN:
+                return instruction.isConditional() ? Flow.NEXT:Flow.END;
+            case INDIRECT_JUMP:
+                return Flow.INDEXED_JUMP;
+            default:
+                return Flow.NEXT;
         }   
     }   
     
     /**
      * Find the matching instruction at the given address.
+     * The instruction is resolved by the dispatch table (a fixed number of array lookups).
+     * 
      * @param address the address of binary data
      * @return the matching instruction
      */
     private Optional<Instruction> findMatchingInstruction(int address) {
-        
-        BinaryData binaryData = this.decoder.getBinaryData();
-        PrefixClass prefixClass = PrefixClass.of(binaryData.get(address));
-        
-        for(Instruction instruction:this.instructionsMap.get(prefixClass)) {
-            byte[] bytes = binaryData.getBytes(instruction.getSize());
-            if(instruction.matches(bytes)) {
-                return Optional.of(instruction);
-            }   
-        }   
-        
-        return Optional.empty();
+        return Optional.ofNullable(this.instructionSet.getTable().find(this.decoder.getBinaryData(), address));
     }   
     
     /**
      * Set properties for disassembler read from configuration file.
+     * 
+     * @param properties the configuration properties
+     * @throws IllegalArgumentException if some parameter is missing or invalid
+     * @throws UncheckedIOException if the Z80 instructions file cannot be read
      */
-    public void setProperties(ConfigFileProperties properties) {
+    public void setProperties(ConfigFileProperties properties) throws IllegalArgumentException, UncheckedIOException {
         
         try {
             
@@ -369,21 +889,47 @@ public class Z80Disassembler implements Runnable {
                 this.setLogFile(properties.getString(LOG_FILE).orElse(baseFileName+".log"));
                 
             } catch(java.util.NoSuchElementException exception) {
-                System.err.printf(String.format("Missing required parameter: %s", BINARY_FILE));
-                System.exit(-1);
+                throw new IllegalArgumentException(String.format("Missing required parameter: %s", BINARY_FILE));
             }   
             
+        } catch (IllegalAccessException | IllegalArgumentException exception) {
+            throw new IllegalArgumentException(
+                String.format("Error reading config file parameter:%n\t%s", exception.getMessage()), exception
+            );  
+        }   
+        
+        this.setOptions(properties);
+    }   
+    
+    /**
+     * Set the disassembling and formatting properties (all properties but the file names).
+     * The properties are the same of the configuration file.
+     * 
+     * @param properties the disassembler properties
+     * @throws IllegalArgumentException if some parameter is invalid
+     * @throws UncheckedIOException if the Z80 instructions file cannot be read
+     */
+    void setOptions(ConfigFileProperties properties) throws IllegalArgumentException, UncheckedIOException {
+        
+        boolean loadUndocumentedInstructions = false;
+        String instructionsSource = InstructionSetRegistry.DEFAULT_SOURCE;
+        Optional<String> cacheDirectory = Optional.empty();
+        
+        try {
+            
             // Set the formatting output properties
             this.outputProcessor.setDbAlign(properties.getInteger(DB_ALIGN).orElse(16));
             this.outputProcessor.setTabSize(properties.getInteger(TAB_SIZE).orElse(4));
             this.outputProcessor.setCodeLabelPrefix(properties.getString(CODE_LABEL_PREFIX).orElse(""));
             this.outputProcessor.setDataLabelPrefix(properties.getString(DATA_LABEL_PREFIX).orElse(""));
-            StringUtil.setHexValueFormat(properties.getString(HEX_FORMAT).orElse("0%sH"));
+            this.outputProcessor.setHexFormat(properties.getString(HEX_FORMAT).orElse(DEFAULT_HEX_FORMAT));
             
-            // Set the user defined labels at given addresses
+            // Set the user defined labels at given addresses (bank-qualified labels are set by the banked disassembler)
             for (String entry : properties.getListOf(LABEL)) {
                 String[] split = StringUtil.splitInTwo(entry.replaceAll("\t", " "), " ");
-                if(split.length > 1) {
+                if(split.length > 1 && BankAddress.isQualified(split[1])) {
+                    continue;
+                } else if(split.length > 1) {
                     this.outputProcessor.mapLabel(Integer.decode(split[1].trim()), split[0].trim());
                 } else {
                     throw new IllegalArgumentException(String.format("Invalid label entry: [%s]%n", entry));
@@ -400,116 +946,119 @@ public class Z80Disassembler implements Runnable {
                 }   
             }   
             
+            // Set the log level
+            Optional<String> logLevel = properties.getString(LOG_LEVEL);
+            if(logLevel.isPresent()) {
+                this.setLogLevel(AsyncLogger.Level.valueOf(logLevel.get().toUpperCase()));
+            }   
+            
+            // Set the parallel rendering flag of the output files
+            this.outputProcessor.setParallelRendering(properties.getBoolean(PARALLEL_RENDERING).orElse(false));
+            this.outputProcessor.setCrossReferenceComments(properties.getBoolean(XREF_COMMENTS).orElse(false));
+            
+            // Set the parallel traversal flag
+            this.setParallelTraversal(properties.getBoolean(PARALLEL_TRAVERSAL).orElse(false));
+            
+            // Set the exploration order of start-off addresses
+            Optional<String> explorationOrder = properties.getString(EXPLORATION_ORDER);
+            if(explorationOrder.isPresent()) {
+                this.setExplorationOrder(AddressWorklist.Order.valueOf(explorationOrder.get().toUpperCase()));
+            }   
+            
+            // Set the disassembly mode (recursive traversal, linear sweep or both)
+            Optional<String> disassemblyMode = properties.getString(DISASSEMBLY_MODE);
+            if(disassemblyMode.isPresent()) {
+                this.setMode(Mode.valueOf(disassemblyMode.get().toUpperCase()));
+            }   
+            
             // Set disassembler limits
             this.decoder.setStartAddress(properties.getAddress(START_ADDRESS).orElse(BinaryData.START_ADDRESS));
             this.decoder.setEndAddress(properties.getAddress(END_ADDRESS).orElse(BinaryData.END_ADDRESS));
             
             // Set the status of the flag to output source using undocumented Z80 instructions
-            boolean loadUndocumentedInstructions = properties.getBoolean(UNDOCUMENTED_INSTRUCTIONS).orElse(false);
+            loadUndocumentedInstructions = properties.getBoolean(UNDOCUMENTED_INSTRUCTIONS).orElse(false);
+            instructionsSource = InstructionSetRegistry.getSourceName(properties.getString(INSTRUCTIONS_FILE).orElse(null));
+            cacheDirectory = properties.getString(CACHE_DIR);
+        
+        } catch (IllegalAccessException | IllegalArgumentException exception) {
+            throw new IllegalArgumentException(
+                String.format("Error reading config file parameter:%n\t%s", exception.getMessage()), exception
+            );  
+        }   
+        
+        try {
             
-            // Load the Z80 instructions set from resource file
-            try {
-                this.loadInstructionsFromFile(Z80_INSTRUCTIONS_FILE_NAME, loadUndocumentedInstructions);
-            } catch (IllegalArgumentException | IOException exception) {
-                System.err.printf("Error reading data from %s file!%n\t%s%n",
-                    Z80_INSTRUCTIONS_FILE_NAME, exception.getMessage());
-                System.exit(-1);
+            // Get the Z80 instructions set from the registry (not needed when an instruction set was given).
+            // The disassemblers with log buffer (sessions and banks) do not write to the standard output
+            if(this.instructionSet == InstructionSet.EMPTY && this.logBuffer != null) {
+                this.log("Loading Z80 instructions information from %s...%n", instructionsSource);
+                this.setInstructionSet(InstructionSetRegistry.get(instructionsSource, loadUndocumentedInstructions));
+            } else if(this.instructionSet == InstructionSet.EMPTY) {
+                this.setInstructionSet(Z80Disassembler.loadInstructionSet(instructionsSource, loadUndocumentedInstructions));
             }   
             
-        } catch (IllegalAccessException | IllegalArgumentException exception) {
-            System.err.printf(
-                String.format("Error reading config file parameter:%n\t%s", exception.getMessage())
-            );  
-            System.exit(-1);
+            // Restore the result of a previous run with the same binary data, properties and instruction set
+            // (the bank disassemblers of banked ROMs do not use the result cache)
+            if(cacheDirectory.isPresent() && properties.getCount(MAPPER) == 0) {
+                String key = ResultCache.computeKey(this.decoder.getBinaryData(), properties, this.instructionSet);
+                this.resultCache = new ResultCache(FileDateUtil.getPath(cacheDirectory.get()), key);
+                this.isRestored = this.resultCache.restore(this.decoder, this.outputProcessor);
+            }   
+            
+        } catch (IOException exception) {
+            throw new UncheckedIOException(String.format("Error reading data from %s file!%n\t%s",
+                instructionsSource, exception.getMessage()), exception);
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException(String.format("Error reading data from %s file!%n\t%s",
+                instructionsSource, exception.getMessage()), exception);
         }   
         
-        // Set the starting point addresses
+        // Set the starting point addresses (bank-qualified addresses are set by the banked disassembler)
         for (String address : properties.getListOf(START_OFF)) {
+            if(BankAddress.isQualified(address)) {
+                continue;
+            }   
             try {
                 this.pushStartAddress(Integer.decode(address));
             } catch (NumberFormatException nfe) {
-                System.err.printf(
-                    String.format("Error setting start-off address parameter: %s%n\t%s", address, nfe.getMessage())
+                throw new IllegalArgumentException(
+                    String.format("Error setting start-off address parameter: %s%n\t%s", address, nfe.getMessage()), nfe
                 );  
-                System.exit(-1);
             }   
         }   
     }   
     
     /**
-     * Loads the Z80 instruction's data from file (binary and mnemonic representations).
-     * 
-     * @param fileName the instruction file name
-     * @param loadUndocumented flag to indicate the loading of undocumented Z80 instructions
-     * @throws IOException if some reading error occurs
-     * @throws IllegalArgumentException if the input file has some invalid data
-     */
-    private synchronized void loadInstructionsFromFile(String fileName, boolean loadUndocumented)
-            throws IOException, IllegalArgumentException {
-        InputStream stream = this.getClass().getResourceAsStream(fileName);
-    	this.loadInstructionsFromStream(stream, loadUndocumented);
-    }   
-    
-    /**
-     * Loads the Z80 instructions data from input stream (patterns and attributes).
+     * Loads the Z80 instruction set from the instructions file (binary and mnemonic representations).
+     * The instruction set is read from the registry, so the instructions file is parsed only once by process.
      * 
-     * @param inputStream the input stream
+     * @param source the instructions file (see {@link InstructionSetRegistry#get(String, boolean)})
      * @param loadUndocumented flag to indicate the loading of undocumented Z80 instructions
+     * @return the shared instruction set
      * @throws IOException if some reading error occurs
      * @throws IllegalArgumentException if the input file has some invalid data
      */
-    private synchronized void loadInstructionsFromStream(InputStream inputStream, boolean loadUndocumented)
+    public static InstructionSet loadInstructionSet(String source, boolean loadUndocumented)
             throws IOException, IllegalArgumentException {
         
-        String line;
-        int lineNumber = 0;
-        int instructionsCounter = 0;
+        String sourceName = InstructionSetRegistry.getSourceName(source);
+        if(InstructionSetRegistry.DEFAULT_SOURCE.equals(sourceName)) {
+            SystemOut.printf("Loading Z80 instructions information from resource file...");
+        } else {
+            SystemOut.printf("Loading Z80 instructions information from file %s...", sourceName);
+        }   
         
-        // InputStreamReader reads bytes and decodes them into characters using a specified charset
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream))) {
-            
-            System.out.printf("Loading Z80 instructions information from resource file...");
-            
-            while ((line = bufferedReader.readLine()) != null) {
-                
-                lineNumber++;
-                
-                // Discard comment lines and empty lines
-                line = StringUtil.clean(line, '\'');
-                if (line.isEmpty()) {
-                    continue;
-                }   
-                
-                // Get the instruction's binary matcher and the mnemonic string 
-                String lineSplit[] = line.split(":");
-                if (lineSplit.length > 1) {
-                    
-                    // get the byte/mnemonic masks
-                    String byteMask = lineSplit[0].trim();
-                    String mnemonicMask = lineSplit[1].trim();
-                    
-                    // Create the instruction and map it according to the prefix class
-                    Instruction instruction = new Instruction(byteMask, mnemonicMask);
-                    if(!(instruction.isUndocumented() && !loadUndocumented)) {
-                        this.instructionsMap.map(instruction.getPrefixClass(), instruction);
-                        instructionsCounter++;
-                    }   
-                    
-                } else {
-                    System.out.printf("Error!%n");
-                    throw new IllegalArgumentException(
-                        String.format("Error processing instruction \"%s\" at line %d%n", line, lineNumber)
-                    );  
-                }   
-            }   
+        InstructionSet instructionSet;
+        try {
+            instructionSet = InstructionSetRegistry.get(sourceName, loadUndocumented);
+        } catch (IOException | IllegalArgumentException exception) {
+            SystemOut.printf("Error!%n");
+            throw exception;
+        }   
             
-            System.out.printf("Ok%n");
-            SystemOut.vprintf("Total of instructions read: %d\n", instructionsCounter);
+        SystemOut.printf("Ok%n");
+        SystemOut.vprintf("Total of instructions read: %d\n", instructionSet.size());
             
-        } catch(NullPointerException ioException) {
-            //  a NullPointerException may occur if the z80-instructions.dat cannot be found in the classpath
-            throw new IOException("System could not find the Z80 instructions resource file in the classpath!");
-        }   
+        return instructionSet;
     }   
-    
 }
\ No newline at end of file
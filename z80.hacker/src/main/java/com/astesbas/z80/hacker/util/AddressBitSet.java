@@ -0,0 +1,269 @@
+package com.astesbas.z80.hacker.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size bit set indexed by address, backed by an array of long words.
+ * Range operations (set, clear and verification) are done a word (64 addresses) at a time.
+ * This implementation is not thread safe.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class AddressBitSet {
+    
+    /** Number of address bits in each word */
+    private static final int WORD_SIZE = Long.SIZE;
+    
+    /** Shift to get the word index of an address */
+    private static final int WORD_SHIFT = 6;
+    
+    /** All bits set word mask */
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    
+    /** The bit set words */
+    private final long[] words;
+    
+    /** The number of addresses in the bit set */
+    private final int size;
+    
+    /**
+     * Creates a bit set for the given number of addresses (all bits clear).
+     * @param size the number of addresses
+     */
+    public AddressBitSet(int size) {
+        this.size = size;
+        this.words = new long[(size + WORD_SIZE - 1) >> WORD_SHIFT];
+    }   
+    
+    /**
+     * Copy constructor.
+     * @param other the bit set to be copied
+     */
+    private AddressBitSet(AddressBitSet other) {
+        this.size = other.size;
+        this.words = other.words.clone();
+    }   
+    
+    /**
+     * Return the number of addresses in this bit set.
+     * @return the bit set size
+     */
+    public int size() {
+        return this.size;
+    }   
+    
+    /**
+     * Return the bit for the given address.
+     * @param address the address
+     * @return true if the bit is set
+     */
+    public boolean get(int address) {
+        return (this.words[address >> WORD_SHIFT] & (1L << address)) != 0;
+    }   
+    
+    /**
+     * Set the bit for the given address.
+     * @param address the address
+     */
+    public void set(int address) {
+        this.words[address >> WORD_SHIFT] |= (1L << address);
+    }   
+    
+    /**
+     * Clear the bit for the given address.
+     * @param address the address
+     */
+    public void clear(int address) {
+        this.words[address >> WORD_SHIFT] &= ~(1L << address);
+    }   
+    
+    /**
+     * Set the bits in the range [from, to).
+     * @param from the first address (inclusive)
+     * @param to the last address (exclusive)
+     */
+    public void set(int from, int to) {
+        
+        if(from >= to) {
+            return;
+        }   
+        
+        int firstWord = from >> WORD_SHIFT;
+        int lastWord = (to - 1) >> WORD_SHIFT;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+        
+        if(firstWord == lastWord) {
+            this.words[firstWord] |= (firstMask & lastMask);
+        } else {
+            this.words[firstWord] |= firstMask;
+            for(int index = firstWord + 1; index < lastWord; index++) {
+                this.words[index] = WORD_MASK;
+            }   
+            this.words[lastWord] |= lastMask;
+        }   
+    }   
+    
+    /**
+     * Clear the bits in the range [from, to).
+     * @param from the first address (inclusive)
+     * @param to the last address (exclusive)
+     */
+    public void clear(int from, int to) {
+        
+        if(from >= to) {
+            return;
+        }   
+        
+        int firstWord = from >> WORD_SHIFT;
+        int lastWord = (to - 1) >> WORD_SHIFT;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+        
+        if(firstWord == lastWord) {
+            this.words[firstWord] &= ~(firstMask & lastMask);
+        } else {
+            this.words[firstWord] &= ~firstMask;
+            for(int index = firstWord + 1; index < lastWord; index++) {
+                this.words[index] = 0L;
+            }   
+            this.words[lastWord] &= ~lastMask;
+        }   
+    }   
+    
+    /**
+     * Verify if all bits in the range [from, to) are clear.
+     * @param from the first address (inclusive)
+     * @param to the last address (exclusive)
+     * @return true if there is no bit set in the range
+     */
+    public boolean isClear(int from, int to) {
+        
+        if(from >= to) {
+            return true;
+        }   
+        
+        int firstWord = from >> WORD_SHIFT;
+        int lastWord = (to - 1) >> WORD_SHIFT;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+        
+        if(firstWord == lastWord) {
+            return (this.words[firstWord] & firstMask & lastMask) == 0;
+        }   
+        
+        if((this.words[firstWord] & firstMask) != 0 || (this.words[lastWord] & lastMask) != 0) {
+            return false;
+        }   
+        
+        for(int index = firstWord + 1; index < lastWord; index++) {
+            if(this.words[index] != 0) {
+                return false;
+            }   
+        }   
+        
+        return true;
+    }   
+    
+    /**
+     * Return the address of the first set bit at or after the given address.
+     * @param from the address to start the search (inclusive)
+     * @return the address of the next set bit or -1 if there is no such bit
+     */
+    public int nextSetBit(int from) {
+        
+        if(from >= this.size) {
+            return -1;
+        }   
+        
+        int index = from >> WORD_SHIFT;
+        long word = this.words[index] & (WORD_MASK << from);
+        
+        while(word == 0) {
+            if(++index == this.words.length) {
+                return -1;
+            }   
+            word = this.words[index];
+        }   
+        
+        int address = (index << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+        return (address < this.size) ? address:-1;
+    }   
+    
+    /**
+     * Return the address of the first clear bit at or after the given address.
+     * @param from the address to start the search (inclusive)
+     * @return the address of the next clear bit or size() if there is no such bit
+     */
+    public int nextClearBit(int from) {
+        
+        if(from >= this.size) {
+            return this.size;
+        }   
+        
+        int index = from >> WORD_SHIFT;
+        long word = ~this.words[index] & (WORD_MASK << from);
+        
+        while(word == 0) {
+            if(++index == this.words.length) {
+                return this.size;
+            }   
+            word = ~this.words[index];
+        }   
+        
+        return Math.min((index << WORD_SHIFT) + Long.numberOfTrailingZeros(word), this.size);
+    }   
+    
+    /**
+     * Return the number of set bits.
+     * @return the number of set bits
+     */
+    public int cardinality() {
+        int count = 0;
+        for(long word:this.words) {
+            count += Long.bitCount(word);
+        }   
+        return count;
+    }   
+    
+    /**
+     * Return a copy (snapshot) of this bit set.
+     * @return the bit set copy
+     */
+    public AddressBitSet copy() {
+        return new AddressBitSet(this);
+    }   
+    
+    /**
+     * Merge the given bit set into this one (bitwise or).
+     * @param other the bit set to be merged
+     * @throws IllegalArgumentException if the bit sets have different sizes
+     */
+    public void or(AddressBitSet other) throws IllegalArgumentException {
+        if(other.size != this.size) {
+            throw new IllegalArgumentException(
+                String.format("Bit set sizes does not match: %d, %d", this.size, other.size)
+            );  
+        }   
+        for(int index = 0; index < this.words.length; index++) {
+            this.words[index] |= other.words[index];
+        }   
+    }   
+    
+    @Override
+    public boolean equals(Object object) {
+        if(object instanceof AddressBitSet) {
+            AddressBitSet other = (AddressBitSet) object;
+            return this.size == other.size && Arrays.equals(this.words, other.words);
+        }   
+        return false;
+    }   
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.words);
+    }   
+}
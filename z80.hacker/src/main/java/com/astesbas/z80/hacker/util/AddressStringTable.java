@@ -0,0 +1,87 @@
+package com.astesbas.z80.hacker.util;
+
+/**
+ * Table of strings indexed by 16-bit address (e.g. labels), with no boxing in the lookups.
+ * The table is split in pages of 256 addresses, allocated when the first string of the page is stored,
+ * so an almost empty table (as the tables of the banks of a megaROM) takes only a few bytes.
+ * The lookup of an address outside the 16-bit range returns null.
+ * This implementation is not thread safe (concurrent lookups are safe if there are no updates).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class AddressStringTable {
+    
+    /** The number of addresses in the table */
+    public static final int SIZE = 0x10000;
+    
+    /** Shift to get the page index of an address */
+    private static final int PAGE_SHIFT = 8;
+    
+    /** Mask to get the index of an address inside its page */
+    private static final int PAGE_MASK = 0xFF;
+    
+    /** The table pages (null for pages without strings) */
+    private final String[][] pages = new String[SIZE >> PAGE_SHIFT][];
+    
+    /**
+     * Creates an empty table.
+     */
+    public AddressStringTable() {
+    }   
+    
+    /**
+     * Copy constructor.
+     * @param other the table to be copied
+     */
+    private AddressStringTable(AddressStringTable other) {
+        for(int page = 0; page < this.pages.length; page++) {
+            if(other.pages[page] != null) {
+                this.pages[page] = other.pages[page].clone();
+            }   
+        }   
+    }   
+    
+    /**
+     * Return the string at the given address.
+     * @param address the address
+     * @return the string (null if there is no string at the address or the address is outside the table)
+     */
+    public String get(int address) {
+        if((address & ~(SIZE - 1)) != 0) {
+            return null;
+        }   
+        String[] page = this.pages[address >> PAGE_SHIFT];
+        return (page == null) ? null:page[address & PAGE_MASK];
+    }   
+    
+    /**
+     * Stores a string at the given address (replacing the previous string, if any).
+     * @param address the address
+     * @param value the string (null removes the string)
+     * @throws IllegalArgumentException if the address is outside the table
+     */
+    public void put(int address, String value) throws IllegalArgumentException {
+        if((address & ~(SIZE - 1)) != 0) {
+            throw new IllegalArgumentException(String.format("Invalid address: 0x%X", address));
+        }   
+        String[] page = this.pages[address >> PAGE_SHIFT];
+        if(page == null) {
+            if(value == null) {
+                return;
+            }   
+            page = this.pages[address >> PAGE_SHIFT] = new String[PAGE_MASK + 1];
+        }   
+        page[address & PAGE_MASK] = value;
+    }   
+    
+    /**
+     * Return a copy of this table.
+     * @return the copy
+     */
+    public AddressStringTable copy() {
+        return new AddressStringTable(this);
+    }   
+}
@@ -0,0 +1,214 @@
+package com.astesbas.z80.hacker.util;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Deduplicating worklist of addresses.
+ * The addresses are stored in a primitive int ring buffer, and a bit set keeps the addresses already
+ * queued. An address is accepted only once: pushing an address that was already queued (even if it
+ * was already taken from the worklist) is counted as a deduplicated push and discarded.
+ * This implementation is not thread safe.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class AddressWorklist {
+    
+    /** The exploration order of the worklist addresses */
+    public static enum Order {
+        
+        /** First in, first out (breadth first exploration) */
+        FIFO,
+        
+        /** Last in, first out (depth first exploration) */
+        LIFO,
+        
+        /** Lowest pending address first (sequential memory access) */
+        LOWEST_ADDRESS;
+    }   
+    
+    /** The initial capacity of the ring buffer */
+    private static final int INITIAL_CAPACITY = 64;
+    
+    /** The exploration order */
+    private final Order order;
+    
+    /** The addresses already queued */
+    private final AddressBitSet queued;
+    
+    /** The addresses pending in the worklist (used for LOWEST_ADDRESS order) */
+    private final AddressBitSet pending;
+    
+    /** The ring buffer of addresses (used for FIFO and LIFO orders) */
+    private int[] buffer = new int[INITIAL_CAPACITY];
+    
+    /** The index of the first address in the ring buffer */
+    private int head = 0;
+    
+    /** The number of addresses in the worklist */
+    private int count = 0;
+    
+    /** The lowest address that may be pending (search start for LOWEST_ADDRESS order) */
+    private int lowestPending = 0;
+    
+    /** The number of addresses accepted in the worklist */
+    private int pushedCount = 0;
+    
+    /** The number of discarded (duplicated) pushes */
+    private int deduplicatedCount = 0;
+    
+    /**
+     * Creates a worklist for addresses in the range [0, size).
+     * @param size the size of the address space
+     * @param order the exploration order
+     */
+    public AddressWorklist(int size, Order order) {
+        this.order = Objects.requireNonNull(order);
+        this.queued = new AddressBitSet(size);
+        this.pending = new AddressBitSet(size);
+    }   
+    
+    /**
+     * Return the exploration order of this worklist.
+     * @return the exploration order
+     */
+    public Order getOrder() {
+        return this.order;
+    }   
+    
+    /**
+     * Pushes an address in the worklist.
+     * @param address the address
+     * @return true if the address was accepted, false if it was already queued before
+     */
+    public boolean push(int address) {
+        
+        if(this.queued.get(address)) {
+            this.deduplicatedCount++;
+            return false;
+        }   
+        
+        this.queued.set(address);
+        this.pushedCount++;
+        this.count++;
+        
+        if(this.order == Order.LOWEST_ADDRESS) {
+            this.pending.set(address);
+            this.lowestPending = Math.min(this.lowestPending, address);
+        } else {
+            if(this.count > this.buffer.length) {
+                this.grow();
+            }   
+            this.buffer[(this.head + this.count - 1) % this.buffer.length] = address;
+        }   
+        
+        return true;
+    }   
+    
+    /**
+     * Return the next address of the worklist (according to the exploration order).
+     * @return the next address
+     * @throws NoSuchElementException if the worklist is empty
+     */
+    public int pop() throws NoSuchElementException {
+        
+        if(this.count == 0) {
+            throw new NoSuchElementException("The worklist is empty!");
+        }   
+        
+        this.count--;
+        
+        switch(this.order) {
+            case LOWEST_ADDRESS:
+                int address = this.pending.nextSetBit(this.lowestPending);
+                this.pending.clear(address);
+                this.lowestPending = address;
+                return address;
+            case LIFO:
+                return this.buffer[(this.head + this.count) % this.buffer.length];
+            default:
+                int first = this.buffer[this.head];
+                this.head = (this.head + 1) % this.buffer.length;
+                return first;
+        }   
+    }   
+    
+    /**
+     * Verify if the worklist is empty.
+     * @return true if there is no address pending
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }   
+    
+    /**
+     * Return the number of addresses pending in the worklist.
+     * @return the number of addresses
+     */
+    public int size() {
+        return this.count;
+    }   
+    
+    /**
+     * Return the addresses pending in the worklist (the worklist is not changed).
+     * @return the array of pending addresses
+     */
+    public int[] getPendingAddresses() {
+        
+        int[] addresses = new int[this.count];
+        if(this.order == Order.LOWEST_ADDRESS) {
+            int index = 0;
+            for(int address = this.pending.nextSetBit(this.lowestPending);
+                    address >= 0; address = this.pending.nextSetBit(address+1)) {
+                addresses[index++] = address;
+            }   
+        } else {
+            for(int index = 0; index < this.count; index++) {
+                addresses[index] = this.buffer[(this.head + index) % this.buffer.length];
+            }   
+        }   
+        
+        return addresses;
+    }   
+    
+    /**
+     * Verify if the given address was already queued in this worklist.
+     * @param address the address
+     * @return true if the address was pushed before
+     */
+    public boolean wasQueued(int address) {
+        return this.queued.get(address);
+    }   
+    
+    /**
+     * Return the number of addresses accepted in the worklist.
+     * @return the number of pushed addresses
+     */
+    public int getPushedCount() {
+        return this.pushedCount;
+    }   
+    
+    /**
+     * Return the number of discarded pushes (addresses already queued).
+     * @return the number of deduplicated pushes
+     */
+    public int getDeduplicatedCount() {
+        return this.deduplicatedCount;
+    }   
+    
+    /**
+     * Doubles the ring buffer capacity (keeping the addresses order).
+     */
+    private void grow() {
+        int[] newBuffer = new int[this.buffer.length << 1];
+        int size = this.count - 1;
+        for(int index = 0; index < size; index++) {
+            newBuffer[index] = this.buffer[(this.head + index) % this.buffer.length];
+        }   
+        this.buffer = newBuffer;
+        this.head = 0;
+    }   
+}
@@ -0,0 +1,283 @@
+package com.astesbas.z80.hacker.util;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous buffered logger.
+ * The log file is opened once and kept open until the logger is closed. The messages are stored in a
+ * bounded ring buffer and written to the file by a background writer thread, so the callers never wait
+ * for the file system (unless the ring buffer is full, then the caller waits for free slots and no
+ * message is lost). The messages with a level above the logger level are discarded before formatting.
+ * 
+ * Closing the logger writes all pending messages and closes the file. A shutdown hook closes the logger
+ * if the application exits before it is closed (e.g. System.exit on errors).
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class AsyncLogger implements AutoCloseable {
+    
+    /** The log levels (each level includes the messages of the previous levels) */
+    public static enum Level {
+        
+        /** Warning messages only */
+        WARNING,
+        
+        /** Warnings and process information (start/end, summaries) */
+        INFO,
+        
+        /** All messages, including the tracing of every start-off address */
+        TRACE;
+    }   
+    
+    /** The default capacity of the ring buffer (number of messages) */
+    public static final int DEFAULT_CAPACITY = 1024;
+    
+    /** The log level */
+    private final Level level;
+    
+    /** The log file writer (used only by the writer thread after construction) */
+    private final BufferedWriter writer;
+    
+    /** The ring buffer of pending messages */
+    private final String[] ring;
+    
+    /** The index of the first pending message in the ring buffer */
+    private int head = 0;
+    
+    /** The number of pending messages */
+    private int count = 0;
+    
+    /** The closed flag */
+    private boolean closed = false;
+    
+    /** The ring buffer lock */
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    /** Signals the writer thread that there are pending messages (or the logger was closed) */
+    private final Condition notEmpty = this.lock.newCondition();
+    
+    /** Signals the callers that there are free slots in the ring buffer */
+    private final Condition notFull = this.lock.newCondition();
+    
+    /** The background writer thread */
+    private final Thread writerThread;
+    
+    /** The shutdown hook (closes the logger at application exit) */
+    private final Thread shutdownHook;
+    
+    /** The first writing error (reported on close) */
+    private volatile IOException failure = null;
+    
+    /**
+     * Creates a logger with the default ring buffer capacity.
+     * @param path the log file path (the messages are appended to the file)
+     * @param level the log level
+     * @throws IOException if the log file cannot be opened
+     */
+    public AsyncLogger(Path path, Level level) throws IOException {
+        this(path, level, DEFAULT_CAPACITY);
+    }   
+    
+    /**
+     * Creates a logger.
+     * @param path the log file path (the messages are appended to the file)
+     * @param level the log level
+     * @param capacity the ring buffer capacity (number of messages)
+     * @throws IOException if the log file cannot be opened
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public AsyncLogger(Path path, Level level, int capacity) throws IOException, IllegalArgumentException {
+        
+        if(capacity < 1) {
+            throw new IllegalArgumentException(String.format("Invalid log buffer capacity: %d", capacity));
+        }   
+        
+        this.level = Objects.requireNonNull(level);
+        this.ring = new String[capacity];
+        this.writer = Files.newBufferedWriter(path, CREATE, APPEND);
+        
+        this.writerThread = new Thread(this::drain, "z80hacker-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        
+        this.shutdownHook = new Thread(this::closeQuietly);
+        Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+    }   
+    
+    /**
+     * Return the log level.
+     * @return the log level
+     */
+    public Level getLevel() {
+        return this.level;
+    }   
+    
+    /**
+     * Verify if the messages of the given level are written by this logger.
+     * @param level the message level
+     * @return true if the level is enabled
+     */
+    public boolean isEnabled(Level level) {
+        return level.compareTo(this.level) <= 0;
+    }   
+    
+    /**
+     * Logs a formatted message (the message is formatted only if the level is enabled).
+     * @param level the message level
+     * @param format the string formatter
+     * @param args the parameters for the formatter
+     * @throws IllegalStateException if the logger is closed
+     */
+    public void log(Level level, String format, Object... args) throws IllegalStateException {
+        if(this.isEnabled(level)) {
+            this.put(String.format(format, args));
+        }   
+    }   
+    
+    /**
+     * Writes all pending messages and closes the log file.
+     * The calling thread waits until the writer thread finishes. Closing a closed logger has no effect.
+     * 
+     * @throws IOException if some writing error occurred
+     */
+    @Override
+    public void close() throws IOException {
+        
+        this.closeQuietly();
+        
+        try {
+            Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+        } catch (IllegalStateException exception) {
+            // The application is already shutting down
+        }   
+        
+        if(this.failure != null) {
+            throw this.failure;
+        }   
+    }   
+    
+    /**
+     * Stores a message in the ring buffer (waits for a free slot if the buffer is full).
+     * @param message the message
+     */
+    private void put(String message) {
+        
+        this.lock.lock();
+        try {
+            
+            while(this.count == this.ring.length && !this.closed) {
+                this.notFull.awaitUninterruptibly();
+            }   
+            
+            if(this.closed) {
+                throw new IllegalStateException("The logger is closed!");
+            }   
+            
+            this.ring[(this.head + this.count) % this.ring.length] = message;
+            this.count++;
+            this.notEmpty.signal();
+        
+        } finally {
+            this.lock.unlock();
+        }   
+    }   
+    
+    /**
+     * Writer thread: takes the pending messages in batches and writes them to the log file.
+     * The file is flushed after each batch, and closed when the logger is closed and no message is pending.
+     */
+    private void drain() {
+        
+        String[] batch = new String[this.ring.length];
+        
+        while(true) {
+            
+            int size;
+            this.lock.lock();
+            try {
+                
+                while(this.count == 0 && !this.closed) {
+                    this.notEmpty.awaitUninterruptibly();
+                }   
+                
+                if(this.count == 0) {
+                    break;
+                }   
+                
+                size = this.count;
+                for(int index = 0; index < size; index++) {
+                    int slot = (this.head + index) % this.ring.length;
+                    batch[index] = this.ring[slot];
+                    this.ring[slot] = null;
+                }   
+                
+                this.head = (this.head + size) % this.ring.length;
+                this.count = 0;
+                this.notFull.signalAll();
+            
+            } finally {
+                this.lock.unlock();
+            }   
+            
+            try {
+                for(int index = 0; index < size; index++) {
+                    this.writer.write(batch[index]);
+                    batch[index] = null;
+                }   
+                this.writer.flush();
+            } catch (IOException ioException) {
+                if(this.failure == null) {
+                    this.failure = ioException;
+                }   
+            }   
+        }   
+        
+        try {
+            this.writer.close();
+        } catch (IOException ioException) {
+            if(this.failure == null) {
+                this.failure = ioException;
+            }   
+        }   
+    }   
+    
+    /**
+     * Closes the logger and waits for the writer thread (the writing errors are not reported).
+     */
+    private void closeQuietly() {
+        
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.notEmpty.signalAll();
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }   
+        
+        boolean interrupted = false;
+        while(this.writerThread.isAlive()) {
+            try {
+                this.writerThread.join();
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }   
+        }   
+        
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }   
+    }   
+}
@@ -0,0 +1,239 @@
+package com.astesbas.z80.hacker.util;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Output file writer with replace semantics.
+ * The text is written to a temporary file (in the same directory of the target file) through a file
+ * channel and a large direct buffer. The chars are written as ASCII bytes without a charset encoder
+ * (the chars outside the ASCII range are written as '?', as the US-ASCII encoder does).
+ * 
+ * The temporary file is moved to the target file (atomically, if supported by the file system) only when
+ * the writer is committed, so the target file is always replaced by a complete file and the readers never
+ * see a partial output. Closing a writer that was not committed discards the temporary file.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public class AtomicFileWriter extends Writer {
+    
+    /** The default size of the direct byte buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+    
+    /** The maximum number of attempts to create a temporary file with an unused name */
+    private static final int MAX_TEMPORARY_ATTEMPTS = 100;
+    
+    /** The target file path */
+    private final Path path;
+    
+    /** The temporary file path */
+    private final Path temporaryPath;
+    
+    /** The temporary file channel */
+    private final FileChannel channel;
+    
+    /** The byte buffer */
+    private final ByteBuffer buffer;
+    
+    /** The committed flag */
+    private boolean committed = false;
+    
+    /** The closed flag */
+    private boolean closed = false;
+    
+    /**
+     * Creates a writer with the default buffer size.
+     * @param path the target file path
+     * @throws IOException if the temporary file cannot be created
+     */
+    public AtomicFileWriter(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }   
+    
+    /**
+     * Creates a writer.
+     * @param path the target file path
+     * @param bufferSize the size of the direct byte buffer
+     * @throws IOException if the temporary file cannot be created
+     * @throws IllegalArgumentException if the buffer size is not positive
+     */
+    public AtomicFileWriter(Path path, int bufferSize) throws IOException, IllegalArgumentException {
+        
+        if(bufferSize < 1) {
+            throw new IllegalArgumentException(String.format("Invalid output buffer size: %d", bufferSize));
+        }   
+        
+        this.path = path.toAbsolutePath();
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        
+        this.temporaryPath = AtomicFileWriter.createTemporaryFile(this.path);
+        
+        try {
+            this.channel = FileChannel.open(this.temporaryPath, WRITE, TRUNCATE_EXISTING);
+        } catch (IOException ioException) {
+            Files.deleteIfExists(this.temporaryPath);
+            throw ioException;
+        }   
+    }   
+    
+    /**
+     * Return the target file path.
+     * @return the target file path
+     */
+    public Path getPath() {
+        return this.path;
+    }   
+    
+    @Override
+    public void write(int c) throws IOException {
+        this.ensureOpen();
+        if(!this.buffer.hasRemaining()) {
+            this.drain();
+        }   
+        this.buffer.put(AtomicFileWriter.toAscii((char) c));
+    }   
+    
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        this.ensureOpen();
+        for(int index = offset, end = offset + length; index < end;) {
+            if(!this.buffer.hasRemaining()) {
+                this.drain();
+            }   
+            int count = Math.min(end - index, this.buffer.remaining());
+            for(int limit = index + count; index < limit; index++) {
+                this.buffer.put(AtomicFileWriter.toAscii(chars[index]));
+            }   
+        }   
+    }   
+    
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        this.ensureOpen();
+        for(int index = offset, end = offset + length; index < end;) {
+            if(!this.buffer.hasRemaining()) {
+                this.drain();
+            }   
+            int count = Math.min(end - index, this.buffer.remaining());
+            for(int limit = index + count; index < limit; index++) {
+                this.buffer.put(AtomicFileWriter.toAscii(text.charAt(index)));
+            }   
+        }   
+    }   
+    
+    /**
+     * Writes the buffered bytes to the temporary file (the target file is not changed until the commit).
+     */
+    @Override
+    public void flush() throws IOException {
+        this.ensureOpen();
+        this.drain();
+    }   
+    
+    /**
+     * Writes the buffered bytes, closes the temporary file and moves it to the target file (replacing it).
+     * @throws IOException if some writing error occurs or the file cannot be moved (the target file is unchanged)
+     */
+    public void commit() throws IOException {
+        
+        this.ensureOpen();
+        
+        try {
+            this.drain();
+            this.channel.close();
+            try {
+                Files.move(this.temporaryPath, this.path, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(this.temporaryPath, this.path, REPLACE_EXISTING);
+            }   
+            this.committed = true;
+        } finally {
+            this.close();
+        }   
+    }   
+    
+    /**
+     * Closes the writer. The temporary file is discarded if the writer was not committed.
+     */
+    @Override
+    public void close() throws IOException {
+        if(!this.closed) {
+            this.closed = true;
+            try {
+                this.channel.close();
+            } finally {
+                if(!this.committed) {
+                    Files.deleteIfExists(this.temporaryPath);
+                }   
+            }   
+        }   
+    }   
+    
+    /**
+     * Writes the buffered bytes to the file channel and clears the buffer.
+     * @throws IOException if some writing error occurs
+     */
+    private void drain() throws IOException {
+        this.buffer.flip();
+        while(this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }   
+        this.buffer.clear();
+    }   
+    
+    /**
+     * Creates an empty temporary file in the directory of the target file (e.g. ".file.asm.1a2b3c4d.tmp").
+     * The file is created with the default permissions, as the target file would be.
+     * 
+     * @param path the target file path
+     * @return the temporary file path
+     * @throws IOException if the temporary file cannot be created
+     */
+    private static Path createTemporaryFile(Path path) throws IOException {
+        for(int attempt = 1;; attempt++) {
+            Path temporaryPath = path.resolveSibling(String.format(".%s.%08x.tmp",
+                path.getFileName(), ThreadLocalRandom.current().nextInt()));
+            try {
+                return Files.createFile(temporaryPath);
+            } catch (FileAlreadyExistsException exception) {
+                if(attempt == MAX_TEMPORARY_ATTEMPTS) {
+                    throw exception;
+                }   
+            }   
+        }   
+    }   
+    
+    /**
+     * Verify if the writer is open.
+     * @throws IOException if the writer is closed
+     */
+    private void ensureOpen() throws IOException {
+        if(this.closed) {
+            throw new IOException(String.format("The output file %s is closed!", this.path));
+        }   
+    }   
+    
+    /**
+     * Return the ASCII byte of a char (the chars outside the ASCII range are replaced by '?').
+     * @param c the char
+     * @return the ASCII byte
+     */
+    private static byte toAscii(char c) {
+        return (c < 0x80) ? (byte) c:(byte) '?';
+    }   
+}
@@ -22,12 +22,19 @@ public class ConfigFileProperties extends MultiMap<String, String> {
     
     /** The predefined keys for the configuration file */
     public static enum ConfigKey {
-        BINARY_FILE, BINARY_START, BINARY_END,
-        OUTPUT_FILE, LIST_FILE, LOG_FILE, INSTRUCTIONS_FILE,
+        BINARY_FILE, BINARY_OFFSET, BINARY_START, BINARY_END, MAPPER, BANK_PAGE,
+        OUTPUT_FILE, LIST_FILE, LOG_FILE, LOG_LEVEL, INSTRUCTIONS_FILE,
         DB_ALIGN, TAB_SIZE, CODE_LABEL_PREFIX, DATA_LABEL_PREFIX, HEX_FORMAT,
-        UNDOCUMENTED_INSTRUCTIONS, START_ADDRESS, END_ADDRESS, START_OFF, LABEL, EQU;
+        UNDOCUMENTED_INSTRUCTIONS, START_ADDRESS, END_ADDRESS, START_OFF, LABEL, EQU,
+        EXPLORATION_ORDER, DISASSEMBLY_MODE, PARALLEL_TRAVERSAL, PARALLEL_RENDERING, XREF_COMMENTS, CACHE_DIR;
     }   
     
+    /** The keys of the file and directory parameters (see {@link #resolvePaths(java.nio.file.Path)}) */
+    private static final ConfigKey[] PATH_KEYS = {
+        ConfigKey.BINARY_FILE, ConfigKey.OUTPUT_FILE, ConfigKey.LIST_FILE, ConfigKey.LOG_FILE,
+        ConfigKey.INSTRUCTIONS_FILE, ConfigKey.CACHE_DIR
+    };
+    
     /**
      * Loads the parameters from file.
      * 
@@ -78,6 +85,22 @@ public class ConfigFileProperties extends MultiMap<String, String> {
                 }   
             }   
         }   
+    }   
+    
+    /**
+     * Resolves the relative file and directory parameters against the given directory (in general the directory
+     * of the configuration file, so the project does not depend on the current working directory).
+     * 
+     * @param directory the base directory
+     * @throws java.nio.file.InvalidPathException if some parameter is not a valid path
+     */
+    public void resolvePaths(java.nio.file.Path directory) throws java.nio.file.InvalidPathException {
+        for(ConfigKey key:PATH_KEYS) {
+            List<String> values = this.get(key.toString());
+            if(values != null) {
+                values.replaceAll(value -> directory.resolve(value).normalize().toString());
+            }   
+        }   
     }
     
     /**
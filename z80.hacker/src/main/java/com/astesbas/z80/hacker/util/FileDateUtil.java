@@ -1,6 +1,7 @@
 package com.astesbas.z80.hacker.util;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
@@ -42,18 +43,36 @@ public class FileDateUtil {
     }   
     
     /**
-     * Get the Path for the given file name.
+     * Get the Path for the given file name (the existing file is kept).
      * @param fileName the file
      * @return the path for the file name
+     * @throws IllegalArgumentException if the file name is not a valid path
      */
-    public static Path getFilePath(String fileName) {
-        Path path = null;
+    public static Path getPath(String fileName) throws IllegalArgumentException {
+        try {
+            return Paths.get(fileName);
+        } catch (InvalidPathException exception) {
+            throw new IllegalArgumentException(
+                String.format("Error getting path to file: \"%s\"%n\t%s", fileName, exception.getMessage()), exception
+            );  
+        }   
+    }   
+    
+    /**
+     * Get the Path for the given file name (the existing file is deleted).
+     * @param fileName the file
+     * @return the path for the file name
+     * @throws IllegalArgumentException if the file name is not a valid path
+     * @throws UncheckedIOException if the existing file cannot be deleted
+     */
+    public static Path getFilePath(String fileName) throws IllegalArgumentException, UncheckedIOException {
+        Path path = FileDateUtil.getPath(fileName);
         try {
-            path = Paths.get(fileName);
             Files.deleteIfExists(path);
-        } catch (IOException | InvalidPathException exception) {
-            System.err.printf("%nError getting path to file: \"%s\"\n\t%s%n", fileName, exception.getMessage());
-            System.exit(-1);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(
+                String.format("Error getting path to file: \"%s\"%n\t%s", fileName, exception.getMessage()), exception
+            );  
         }   
         return path;
     }   
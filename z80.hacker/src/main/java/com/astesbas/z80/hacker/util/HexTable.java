@@ -0,0 +1,212 @@
+package com.astesbas.z80.hacker.util;
+
+import java.util.IllegalFormatException;
+import java.util.Objects;
+
+/**
+ * Precomputed hexadecimal formatting table.
+ * The table holds the formatted strings of all 16-bit values (the first 256 entries are the byte values)
+ * for a hexadecimal value format (e.g. "0%sH", where %s is replaced by the value digits without leading
+ * zeros), so formatting a byte or word value is a single array lookup. The two-digit representation of
+ * the byte values (e.g. "0A") is kept in a static char table, used to append byte sequences directly to
+ * char arrays or string builders.
+ * The table is immutable and may be shared by any number of threads.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @version 1.0
+ * @since 16/oct/2026
+ */
+public final class HexTable {
+    
+    /** The number of entries in the table (all 16-bit values) */
+    public static final int SIZE = 0x10000;
+    
+    /** The hexadecimal digits */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    
+    /** The two hexadecimal digits of every byte value (high digit at index value*2) */
+    private static final char[] BYTE_DIGITS = new char[512];
+    
+    static {
+        for(int value = 0; value < 256; value++) {
+            BYTE_DIGITS[value << 1] = HEX_DIGITS[value >> 4];
+            BYTE_DIGITS[(value << 1) + 1] = HEX_DIGITS[value & 0x0F];
+        }   
+    }   
+    
+    /** The hexadecimal value format */
+    private final String format;
+    
+    /** The text before the digits in the format */
+    private final String prefix;
+    
+    /** The text after the digits in the format */
+    private final String suffix;
+    
+    /** Flag that indicates that the format contains the digits (%s) */
+    private final boolean hasDigits;
+    
+    /** The formatted strings of all 16-bit values */
+    private final String[] values = new String[SIZE];
+    
+    /**
+     * Creates the hexadecimal table for the given format.
+     * @param format the hexadecimal value format (e.g. "0%sH", "0x%s" or "$%s")
+     * @throws IllegalFormatException if the format is not valid
+     */
+    public HexTable(String format) throws IllegalFormatException {
+        
+        // Split the formatted text at the digits position (marked by a null char)
+        String formatted = String.format(Objects.requireNonNull(format), "\0");
+        int digitsIndex = formatted.indexOf('\0');
+        
+        this.format = format;
+        this.hasDigits = (digitsIndex >= 0);
+        this.prefix = this.hasDigits ? formatted.substring(0, digitsIndex):formatted;
+        this.suffix = this.hasDigits ? formatted.substring(digitsIndex + 1):"";
+        
+        char[] chars = new char[this.prefix.length() + 4 + this.suffix.length()];
+        for(int value = 0; value < SIZE; value++) {
+            this.values[value] = this.build(chars, value);
+        }   
+    }   
+    
+    /**
+     * Return the hexadecimal value format of this table.
+     * @return the format
+     */
+    public String getFormat() {
+        return this.format;
+    }   
+    
+    /**
+     * Return the formatted string of the given value.
+     * The 16-bit values are read from the table, other values are formatted on demand.
+     * 
+     * @param value the integer value
+     * @return the formatted hexadecimal string
+     */
+    public String format(int value) {
+        if(value >= 0 && value < SIZE) {
+            return this.values[value];
+        }   
+        return this.build(new char[this.prefix.length() + 8 + this.suffix.length()], value);
+    }   
+    
+    /**
+     * Return the formatted string of the given byte value.
+     * @param value the byte value (only the lower 8 bits are used)
+     * @return the formatted hexadecimal string
+     */
+    public String formatByte(int value) {
+        return this.values[value & 0xFF];
+    }   
+    
+    /**
+     * Return the formatted string of the given word value.
+     * @param value the word value (only the lower 16 bits are used)
+     * @return the formatted hexadecimal string
+     */
+    public String formatWord(int value) {
+        return this.values[value & 0xFFFF];
+    }   
+    
+    /**
+     * Return the 16-bit value of a string formatted by this table (e.g. 0FD9AH for the format "0%sH").
+     * Only the exact formatted string of a value is accepted (the string "0FD9AH" is parsed, but "00FD9AH"
+     * is not), so the parsed value is formatted back to the same string.
+     * 
+     * @param text the formatted string
+     * @return the value, or -1 if the string is not the formatted string of a 16-bit value
+     */
+    public int parse(String text) {
+        
+        int digitsEnd = text.length() - this.suffix.length();
+        if(!this.hasDigits || digitsEnd - this.prefix.length() > 4
+                || !text.startsWith(this.prefix) || !text.endsWith(this.suffix)) {
+            return -1;
+        }   
+        
+        int value = 0;
+        for(int index = this.prefix.length(); index < digitsEnd; index++) {
+            int digit = Character.digit(text.charAt(index), 16);
+            if(digit < 0) {
+                return -1;
+            }   
+            value = (value << 4) | digit;
+        }   
+        
+        return this.values[value].equals(text) ? value:-1;
+    }   
+    
+    /**
+     * Appends the two hexadecimal digits of a byte value to the string builder (e.g. 0A).
+     * @param builder the string builder
+     * @param value the byte value (only the lower 8 bits are used)
+     * @return the given string builder
+     */
+    public static StringBuilder appendByteDigits(StringBuilder builder, int value) {
+        int index = (value & 0xFF) << 1;
+        return builder.append(BYTE_DIGITS, index, 2);
+    }   
+    
+    /**
+     * Writes the two hexadecimal digits of a byte value to the char array.
+     * @param chars the destination char array
+     * @param offset the position of the first digit in the char array
+     * @param value the byte value (only the lower 8 bits are used)
+     * @return the position after the written digits
+     */
+    public static int appendByteDigits(char[] chars, int offset, int value) {
+        int index = (value & 0xFF) << 1;
+        chars[offset] = BYTE_DIGITS[index];
+        chars[offset + 1] = BYTE_DIGITS[index + 1];
+        return offset + 2;
+    }   
+    
+    /**
+     * Writes the hexadecimal digits of a byte sequence to the char array, each byte followed by the separator
+     * (e.g. "01 AA BB " for bytes {01, AA, BB} and separator " ").
+     * 
+     * @param chars the destination char array (must have room for count*(2+separator length) chars)
+     * @param offset the position of the first digit in the char array
+     * @param bytes the byte array
+     * @param from the index of the first byte
+     * @param count the number of bytes
+     * @param separator the separator written after each byte (may be empty)
+     * @return the position after the written chars
+     */
+    public static int appendBytes(char[] chars, int offset, byte[] bytes, int from, int count, String separator) {
+        int position = offset;
+        int separatorLength = separator.length();
+        for(int index = from; index < from + count; index++) {
+            position = HexTable.appendByteDigits(chars, position, bytes[index]);
+            separator.getChars(0, separatorLength, chars, position);
+            position += separatorLength;
+        }   
+        return position;
+    }   
+    
+    /**
+     * Builds the formatted string of a value (the digits without leading zeros, between prefix and suffix).
+     * @param chars the work char array (large enough for the prefix, the digits and the suffix)
+     * @param value the integer value
+     * @return the formatted string
+     */
+    private String build(char[] chars, int value) {
+        
+        int length = this.prefix.length();
+        this.prefix.getChars(0, length, chars, 0);
+        
+        // The leading zeros are not included (the value zero has no digits)
+        if(this.hasDigits) {
+            for(int shift = (31 - Integer.numberOfLeadingZeros(value)) & ~3; value != 0 && shift >= 0; shift -= 4) {
+                chars[length++] = HEX_DIGITS[(value >>> shift) & 0x0F];
+            }   
+        }   
+        
+        this.suffix.getChars(0, this.suffix.length(), chars, length);
+        return new String(chars, 0, length + this.suffix.length());
+    }   
+}
@@ -1,7 +1,5 @@
 package com.astesbas.z80.hacker.util;
 
-import java.util.Objects;
-
 /**
  * General string utilities.
  * 
@@ -13,18 +11,28 @@ import java.util.Objects;
  */
 public class StringUtil {
     
-    /** The hexadecimal value representation format */
-    private static String hexValueFormat = "0%sH";
+    /** The default hexadecimal value representation format */
+    private static final String DEFAULT_HEX_VALUE_FORMAT = "0%sH";
+    
+    /** The precomputed hexadecimal table of the default format (created at first use) */
+    private static volatile HexTable hexTable = null;
     
     /** Avoid instantiation of this class */
     private StringUtil() {};
     
     /**
-     * Sets the hexadecimal format for byte/word data.
-     * @param hexValueFormat the hexadecimal format to set
+     * Return the precomputed hexadecimal table for the default hexadecimal value format (0%sH).
+     * The output formats are not global: each output writer keeps its own table.
+     * 
+     * @return the hexadecimal table
      */
-    public static void setHexValueFormat(String hexValueFormat) {
-        StringUtil.hexValueFormat = Objects.requireNonNull(hexValueFormat);
+    public static HexTable getHexTable() {
+        HexTable table = StringUtil.hexTable;
+        if(table == null) {
+            table = new HexTable(DEFAULT_HEX_VALUE_FORMAT);
+            StringUtil.hexTable = table;
+        }   
+        return table;
     }   
     
     /**
@@ -139,11 +147,9 @@ public class StringUtil {
      * @return String representation of the byte array in hexadecimal format.
      */
     public static String bytesToHex(byte[] bytes, String separator) {
-        StringBuilder sb = new StringBuilder();
-        for(byte b:bytes) {
-            sb.append(String.format("%02X", b)).append(separator);
-        }   
-        return sb.toString();
+        char[] chars = new char[bytes.length * (2 + separator.length())];
+        HexTable.appendBytes(chars, 0, bytes, 0, bytes.length, separator);
+        return new String(chars);
     }   
     
     /**
@@ -166,7 +172,7 @@ public class StringUtil {
      * @return the string representation of the byte value in hexadecimal
      */
     public static String byteToHexString(byte value) {
-        return StringUtil.intToHexString(value & 0xFF);
+        return StringUtil.getHexTable().formatByte(value);
     }   
     
     /**
@@ -190,7 +196,7 @@ public class StringUtil {
      * @return the string representation of the word value in hexadecimal
      */
     public static String wordToHexString(byte lsb, byte msb) {
-        return StringUtil.intToHexString((lsb & 0xFF) | ((msb << 8) & 0xFFFF));
+        return StringUtil.getHexTable().formatWord((lsb & 0xFF) | ((msb << 8) & 0xFFFF));
     }   
     
     /**
@@ -200,7 +206,29 @@ public class StringUtil {
      * @return the string representation of the word value in hexadecimal
      */
     public static String intToHexString(int value) {
-        String byteString = String.format("%X", value).replaceFirst("^0*", "");
-        return String.format(StringUtil.hexValueFormat, byteString);
+        return StringUtil.getHexTable().format(value);
+    }   
+    
+    /**
+     * Appends the string representation in hexadecimal of an integer (see {@link #intToHexString(int)})
+     * to the string builder. The 16-bit values are read from the precomputed hexadecimal table.
+     * 
+     * @param builder the string builder
+     * @param value the integer value
+     * @return the given string builder
+     */
+    public static StringBuilder appendHexValue(StringBuilder builder, int value) {
+        return builder.append(StringUtil.getHexTable().format(value));
+    }   
+    
+    /**
+     * Appends the two hexadecimal digits of a byte value to the string builder (e.g. 0A).
+     * 
+     * @param builder the string builder
+     * @param value the byte value (only the lower 8 bits are used)
+     * @return the given string builder
+     */
+    public static StringBuilder appendHexByte(StringBuilder builder, int value) {
+        return HexTable.appendByteDigits(builder, value);
     }   
 }   
@@ -18,6 +18,9 @@ public class SystemOut {
     /** The verbose status */
     private static boolean verbose = false;
     
+    /** The output buffer of the current thread (null if the output goes to the system output) */
+    private static final ThreadLocal<StringBuilder> buffer = new ThreadLocal<>();
+    
     /**
      * Sets the verbose status.
      * @param status
@@ -26,13 +29,65 @@ public class SystemOut {
         SystemOut.verbose = status;
     }   
     
+    /**
+     * Keeps the output of the current thread in the given buffer (e.g. the output of a batch project,
+     * printed at once when the project is finished).
+     * @param outputBuffer the output buffer or null to output to the system output
+     */
+    public static void setBuffer(StringBuilder outputBuffer) {
+        if(outputBuffer != null) {
+            buffer.set(outputBuffer);
+        } else {
+            buffer.remove();
+        }   
+    }   
+    
+    /**
+     * Return the output buffer of the current thread (the threads of a task may share the same buffer).
+     * @return the output buffer or null if the output goes to the system output
+     */
+    public static StringBuilder getBuffer() {
+        return buffer.get();
+    }   
+    
+    /**
+     * Output string to output stream (or to the output buffer of the current thread).
+     * @param string
+     */
+    public static <T extends Object> void print(T string) {
+        StringBuilder outputBuffer = buffer.get();
+        if(outputBuffer != null) {
+            synchronized(outputBuffer) {
+                outputBuffer.append(string);
+            }   
+        } else {
+            System.out.print(string);
+        }   
+    }   
+    
+    /**
+     * Output string to output stream (or to the output buffer of the current thread).
+     * @param string
+     */
+    public static <T extends Object> void println(T string) {
+        SystemOut.print(String.valueOf(string) + System.lineSeparator());
+    }   
+    
+    /**
+     * Output string to output stream (or to the output buffer of the current thread).
+     * @param string
+     */
+    public static void printf(String string, Object... args) {
+        SystemOut.print(String.format(string, args));
+    }   
+    
     /**
      * Output string to output stream if verbose is on.
      * @param string
      */
     public static <T extends Object> void vprint(T string) {
         if(verbose) {
-            System.out.print(string);
+            SystemOut.print(string);
         };  
     }   
     
@@ -42,7 +97,7 @@ public class SystemOut {
      */
     public static <T extends Object> void vprintln(T string) {
         if(verbose) {
-            System.out.println(string);
+            SystemOut.println(string);
         };  
     }   
     
@@ -52,7 +107,7 @@ public class SystemOut {
      */
     public static void vprintf(String string, Object... args) {
         if(verbose) {
-            System.out.printf(string, args);
+            SystemOut.printf(string, args);
         };  
     }   
 }
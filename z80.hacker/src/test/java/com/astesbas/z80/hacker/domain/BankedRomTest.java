@@ -0,0 +1,94 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Banked ROM, mapper types and bank-qualified addresses tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class BankedRomTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public BankedRomTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(BankedRomTest.class);
+    }   
+    
+    /**
+     * Tests the bank data windows and the mapper layout.
+     */
+    public void testBankData() {
+        
+        // 5 banks of 8Kb plus a partial bank: every byte holds the bank number
+        byte[] rom = new byte[5 * 0x2000 + 0x100];
+        for(int index = 0; index < rom.length; index++) {
+            rom[index] = (byte) (index / 0x2000);
+        }   
+        
+        BankedRom bankedRom = new BankedRom(ByteBuffer.wrap(rom), MapperType.KONAMI);
+        assertEquals("Wrong number of banks!", 6, bankedRom.getBanksCount());
+        assertEquals("Wrong page of fixed bank 0!", 0x4000, bankedRom.getPageAddress(0));
+        assertEquals("Wrong default page of bank 1!", 0x6000, bankedRom.getPageAddress(1));
+        assertEquals("Wrong default page of bank 4!", 0x6000, bankedRom.getPageAddress(4));
+        assertTrue("Wrong ROM area!", MapperType.KONAMI.isRomAddress(0x4000) && MapperType.ASCII16.isRomAddress(0xBFFF));
+        assertFalse("BIOS address in ROM area!", MapperType.KONAMI.isRomAddress(0x0093));
+        assertFalse("RAM address in ROM area!", MapperType.ASCII16.isRomAddress(0xC000));
+        
+        bankedRom.setPageAddress(3, 0xA000);
+        BinaryData bankData = bankedRom.getBankData(3);
+        assertEquals("Wrong byte before the bank page!", BinaryData.DEFAULT_BYTE_VALUE, bankData.get(0x9FFF));
+        assertEquals("Wrong first byte of bank 3!", 3, bankData.get(0xA000));
+        assertEquals("Wrong last byte of bank 3!", 3, bankData.get(0xBFFF));
+        assertEquals("Wrong byte after the bank page!", BinaryData.DEFAULT_BYTE_VALUE, bankData.get(0xC000));
+        
+        bankData = bankedRom.getBankData(5);
+        assertEquals("Wrong byte of partial bank!", 5, bankData.get(0x80FF));
+        assertEquals("Wrong byte after partial bank!", BinaryData.DEFAULT_BYTE_VALUE, bankData.get(0x8100));
+        
+        try {
+            bankedRom.setPageAddress(1, 0x5000);
+            fail("Page address must be a page of the mapper!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
+    
+    /**
+     * Tests the bank-qualified addresses.
+     */
+    public void testBankAddress() {
+        
+        int bankAddress = BankAddress.parse("3:0x8000", 0);
+        assertEquals("Wrong bank!", 3, BankAddress.getBank(bankAddress));
+        assertEquals("Wrong address!", 0x8000, BankAddress.getAddress(bankAddress));
+        assertEquals("Wrong bank address string!", "3:0x8000", BankAddress.toString(bankAddress));
+        
+        bankAddress = BankAddress.parse("0x4010", 0);
+        assertEquals("Wrong default bank!", 0, BankAddress.getBank(bankAddress));
+        assertEquals("Wrong unqualified address!", 0x4010, BankAddress.getAddress(bankAddress));
+        assertEquals("Wrong packed address!", BankAddress.of(255, 0xFFFF), BankAddress.parse("0xFF : 0xFFFF", 0));
+        
+        try {
+            BankAddress.parse("1:0x10000", 0);
+            fail("Address out of range must not be accepted!");
+        } catch(NumberFormatException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
+}
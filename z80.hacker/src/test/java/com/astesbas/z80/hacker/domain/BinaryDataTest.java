@@ -107,4 +107,38 @@ public class BinaryDataTest extends TestCase {
         assertEquals("Wrong byte at memory position 0x4002!", '$', binaryData.get(0x4002));
         assertTrue("Wrong byte sequence at memory position 0x7FFD!", Arrays.equals(this.tripleX, binaryData.getBytes(0x7FFD, 3)));
     }
+    
+    /**
+     * Tests the binary data loading from a file offset (slice of the binary file).
+     * @throws URISyntaxException
+     * @throws IOException
+     * @throws FileNotFoundException
+     */
+    public void testBinaryDataLoadFromFileOffset() throws URISyntaxException, FileNotFoundException, IOException {
+        
+        // get binary file resource from classpath
+        java.net.URL filePath = BinaryDataTest.class.getResource("/binary-test.bin");
+        java.io.File binaryFile = new java.io.File(filePath.toURI());
+        
+        // load 256 bytes from file offset 0x4000 at memory position 0x0100
+        BinaryData binaryData = BinaryData.fromFile(binaryFile, 0x4000L, 0x0100, 0x01FF);
+        
+        assertEquals("Wrong window length!", 0x100, binaryData.getView().getLength());
+        assertEquals("Wrong byte at memory position 0x00FF!", BinaryData.DEFAULT_BYTE_VALUE, binaryData.get(0x00FF));
+        assertEquals("Wrong byte at memory position 0x0100!", 'A', binaryData.get(0x0100));
+        assertEquals("Wrong byte at memory position 0x0101!", 'B', binaryData.get(0x0101));
+        assertEquals("Wrong byte at memory position 0x0200!", BinaryData.DEFAULT_BYTE_VALUE, binaryData.get(0x0200));
+        
+        // the slice is truncated at the end of file
+        binaryData = BinaryData.fromFile(binaryFile, 0xFFFEL, 0x8000, 0xFFFF);
+        assertEquals("Wrong window length at the end of file!", 2, binaryData.getView().getLength());
+        assertEquals("Wrong byte at memory position 0x8001!", '#', binaryData.get(0x8001));
+        
+        try {
+            BinaryData.fromFile(binaryFile, binaryFile.length() + 1, 0x0000, 0xFFFF);
+            fail("File offset beyond the end of file must not be accepted!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
 }
@@ -0,0 +1,78 @@
+package com.astesbas.z80.hacker.domain;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * BinaryView and BinaryCursor tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class BinaryViewTest extends TestCase {
+    
+    private final byte[] bytes = new byte[] {0x18, (byte) 0xFE, 0x34, 0x12, (byte) 0x80, 0x7F};
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public BinaryViewTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(BinaryViewTest.class);
+    }   
+    
+    /**
+     * Tests the absolute address reads.
+     */
+    public void testAbsoluteReads() {
+        
+        BinaryView view = new BinaryData(this.bytes, 0, this.bytes.length).getView();
+        
+        assertEquals("Wrong view size!", BinaryData.MAX_SIZE, view.getSize());
+        assertEquals("Wrong unsigned byte at 0x0001!", 0xFE, view.readU8(0x0001));
+        assertEquals("Wrong displacement at 0x0001!", -2, view.readDisplacement(0x0001));
+        assertEquals("Wrong displacement at 0x0004!", -128, view.readDisplacement(0x0004));
+        assertEquals("Wrong displacement at 0x0005!", 127, view.readDisplacement(0x0005));
+        assertEquals("Wrong word at 0x0002!", 0x1234, view.readU16LE(0x0002));
+        assertEquals("Wrong word at 0x0001!", 0x34FE, view.readU16LE(0x0001));
+        
+        // The addresses wrap around at the end of binary data
+        assertEquals("Wrong unsigned byte at 0x10001!", 0xFE, view.readU8(0x10001));
+        assertEquals("Wrong word at 0xFFFF!", 0x1800, view.readU16LE(0xFFFF));
+    }   
+    
+    /**
+     * Tests the sequential reads using independent cursors.
+     */
+    public void testCursors() {
+        
+        BinaryData binaryData = new BinaryData(this.bytes, 0, this.bytes.length);
+        BinaryCursor cursor = binaryData.cursor(0x0000);
+        BinaryCursor other = binaryData.cursor(0x0002);
+        
+        assertEquals("Wrong opcode!", 0x18, cursor.readU8());
+        assertEquals("Wrong displacement!", -2, cursor.readDisplacement());
+        assertEquals("Wrong cursor address!", 0x0002, cursor.getAddress());
+        assertEquals("Wrong peek value!", 0x34, cursor.peekU8());
+        assertEquals("Wrong word!", 0x1234, cursor.readU16LE());
+        assertEquals("Wrong cursor address!", 0x0004, cursor.getAddress());
+        
+        // The other cursor is not moved by the reads of the first one
+        assertEquals("Wrong other cursor address!", 0x0002, other.getAddress());
+        assertEquals("Wrong word from other cursor!", 0x1234, other.readU16LE());
+        
+        cursor.setAddress(0xFFFF);
+        cursor.skip(2);
+        assertEquals("Cursor address must wrap around!", 0x0001, cursor.getAddress());
+        assertSame("Cursors must share the binary data view!", binaryData.getView(), other.getView());
+    }   
+}
@@ -0,0 +1,96 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Compiled instructions tables tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class CompiledInstructionsTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * 
+     * @param testName name of the test case
+     */
+    public CompiledInstructionsTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(CompiledInstructionsTest.class);
+    }   
+    
+    /**
+     * Tests that the compiled instructions are the same as the parsed ones and that an out of date
+     * table is rejected.
+     */
+    public void testCompileAndRead() throws IOException {
+        
+        Path directory = Files.createTempDirectory("z80hacker");
+        Path source = directory.resolve("z80-instructions-extended.dat");
+        Path table = directory.resolve(CompiledInstructions.getTableName(source.getFileName().toString()));
+        try {
+            
+            try (InputStream resource = this.getClass().getResourceAsStream(InstructionSetRegistry.DEFAULT_SOURCE)) {
+                Files.copy(resource, source, StandardCopyOption.REPLACE_EXISTING);
+            }   
+            assertEquals("Wrong table name!", "z80-instructions-extended.tbl", table.getFileName().toString());
+            
+            int count = CompiledInstructions.compile(source, table);
+            List<Instruction> parsed = InstructionSet.parse(source.toString(), Files.newInputStream(source));
+            long checksum = CompiledInstructions.checksum(Files.newInputStream(source));
+            List<Instruction> compiled = CompiledInstructions.read(Files.newInputStream(table), checksum);
+            assertEquals("Wrong number of instructions!", parsed.size(), count);
+            assertEquals("Wrong number of instructions!", parsed.size(), compiled.size());
+            
+            for(int index = 0; index < parsed.size(); index++) {
+                Instruction expected = parsed.get(index);
+                Instruction instruction = compiled.get(index);
+                assertEquals("Wrong instruction!", expected, instruction);
+                assertEquals("Wrong definition!", expected.getDefinition(), instruction.getDefinition());
+                assertEquals("Wrong prefix!", expected.getPrefixClass(), instruction.getPrefixClass());
+                assertEquals("Wrong flow type!", expected.getFlowType(), instruction.getFlowType());
+                assertEquals("Wrong flags!", expected.isUndocumented(), instruction.isUndocumented());
+                assertEquals("Wrong flags!", expected.isMemoryWrite(), instruction.isMemoryWrite());
+                assertEquals("Wrong flags!", expected.hasRelativeTarget(), instruction.hasRelativeTarget());
+                
+                // The operands are negative displacements/values (e.g. LD (IX-2),0FEH)
+                String bytes = expected.getByteMask().replace("##", "FE").replace("%%", "FE");
+                byte[] values = new byte[bytes.length() >> 1];
+                for(int offset = 0; offset < values.length; offset++) {
+                    values[offset] = (byte) Integer.parseInt(bytes.substring(offset << 1, (offset << 1) + 2), 16);
+                }   
+                assertTrue("Instruction does not match!", instruction.matches(values));
+                assertEquals("Wrong translation!", expected.translate(values), instruction.translate(values));
+            }   
+            
+            try {
+                CompiledInstructions.read(Files.newInputStream(table), checksum + 1);
+                fail("Out of date table not detected!");
+            } catch (IOException exception) {
+                // expected
+            }   
+        
+        } finally {
+            Files.deleteIfExists(table);
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(directory);
+        }   
+    }   
+}
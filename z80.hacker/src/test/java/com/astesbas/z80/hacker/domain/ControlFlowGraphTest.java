@@ -0,0 +1,104 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Control flow graph tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class ControlFlowGraphTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public ControlFlowGraphTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(ControlFlowGraphTest.class);
+    }   
+    
+    /**
+     * Tests the blocks and edges of a small program with calls, conditional and unconditional jumps,
+     * conditional return, indexed jump and a data byte between code regions.
+     */
+    public void testBuild() {
+        
+        byte[] bytes = new byte[0x20];
+        bytes[0x00] = (byte) 0xCD; bytes[0x01] = 0x10; bytes[0x02] = 0x00;      // CALL 0010H
+        bytes[0x03] = (byte) 0xCA; bytes[0x04] = 0x09; bytes[0x05] = 0x00;      // JP Z,0009H
+        bytes[0x06] = 0x18; bytes[0x07] = 0x04;                                 // JR 000CH
+        bytes[0x08] = (byte) 0xFF;                                              // DB FFH
+        bytes[0x09] = 0x00;                                                     // NOP
+        bytes[0x0A] = 0x00;                                                     // NOP
+        bytes[0x0B] = (byte) 0xC0;                                              // RET NZ
+        bytes[0x0C] = (byte) 0xE9;                                              // JP (HL)
+        bytes[0x10] = 0x00;                                                     // NOP
+        bytes[0x11] = (byte) 0xC9;                                              // RET
+        
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setStartAddress(0x0000);
+        decoder.setEndAddress(0x001F);
+        Instruction call = new Instruction("CD####", "CALL ####");
+        Instruction jpZ = new Instruction("CA####", "JP Z,####");
+        Instruction jr = new Instruction("18%%", "JR %%");
+        Instruction nop = new Instruction("00", "NOP");
+        Instruction retNz = new Instruction("C0", "RET NZ");
+        Instruction jpHl = new Instruction("E9", "JP (HL)");
+        Instruction ret = new Instruction("C9", "RET");
+        decoder.setInstructionSet(new InstructionSet("test", Arrays.asList(call, jpZ, jr, nop, retNz, jpHl, ret), false));
+        decoder.setInstruction(0x00, call);
+        decoder.setInstruction(0x03, jpZ);
+        decoder.setInstruction(0x06, jr);
+        decoder.setInstruction(0x09, nop);
+        decoder.setInstruction(0x0A, nop);
+        decoder.setInstruction(0x0B, retNz);
+        decoder.setInstruction(0x0C, jpHl);
+        decoder.setInstruction(0x10, nop);
+        decoder.setInstruction(0x11, ret);
+        
+        ControlFlowGraph graph = ControlFlowGraph.build(decoder);
+        
+        int[][] bounds = {{0x00, 0x06}, {0x06, 0x08}, {0x09, 0x0C}, {0x0C, 0x0D}, {0x10, 0x12}};
+        assertEquals("Wrong number of blocks!", bounds.length, graph.getBlocksCount());
+        for(int block = 0; block < bounds.length; block++) {
+            assertEquals("Wrong block start!", bounds[block][0], graph.getStart(block));
+            assertEquals("Wrong block end!", bounds[block][1], graph.getEnd(block));
+        }   
+        assertEquals("Wrong last instruction!", 0x03, graph.getLastInstruction(0));
+        
+        // JP Z: target and fall-through; JR: target; RET NZ: fall-through; JP (HL) and RET: none
+        int[][] successors = {{2, 1}, {3}, {3}, {}, {}};
+        for(int block = 0; block < successors.length; block++) {
+            assertEquals("Wrong number of successors!", successors[block].length, graph.getSuccessorsCount(block));
+            for(int index = 0; index < successors[block].length; index++) {
+                int edge = graph.getSuccessorsStart(block) + index;
+                assertEquals("Wrong successor!", successors[block][index], graph.getEdgeTarget(edge));
+            }   
+        }   
+        assertEquals("Wrong number of edges!", 4, graph.getEdgesCount());
+        
+        assertEquals("Wrong number of predecessors!", 0, graph.getPredecessorsCount(0));
+        assertEquals("Wrong number of predecessors!", 2, graph.getPredecessorsCount(3));
+        assertEquals("Wrong predecessor!", 1, graph.getEdgeSource(graph.getPredecessorsStart(3)));
+        assertEquals("Wrong predecessor!", 2, graph.getEdgeSource(graph.getPredecessorsStart(3) + 1));
+        assertEquals("Wrong number of predecessors!", 0, graph.getPredecessorsCount(4));
+        
+        assertEquals("Wrong block for 0x0004!", 0, graph.findBlock(0x04));
+        assertEquals("Wrong block for 0x000A!", 2, graph.findBlock(0x0A));
+        assertEquals("Data byte must not be in a block!", -1, graph.findBlock(0x08));
+        assertEquals("Data byte must not be in a block!", -1, graph.findBlock(0x1F));
+    }   
+}
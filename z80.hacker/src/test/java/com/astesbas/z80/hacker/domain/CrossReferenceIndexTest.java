@@ -0,0 +1,88 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Cross-reference index tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class CrossReferenceIndexTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public CrossReferenceIndexTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(CrossReferenceIndexTest.class);
+    }   
+    
+    /**
+     * Tests the references of each kind and the order of the referrers of a target address.
+     */
+    public void testBuild() {
+        
+        byte[] bytes = new byte[0x20];
+        bytes[0x00] = (byte) 0xCD; bytes[0x01] = 0x10; bytes[0x02] = 0x00;      // CALL 0010H
+        bytes[0x03] = 0x3A; bytes[0x04] = 0x18; bytes[0x05] = 0x00;             // LD A,(0018H)
+        bytes[0x06] = 0x32; bytes[0x07] = 0x18; bytes[0x08] = 0x00;             // LD (0018H),A
+        bytes[0x09] = 0x21; bytes[0x0A] = 0x18; bytes[0x0B] = 0x00;             // LD HL,0018H
+        bytes[0x0C] = 0x18; bytes[0x0D] = 0x02;                                 // JR 0010H
+        bytes[0x0E] = (byte) 0xE9;                                              // JP (HL)
+        bytes[0x10] = (byte) 0xC7;                                              // RST 00H
+        bytes[0x11] = (byte) 0xC3; bytes[0x12] = 0x10; bytes[0x13] = 0x00;      // JP 0010H
+        
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setStartAddress(0x0000);
+        decoder.setEndAddress(0x001F);
+        Instruction[] instructions = {
+            new Instruction("CD####", "CALL ####"),
+            new Instruction("3A####", "LD A,(####)", "MEMORY"),
+            new Instruction("32####", "LD (####),A", "MEMORY"),
+            new Instruction("21####", "LD HL,####"),
+            new Instruction("18%%", "JR %%"),
+            new Instruction("E9", "JP (HL)"),
+            new Instruction("C7", "RST 00H"),
+            new Instruction("C3####", "JP ####")
+        };
+        int[] addresses = {0x00, 0x03, 0x06, 0x09, 0x0C, 0x0E, 0x10, 0x11};
+        decoder.setInstructionSet(new InstructionSet("test", Arrays.asList(instructions), false));
+        for(int index = 0; index < instructions.length; index++) {
+            decoder.setInstruction(addresses[index], instructions[index]);
+        }   
+        
+        CrossReferenceIndex xrefs = CrossReferenceIndex.build(decoder);
+        assertEquals("Wrong number of references!", 7, xrefs.getReferencesCount());
+        
+        int[] referrers = {0x00, 0x0C, 0x11};
+        ReferenceKind[] kinds = {ReferenceKind.CALL, ReferenceKind.RELATIVE_JUMP, ReferenceKind.JUMP};
+        assertEquals("Wrong number of references to 0x0010!", referrers.length, xrefs.getReferencesCount(0x10));
+        for(int index = 0; index < referrers.length; index++) {
+            assertEquals("Wrong referrer!", referrers[index], xrefs.getReferrer(xrefs.getReferencesStart(0x10) + index));
+            assertEquals("Wrong reference kind!", kinds[index], xrefs.getKind(xrefs.getReferencesStart(0x10) + index));
+        }   
+        
+        int start = xrefs.getReferencesStart(0x18);
+        assertEquals("Wrong number of references to 0x0018!", 3, xrefs.getReferencesCount(0x18));
+        assertEquals("Wrong reference kind!", ReferenceKind.READ, xrefs.getKind(start));
+        assertEquals("Wrong reference kind!", ReferenceKind.WRITE, xrefs.getKind(start + 1));
+        assertEquals("Wrong reference kind!", ReferenceKind.POINTER, xrefs.getKind(start + 2));
+        
+        assertEquals("Wrong restart reference!", ReferenceKind.CALL, xrefs.getKind(xrefs.getReferencesStart(0x00)));
+        assertEquals("Unexpected reference!", 0, xrefs.getReferencesCount(0x0E));
+        assertEquals("Unexpected reference!", 0, xrefs.getReferencesCount(0x10000));
+    }   
+}
@@ -0,0 +1,193 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Decoder tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class DecoderTest extends TestCase {
+    
+    private final Instruction nop = new Instruction("00", "NOP");
+    private final Instruction ldBc = new Instruction("01####", "LD BC,####");
+    private final InstructionSet instructionSet = new InstructionSet("test", Arrays.asList(this.nop, this.ldBc), false);
+    
+    /**
+     * Create the test case
+     * 
+     * @param testName name of the test case
+     */
+    public DecoderTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(DecoderTest.class);
+    }   
+    
+    /**
+     * Tests the decode state after setting instructions.
+     */
+    public void testSetInstruction() {
+        
+        byte[] bytes = new byte[] {0x00, 0x01, 0x55, (byte) 0xAA, 0x00};
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setInstructionSet(this.instructionSet);
+        
+        assertTrue("Byte at 0x0000 must be a data byte!", decoder.isDbByte(0));
+        assertTrue("Range at 0x0000 must be available!", decoder.isAvailable(0, 5));
+        
+        decoder.setInstruction(0, this.nop);
+        decoder.setInstruction(1, this.ldBc);
+        
+        assertTrue("Byte at 0x0000 must be an opcode!", decoder.isOpcodeByte(0));
+        assertTrue("Byte at 0x0001 must be an opcode!", decoder.isOpcodeByte(1));
+        assertTrue("Byte at 0x0002 must be a parameter!", decoder.isParameterByte(2));
+        assertTrue("Byte at 0x0003 must be a parameter!", decoder.isParameterByte(3));
+        assertTrue("Byte at 0x0004 must be a data byte!", decoder.isDbByte(4));
+        
+        assertEquals("Wrong instruction at 0x0000!", this.nop, decoder.getInstruction(0));
+        assertEquals("Wrong instruction at 0x0001!", this.ldBc, decoder.getInstruction(1));
+        assertEquals("Wrong instruction at 0x0003!", Instruction.PARAMTER, decoder.getInstruction(3));
+        assertEquals("Wrong instruction at 0x0004!", Instruction.DB_BYTE, decoder.getInstruction(4));
+        
+        assertEquals("Wrong start address for 0x0001!", 1, decoder.getStartAddressOfInstructionAt(1));
+        assertEquals("Wrong start address for 0x0003!", 1, decoder.getStartAddressOfInstructionAt(3));
+        
+        assertFalse("Range at 0x0003 must not be available!", decoder.isAvailable(3, 2));
+        assertTrue("Range at 0x0004 must be available!", decoder.isAvailable(4, 1));
+        assertFalse("Range beyond the end of binary data must not be available!",
+                decoder.isAvailable(BinaryData.END_ADDRESS, 2));
+    }   
+    
+    /**
+     * Tests setting an instruction over an already decoded instruction.
+     */
+    public void testOverlappingInstruction() {
+        
+        byte[] bytes = new byte[] {0x01, 0x01, 0x00, 0x00};
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setInstructionSet(this.instructionSet);
+        decoder.setInstruction(0, this.ldBc);
+        
+        try {
+            decoder.setInstruction(1, this.ldBc);
+            fail("Overlapping instruction must not be set!");
+        } catch(IllegalArgumentException exception) {
+            assertTrue("Byte at 0x0001 must be a parameter!", decoder.isParameterByte(1));
+        }   
+    }   
+    
+    /**
+     * Tests that the byte states are the coverage map state and that only data bytes are marked as data.
+     */
+    public void testMarkData() {
+        
+        byte[] bytes = new byte[] {0x01, 0x55, (byte) 0xAA, 0x00};
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setInstructionSet(this.instructionSet);
+        decoder.setInstruction(0, this.ldBc);
+        decoder.markData(3);
+        
+        CoverageMap coverageMap = decoder.getCoverageMap();
+        for(int address = 0; address < bytes.length; address++) {
+            assertEquals("Wrong opcode state!", coverageMap.isCodeStart(address), decoder.isOpcodeByte(address));
+            assertEquals("Wrong parameter state!", coverageMap.isOperand(address), decoder.isParameterByte(address));
+            assertEquals("Wrong data byte state!", !coverageMap.isDecoded(address), decoder.isDbByte(address));
+        }   
+        assertTrue("Missing data mark!", coverageMap.isData(3));
+        
+        try {
+            decoder.markData(2);
+            fail("Parameter byte must not be marked as data!");
+        } catch(IllegalArgumentException exception) {
+            assertFalse("Parameter byte marked as data!", coverageMap.isData(2));
+        }   
+    }   
+    
+    /**
+     * Tests the coverage map snapshots (detached copies) and the merge of coverage maps.
+     */
+    public void testCoverageSnapshot() {
+        
+        byte[] bytes = new byte[] {0x01, 0x55, (byte) 0xAA, 0x00, 0x01, 0x00, 0x00};
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setInstructionSet(this.instructionSet);
+        decoder.setInstruction(0, this.ldBc);
+        CoverageMap snapshot = decoder.getCoverageMap().snapshot();
+        
+        Decoder other = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        other.setInstructionSet(this.instructionSet);
+        other.setInstruction(0, this.ldBc);
+        other.setInstruction(3, this.nop);
+        other.markData(6);
+        decoder.setInstruction(4, this.ldBc);
+        assertFalse("The snapshot must not be changed by the decoder!", snapshot.isCodeStart(4));
+        
+        snapshot.merge(other.getCoverageMap());
+        assertEquals("Wrong number of merged instructions!", 2, snapshot.getInstructionsCount());
+        assertTrue("Missing merged instruction!", snapshot.isCodeStart(3));
+        assertTrue("Missing merged data!", snapshot.isData(6));
+        assertEquals("Wrong number of merged bytes!", 4, snapshot.getDecodedCount());
+        
+        // LD BC,#### at 0x0004 over the data byte 0x0006 and LD BC,#### at 0x0003 over NOP
+        byte[] overlappingBytes = Arrays.copyOf(bytes, bytes.length);
+        overlappingBytes[3] = 0x01;
+        Decoder overlapping = new Decoder(new BinaryData(overlappingBytes, 0, bytes.length));
+        overlapping.setInstructionSet(this.instructionSet);
+        overlapping.setInstruction(3, this.ldBc);
+        for(CoverageMap coverageMap:new CoverageMap[] {decoder.getCoverageMap(), overlapping.getCoverageMap()}) {
+            try {
+                snapshot.merge(coverageMap);
+                fail("Overlapping instructions merged!");
+            } catch(IllegalArgumentException exception) {
+                assertFalse("The snapshot must not be changed!", snapshot.isDecoded(5));
+            }   
+        }   
+        
+        try {
+            decoder.getCoverageMap().merge(snapshot);
+            fail("The coverage map of a decoder must not be merged!");
+        } catch(IllegalStateException exception) {
+            assertFalse("The decoder must not be changed!", decoder.isOpcodeByte(3));
+        }   
+    }   
+    
+    /**
+     * Tests that the decoded instructions are kept by their ids in the instruction set.
+     */
+    public void testInstructionIds() {
+        
+        byte[] bytes = new byte[] {0x00, 0x01, 0x00, 0x00};
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setInstructionSet(this.instructionSet);
+        assertEquals("Wrong instruction id!", 1, this.instructionSet.getId(this.ldBc));
+        assertSame("Wrong instruction!", this.ldBc, this.instructionSet.getInstruction(1));
+        
+        try {
+            decoder.setInstruction(0, new Instruction("00", "NOP"));
+            fail("Instruction of other instruction set must not be set!");
+        } catch(IllegalArgumentException exception) {
+            assertTrue("Byte at 0x0000 must be a data byte!", decoder.isDbByte(0));
+        }   
+        
+        decoder.setInstruction(1, this.ldBc);
+        assertSame("Wrong instruction at 0x0001!", this.ldBc, decoder.getInstruction(1));
+        try {
+            decoder.setInstructionSet(InstructionSet.EMPTY);
+            fail("The instruction set must not be changed after decoding!");
+        } catch(IllegalStateException exception) {
+            assertSame("Wrong instruction set!", this.instructionSet, decoder.getInstructionSet());
+        }   
+    }   
+}
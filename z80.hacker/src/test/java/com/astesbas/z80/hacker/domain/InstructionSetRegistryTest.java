@@ -0,0 +1,96 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Instruction set registry tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class InstructionSetRegistryTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * 
+     * @param testName name of the test case
+     */
+    public InstructionSetRegistryTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(InstructionSetRegistryTest.class);
+    }   
+    
+    /**
+     * Tests that the built-in instruction sets are loaded once (also by concurrent requests).
+     */
+    public void testDefaultInstructionSets() throws Exception {
+        
+        InstructionSet documented = InstructionSetRegistry.getDefault(false);
+        InstructionSet undocumented = InstructionSetRegistry.getDefault(true);
+        assertSame("Instruction set loaded twice!", documented, InstructionSetRegistry.get(null, false));
+        assertSame("Instruction set loaded twice!", undocumented, InstructionSetRegistry.get("", true));
+        assertNotSame("Undocumented flag not in key!", documented, undocumented);
+        assertTrue("Undocumented instructions not loaded!", undocumented.size() > documented.size());
+        assertEquals("Wrong source!", InstructionSetRegistry.DEFAULT_SOURCE, documented.getSource());
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<InstructionSet>> futures = new ArrayList<>();
+            for(int index = 0; index < 16; index++) {
+                boolean flag = (index % 2 == 0);
+                futures.add(executor.submit(() -> InstructionSetRegistry.getDefault(flag)));
+            }   
+            for(int index = 0; index < futures.size(); index++) {
+                assertSame("Instruction set loaded twice!", (index % 2 == 0) ? undocumented:documented, futures.get(index).get());
+            }   
+        } finally {
+            executor.shutdownNow();
+        }   
+    }   
+    
+    /**
+     * Tests the custom instructions files (the missing files are not kept in the registry).
+     */
+    public void testInstructionsFile() throws IOException {
+        
+        Path file = Files.createTempFile("z80hacker", ".dat");
+        try {
+            
+            Files.write(file, "' custom instructions\n00:NOP\n76:HALT\n".getBytes(StandardCharsets.US_ASCII));
+            InstructionSet instructionSet = InstructionSetRegistry.get(file.toString(), false);
+            assertSame("Instruction set loaded twice!", instructionSet, InstructionSetRegistry.get(file.toString(), false));
+            assertEquals("Wrong number of instructions!", 2, instructionSet.size());
+            assertEquals("Wrong source!", file.toAbsolutePath().normalize().toString(), instructionSet.getSource());
+            
+            Files.delete(file);
+            try {
+                InstructionSetRegistry.get(file.toString(), false);
+                fail("Missing instructions file not detected!");
+            } catch (IOException exception) {
+                // expected
+            }   
+        
+        } finally {
+            Files.deleteIfExists(file);
+        }   
+    }   
+}
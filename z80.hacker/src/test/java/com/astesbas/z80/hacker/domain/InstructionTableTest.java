@@ -0,0 +1,105 @@
+package com.astesbas.z80.hacker.domain;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Instruction dispatch table tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class InstructionTableTest extends TestCase {
+    
+    private final Instruction nop = new Instruction("00", "NOP");
+    private final Instruction ldBc = new Instruction("01####", "LD BC,####");
+    private final Instruction rlcB = new Instruction("CB00", "RLC B");
+    private final Instruction neg = new Instruction("ED44", "NEG");
+    private final Instruction ldIx = new Instruction("DD36%%##", "LD (IX+%%),##");
+    private final Instruction ldIy = new Instruction("FD36%%##", "LD (IY+%%),##");
+    private final Instruction rlcIx = new Instruction("DDCB%%06", "RLC (IX+%%)");
+    private final Instruction rlcIy = new Instruction("FDCB%%06", "RLC (IY+%%)");
+    
+    /**
+     * Create the test case
+     * 
+     * @param testName name of the test case
+     */
+    public InstructionTableTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(InstructionTableTest.class);
+    }   
+    
+    /**
+     * Tests the instruction lookup for every prefix group.
+     */
+    public void testFindInstruction() {
+        
+        InstructionTable table = new InstructionTable(
+            Arrays.asList(this.nop, this.ldBc, this.rlcB, this.neg, this.ldIx, this.ldIy, this.rlcIx, this.rlcIy)
+        );  
+        assertEquals("Wrong number of instructions in table!", 8, table.size());
+        
+        byte[] bytes = new byte[] {
+            0x00,                                       // 0x0000: NOP
+            0x01, 0x34, 0x12,                           // 0x0001: LD BC,1234H
+            (byte) 0xCB, 0x00,                          // 0x0004: RLC B
+            (byte) 0xED, 0x44,                          // 0x0006: NEG
+            (byte) 0xDD, 0x36, 0x05, 0x22,              // 0x0008: LD (IX+5),22H
+            (byte) 0xFD, 0x36, 0x05, 0x22,              // 0x000C: LD (IY+5),22H
+            (byte) 0xDD, (byte) 0xCB, 0x05, 0x06,       // 0x0010: RLC (IX+5)
+            (byte) 0xFD, (byte) 0xCB, (byte) 0xFB, 0x06,// 0x0014: RLC (IY-5)
+            (byte) 0xED, 0x00,                          // 0x0018: invalid ED instruction
+            (byte) 0xDD, (byte) 0xCB, 0x05, 0x07        // 0x001A: not mapped DDCB instruction
+        };
+        BinaryData binaryData = new BinaryData(bytes, 0, bytes.length);
+        
+        assertEquals("Wrong instruction at 0x0000!", this.nop, table.find(binaryData, 0x0000));
+        assertEquals("Wrong instruction at 0x0001!", this.ldBc, table.find(binaryData, 0x0001));
+        assertEquals("Wrong instruction at 0x0004!", this.rlcB, table.find(binaryData, 0x0004));
+        assertEquals("Wrong instruction at 0x0006!", this.neg, table.find(binaryData, 0x0006));
+        assertEquals("Wrong instruction at 0x0008!", this.ldIx, table.find(binaryData, 0x0008));
+        assertEquals("Wrong instruction at 0x000C!", this.ldIy, table.find(binaryData, 0x000C));
+        assertEquals("Wrong instruction at 0x0010!", this.rlcIx, table.find(binaryData, 0x0010));
+        assertEquals("Wrong instruction at 0x0014!", this.rlcIy, table.find(binaryData, 0x0014));
+        assertNull("Wrong instruction at 0x0018!", table.find(binaryData, 0x0018));
+        assertNull("Wrong instruction at 0x001A!", table.find(binaryData, 0x001A));
+        assertNull("Wrong instruction at 0x0002!", table.find(binaryData, 0x0002));
+    }   
+    
+    /**
+     * Tests that the first instruction mapped to an opcode is kept.
+     */
+    public void testDuplicatedOpcode() {
+        
+        Instruction retn = new Instruction("ED45", "RETN");
+        Instruction retnUndocumented = new Instruction("ED45", "RETN *");
+        InstructionTable table = new InstructionTable(Arrays.asList(retn, retnUndocumented));
+        
+        BinaryData binaryData = new BinaryData(new byte[] {(byte) 0xED, 0x45}, 0, 2);
+        assertEquals("Wrong number of instructions in table!", 1, table.size());
+        assertSame("Wrong instruction for duplicated opcode!", retn, table.find(binaryData, 0));
+    }   
+    
+    /**
+     * Tests the table construction for an instruction with a wild card in the opcode position.
+     */
+    public void testInvalidOpcode() {
+        try {
+            new InstructionTable(Arrays.asList(new Instruction("DD##", "INVALID")));
+            fail("Instruction with wild card opcode must not be mapped!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
+}
@@ -80,6 +80,30 @@ public class InstructionsTest extends TestCase {
     	assertTrue("Wrong validation of LD (IX+%%),## instruction!", !ldIx.matches("DD36112233"));
     	assertTrue("Wrong validation of LD (IX+%%),## instruction!", !ldIx.matches(new byte[] {(byte) 0xDD, 0x36}));
     	assertTrue("Wrong validation of LD (IX+%%),## instruction!", !ldIx.matches(new byte[] {(byte) 0xDD, 0x36, 0x55}));
+    }   
+    
+    /**
+     * Tests the instruction matches() method reading bytes directly from binary data.
+     */
+    public void testBinaryDataMatch() {
+        
+        byte[] bytes = new byte[] {0x00, 0x01, 0x44, (byte) 0xFF, (byte) 0xDD, 0x36, (byte) 0xFB, 0x22, 0x10};
+        BinaryData binaryData = new BinaryData(bytes, 0, bytes.length);
+        
+        Instruction nop = new Instruction("00", "NOP");
+        assertTrue("Error validating NOP instruction at 0x0000!", nop.matches(binaryData, 0));
+        assertTrue("Wrong validation of NOP instruction at 0x0001!", !nop.matches(binaryData, 1));
+        
+        Instruction ldBc = new Instruction("01####", "LD BC,####");
+        assertTrue("Error validating LD BC,#### instruction at 0x0001!", ldBc.matches(binaryData, 1));
+        assertTrue("Wrong validation of LD BC,#### instruction at 0x0000!", !ldBc.matches(binaryData, 0));
+        
+        Instruction ldIx = new Instruction("DD36%%##", "LD (IX+%%),##");
+        assertTrue("Error validating LD (IX+%%),## instruction at 0x0004!", ldIx.matches(binaryData, 4));
+        assertTrue("Wrong validation of LD (IX+%%),## instruction at 0x0005!", !ldIx.matches(binaryData, 5));
+        
+        Instruction djnz = new Instruction("10%%", "DJNZ %%");
+        assertTrue("Error validating DJNZ instruction at 0x0008!", djnz.matches(binaryData, 8));
     }	
     
     /**
@@ -147,6 +171,89 @@ public class InstructionsTest extends TestCase {
         assertEquals("Error translating DD 36 55 BB instruction (LD (IX+HTMI),0BBH)!", "LD (IX+HTMI),0BBH", ldIxMnemonic3);
     }   
     
+    /**
+     * Tests the Instruction appendTo() method (rendering into a reused string builder).
+     */
+    public void testAppendTo() {
+        
+        byte[] bytes = new byte[] {0x01, 0x44, (byte) 0xFF, (byte) 0xDD, 0x36, (byte) 0xFB, 0x22, (byte) 0xDD, 0x35, 0x05};
+        BinaryView view = new BinaryData(bytes, 0, bytes.length).getView();
+        StringBuilder builder = new StringBuilder();
+        
+        Instruction ldBc = new Instruction("01####", "LD BC,####");
+        assertEquals("Error rendering LD BC,0FF44H!", "LD BC,0FF44H", ldBc.appendTo(builder, view, 0, "").toString());
+        
+        Instruction ldIx = new Instruction("DD36%%##", "LD (IX+%%),##");
+        builder.setLength(0);
+        ldIx.appendTo(builder, view, 3, "");
+        assertEquals("Error rendering LD (IX-5),022H!", "LD (IX-5),022H", builder.toString());
+        builder.setLength(0);
+        ldIx.appendTo(builder, view, 3, "OFFSET");
+        assertEquals("Error rendering LD (IX+OFFSET),022H!", "LD (IX+OFFSET),022H", builder.toString());
+        
+        Instruction decIx = new Instruction("DD35%%", "DEC (IX+%%)*");
+        builder.setLength(0);
+        decIx.appendTo(builder, view, 7, "");
+        assertEquals("Error rendering undocumented instruction!", "DEC (IX+5) ; byte sequence: DD, 35, 05, ", builder.toString());
+        assertEquals("Wrong translation of undocumented instruction!", builder.toString(),
+            decIx.translate(new byte[] {(byte) 0xDD, 0x35, 0x05}));
+        
+        try {
+            new Instruction("01##", "LD %%,##,##");
+            fail("Instruction with more operands than parameters must not be created!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
+    
+    /**
+     * Tests the control flow metadata (inferred from the mnemonic or given by the flow attributes).
+     */
+    public void testFlowMetadata() {
+        
+        byte[] bytes = new byte[] {(byte) 0xC2, 0x34, 0x12, 0x18, (byte) 0xFB, (byte) 0xFF};
+        BinaryView view = new BinaryData(bytes, 0, bytes.length).getView();
+        
+        Instruction jpNz = new Instruction("C2####", "JP NZ,####");
+        assertEquals("Wrong JP NZ flow!", FlowType.JUMP, jpNz.getFlowType());
+        assertTrue("JP NZ must be conditional!", jpNz.isConditional());
+        assertEquals("Wrong JP NZ target!", 0x1234, jpNz.getTargetAddress(view, 0));
+        
+        Instruction jr = new Instruction("18%%", "JR %%");
+        assertFalse("JR must not be conditional!", jr.isConditional());
+        assertTrue("JR must have relative target!", jr.hasRelativeTarget());
+        assertEquals("Wrong JR target!", 0x0000, jr.getTargetAddress(view, 3));
+        
+        Instruction rst = new Instruction("FF", "RST 38H");
+        assertEquals("Wrong RST flow!", FlowType.CALL, rst.getFlowType());
+        assertEquals("Wrong RST target!", 0x0038, rst.getTargetAddress(view, 5));
+        
+        assertTrue("RET NZ must be conditional!", new Instruction("C0", "RET NZ").isConditional());
+        assertEquals("Wrong RETI flow!", FlowType.RETURN, new Instruction("ED4D", "RETI").getFlowType());
+        assertEquals("Wrong JP (HL) flow!", FlowType.INDIRECT_JUMP, new Instruction("E9", "JP (HL)").getFlowType());
+        assertFalse("JP (HL) must not have target!", new Instruction("E9", "JP (HL)").hasTarget());
+        assertTrue("Wrong memory reference!", new Instruction("3A####", "LD A,(####)").isMemoryReference());
+        assertFalse("Wrong memory reference!", new Instruction("21####", "LD HL,####").isMemoryReference());
+        assertEquals("Wrong LD flow!", FlowType.NONE, new Instruction("21####", "LD HL,####").getFlowType());
+        
+        Instruction djnz = new Instruction("10%%", "DJNZ %%", "JUMP CONDITIONAL");
+        assertTrue("DJNZ must be conditional!", djnz.isConditional());
+        assertEquals("Wrong inferred attributes!", "JUMP CONDITIONAL", Instruction.inferFlowAttributes("DJNZ %%"));
+        
+        try {
+            new Instruction("00", "NOP", "JUMP");
+            fail("Jump without target must not be created!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+        try {
+            new Instruction("C3####", "JP ####", "GOTO");
+            fail("Invalid flow attribute must not be accepted!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
+    
     /**
      * Test OpCode.bytesToHex() for valid entries. 
      */
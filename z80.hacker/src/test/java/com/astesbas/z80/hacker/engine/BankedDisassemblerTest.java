@@ -0,0 +1,139 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.astesbas.z80.hacker.domain.BankedRom;
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Banked ROM disassembler tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class BankedDisassemblerTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public BankedDisassemblerTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(BankedDisassemblerTest.class);
+    }   
+    
+    /**
+     * Tests the calls from a switched bank into the fixed bank (disassembled in a new round) and into the
+     * page of other switched bank (unknown bank, logged as warning).
+     */
+    public void testCallIntoFixedBank() throws IOException {
+        
+        // Konami mapper: bank 0 fixed at 0x4000, bank 1 at 0x6000
+        byte[] rom = new byte[4 * 0x2000];
+        BankedDisassemblerTest.put(rom, 0x0000, 0xC9);                                  // 0:4000H RET
+        BankedDisassemblerTest.put(rom, 0x0010, 0x3E, 0x5A, 0xC9);                      // 0:4010H LD A,5AH / RET
+        BankedDisassemblerTest.put(rom, 0x2000, 0xCD, 0x10, 0x40, 0xCD, 0x00, 0x80, 0xC9);  // 1:6000H CALL 4010H / CALL 8000H / RET
+        
+        Path directory = Files.createTempDirectory("z80hacker");
+        try {
+            
+            BankedDisassembler disassembler = BankedDisassemblerTest.disassemble(directory, rom,
+                "MAPPER: KONAMI\nSTART_OFF: 0x4000\nSTART_OFF: 1:0x6000\n");
+            
+            String source = new String(Files.readAllBytes(directory.resolve("rom.asm")), StandardCharsets.US_ASCII);
+            String log = new String(Files.readAllBytes(directory.resolve("rom.log")), StandardCharsets.US_ASCII);
+            assertTrue("The fixed bank routine must be decoded!", source.contains("LD A,05AH"));
+            assertTrue("Missing fixed bank round!", log.contains("Bank 0 (page 0x4000, round 2)"));
+            assertTrue("Missing warning of the unknown bank target!",
+                log.contains("Warning: Call/jump target 0x8000 of bank 1 is outside the fixed banks pages!"));
+            assertTrue("Missing warnings flag!", disassembler.hasWarnings());
+        
+        } finally {
+            BankedDisassemblerTest.delete(directory);
+        }   
+    }   
+    
+    /**
+     * Tests that the targets outside the mapper pages (BIOS calls, RST vectors and RAM hooks) are not warnings.
+     */
+    public void testCallOutsideRom() throws IOException {
+        
+        // Konami mapper: bank 1 at 0x6000
+        byte[] rom = new byte[4 * 0x2000];
+        BankedDisassemblerTest.put(rom, 0x0000, 0xC9);                                  // 0:4000H RET
+        BankedDisassemblerTest.put(rom, 0x2000, 0xCD, 0x93, 0x00, 0xFF,                 // 1:6000H CALL 0093H / RST 38H
+            0xCD, 0x9F, 0xFD, 0xC9);                                                    //         CALL 0FD9FH / RET
+        
+        Path directory = Files.createTempDirectory("z80hacker");
+        try {
+            
+            BankedDisassembler disassembler = BankedDisassemblerTest.disassemble(directory, rom,
+                "MAPPER: KONAMI\nSTART_OFF: 0x4000\nSTART_OFF: 1:0x6000\n");
+            
+            String source = new String(Files.readAllBytes(directory.resolve("rom.asm")), StandardCharsets.US_ASCII);
+            String log = new String(Files.readAllBytes(directory.resolve("rom.log")), StandardCharsets.US_ASCII);
+            assertTrue("Missing BIOS call!", source.contains("CALL 093H"));
+            assertFalse("Unexpected warning!", log.contains("Warning"));
+            assertFalse("Unexpected warnings flag!", disassembler.hasWarnings());
+        
+        } finally {
+            BankedDisassemblerTest.delete(directory);
+        }   
+    }   
+    
+    /**
+     * Disassembles the given banked ROM (rom.bin) with the given configuration (rom.cfg) in the directory.
+     */
+    private static BankedDisassembler disassemble(Path directory, byte[] rom, String config) throws IOException {
+        
+        Files.write(directory.resolve("rom.bin"), rom);
+        Path configFile = directory.resolve("rom.cfg");
+        Files.write(configFile, ("BINARY_FILE: rom.bin\n" + config).getBytes(StandardCharsets.US_ASCII));
+        ConfigFileProperties properties = new ConfigFileProperties();
+        properties.load(configFile.toFile());
+        properties.resolvePaths(directory);
+        
+        BankedDisassembler disassembler = new BankedDisassembler(BankedRom.fromProperties(properties));
+        disassembler.setThreadsCount(2);
+        disassembler.setProperties(properties);
+        disassembler.run();
+        return disassembler;
+    }   
+    
+    /**
+     * Copy the given values to the array of bytes.
+     */
+    private static void put(byte[] bytes, int address, int... values) {
+        for(int value:values) {
+            bytes[address++] = (byte) value;
+        }   
+    }   
+    
+    /**
+     * Deletes a directory tree.
+     */
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for(Path path:paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }   
+        }   
+    }   
+}
@@ -0,0 +1,213 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.astesbas.z80.hacker.util.SystemOut;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Batch disassembler tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class BatchDisassemblerTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public BatchDisassemblerTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(BatchDisassemblerTest.class);
+    }   
+    
+    /**
+     * Tests the project files of a directory (sorted, sub directories included) and of a manifest.
+     */
+    public void testFindProjectFiles() throws IOException {
+        
+        Path directory = Files.createTempDirectory("z80hacker");
+        try {
+            
+            Files.createDirectories(directory.resolve("sub"));
+            BatchDisassemblerTest.write(directory.resolve("b.cfg"), "");
+            BatchDisassemblerTest.write(directory.resolve("sub/a.cfg"), "");
+            BatchDisassemblerTest.write(directory.resolve("notes.txt"), "");
+            assertEquals("Wrong directory projects!",
+                Arrays.asList(directory.resolve("b.cfg"), directory.resolve("sub/a.cfg")),
+                BatchDisassembler.findProjectFiles(directory));
+            
+            Path manifest = directory.resolve("projects.txt");
+            BatchDisassemblerTest.write(manifest, "# batch projects\nsub/a.cfg\n\n/tmp/c.cfg  # absolute\n");
+            assertEquals("Wrong manifest projects!",
+                Arrays.asList(directory.resolve("sub/a.cfg").toAbsolutePath(), directory.getFileSystem().getPath("/tmp/c.cfg")),
+                BatchDisassembler.findProjectFiles(manifest));
+        
+        } finally {
+            BatchDisassemblerTest.delete(directory);
+        }   
+    }   
+    
+    /**
+     * Tests that a failed project does not stop the batch, that the relative files of a project are
+     * resolved against the project directory and that the output of every project is printed at once.
+     */
+    public void testFailureIsolation() throws IOException {
+        
+        Path directory = Files.createTempDirectory("z80hacker");
+        try {
+            
+            // LD A,0x01 / CALL 0x0007 / RET / NOP / RET
+            Files.write(directory.resolve("code.bin"), new byte[] {0x3E, 0x01, (byte) 0xCD, 0x07, 0x00, (byte) 0xC9, 0x00, (byte) 0xC9});
+            BatchDisassemblerTest.write(directory.resolve("good.cfg"), "BINARY_FILE: code.bin\nSTART_OFF: 0x0000\n");
+            BatchDisassemblerTest.write(directory.resolve("missing.cfg"), "BINARY_FILE: missing.bin\nSTART_OFF: 0x0000\n");
+            BatchDisassemblerTest.write(directory.resolve("invalid.cfg"), "BINARY_FILE: code.bin\nSTART_OFF: 0xZZ\n");
+            
+            // JP (HL) / RET (the indexed jump is a warning)
+            Files.write(directory.resolve("jump.bin"), new byte[] {(byte) 0xE9, (byte) 0xC9});
+            BatchDisassemblerTest.write(directory.resolve("warning.cfg"), "BINARY_FILE: jump.bin\nSTART_OFF: 0x0000\n");
+            
+            BatchDisassembler batchDisassembler = new BatchDisassembler(BatchDisassembler.findProjectFiles(directory));
+            batchDisassembler.setThreadsCount(2);
+            List<BatchDisassembler.Result> results;
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            PrintStream systemOut = System.out;
+            System.setOut(new PrintStream(output, true));
+            try {
+                results = batchDisassembler.run();
+            } finally {
+                System.setOut(systemOut);
+            }   
+            
+            assertEquals("Wrong number of results!", 4, results.size());
+            assertEquals("Wrong status!", BatchDisassembler.Status.OK, results.get(0).getStatus());
+            assertEquals("Wrong status!", BatchDisassembler.Status.FAILED, results.get(1).getStatus());
+            assertEquals("Wrong status!", BatchDisassembler.Status.FAILED, results.get(2).getStatus());
+            assertEquals("Wrong status!", BatchDisassembler.Status.WARNINGS, results.get(3).getStatus());
+            assertTrue("Missing error message!", results.get(2).getMessage().contains("missing.bin"));
+            assertEquals("Wrong number of warnings!", 0, results.get(0).getWarningsCount());
+            assertEquals("Wrong number of warnings!", 1, results.get(3).getWarningsCount());
+            assertEquals("Wrong log file!", directory.resolve("jump.log"), results.get(3).getLogPath().get());
+            assertFalse("Unexpected log file!", results.get(2).getLogPath().isPresent());
+            assertTrue("Missing output file!", Files.isRegularFile(directory.resolve("code.asm")));
+            assertTrue("Missing list file!", Files.isRegularFile(directory.resolve("code.lst")));
+            
+            // The output of a project is not mixed with the output of the other projects
+            String nl = System.lineSeparator();
+            String text = output.toString();
+            assertTrue("Wrong project output!", text.contains(String.format("Project %s:%sReading binary file: missing.bin...Error!%s",
+                directory.resolve("missing.cfg"), nl, nl)));
+            assertTrue("Wrong project output!", text.contains(String.format("Project %s:%sReading binary file: jump.bin...Ok%sStarting",
+                directory.resolve("warning.cfg"), nl, nl)));
+            
+            Path reportPath = directory.resolve("report.txt");
+            BatchDisassembler.writeReport(reportPath, results);
+            String report = new String(Files.readAllBytes(reportPath), StandardCharsets.US_ASCII);
+            assertTrue("Wrong report summary!", report.contains("Projects: 4 (ok: 1, warnings: 1, failed: 2)"));
+            assertTrue("Missing project in report!", report.contains(directory.resolve("good.cfg").toString()));
+            assertTrue("Missing warnings in report!",
+                report.contains("1 warning(s), see log file " + directory.resolve("jump.log")));
+        
+        } finally {
+            BatchDisassemblerTest.delete(directory);
+        }   
+    }   
+    
+    /**
+     * Tests that the output of the bank threads of a banked ROM project is printed with the project output.
+     */
+    public void testBankedProjectOutput() throws IOException {
+        
+        Path directory = Files.createTempDirectory("z80hacker");
+        try {
+            
+            // Konami ROM (RET at the start of every bank) and a plain binary
+            byte[] rom = new byte[4 * 0x2000];
+            for(int bank = 0; bank < 4; bank++) {
+                rom[bank * 0x2000] = (byte) 0xC9;
+            }   
+            Files.write(directory.resolve("rom.bin"), rom);
+            Files.write(directory.resolve("code.bin"), new byte[] {0x00, (byte) 0xC9});
+            BatchDisassemblerTest.write(directory.resolve("a.cfg"), "BINARY_FILE: rom.bin\nMAPPER: KONAMI\n"
+                + "PARALLEL_TRAVERSAL: true\nSTART_OFF: 0x4000\nSTART_OFF: 1:0x6000\nSTART_OFF: 2:0x6000\n");
+            BatchDisassemblerTest.write(directory.resolve("b.cfg"), "BINARY_FILE: code.bin\nSTART_OFF: 0x0000\n");
+            
+            BatchDisassembler batchDisassembler = new BatchDisassembler(BatchDisassembler.findProjectFiles(directory));
+            batchDisassembler.setThreadsCount(2);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            PrintStream systemOut = System.out;
+            System.setOut(new PrintStream(output, true));
+            SystemOut.setVerbose(true);
+            try {
+                batchDisassembler.run();
+            } finally {
+                SystemOut.setVerbose(false);
+                System.setOut(systemOut);
+            }   
+            
+            // The verbose messages of the bank threads are inside the block of the banked ROM project
+            String text = output.toString();
+            String header = String.format("Project %s:", directory.resolve("a.cfg"));
+            int start = text.indexOf(header);
+            int end = text.indexOf("Project ", start + header.length());
+            String block = text.substring(start, (end >= 0) ? end:text.length());
+            assertTrue("Missing project output!", start >= 0);
+            assertEquals("Bank output outside the project output!",
+                BatchDisassemblerTest.count(text, "Parallel traversal:"), BatchDisassemblerTest.count(block, "Parallel traversal:"));
+            assertTrue("Missing bank output!", BatchDisassemblerTest.count(block, "Parallel traversal:") >= 3);
+        
+        } finally {
+            BatchDisassemblerTest.delete(directory);
+        }   
+    }   
+    
+    /**
+     * Return the number of occurrences of the given string in the text.
+     */
+    private static int count(String text, String string) {
+        int count = 0;
+        for(int index = text.indexOf(string); index >= 0; index = text.indexOf(string, index + 1)) {
+            count++;
+        }   
+        return count;
+    }   
+    
+    /**
+     * Writes a text file.
+     */
+    private static void write(Path path, String text) throws IOException {
+        Files.write(path, text.getBytes(StandardCharsets.US_ASCII));
+    }   
+    
+    /**
+     * Deletes a directory tree.
+     */
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for(Path path:paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }   
+        }   
+    }   
+}
@@ -0,0 +1,140 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.astesbas.z80.hacker.domain.Instruction;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.engine.DisassemblerException.ConfigurationException;
+import com.astesbas.z80.hacker.engine.DisassemblerException.InputOutputException;
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Disassembler session (in-process API) tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class DisassemblerSessionTest extends TestCase {
+    
+    /** LD A,0x01 / CALL 0x0007 / RET / NOP / RET */
+    private static final byte[] CODE = {0x3E, 0x01, (byte) 0xCD, 0x07, 0x00, (byte) 0xC9, 0x00, (byte) 0xC9};
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public DisassemblerSessionTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(DisassemblerSessionTest.class);
+    }   
+    
+    /**
+     * Tests the result of a session: source text, log messages and decoded instructions.
+     */
+    public void testDisassemble() throws DisassemblerException {
+        
+        DisassemblerSession session = new DisassemblerSession(DisassemblerOptions.builder()
+            .startOff(0x0000).endAddress(0x0007).codeLabelPrefix("L").label("MAIN", 0x0000).build());
+        DisassemblerResult result = session.disassemble(CODE);
+        
+        assertFalse("Unexpected warnings!", result.hasWarnings());
+        assertTrue("Missing user label!", result.sourceLines().anyMatch(line -> line.equals("MAIN:")));
+        assertTrue("Missing call!", result.sourceLines().anyMatch(line -> line.trim().equals("CALL L07H")));
+        assertTrue("Missing log message!", result.getLog().contains("Processing start-off address: 0x7"));
+        assertTrue("Wrong instruction addresses!",
+            Arrays.equals(new int[] {0, 2, 5, 7}, result.instructionAddresses().toArray()));
+        assertEquals("Wrong number of basic blocks!", 2, result.getControlFlowGraph().getBlocksCount());
+        
+        // The session keeps its hexadecimal format when used with other formats
+        DisassemblerSession other = new DisassemblerSession(DisassemblerOptions.builder()
+            .startOff(0x0000).endAddress(0x0007).hexFormat("0x%s").build(), session.getInstructionSet());
+        assertTrue("Wrong hexadecimal format!", other.disassemble(CODE).getSource().contains("CALL 0x7"));
+        assertTrue("Wrong hexadecimal format!", session.disassemble(CODE).getSource().contains("CALL L07H"));
+        
+        // Sessions with different hexadecimal formats run at the same time
+        assertTrue("Wrong hexadecimal format!", IntStream.range(0, 64).parallel().allMatch(index -> {
+            try {
+                return (index % 2 == 0) ? session.disassemble(CODE).getSource().contains("CALL L07H"):
+                    other.disassemble(CODE).getSource().contains("CALL 0x7");
+            } catch (DisassemblerException exception) {
+                return false;
+            }   
+        }));
+    }   
+    
+    /**
+     * Tests that the session keeps the given instruction set and does not write to the standard output.
+     */
+    public void testInstructionSet() throws DisassemblerException {
+        
+        InstructionSet instructionSet = new InstructionSet("custom", Arrays.asList(
+            new Instruction("3E##", "CUSTOM ##"), new Instruction("C9", "RET")), false);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream systemOut = System.out;
+        System.setOut(new PrintStream(output, true));
+        try {
+            DisassemblerSession session = new DisassemblerSession(DisassemblerOptions.builder()
+                .startOff(0x0000).endAddress(0x0002).undocumentedInstructions(true).build(), instructionSet);
+            DisassemblerResult result = session.disassemble(new byte[] {0x3E, 0x01, (byte) 0xC9});
+            assertTrue("Wrong instruction set!", result.sourceLines().anyMatch(line -> line.trim().equals("CUSTOM 01H")));
+            assertSame("Wrong instruction set!", instructionSet, session.getInstructionSet());
+        } finally {
+            System.setOut(systemOut);
+        }   
+        assertEquals("Unexpected standard output!", "", output.toString());
+    }   
+    
+    /**
+     * Tests the typed exceptions of invalid options and missing files.
+     */
+    public void testErrors() throws DisassemblerException {
+        
+        try {
+            new DisassemblerSession(DisassemblerOptions.builder().dbAlign(0).build());
+            fail("Invalid db align accepted!");
+        } catch (ConfigurationException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+        
+        try {
+            new DisassemblerSession(DisassemblerOptions.builder().hexFormat("%d").build());
+            fail("Invalid hexadecimal format accepted!");
+        } catch (ConfigurationException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+        
+        // The file parameters of a configuration file are not used by the session
+        ConfigFileProperties properties = new ConfigFileProperties();
+        properties.map("BINARY_FILE", "game.rom");
+        properties.map("START_OFF", "0xZZ");
+        try {
+            new DisassemblerSession(DisassemblerOptions.builder(properties).build());
+            fail("Invalid start-off address accepted!");
+        } catch (ConfigurationException exception) {
+            assertTrue("Wrong message!", exception.getMessage().contains("0xZZ"));
+        }   
+        
+        DisassemblerSession session = new DisassemblerSession(DisassemblerOptions.builder().build());
+        try {
+            session.disassemble(Paths.get("missing-binary-file.bin"));
+            fail("Missing file accepted!");
+        } catch (InputOutputException exception) {
+            assertTrue("Wrong message!", exception.getMessage().contains("missing-binary-file.bin"));
+        }   
+    }   
+}
@@ -0,0 +1,132 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.Instruction;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.domain.InstructionSetRegistry;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Linear sweep and disassembly modes tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class LinearSweepTest extends TestCase {
+    
+    private final Instruction nop = new Instruction("00", "NOP");
+    private final Instruction ldBc = new Instruction("01####", "LD BC,####");
+    private final Instruction jp = new Instruction("C3####", "JP ####");
+    private final Instruction ret = new Instruction("C9", "RET");
+    private final Instruction call = new Instruction("CD####", "CALL ####");
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public LinearSweepTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(LinearSweepTest.class);
+    }   
+    
+    /**
+     * Tests that the parallel sweep (realigned chunks) decodes the same instructions of the sequential sweep.
+     */
+    public void testParallelSweep() throws IOException {
+        
+        byte[] bytes = new byte[BinaryData.MAX_SIZE];
+        new Random(0x280AL).nextBytes(bytes);
+        InstructionSet instructionSet = InstructionSetRegistry.getDefault(true);
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        
+        Instruction[] sequential = new LinearSweep(decoder, instructionSet.getTable()).sweep(false);
+        LinearSweep parallelSweep = new LinearSweep(decoder, instructionSet.getTable());
+        Instruction[] parallel = parallelSweep.sweep(true);
+        
+        assertTrue("The parallel sweep must decode the sequential sweep instructions!", Arrays.equals(sequential, parallel));
+        assertTrue("Misaligned chunks expected!", parallelSweep.getRealignedCount() > 0);
+        assertTrue("The decoder must not be changed!", decoder.isDbByte(0x0000));
+        
+        // Every address is an instruction start, a parameter byte or an invalid instruction
+        int size = 0;
+        for(int address = 0; address < BinaryData.MAX_SIZE; address++, size--) {
+            if(sequential[address] != null) {
+                assertTrue("Overlapping instructions at 0x" + Integer.toHexString(address), size <= 0);
+                size = sequential[address].getSize();
+            } else if(size <= 0 && address < BinaryData.MAX_SIZE - 4) {
+                assertNull("Instruction not decoded at 0x" + Integer.toHexString(address),
+                    instructionSet.getTable().find(decoder.getBinaryData(), address));
+            }   
+        }   
+    }   
+    
+    /**
+     * Tests the code decoded by the recursive, linear and hybrid disassembly modes.
+     */
+    public void testDisassemblyModes() {
+        
+        byte[] bytes = new byte[0x10];
+        this.put(bytes, 0x0000, 0xC3, 0x08, 0x00);          // JP 0008H
+        this.put(bytes, 0x0003, 0xCD, 0x09, 0x00);          // CALL 0009H (not reachable)
+        this.put(bytes, 0x0006, 0xFF, 0xFF);                // invalid bytes
+        this.put(bytes, 0x0008, 0xC9);                      // RET
+        this.put(bytes, 0x0009, 0x01, 0x34, 0x12, 0xC9);    // LD BC,1234H / RET (not reachable)
+        
+        Z80Disassembler recursive = this.disassemble(bytes, Z80Disassembler.Mode.RECURSIVE);
+        assertEquals("Wrong instruction at 0x0008!", this.ret, recursive.getDecoder().getInstruction(0x0008));
+        assertTrue("Unreachable code decoded!", recursive.getDecoder().isDbByte(0x0003));
+        
+        Z80Disassembler hybrid = this.disassemble(bytes, Z80Disassembler.Mode.HYBRID);
+        assertEquals("Wrong instruction at 0x0003!", this.call, hybrid.getDecoder().getInstruction(0x0003));
+        assertEquals("Wrong instruction at 0x0009!", this.ldBc, hybrid.getDecoder().getInstruction(0x0009));
+        assertTrue("Invalid bytes decoded!", hybrid.getDecoder().isDbByte(0x0006));
+        assertTrue("Missing label of swept call!", hybrid.getOutputProcessor().getGeneratedLabelType(0x0009) != 0);
+        
+        Z80Disassembler linear = this.disassemble(bytes, Z80Disassembler.Mode.LINEAR);
+        for(int address = 0; address < bytes.length; address++) {
+            assertEquals("Wrong linear sweep at 0x" + Integer.toHexString(address),
+                hybrid.getDecoder().getInstruction(address), linear.getDecoder().getInstruction(address));
+        }   
+        assertTrue("Missing start-off label!", linear.getOutputProcessor().getGeneratedLabelType(0x0000) != 0);
+        assertTrue("Missing label of swept jump!", linear.getOutputProcessor().getGeneratedLabelType(0x0008) != 0);
+    }   
+    
+    /**
+     * Disassembles the given bytes from the address 0x0000 with the given mode.
+     */
+    private Z80Disassembler disassemble(byte[] bytes, Z80Disassembler.Mode mode) {
+        Z80Disassembler disassembler = new Z80Disassembler(new BinaryData(bytes, 0, bytes.length));
+        disassembler.setInstructionSet(new InstructionSet("test",
+            Arrays.asList(this.nop, this.ldBc, this.jp, this.ret, this.call), false));
+        disassembler.setLogBuffer();
+        disassembler.setMode(mode);
+        disassembler.getDecoder().setEndAddress(bytes.length - 1);
+        disassembler.pushStartAddress(0x0000);
+        disassembler.disassemble();
+        return disassembler;
+    }   
+    
+    /**
+     * Copy the given values to the array of bytes.
+     */
+    private void put(byte[] bytes, int address, int... values) {
+        for(int value:values) {
+            bytes[address++] = (byte) value;
+        }   
+    }   
+}
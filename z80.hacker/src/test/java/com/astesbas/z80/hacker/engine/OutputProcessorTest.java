@@ -0,0 +1,230 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Optional;
+
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.CrossReferenceIndex;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.Instruction;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Output processor tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class OutputProcessorTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public OutputProcessorTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(OutputProcessorTest.class);
+    }   
+    
+    /**
+     * Creates a decoder with instructions and data regions in the address range [0x0000, 0x003F].
+     * @return the decoder
+     */
+    static Decoder newDecoder() {
+        
+        byte[] bytes = new byte[0x40];
+        for(int index = 0; index < bytes.length; index++) {
+            bytes[index] = (byte) (index * 7);
+        }   
+        bytes[0x00] = (byte) 0xCD; bytes[0x01] = 0x30; bytes[0x02] = 0x00;      // CALL 0030H
+        bytes[0x03] = 0x18; bytes[0x04] = (byte) 0xFB;                          // JR 0000H
+        bytes[0x30] = 0x00;                                                     // NOP
+        bytes[0x31] = (byte) 0xC9;                                              // RET
+        
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setStartAddress(0x0000);
+        decoder.setEndAddress(0x003F);
+        Instruction call = new Instruction("CD####", "CALL ####");
+        Instruction jr = new Instruction("18%%", "JR %%");
+        Instruction nop = new Instruction("00", "NOP");
+        Instruction ret = new Instruction("C9", "RET");
+        decoder.setInstructionSet(new InstructionSet("test", Arrays.asList(call, jr, nop, ret), false));
+        decoder.setInstruction(0x00, call);
+        decoder.setInstruction(0x03, jr);
+        decoder.setInstruction(0x30, nop);
+        decoder.setInstruction(0x31, ret);
+        
+        return decoder;
+    }   
+    
+    /**
+     * Creates an output processor with code and data labels.
+     * @return the output processor
+     */
+    static OutputProcessor newOutputProcessor() {
+        OutputProcessor outputProcessor = new OutputProcessor();
+        outputProcessor.setDbAlign(4);
+        outputProcessor.mapCodeLabel(0x0000);
+        outputProcessor.mapCodeLabel(0x0030);
+        outputProcessor.mapDataLabel(0x0010);
+        return outputProcessor;
+    }   
+    
+    /**
+     * Tests that the single pass output (source and list) is the same of the separate outputs.
+     */
+    public void testSinglePassOutput() throws IOException {
+        
+        Decoder decoder = OutputProcessorTest.newDecoder();
+        OutputProcessor outputProcessor = OutputProcessorTest.newOutputProcessor();
+        
+        StringWriter source = new StringWriter();
+        StringWriter list = new StringWriter();
+        outputProcessor.writeOutput(source, list, decoder, null);
+        
+        StringWriter sourceOnly = new StringWriter();
+        StringWriter listOnly = new StringWriter();
+        outputProcessor.writeOutput(sourceOnly, null, decoder, null);
+        outputProcessor.writeOutput(null, listOnly, decoder, null);
+        
+        assertEquals("Wrong source output!", sourceOnly.toString(), source.toString());
+        assertEquals("Wrong list output!", listOnly.toString(), list.toString());
+        
+        String newLine = System.lineSeparator();
+        assertTrue("Missing call instruction!", source.toString().contains("CALL 030H" + newLine));
+        assertTrue("Missing relative jump label!", source.toString().contains("JR 0H" + newLine));
+        assertTrue("Missing data label!", source.toString().contains(newLine + "010H:" + newLine));
+        assertTrue("Missing list instruction!", list.toString().contains("03H: 18 FB       : JR 0H"));
+        assertTrue("Missing list data bytes!", list.toString().contains("05H:             : 23 2A 31 38 3F "));
+    }   
+    
+    /**
+     * Tests that the parallel chunked output is the same of the sequential output (64Kb with scattered instructions).
+     */
+    public void testParallelOutput() throws IOException {
+        
+        byte[] bytes = new byte[0x10000];
+        for(int index = 0; index < bytes.length; index++) {
+            bytes[index] = (byte) (index * 13);
+        }   
+        for(int address = 0x0000; address < 0xFFF0; address += 0x0123) {
+            bytes[address] = 0x00;                                              // NOP
+            bytes[address + 1] = (byte) 0xC9;                                   // RET
+        }   
+        
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setStartAddress(0x0000);
+        decoder.setEndAddress(0xFFFF);
+        Instruction nop = new Instruction("00", "NOP");
+        Instruction ret = new Instruction("C9", "RET");
+        decoder.setInstructionSet(new InstructionSet("test", Arrays.asList(nop, ret), false));
+        for(int address = 0x0000; address < 0xFFF0; address += 0x0123) {
+            decoder.setInstruction(address, nop);
+            decoder.setInstruction(address + 1, ret);
+        }   
+        
+        OutputProcessor outputProcessor = OutputProcessorTest.newOutputProcessor();
+        StringWriter source = new StringWriter();
+        StringWriter list = new StringWriter();
+        outputProcessor.writeOutput(source, list, decoder, null);
+        
+        outputProcessor.setParallelRendering(true);
+        StringWriter parallelSource = new StringWriter();
+        StringWriter parallelList = new StringWriter();
+        outputProcessor.writeOutput(parallelSource, parallelList, decoder, null);
+        
+        assertTrue("Too few chunks!", OutputProcessor.getChunkBoundaries(decoder).length > 2);
+        assertEquals("Wrong parallel source output!", source.toString(), parallelSource.toString());
+        assertEquals("Wrong parallel list output!", list.toString(), parallelList.toString());
+    }   
+    
+    /**
+     * Tests the cross-reference comments of the labels (sequential and parallel rendering).
+     */
+    public void testCrossReferenceComments() throws IOException {
+        
+        Decoder decoder = OutputProcessorTest.newDecoder();
+        OutputProcessor outputProcessor = OutputProcessorTest.newOutputProcessor();
+        outputProcessor.setCrossReferenceComments(true);
+        CrossReferenceIndex xrefs = CrossReferenceIndex.build(decoder);
+        
+        StringWriter source = new StringWriter();
+        outputProcessor.writeOutput(source, null, decoder, xrefs);
+        
+        String newLine = System.lineSeparator();
+        assertTrue("Missing jump reference!", source.toString().contains(newLine + "; XREF: 03H RELATIVE_JUMP" + newLine + "0H:"));
+        assertTrue("Missing call reference!", source.toString().contains(newLine + "; XREF: 0H CALL" + newLine + "030H:"));
+        assertTrue("Unexpected reference!", source.toString().contains(newLine + newLine + "010H:"));
+        
+        outputProcessor.setParallelRendering(true);
+        StringWriter parallelSource = new StringWriter();
+        outputProcessor.writeOutput(parallelSource, null, decoder, xrefs);
+        assertEquals("Wrong parallel source output!", source.toString(), parallelSource.toString());
+        
+        StringWriter withoutXrefs = new StringWriter();
+        outputProcessor.writeOutput(withoutXrefs, null, decoder, null);
+        assertFalse("Unexpected reference comments!", withoutXrefs.toString().contains("; XREF:"));
+    }   
+    
+    /**
+     * Tests the generated labels (built with the current prefix), the named labels and the EQU replacement.
+     */
+    public void testLabelsAndEqus() throws IOException {
+        
+        Decoder decoder = OutputProcessorTest.newDecoder();
+        OutputProcessor outputProcessor = new OutputProcessor();
+        outputProcessor.mapCodeLabel(0x0000);
+        outputProcessor.mapLabel(0x0000, "IGNORED");
+        outputProcessor.mapDataLabel(0x0010);
+        outputProcessor.mapOffsetCodeLabel(0x0012, 2);
+        outputProcessor.mapEqu("SUB", "030H");
+        outputProcessor.mapEqu("OTHER", "0x30");
+        outputProcessor.setCodeLabelPrefix("CODE_");
+        outputProcessor.setDataLabelPrefix("DATA_");
+        
+        assertTrue("Missing label!", outputProcessor.hasLabel(0x0000));
+        assertFalse("Label out of range!", outputProcessor.hasLabel(-3));
+        assertFalse("Label out of range!", outputProcessor.hasLabel(0x10000));
+        assertEquals("Wrong code label!", "CODE_0H", outputProcessor.getLabel(0x0000));
+        assertEquals("Wrong data label!", "DATA_010H", outputProcessor.getLabel(0x0010));
+        assertEquals("Wrong offset label!", "CODE_010H + 2", outputProcessor.getLabel(0x0012));
+        assertNull("Unexpected label!", outputProcessor.getLabel(0x0030));
+        
+        OutputProcessor bankProcessor = outputProcessor.copyForBank(3);
+        bankProcessor.mapCodeLabel(0x0030);
+        assertEquals("Wrong copied label!", "CODE_0H", bankProcessor.getLabel(0x0000));
+        assertEquals("Wrong bank label!", "CODE_030H_B3", bankProcessor.getLabel(0x0030));
+        
+        try {
+            outputProcessor.mapLabel(0x10000, "INVALID");
+            fail("Label out of range must not be accepted!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+        
+        StringWriter source = new StringWriter();
+        outputProcessor.writeOutput(source, null, decoder, null);
+        
+        String newLine = System.lineSeparator();
+        assertTrue("Missing equ replacement!", source.toString().contains("CALL SUB" + newLine));
+        assertTrue("Missing relative jump label!", source.toString().contains("JR CODE_0H" + newLine));
+        assertTrue("Missing offset label!", source.toString().contains(newLine + "CODE_010H + 2:" + newLine));
+        
+        StringWriter header = new StringWriter();
+        outputProcessor.writeSourceHeader(header, Optional.empty());
+        assertTrue("Missing equ directive!", header.toString().contains("OTHER:       EQU 0x30"));
+    }   
+}
@@ -0,0 +1,249 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.Instruction;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.domain.InstructionSetRegistry;
+import com.astesbas.z80.hacker.domain.InstructionTable;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Parallel traversal tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class ParallelTraversalTest extends TestCase {
+    
+    private final Instruction nop = new Instruction("00", "NOP");
+    private final Instruction ldBc = new Instruction("01####", "LD BC,####");
+    private final Instruction jr = new Instruction("18%%", "JR %%");
+    private final Instruction incHl = new Instruction("34", "INC (HL)");
+    private final Instruction jp = new Instruction("C3####", "JP ####");
+    private final Instruction ret = new Instruction("C9", "RET");
+    private final Instruction call = new Instruction("CD####", "CALL ####");
+    
+    private final InstructionSet instructionSet = new InstructionSet("test",
+        Arrays.asList(this.nop, this.ldBc, this.jr, this.incHl, this.jp, this.ret, this.call), false);
+    
+    private final InstructionTable instructionTable = this.instructionSet.getTable();
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public ParallelTraversalTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(ParallelTraversalTest.class);
+    }   
+    
+    /**
+     * Tests the paths followed from a start-off address (calls, jumps and overlapping instructions).
+     */
+    public void testTraverse() {
+        
+        byte[] bytes = new byte[0x30];
+        this.put(bytes, 0x0000, 0xCD, 0x10, 0x00);          // CALL 0010H
+        this.put(bytes, 0x0003, 0xC3, 0x20, 0x00);          // JP 0020H
+        this.put(bytes, 0x0010, 0x00, 0xC9);                // NOP, RET
+        this.put(bytes, 0x0020, 0x01, 0x34, 0x12);          // LD BC,1234H
+        this.put(bytes, 0x0023, 0x18, 0xFC);                // JR 0021H (overlaps LD BC,1234H)
+        
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        ParallelTraversal traversal = new ParallelTraversal(decoder, this.instructionTable);
+        assertFalse("Overlapping instructions not detected!", traversal.traverse(0x0000));
+        
+        assertEquals("Wrong instruction at 0x0000!", this.call, traversal.getInstruction(0x0000));
+        assertEquals("Wrong instruction at 0x0003!", this.jp, traversal.getInstruction(0x0003));
+        assertEquals("Wrong instruction at 0x0010!", this.nop, traversal.getInstruction(0x0010));
+        assertEquals("Wrong instruction at 0x0011!", this.ret, traversal.getInstruction(0x0011));
+        assertEquals("Wrong instruction at 0x0020!", this.ldBc, traversal.getInstruction(0x0020));
+        assertEquals("Wrong instruction at 0x0021!", this.incHl, traversal.getInstruction(0x0021));
+        assertEquals("Wrong instruction at 0x0023!", this.jr, traversal.getInstruction(0x0023));
+        assertNull("There must be no instruction after JP!", traversal.getInstruction(0x0006));
+        assertNull("There must be no instruction after RET!", traversal.getInstruction(0x0012));
+        
+        // The addresses 0x0021 (INC (HL)) and 0x0022 (invalid byte) are parameter bytes of LD BC,1234H
+        assertEquals("Wrong number of conflicts!", 2, traversal.getConflictsCount());
+        assertEquals("Wrong number of decoded instructions!", 7, traversal.getDecodedCount());
+        assertTrue("The decoder must not be changed!", decoder.isDbByte(0x0000));
+        try {
+            traversal.commit();
+            fail("Conflicting traversal committed!");
+        } catch(IllegalStateException exception) {
+            assertTrue("The decoder must not be changed!", decoder.isDbByte(0x0000));
+        }   
+    }   
+    
+    /**
+     * Tests that a conflict free traversal is committed to the decoder.
+     */
+    public void testCommit() {
+        
+        byte[] bytes = new byte[0x30];
+        this.put(bytes, 0x0000, 0xCD, 0x10, 0x00);          // CALL 0010H
+        this.put(bytes, 0x0003, 0xC3, 0x20, 0x00);          // JP 0020H
+        this.put(bytes, 0x0010, 0x00, 0xC9);                // NOP, RET
+        this.put(bytes, 0x0020, 0x01, 0x34, 0x12);          // LD BC,1234H
+        this.put(bytes, 0x0023, 0x18, 0xFB);                // JR 0020H
+        
+        Decoder decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        decoder.setInstructionSet(this.instructionSet);
+        ParallelTraversal traversal = new ParallelTraversal(decoder, this.instructionTable);
+        assertTrue("Unexpected conflicts!", traversal.traverse(0x0000));
+        assertEquals("Wrong number of decoded instructions!", 6, traversal.getDecodedCount());
+        assertEquals("Wrong target!", 0x0020, traversal.getTargetAddress(0x0023));
+        assertEquals("Wrong flow!", Z80Disassembler.Flow.BRANCH, traversal.getFlow(0x0000));
+        
+        traversal.commit();
+        for(int address = 0; address < bytes.length; address++) {
+            Instruction instruction = traversal.getInstruction(address);
+            assertEquals("Wrong instruction at 0x" + Integer.toHexString(address),
+                (instruction != null) ? instruction:decoder.getInstruction(address), decoder.getInstruction(address));
+        }   
+        assertEquals("Wrong number of committed instructions!", 6, decoder.getCoverageMap().getInstructionsCount());
+    }   
+    
+    /**
+     * Tests that the disassembler output (source, list, labels, warnings and log) is the same with and without
+     * the parallel traversal, for conflict free code (committed traversal) and random bytes (conflicts).
+     */
+    public void testDisassemblerOutput() throws IOException {
+        
+        InstructionSet instructionSet = InstructionSetRegistry.getDefault(false);
+        Random random = new Random(0x2806L);
+        byte[] program = ParallelTraversalTest.newProgram(random, 0x2000);
+        int[] programAddresses = {0x0000, 0x0000};
+        int[] startAddresses = {0x0000, 0x0100, 0x0800, 0x1F00, 0x0123};
+        
+        Decoder decoder = new Decoder(new BinaryData(program, 0, program.length));
+        decoder.setEndAddress(program.length - 1);
+        ParallelTraversal traversal = new ParallelTraversal(decoder, instructionSet.getTable());
+        assertTrue("The program must be conflict free!", traversal.traverse(programAddresses));
+        assertTrue("The program paths must be decoded!", traversal.getDecodedCount() > 100);
+        
+        byte[] bytes = new byte[BinaryData.MAX_SIZE];
+        random.nextBytes(bytes);
+        decoder = new Decoder(new BinaryData(bytes, 0, bytes.length));
+        assertFalse("Random bytes must have conflicts!",
+            new ParallelTraversal(decoder, instructionSet.getTable()).traverse(startAddresses));
+        
+        for(Z80Disassembler.Mode mode:new Z80Disassembler.Mode[] {Z80Disassembler.Mode.RECURSIVE, Z80Disassembler.Mode.HYBRID}) {
+            for(byte[] data:new byte[][] {program, bytes}) {
+                
+                int[] addresses = (data == program) ? programAddresses:startAddresses;
+                String[] sequential = this.disassemble(data, instructionSet, mode, false, addresses);
+                String[] parallel = this.disassemble(data, instructionSet, mode, true, addresses);
+                
+                assertEquals("Wrong source output!", sequential[0], parallel[0]);
+                assertEquals("Wrong list output!", sequential[1], parallel[1]);
+                assertEquals("Wrong log messages (warnings)!", sequential[2], parallel[2]);
+                assertEquals("Wrong warnings flag!", sequential[3], parallel[3]);
+            }   
+        }   
+    }   
+    
+    /**
+     * Disassembles the given bytes and returns the source output, list output, log messages and warnings flag.
+     */
+    private String[] disassemble(byte[] bytes, InstructionSet instructionSet, Z80Disassembler.Mode mode,
+            boolean parallelTraversal, int... startAddresses) throws IOException {
+        
+        Z80Disassembler disassembler = new Z80Disassembler(new BinaryData(bytes, 0, bytes.length));
+        disassembler.setInstructionSet(instructionSet);
+        disassembler.setLogBuffer();
+        disassembler.setMode(mode);
+        disassembler.setParallelTraversal(parallelTraversal);
+        disassembler.getDecoder().setEndAddress(bytes.length - 1);
+        for(int address:startAddresses) {
+            disassembler.pushStartAddress(address);
+        }   
+        disassembler.disassemble();
+        
+        StringWriter source = new StringWriter();
+        StringWriter list = new StringWriter();
+        disassembler.getOutputProcessor().writeOutput(source, list, disassembler.getDecoder(),
+            disassembler.getOutputCrossReferences());
+        return new String[] {source.toString(), list.toString(), disassembler.getLogBuffer(),
+            Boolean.toString(disassembler.hasWarnings())};
+    }   
+    
+    /**
+     * Creates a program of random instructions (calls, jumps, loads, returns and indexed jumps) whose branch
+     * targets are instruction addresses, so the program has no overlapping instructions.
+     * 
+     * @param random the random numbers generator
+     * @param size the size of the program
+     * @return the program bytes
+     */
+    private static byte[] newProgram(Random random, int size) {
+        
+        // Instructions: NOP, LD BC,####, LD (####),A, CALL ####, JP Z,####, JR %%, RET, JP (HL) and JP ####
+        // (the instructions that end the paths are less frequent)
+        int[] opcodes = {0x00, 0x01, 0x32, 0xCD, 0xCA, 0x00, 0x01, 0x32, 0xCD, 0xCA, 0x18, 0xC9, 0xE9, 0xC3};
+        int[] sizes = {1, 3, 3, 3, 3, 1, 3, 3, 3, 3, 2, 1, 1, 3};
+        
+        byte[] bytes = new byte[size];
+        List<Integer> addresses = new ArrayList<>();
+        List<Integer> kinds = new ArrayList<>();
+        for(int address = 0; address < size - 3;) {
+            int kind = random.nextInt(opcodes.length);
+            addresses.add(address);
+            kinds.add(kind);
+            bytes[address] = (byte) opcodes[kind];
+            address += sizes[kind];
+        }   
+        
+        for(int index = 0; index < addresses.size(); index++) {
+            int address = addresses.get(index);
+            int target = addresses.get(random.nextInt(addresses.size()));
+            switch(opcodes[kinds.get(index)]) {
+                case 0x01:
+                case 0x32:
+                    target = random.nextInt(size);
+                case 0xCD:
+                case 0xCA:
+                case 0xC3:
+                    bytes[address + 1] = (byte) target;
+                    bytes[address + 2] = (byte) (target >> 8);
+                    break;
+                case 0x18:
+                    int next = (index + 1 < addresses.size()) ? addresses.get(index + 1):address + 2;
+                    int relative = addresses.get(Math.max(0, Math.min(addresses.size() - 1, index + random.nextInt(40) - 20)));
+                    bytes[address + 1] = (byte) (((relative - next) >= -128 && (relative - next) <= 127) ? relative - next:0);
+                    break;
+                default:
+                    break;
+            }   
+        }   
+        
+        return bytes;
+    }   
+    
+    /**
+     * Copy the given values to the array of bytes.
+     */
+    private void put(byte[] bytes, int address, int... values) {
+        for(int value:values) {
+            bytes[address++] = (byte) value;
+        }   
+    }   
+}
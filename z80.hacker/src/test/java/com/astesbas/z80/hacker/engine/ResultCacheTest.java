@@ -0,0 +1,123 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.InstructionSet;
+import com.astesbas.z80.hacker.util.ConfigFileProperties;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Result cache tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class ResultCacheTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public ResultCacheTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(ResultCacheTest.class);
+    }   
+    
+    /**
+     * Tests that the cache key changes with the properties and the instruction set.
+     */
+    public void testKey() throws IOException {
+        
+        Decoder decoder = OutputProcessorTest.newDecoder();
+        ConfigFileProperties properties = new ConfigFileProperties();
+        properties.map("START_OFF", "0x0000");
+        
+        String key = ResultCache.computeKey(decoder.getBinaryData(), properties, ResultCacheTest.load("00:NOP"));
+        assertEquals("Wrong key length!", 64, key.length());
+        assertEquals("The key must be the same!", key,
+            ResultCache.computeKey(decoder.getBinaryData(), properties, ResultCacheTest.load("00:NOP")));
+        assertFalse("The instruction set must change the key!", key.equals(
+            ResultCache.computeKey(decoder.getBinaryData(), properties, ResultCacheTest.load("00:NOP:NONE"))));
+        
+        properties.map("START_OFF", "0x0030");
+        assertFalse("The properties must change the key!", key.equals(
+            ResultCache.computeKey(decoder.getBinaryData(), properties, ResultCacheTest.load("00:NOP"))));
+    }   
+    
+    /**
+     * Tests that a stored result is restored in a new decoder (instructions, data and labels), the output
+     * files verification and that a corrupted entry is a cache miss.
+     */
+    public void testStoreAndRestore() throws IOException {
+        
+        Path directory = Files.createTempDirectory("z80hacker");
+        Path outputPath = directory.resolve("output.asm");
+        Path listPath = directory.resolve("output.lst");
+        ResultCache cache = new ResultCache(directory.resolve("cache"), "0123456789abcdef");
+        try {
+            
+            Decoder decoder = OutputProcessorTest.newDecoder();
+            decoder.markData(0x0010);
+            OutputProcessor outputProcessor = OutputProcessorTest.newOutputProcessor();
+            outputProcessor.mapOffsetCodeLabel(0x0012, 2);
+            Files.write(outputPath, "source".getBytes(StandardCharsets.US_ASCII));
+            Files.write(listPath, "list".getBytes(StandardCharsets.US_ASCII));
+            
+            assertFalse("Unexpected cache hit!", cache.restore(new Decoder(decoder.getBinaryData()), new OutputProcessor()));
+            cache.store(decoder, outputProcessor, 3, outputPath, listPath);
+            assertFalse("Unknown instructions must be a cache miss!",
+                cache.restore(new Decoder(decoder.getBinaryData()), new OutputProcessor()));
+            
+            Decoder restoredDecoder = new Decoder(decoder.getBinaryData());
+            restoredDecoder.setInstructionSet(decoder.getInstructionSet());
+            restoredDecoder.setStartAddress(0x0000);
+            restoredDecoder.setEndAddress(0x003F);
+            OutputProcessor restoredProcessor = new OutputProcessor();
+            assertTrue("Missing cache hit!", cache.restore(restoredDecoder, restoredProcessor));
+            assertEquals("Wrong number of warnings!", 3, cache.getWarningsCount());
+            
+            for(int address = 0x0000; address <= 0x003F; address++) {
+                assertSame("Wrong instruction!", decoder.getInstruction(address), restoredDecoder.getInstruction(address));
+                assertEquals("Wrong label!", outputProcessor.getLabel(address), restoredProcessor.getLabel(address));
+            }   
+            assertTrue("Missing data mark!", restoredDecoder.getCoverageMap().isData(0x0010));
+            
+            assertTrue("The output files must be up to date!", cache.isOutputUpToDate(outputPath, listPath));
+            Files.write(listPath, "changed".getBytes(StandardCharsets.US_ASCII));
+            assertFalse("The list file was changed!", cache.isOutputUpToDate(outputPath, listPath));
+            
+            Files.write(cache.getEntryPath(), "corrupted".getBytes(StandardCharsets.US_ASCII));
+            assertFalse("Corrupted entry must be a cache miss!",
+                cache.restore(new Decoder(decoder.getBinaryData()), new OutputProcessor()));
+        
+        } finally {
+            Files.deleteIfExists(cache.getEntryPath());
+            Files.deleteIfExists(directory.resolve("cache"));
+            Files.deleteIfExists(outputPath);
+            Files.deleteIfExists(listPath);
+            Files.deleteIfExists(directory);
+        }   
+    }   
+    
+    /**
+     * Return the instruction set loaded from the given text (instructions file).
+     */
+    private static InstructionSet load(String text) throws IOException {
+        return InstructionSet.load("test", new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)), false);
+    }   
+}
@@ -0,0 +1,76 @@
+package com.astesbas.z80.hacker.engine;
+
+import java.io.IOException;
+
+import com.astesbas.z80.hacker.domain.BinaryData;
+import com.astesbas.z80.hacker.domain.Decoder;
+import com.astesbas.z80.hacker.domain.InstructionSetRegistry;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Z80 disassembler tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class Z80DisassemblerTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public Z80DisassemblerTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(Z80DisassemblerTest.class);
+    }   
+    
+    /**
+     * Tests the data labels referenced by the word operands of prefixed and not prefixed instructions.
+     */
+    public void testDataLabels() throws IOException {
+        
+        byte[] bytes = new byte[0x30];
+        this.put(bytes, 0x0000, 0xED, 0x43, 0x20, 0x00);    // LD (0020H),BC
+        this.put(bytes, 0x0004, 0xDD, 0x22, 0x24, 0x00);    // LD (0024H),IX
+        this.put(bytes, 0x0008, 0x32, 0x28, 0x00);          // LD (0028H),A
+        this.put(bytes, 0x000B, 0xC9);                      // RET
+        
+        Z80Disassembler disassembler = new Z80Disassembler(new BinaryData(bytes, 0, bytes.length));
+        disassembler.setInstructionSet(InstructionSetRegistry.getDefault(false));
+        disassembler.setLogBuffer();
+        disassembler.getDecoder().setEndAddress(bytes.length - 1);
+        disassembler.pushStartAddress(0x0000);
+        disassembler.disassemble();
+        
+        Decoder decoder = disassembler.getDecoder();
+        OutputProcessor outputProcessor = disassembler.getOutputProcessor();
+        for(int address:new int[] {0x0020, 0x0024, 0x0028}) {
+            assertTrue("Missing data label at 0x" + Integer.toHexString(address),
+                outputProcessor.getGeneratedLabelType(address) != 0);
+            assertTrue("Missing data mark at 0x" + Integer.toHexString(address),
+                decoder.getCoverageMap().isData(address));
+        }   
+        
+        // The prefix and opcode bytes must not be read as the word operand
+        assertFalse("Wrong data mark at 0x0022!", decoder.getCoverageMap().isData(0x0022));
+    }   
+    
+    /**
+     * Copy the given values to the array of bytes.
+     */
+    private void put(byte[] bytes, int address, int... values) {
+        for(int value:values) {
+            bytes[address++] = (byte) value;
+        }   
+    }   
+}
@@ -0,0 +1,112 @@
+package com.astesbas.z80.hacker.util;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * AddressBitSet tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class AddressBitSetTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public AddressBitSetTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(AddressBitSetTest.class);
+    }   
+    
+    /**
+     * Tests the set, clear and range verification methods.
+     */
+    public void testRanges() {
+        
+        AddressBitSet bitSet = new AddressBitSet(0x10000);
+        assertTrue("New bit set must be clear!", bitSet.isClear(0, 0x10000));
+        
+        bitSet.set(0x100, 0x180);
+        assertEquals("Wrong cardinality after range set!", 0x80, bitSet.cardinality());
+        assertTrue("Bit 0x100 must be set!", bitSet.get(0x100));
+        assertTrue("Bit 0x17F must be set!", bitSet.get(0x17F));
+        assertFalse("Bit 0x180 must be clear!", bitSet.get(0x180));
+        assertFalse("Bit 0xFF must be clear!", bitSet.get(0xFF));
+        
+        assertTrue("Range [0x00, 0x100) must be clear!", bitSet.isClear(0x00, 0x100));
+        assertTrue("Range [0x180, 0x10000) must be clear!", bitSet.isClear(0x180, 0x10000));
+        assertFalse("Range [0xFF, 0x101) must not be clear!", bitSet.isClear(0xFF, 0x101));
+        assertFalse("Range [0x17F, 0x180) must not be clear!", bitSet.isClear(0x17F, 0x180));
+        assertFalse("Range [0x00, 0x10000) must not be clear!", bitSet.isClear(0x00, 0x10000));
+        
+        bitSet.clear(0x110, 0x170);
+        assertEquals("Wrong cardinality after range clear!", 0x20, bitSet.cardinality());
+        assertTrue("Range [0x110, 0x170) must be clear!", bitSet.isClear(0x110, 0x170));
+        
+        bitSet.set(0xFFFF);
+        bitSet.clear(0x100);
+        assertTrue("Bit 0xFFFF must be set!", bitSet.get(0xFFFF));
+        assertFalse("Bit 0x100 must be clear!", bitSet.get(0x100));
+    }   
+    
+    /**
+     * Tests the next set/clear bit iteration.
+     */
+    public void testIteration() {
+        
+        AddressBitSet bitSet = new AddressBitSet(1000);
+        bitSet.set(10, 20);
+        bitSet.set(500);
+        bitSet.set(999);
+        
+        assertEquals("Wrong next set bit from 0!", 10, bitSet.nextSetBit(0));
+        assertEquals("Wrong next set bit from 15!", 15, bitSet.nextSetBit(15));
+        assertEquals("Wrong next set bit from 20!", 500, bitSet.nextSetBit(20));
+        assertEquals("Wrong next set bit from 501!", 999, bitSet.nextSetBit(501));
+        assertEquals("Wrong next set bit from 1000!", -1, bitSet.nextSetBit(1000));
+        
+        assertEquals("Wrong next clear bit from 0!", 0, bitSet.nextClearBit(0));
+        assertEquals("Wrong next clear bit from 10!", 20, bitSet.nextClearBit(10));
+        assertEquals("Wrong next clear bit from 999!", 1000, bitSet.nextClearBit(999));
+        
+        bitSet.clear(999);
+        assertEquals("Wrong next set bit from 501 after clear!", -1, bitSet.nextSetBit(501));
+    }   
+    
+    /**
+     * Tests the snapshot (copy) and merge (or) methods.
+     */
+    public void testCopyAndMerge() {
+        
+        AddressBitSet bitSet = new AddressBitSet(256);
+        bitSet.set(1, 4);
+        
+        AddressBitSet snapshot = bitSet.copy();
+        assertEquals("Snapshot must be equal to the original bit set!", bitSet, snapshot);
+        
+        bitSet.set(100);
+        assertFalse("Snapshot must not change with the original bit set!", snapshot.get(100));
+        
+        AddressBitSet other = new AddressBitSet(256);
+        other.set(200, 256);
+        snapshot.or(other);
+        assertEquals("Wrong cardinality after merge!", 3 + 56, snapshot.cardinality());
+        
+        try {
+            snapshot.or(new AddressBitSet(128));
+            fail("Merging bit sets of different sizes must fail!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
+}
@@ -0,0 +1,102 @@
+package com.astesbas.z80.hacker.util;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * AddressWorklist tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class AddressWorklistTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public AddressWorklistTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(AddressWorklistTest.class);
+    }   
+    
+    /**
+     * Tests the exploration orders.
+     */
+    public void testExplorationOrder() {
+        
+        int[] addresses = new int[] {0x8000, 0x0100, 0x4000, 0x0038};
+        
+        AddressWorklist fifo = this.fill(AddressWorklist.Order.FIFO, addresses);
+        assertEquals("Wrong FIFO address!", 0x8000, fifo.pop());
+        assertEquals("Wrong FIFO address!", 0x0100, fifo.pop());
+        assertEquals("Wrong FIFO address!", 0x4000, fifo.pop());
+        assertEquals("Wrong FIFO address!", 0x0038, fifo.pop());
+        assertTrue("FIFO worklist must be empty!", fifo.isEmpty());
+        
+        AddressWorklist lifo = this.fill(AddressWorklist.Order.LIFO, addresses);
+        assertEquals("Wrong LIFO address!", 0x0038, lifo.pop());
+        assertEquals("Wrong LIFO address!", 0x4000, lifo.pop());
+        assertEquals("Wrong LIFO address!", 0x0100, lifo.pop());
+        assertEquals("Wrong LIFO address!", 0x8000, lifo.pop());
+        assertTrue("LIFO worklist must be empty!", lifo.isEmpty());
+        
+        AddressWorklist lowest = this.fill(AddressWorklist.Order.LOWEST_ADDRESS, addresses);
+        assertEquals("Wrong lowest address!", 0x0038, lowest.pop());
+        assertEquals("Wrong lowest address!", 0x0100, lowest.pop());
+        lowest.push(0x0050);
+        assertEquals("Wrong lowest address after push!", 0x0050, lowest.pop());
+        assertEquals("Wrong lowest address!", 0x4000, lowest.pop());
+        assertEquals("Wrong lowest address!", 0x8000, lowest.pop());
+        assertTrue("Lowest address worklist must be empty!", lowest.isEmpty());
+    }   
+    
+    /**
+     * Tests the deduplication of pushed addresses and the ring buffer growth.
+     */
+    public void testDeduplication() {
+        
+        AddressWorklist worklist = new AddressWorklist(0x10000, AddressWorklist.Order.FIFO);
+        for(int address = 0; address < 1000; address++) {
+            assertTrue("Address must be accepted!", worklist.push(address));
+            assertFalse("Duplicated address must be discarded!", worklist.push(address));
+        }   
+        
+        assertEquals("Wrong worklist size!", 1000, worklist.size());
+        assertEquals("Wrong pushed count!", 1000, worklist.getPushedCount());
+        assertEquals("Wrong deduplicated count!", 1000, worklist.getDeduplicatedCount());
+        
+        for(int address = 0; address < 1000; address++) {
+            assertEquals("Wrong address order after buffer growth!", address, worklist.pop());
+        }   
+        
+        assertFalse("Already processed address must be discarded!", worklist.push(10));
+        assertTrue("Worklist must be empty!", worklist.isEmpty());
+        
+        try {
+            worklist.pop();
+            fail("Pop from empty worklist must fail!");
+        } catch(java.util.NoSuchElementException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
+    
+    /**
+     * Creates a worklist with the given addresses.
+     */
+    private AddressWorklist fill(AddressWorklist.Order order, int... addresses) {
+        AddressWorklist worklist = new AddressWorklist(0x10000, order);
+        for(int address:addresses) {
+            worklist.push(address);
+        }   
+        return worklist;
+    }   
+}
@@ -0,0 +1,74 @@
+package com.astesbas.z80.hacker.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * AsyncLogger tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class AsyncLoggerTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public AsyncLoggerTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(AsyncLoggerTest.class);
+    }   
+    
+    /**
+     * Tests the messages order, the level filter and the flush on close (with a small ring buffer).
+     */
+    public void testLogAndClose() throws IOException {
+        
+        Path logPath = Files.createTempFile("z80hacker", ".log");
+        try {
+            
+            AsyncLogger logger = new AsyncLogger(logPath, AsyncLogger.Level.INFO, 4);
+            assertTrue("Warnings must be enabled!", logger.isEnabled(AsyncLogger.Level.WARNING));
+            assertFalse("Trace must be disabled!", logger.isEnabled(AsyncLogger.Level.TRACE));
+            
+            for(int index = 0; index < 1000; index++) {
+                logger.log(AsyncLogger.Level.INFO, "Message %d%n", index);
+                logger.log(AsyncLogger.Level.TRACE, "Trace %d%n", index);
+            }   
+            logger.log(AsyncLogger.Level.WARNING, "Warning!%n");
+            logger.close();
+            logger.close();
+            
+            List<String> lines = Files.readAllLines(logPath);
+            assertEquals("Wrong number of log lines!", 1001, lines.size());
+            for(int index = 0; index < 1000; index++) {
+                assertEquals("Wrong message order!", "Message " + index, lines.get(index));
+            }   
+            assertEquals("Wrong last message!", "Warning!", lines.get(1000));
+            
+            try {
+                logger.log(AsyncLogger.Level.INFO, "Closed!%n");
+                fail("Logging to a closed logger must fail!");
+            } catch(IllegalStateException exception) {
+                assertNotNull(exception.getMessage());
+            }   
+        
+        } finally {
+            Files.deleteIfExists(logPath);
+        }   
+    }   
+}
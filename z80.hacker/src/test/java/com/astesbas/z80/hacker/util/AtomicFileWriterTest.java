@@ -0,0 +1,76 @@
+package com.astesbas.z80.hacker.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * AtomicFileWriter tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class AtomicFileWriterTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public AtomicFileWriterTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(AtomicFileWriterTest.class);
+    }   
+    
+    /**
+     * Tests that the committed output replaces the existing file (with a small buffer), that a writer
+     * closed without commit does not change the file and that no temporary file is left.
+     */
+    public void testReplaceAndDiscard() throws IOException {
+        
+        Path directory = Files.createTempDirectory("z80hacker");
+        Path path = directory.resolve("output.asm");
+        try {
+            
+            Files.write(path, "Previous output that must be replaced\n".getBytes(StandardCharsets.US_ASCII));
+            
+            StringBuilder expected = new StringBuilder();
+            try (AtomicFileWriter writer = new AtomicFileWriter(path, 16)) {
+                for(int index = 0; index < 100; index++) {
+                    String line = String.format("  LD A,%02XH%n", index);
+                    writer.write(line);
+                    expected.append(line);
+                }   
+                writer.write('\u00E9');
+                expected.append('?');
+                writer.commit();
+            }   
+            assertEquals("Wrong output!", expected.toString(), new String(Files.readAllBytes(path), StandardCharsets.US_ASCII));
+            
+            try (AtomicFileWriter writer = new AtomicFileWriter(path)) {
+                writer.write("Incomplete output");
+            }   
+            assertEquals("The output must not change!", expected.toString(), new String(Files.readAllBytes(path), StandardCharsets.US_ASCII));
+            
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals("Temporary file not removed!", 1, files.count());
+            }   
+        
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(directory);
+        }   
+    }   
+}
@@ -0,0 +1,91 @@
+package com.astesbas.z80.hacker.util;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * HexTable tests.
+ * 
+ * @author Luciano M. Christofoletti
+ *         luciano@christofoletti.com.br
+ * @since 16/oct/2026
+ */
+public class HexTableTest extends TestCase {
+    
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public HexTableTest(String testName) {
+        super(testName);
+    }   
+    
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite() {
+        return new TestSuite(HexTableTest.class);
+    }   
+    
+    /**
+     * Tests the precomputed strings against the formatted values.
+     */
+    public void testFormat() {
+        
+        for(String format:new String[] {"0%sH", "0x%s", "$%s", "%sh", "#"}) {
+            HexTable table = new HexTable(format);
+            for(int value = 0; value < HexTable.SIZE; value++) {
+                String digits = String.format("%X", value).replaceFirst("^0*", "");
+                assertEquals("Wrong hex string for format " + format, String.format(format, digits), table.format(value));
+            }   
+        }   
+        
+        HexTable table = new HexTable("0%sH");
+        assertEquals("Wrong hex string for zero!", "0H", table.format(0));
+        assertEquals("Wrong hex string for byte!", "0FFH", table.formatByte(-1));
+        assertEquals("Wrong hex string for word!", "0FFFFH", table.formatWord(-1));
+        assertEquals("Wrong hex string for value out of table!", "010005H", table.format(0x10005));
+        
+        try {
+            new HexTable("0%dH");
+            fail("Invalid format must not be accepted!");
+        } catch(IllegalArgumentException exception) {
+            assertNotNull(exception.getMessage());
+        }   
+    }   
+    
+    /**
+     * Tests the byte digits append methods.
+     */
+    public void testAppendBytes() {
+        
+        byte[] bytes = new byte[] {0x00, 0x01, (byte) 0xAA, (byte) 0xBB};
+        char[] chars = new char[16];
+        int position = HexTable.appendBytes(chars, 1, bytes, 1, 3, ", ");
+        assertEquals("Wrong position after bytes!", 13, position);
+        assertEquals("Wrong byte sequence!", "01, AA, BB, ", new String(chars, 1, position - 1));
+        
+        StringBuilder builder = new StringBuilder();
+        HexTable.appendByteDigits(builder, 0x0A);
+        HexTable.appendByteDigits(builder, -1);
+        assertEquals("Wrong byte digits!", "0AFF", builder.toString());
+        assertEquals("Wrong bytes hex string!", "00 01 AA BB ", StringUtil.bytesToHex(bytes, " "));
+    }   
+    
+    /**
+     * Tests the parsing of formatted values (only the exact formatted strings are accepted).
+     */
+    public void testParse() {
+        
+        HexTable table = new HexTable("0%sH");
+        for(int value = 0; value < HexTable.SIZE; value++) {
+            assertEquals("Wrong parsed value!", value, table.parse(table.format(value)));
+        }   
+        
+        for(String text:new String[] {"00FD9AH", "0fd9aH", "FD9AH", "0FD9A", "0H0H", "010000H", "0xFD9A", ""}) {
+            assertEquals("Invalid string must not be parsed: " + text, -1, table.parse(text));
+        }   
+        assertEquals("Wrong parsed value!", 0xFD9A, new HexTable("$%s").parse("$FD9A"));
+    }   
+}